@@ -0,0 +1,90 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.action.bulk;
+
+import org.elasticsearch.action.bulk.BulkItemRequest;
+import org.elasticsearch.action.bulk.BulkShardRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.xcontent.XContentType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures reading a {@link BulkShardRequest} from a buffer as the transport layer would. With {@code buffer=network} the buffer is
+ * ref-counted like the ones the transport layer reads from, so the document sources are retained as slices of it; with {@code buffer=heap}
+ * they are copied onto the heap. Run with {@code -prof gc} and divide {@code gc.alloc.rate.norm} by {@code docs} to see the bytes
+ * allocated per indexed document.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Fork(value = 1)
+public class BulkShardRequestDeserializationBenchmark {
+
+    @Param({ "100" })
+    private int docs;
+
+    @Param({ "256", "4096" })
+    private int docSizeBytes;
+
+    @Param({ "heap", "network" })
+    private String buffer;
+
+    private BytesReference serialized;
+
+    @Setup
+    public void setup() throws IOException {
+        final ShardId shardId = new ShardId("index", "_na_", 0);
+        final char[] value = new char[docSizeBytes];
+        Arrays.fill(value, 'a');
+        final String source = "{\"field\":\"" + new String(value) + "\"}";
+        final BulkItemRequest[] items = new BulkItemRequest[docs];
+        for (int i = 0; i < docs; i++) {
+            items[i] = new BulkItemRequest(i, new IndexRequest("index").id(Integer.toString(i)).source(source, XContentType.JSON));
+        }
+        final BulkShardRequest request = new BulkShardRequest(shardId, WriteRequest.RefreshPolicy.NONE, items);
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            request.writeTo(out);
+            serialized = switch (buffer) {
+                case "heap" -> new BytesArray(BytesReference.toBytes(out.bytes()));
+                case "network" -> new ReleasableBytesReference(new BytesArray(BytesReference.toBytes(out.bytes())), () -> {});
+                default -> throw new IllegalArgumentException("unknown buffer [" + buffer + "]");
+            };
+        }
+    }
+
+    @Benchmark
+    public BulkShardRequest readBulkShardRequest() throws IOException {
+        final BulkShardRequest request = new BulkShardRequest(serialized.streamInput());
+        request.decRef();
+        return request;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.common.util.concurrent;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.util.concurrent.KeyedLock;
+import org.elasticsearch.common.util.concurrent.StripedLock;
+import org.elasticsearch.core.Releasable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares the per-uid locks the {@code LiveVersionMap} can use to serialize indexing operations on the same document id:
+ * a {@link KeyedLock} that allocates a lock per acquisition and a {@link StripedLock} with a fixed number of stripes.
+ */
+@Warmup(iterations = 5)
+@Measurement(iterations = 7)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = { "-XX:+UseG1GC" })
+public class UidLockBenchmark {
+
+    /**
+     * {@code 0} stands for the {@link KeyedLock}, any other value for a {@link StripedLock} with that many stripes.
+     */
+    @Param({ "0", "64", "1024" })
+    private int stripes;
+
+    @Param({ "16", "100000" })
+    private int numIds;
+
+    private BytesRef[] ids;
+    private Function<BytesRef, Releasable> acquire;
+
+    @Setup
+    public void setup() {
+        ids = new BytesRef[numIds];
+        for (int i = 0; i < numIds; i++) {
+            ids[i] = new BytesRef(UUID.randomUUID().toString().getBytes(StandardCharsets.UTF_8));
+        }
+        if (stripes == 0) {
+            KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+            acquire = keyedLock::acquire;
+        } else {
+            StripedLock<BytesRef> stripedLock = new StripedLock<>(stripes);
+            acquire = stripedLock::acquire;
+        }
+    }
+
+    @Benchmark
+    public int acquireAndRelease() {
+        BytesRef id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        try (Releasable ignored = acquire.apply(id)) {
+            return id.length;
+        }
+    }
+}
@@ -50,6 +50,7 @@ import org.elasticsearch.xpack.esql.expression.function.scalar.string.RLike;
 import org.elasticsearch.xpack.esql.expression.function.scalar.string.ToLower;
 import org.elasticsearch.xpack.esql.expression.function.scalar.string.ToUpper;
 import org.elasticsearch.xpack.esql.expression.predicate.operator.arithmetic.Add;
+import org.elasticsearch.xpack.esql.expression.predicate.operator.arithmetic.Mul;
 import org.elasticsearch.xpack.esql.expression.predicate.operator.comparison.Equals;
 import org.elasticsearch.xpack.esql.planner.Layout;
 import org.elasticsearch.xpack.esql.plugin.EsqlPlugin;
@@ -117,6 +118,7 @@ public class EvalBenchmark {
             "abs",
             "add",
             "add_double",
+            "add_long_to_long",
             "case_1_eager",
             "case_1_lazy",
             "coalesce_2_noop",
@@ -127,6 +129,7 @@ public class EvalBenchmark {
             "long_equal_to_long",
             "long_equal_to_int",
             "mv_min",
+            "mul_double_by_double",
             "mv_min_ascending",
             "rlike",
             "to_lower",
@@ -162,6 +165,11 @@ public class EvalBenchmark {
                     layout(doubleField)
                 ).get(driverContext);
             }
+            case "add_long_to_long" -> {
+                FieldAttribute lhs = longField();
+                FieldAttribute rhs = longField();
+                yield EvalMapper.toEvaluator(FOLD_CONTEXT, new Add(Source.EMPTY, lhs, rhs), layout(lhs, rhs)).get(driverContext);
+            }
             case "case_1_eager", "case_1_lazy" -> {
                 FieldAttribute f1 = longField();
                 FieldAttribute f2 = longField();
@@ -231,6 +239,11 @@ public class EvalBenchmark {
                 FieldAttribute rhs = intField();
                 yield EvalMapper.toEvaluator(FOLD_CONTEXT, new Equals(Source.EMPTY, lhs, rhs), layout(lhs, rhs)).get(driverContext);
             }
+            case "mul_double_by_double" -> {
+                FieldAttribute lhs = doubleField();
+                FieldAttribute rhs = doubleField();
+                yield EvalMapper.toEvaluator(FOLD_CONTEXT, new Mul(Source.EMPTY, lhs, rhs), layout(lhs, rhs)).get(driverContext);
+            }
             case "mv_min", "mv_min_ascending" -> {
                 FieldAttribute longField = longField();
                 yield EvalMapper.toEvaluator(FOLD_CONTEXT, new MvMin(Source.EMPTY, longField), layout(longField)).get(driverContext);
@@ -321,6 +334,14 @@ public class EvalBenchmark {
                     }
                 }
             }
+            case "add_long_to_long" -> {
+                LongVector v = actual.<LongBlock>getBlock(2).asVector();
+                for (int i = 0; i < BLOCK_LENGTH; i++) {
+                    if (v.getLong(i) != i * 200_000) {
+                        throw new AssertionError("[" + operation + "] expected [" + (i * 200_000) + "] but was [" + v.getLong(i) + "]");
+                    }
+                }
+            }
             case "case_1_eager" -> {
                 LongVector f1 = actual.<LongBlock>getBlock(0).asVector();
                 LongVector f2 = actual.<LongBlock>getBlock(1).asVector();
@@ -402,6 +423,16 @@ public class EvalBenchmark {
                     }
                 }
             }
+            case "mul_double_by_double" -> {
+                DoubleVector v = actual.<DoubleBlock>getBlock(2).asVector();
+                for (int i = 0; i < BLOCK_LENGTH; i++) {
+                    if (v.getDouble(i) != i * 200_000D) {
+                        throw new AssertionError(
+                            "[" + operation + "] expected [" + (i * 200_000D) + "] but was [" + v.getDouble(i) + "]"
+                        );
+                    }
+                }
+            }
             case "mv_min", "mv_min_ascending" -> {
                 LongVector v = actual.<LongBlock>getBlock(1).asVector();
                 for (int i = 0; i < BLOCK_LENGTH; i++) {
@@ -486,7 +517,7 @@ public class EvalBenchmark {
                 }
                 yield new Page(f1.build(), f2.build());
             }
-            case "long_equal_to_long" -> {
+            case "long_equal_to_long", "add_long_to_long" -> {
                 var lhs = blockFactory.newLongBlockBuilder(BLOCK_LENGTH);
                 var rhs = blockFactory.newLongBlockBuilder(BLOCK_LENGTH);
                 for (int i = 0; i < BLOCK_LENGTH; i++) {
@@ -504,6 +535,15 @@ public class EvalBenchmark {
                 }
                 yield new Page(lhs.build(), rhs.build());
             }
+            case "mul_double_by_double" -> {
+                var lhs = blockFactory.newDoubleBlockBuilder(BLOCK_LENGTH);
+                var rhs = blockFactory.newDoubleBlockBuilder(BLOCK_LENGTH);
+                for (int i = 0; i < BLOCK_LENGTH; i++) {
+                    lhs.appendDouble(i * 100_000D);
+                    rhs.appendDouble(2D);
+                }
+                yield new Page(lhs.build(), rhs.build());
+            }
             case "mv_min", "mv_min_ascending" -> {
                 var builder = blockFactory.newLongBlockBuilder(BLOCK_LENGTH);
                 if (operation.endsWith("ascending")) {
@@ -0,0 +1,159 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.compute.operator;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.compute.aggregation.AggregatorMode;
+import org.elasticsearch.compute.aggregation.SumLongAggregatorFunctionSupplier;
+import org.elasticsearch.compute.aggregation.blockhash.BlockHash;
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.ElementType;
+import org.elasticsearch.compute.data.LongBlock;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.operator.DriverContext;
+import org.elasticsearch.compute.operator.HashAggregationOperator;
+import org.elasticsearch.compute.operator.HashAggregationSpiller;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.indices.breaker.CircuitBreakerMetrics;
+import org.elasticsearch.indices.breaker.HierarchyCircuitBreakerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Like the grouped cases of {@link AggregatorBenchmark} but with many more groups, comparing a
+ * {@link HashAggregationOperator} that keeps all of its groups in memory with one that spills
+ * them to disk when the request breaker goes above {@link #spillThreshold} of its limit.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Fork(1)
+public class SpillingAggregatorBenchmark {
+    private static final int PAGES = 256;
+
+    @Param({ "100000", "1000000" })
+    public int groups;
+
+    /**
+     * Fraction of the breaker limit above which the operator spills, {@code 0} to never spill.
+     */
+    @Param({ "0", "0.05" })
+    public double spillThreshold;
+
+    @Param({ "1gb" })
+    public String breakerLimit;
+
+    private DriverContext driverContext;
+    private Path spillDirectory;
+    private LongBlock[] keys;
+    private LongBlock[] values;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        spillDirectory = Files.createTempDirectory("esql-spill");
+        HierarchyCircuitBreakerService breakerService = new HierarchyCircuitBreakerService(
+            CircuitBreakerMetrics.NOOP,
+            Settings.builder()
+                .put(HierarchyCircuitBreakerService.USE_REAL_MEMORY_USAGE_SETTING.getKey(), false)
+                .put(HierarchyCircuitBreakerService.REQUEST_CIRCUIT_BREAKER_LIMIT_SETTING.getKey(), breakerLimit)
+                .build(),
+            List.of(),
+            ClusterSettings.createBuiltInClusterSettings()
+        );
+        CircuitBreaker breaker = breakerService.getBreaker(CircuitBreaker.REQUEST);
+        BigArrays bigArrays = new BigArrays(PageCacheRecycler.NON_RECYCLING_INSTANCE, breakerService, CircuitBreaker.REQUEST)
+            .withCircuitBreaking();
+        BlockFactory blockFactory = BlockFactory.getInstance(breaker, bigArrays);
+        driverContext = new DriverContext(bigArrays, blockFactory);
+
+        Random random = new Random(0);
+        keys = new LongBlock[PAGES];
+        values = new LongBlock[PAGES];
+        for (int p = 0; p < PAGES; p++) {
+            try (
+                LongBlock.Builder keyBuilder = blockFactory.newLongBlockBuilder(AggregatorBenchmark.BLOCK_LENGTH);
+                LongBlock.Builder valueBuilder = blockFactory.newLongBlockBuilder(AggregatorBenchmark.BLOCK_LENGTH)
+            ) {
+                for (int i = 0; i < AggregatorBenchmark.BLOCK_LENGTH; i++) {
+                    keyBuilder.appendLong(random.nextInt(groups));
+                    valueBuilder.appendLong(random.nextInt(1000));
+                }
+                keys[p] = keyBuilder.build();
+                values[p] = valueBuilder.build();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws IOException {
+        Releasables.close(keys);
+        Releasables.close(values);
+        IOUtils.rm(spillDirectory);
+    }
+
+    @Benchmark
+    public long aggregate() {
+        List<BlockHash.GroupSpec> groupSpecs = List.of(new BlockHash.GroupSpec(0, ElementType.LONG));
+        HashAggregationSpiller.Config spillConfig = spillThreshold == 0
+            ? null
+            : new HashAggregationSpiller.Config(spillThreshold, HashAggregationSpiller.Config.DEFAULT_PARTITIONS, spillDirectory);
+        try (
+            HashAggregationOperator operator = new HashAggregationOperator(
+                List.of(new SumLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.SINGLE, List.of(1))),
+                () -> BlockHash.build(groupSpecs, driverContext.blockFactory(), 16 * 1024, false),
+                driverContext,
+                groupSpecs,
+                16 * 1024,
+                spillConfig
+            )
+        ) {
+            for (int p = 0; p < PAGES; p++) {
+                keys[p].incRef();
+                values[p].incRef();
+                operator.addInput(new Page(keys[p], values[p]));
+            }
+            operator.finish();
+            long rows = 0;
+            while (operator.isFinished() == false) {
+                Page output = operator.getOutput();
+                if (output != null) {
+                    rows += output.getPositionCount();
+                    output.releaseBlocks();
+                }
+            }
+            return rows;
+        }
+    }
+}
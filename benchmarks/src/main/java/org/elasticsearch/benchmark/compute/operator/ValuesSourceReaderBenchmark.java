@@ -9,6 +9,7 @@
 
 package org.elasticsearch.benchmark.compute.operator;
 
+import org.apache.lucene.codecs.DocValuesFormat;
 import org.apache.lucene.document.FieldType;
 import org.apache.lucene.document.NumericDocValuesField;
 import org.apache.lucene.document.StoredField;
@@ -45,6 +46,8 @@ import org.elasticsearch.compute.operator.topn.TopNOperator;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.index.codec.Elasticsearch900Lucene101Codec;
+import org.elasticsearch.index.codec.tsdb.es819.ES819TSDBDocValuesFormat;
 import org.elasticsearch.index.mapper.BlockLoader;
 import org.elasticsearch.index.mapper.FieldNamesFieldMapper;
 import org.elasticsearch.index.mapper.KeywordFieldMapper;
@@ -100,28 +103,35 @@ public class ValuesSourceReaderBenchmark {
     static void selfTest() {
         try {
             ValuesSourceReaderBenchmark benchmark = new ValuesSourceReaderBenchmark();
-            benchmark.setupIndex();
-            try {
-                for (String layout : ValuesSourceReaderBenchmark.class.getField("layout").getAnnotationsByType(Param.class)[0].value()) {
-                    for (String name : ValuesSourceReaderBenchmark.class.getField("name").getAnnotationsByType(Param.class)[0].value()) {
-                        benchmark.layout = layout;
-                        benchmark.name = name;
-                        try {
-                            benchmark.setupPages();
-                            benchmark.benchmark();
-                        } catch (Exception e) {
-                            throw new AssertionError("error initializing [" + layout + "/" + name + "]", e);
+            for (String format : paramValues("docValuesFormat")) {
+                benchmark.docValuesFormat = format;
+                benchmark.setupIndex();
+                try {
+                    for (String layout : paramValues("layout")) {
+                        for (String name : paramValues("name")) {
+                            benchmark.layout = layout;
+                            benchmark.name = name;
+                            try {
+                                benchmark.setupPages();
+                                benchmark.benchmark();
+                            } catch (Exception e) {
+                                throw new AssertionError("error initializing [" + format + "/" + layout + "/" + name + "]", e);
+                            }
                         }
                     }
+                } finally {
+                    benchmark.teardownIndex();
                 }
-            } finally {
-                benchmark.teardownIndex();
             }
         } catch (IOException | NoSuchFieldException e) {
             throw new AssertionError(e);
         }
     }
 
+    private static String[] paramValues(String field) throws NoSuchFieldException {
+        return ValuesSourceReaderBenchmark.class.getField(field).getAnnotationsByType(Param.class)[0].value();
+    }
+
     private static List<ValuesSourceReaderOperator.FieldInfo> fields(String name) {
         return switch (name) {
             case "3_stored_keywords" -> List.of(
@@ -325,6 +335,17 @@ public class ValuesSourceReaderBenchmark {
     @Param({ "long", "int", "double", "keyword", "stored_keyword", "3_stored_keywords" })
     public String name;
 
+    /**
+     * The doc values format to write the index with.
+     * <ul>
+     * <li>{@code lucene} is Lucene's default format.</li>
+     * <li>{@code tsdb} is the format used by time series and logsdb indices, which
+     *     can load dense numeric and keyword fields a whole block at a time.</li>
+     * </ul>
+     */
+    @Param({ "lucene", "tsdb" })
+    public String docValuesFormat;
+
     private Directory directory;
     private IndexReader reader;
     private List<Page> pages;
@@ -438,7 +459,23 @@ public class ValuesSourceReaderBenchmark {
         FieldType keywordFieldType = new FieldType(KeywordFieldMapper.Defaults.FIELD_TYPE);
         keywordFieldType.setStored(true);
         keywordFieldType.freeze();
-        try (IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE))) {
+        IndexWriterConfig config = new IndexWriterConfig().setMergePolicy(NoMergePolicy.INSTANCE);
+        switch (docValuesFormat) {
+            case "lucene" -> {
+                // keep the default codec
+            }
+            case "tsdb" -> {
+                DocValuesFormat tsdbDocValuesFormat = new ES819TSDBDocValuesFormat();
+                config.setCodec(new Elasticsearch900Lucene101Codec() {
+                    @Override
+                    public DocValuesFormat getDocValuesFormatForField(String field) {
+                        return tsdbDocValuesFormat;
+                    }
+                });
+            }
+            default -> throw new IllegalArgumentException("unsupported doc values format [" + docValuesFormat + "]");
+        }
+        try (IndexWriter iw = new IndexWriter(directory, config)) {
             for (int i = 0; i < INDEX_SIZE; i++) {
                 String c = Character.toString('a' - ((i % 1000) % 26) + 26);
                 iw.addDocument(
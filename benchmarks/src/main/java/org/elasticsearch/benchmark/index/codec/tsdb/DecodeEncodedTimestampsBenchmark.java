@@ -0,0 +1,85 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.index.codec.tsdb;
+
+import org.apache.lucene.store.ByteArrayDataInput;
+import org.apache.lucene.store.ByteArrayDataOutput;
+import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormat;
+import org.elasticsearch.index.codec.tsdb.TSDBDocValuesEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link TSDBDocValuesEncoder#decode} end to end, including the delta, offset and GCD stages on top of bit unpacking,
+ * for a block of timestamps sampled at a fixed interval with some jitter.
+ */
+@Fork(value = 1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(value = TimeUnit.NANOSECONDS)
+@State(value = Scope.Benchmark)
+public class DecodeEncodedTimestampsBenchmark {
+    private static final int SEED = 17;
+    private static final int BLOCK_SIZE = ES87TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE;
+    private static final long START = 1_700_000_000_000L;
+
+    @Param({ "1000", "1001" })
+    private long intervalMillis;
+
+    @Param({ "0", "4", "16" })
+    private int jitterBits;
+
+    private final TSDBDocValuesEncoder encoder = new TSDBDocValuesEncoder(BLOCK_SIZE);
+    private final long[] output = new long[BLOCK_SIZE];
+    private byte[] buffer;
+    private ByteArrayDataInput dataInput;
+
+    @Setup(Level.Iteration)
+    public void setupIteration() throws IOException {
+        final Random random = new Random(SEED);
+        final long[] input = new long[BLOCK_SIZE];
+        long timestamp = START;
+        for (int i = 0; i < BLOCK_SIZE; i++) {
+            timestamp += intervalMillis + (jitterBits == 0 ? 0 : random.nextLong(1L << jitterBits) * intervalMillis);
+            input[i] = timestamp;
+        }
+        buffer = new byte[Long.BYTES * BLOCK_SIZE + 64];
+        final ByteArrayDataOutput dataOutput = new ByteArrayDataOutput(buffer);
+        encoder.encode(input, dataOutput);
+        dataInput = new ByteArrayDataInput(buffer);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        dataInput.reset(buffer);
+    }
+
+    @Benchmark
+    public void benchmark(Blackhole bh) throws IOException {
+        encoder.decode(dataInput, output);
+        bh.consume(output);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.routing.allocation;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.cluster.ClusterInfo;
+import org.elasticsearch.cluster.ClusterName;
+import org.elasticsearch.cluster.ClusterState;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.Metadata;
+import org.elasticsearch.cluster.metadata.ProjectId;
+import org.elasticsearch.cluster.metadata.ProjectMetadata;
+import org.elasticsearch.cluster.node.DiscoveryNodes;
+import org.elasticsearch.cluster.routing.GlobalRoutingTable;
+import org.elasticsearch.cluster.routing.RoutingTable;
+import org.elasticsearch.cluster.routing.ShardRouting;
+import org.elasticsearch.cluster.routing.allocation.AllocationService;
+import org.elasticsearch.cluster.routing.allocation.RoutingAllocation;
+import org.elasticsearch.cluster.routing.allocation.allocator.BalancedShardsAllocator;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalance;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalanceComputer;
+import org.elasticsearch.cluster.routing.allocation.allocator.DesiredBalanceInput;
+import org.elasticsearch.cluster.routing.allocation.decider.AllocationDeciders;
+import org.elasticsearch.cluster.version.CompatibilityVersions;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.time.TimeProvider;
+import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures a desired balance computation for a large cluster that already reached its desired balance, which is what every
+ * shard-started event triggers once the cluster is balanced, with and without reusing the previous converged balance.
+ */
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@SuppressWarnings("unused") // invoked by benchmarking framework
+public class DesiredBalanceComputerBenchmark {
+
+    @Param(
+        {
+            // indices| shards| replicas| nodes
+            "      100|     10|        1|   100",
+            "     1000|      3|        1|   300",
+            "     2000|      3|        1|   600" }
+    )
+    public String indicesShardsReplicasNodes = "100|10|1|100";
+
+    @Param({ "false", "true" })
+    public boolean reuseConvergedBalance;
+
+    public int numTags = 2;
+
+    private DesiredBalanceComputer computer;
+    private DesiredBalanceInput input;
+    private DesiredBalance desiredBalance;
+
+    @Setup
+    public void setUp() throws Exception {
+        final String[] params = indicesShardsReplicasNodes.split("\\|");
+
+        int numIndices = toInt(params[0]);
+        int numShards = toInt(params[1]);
+        int numReplicas = toInt(params[2]);
+        int numNodes = toInt(params[3]);
+
+        Settings settings = Settings.builder()
+            .put("cluster.routing.allocation.awareness.attributes", "tag")
+            .put(DesiredBalanceComputer.REUSE_CONVERGED_BALANCE_SETTING.getKey(), reuseConvergedBalance)
+            .build();
+        ClusterSettings clusterSettings = new ClusterSettings(settings, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+        AllocationService strategy = Allocators.createAllocationService(settings, clusterSettings);
+        AllocationDeciders deciders = Allocators.defaultAllocationDeciders(settings, clusterSettings);
+
+        final ProjectId projectId = ProjectId.DEFAULT;
+        ProjectMetadata.Builder pmb = ProjectMetadata.builder(projectId);
+        for (int i = 1; i <= numIndices; i++) {
+            pmb.put(
+                IndexMetadata.builder("test_" + i)
+                    .settings(Settings.builder().put(IndexMetadata.SETTING_VERSION_CREATED, IndexVersion.current()))
+                    .numberOfShards(numShards)
+                    .numberOfReplicas(numReplicas)
+            );
+        }
+        Metadata metadata = Metadata.builder().put(pmb).build();
+        RoutingTable.Builder rb = RoutingTable.builder(TestShardRoutingRoleStrategies.DEFAULT_ROLE_ONLY);
+        for (int i = 1; i <= numIndices; i++) {
+            rb.addAsNew(metadata.getProject(projectId).index("test_" + i));
+        }
+        DiscoveryNodes.Builder nb = DiscoveryNodes.builder();
+        Map<String, CompatibilityVersions> compatibilityVersions = new HashMap<>();
+        for (int i = 1; i <= numNodes; i++) {
+            String id = "node" + i;
+            nb.add(Allocators.newNode(id, Collections.singletonMap("tag", "tag_" + (i % numTags))));
+            compatibilityVersions.put(id, new CompatibilityVersions(TransportVersion.current(), Map.of()));
+        }
+        ClusterState clusterState = ClusterState.builder(ClusterName.DEFAULT)
+            .metadata(metadata)
+            .routingTable(GlobalRoutingTable.builder().put(projectId, rb.build()).build())
+            .nodes(nb)
+            .nodeIdsToCompatibilityVersions(compatibilityVersions)
+            .build();
+
+        // allocate and start all shards, leaving the cluster balanced
+        clusterState = strategy.reroute(clusterState, "reroute", ActionListener.noop());
+        while (clusterState.getRoutingNodes().hasInactiveShards()) {
+            clusterState = strategy.applyStartedShards(
+                clusterState,
+                clusterState.getRoutingNodes()
+                    .stream()
+                    .flatMap(shardRoutings -> StreamSupport.stream(shardRoutings.spliterator(), false))
+                    .filter(ShardRouting::initializing)
+                    .collect(Collectors.toList())
+            );
+            clusterState = strategy.reroute(clusterState, "reroute", ActionListener.noop());
+        }
+
+        computer = new DesiredBalanceComputer(clusterSettings, new SystemTimeProvider(), new BalancedShardsAllocator(settings));
+        input = new DesiredBalanceInput(
+            1L,
+            new RoutingAllocation(deciders, clusterState, ClusterInfo.EMPTY, SnapshotShardSizeInfo.EMPTY, 0L),
+            Collections.emptyList()
+        );
+        desiredBalance = computer.compute(DesiredBalance.BECOME_MASTER_INITIAL, input, new LinkedList<>(), ignored -> true);
+    }
+
+    private int toInt(String v) {
+        return Integer.valueOf(v.trim());
+    }
+
+    @Benchmark
+    public DesiredBalance measureComputationAtDesiredBalance() {
+        desiredBalance = computer.compute(desiredBalance, input, new LinkedList<>(), ignored -> true);
+        return desiredBalance;
+    }
+
+    private static class SystemTimeProvider implements TimeProvider {
+        @Override
+        public long relativeTimeInMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime());
+        }
+
+        @Override
+        public long relativeTimeInNanos() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public long rawRelativeTimeInMillis() {
+            return relativeTimeInMillis();
+        }
+
+        @Override
+        public long absoluteTimeInMillis() {
+            return System.currentTimeMillis();
+        }
+    }
+}
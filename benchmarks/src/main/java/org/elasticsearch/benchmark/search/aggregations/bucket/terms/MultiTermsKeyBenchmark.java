@@ -0,0 +1,116 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.search.aggregations.bucket.terms;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.common.util.PageCacheRecycler;
+import org.elasticsearch.search.aggregations.CardinalityUpperBound;
+import org.elasticsearch.search.aggregations.bucket.terms.BytesKeyedBucketOrds;
+import org.elasticsearch.search.aggregations.bucket.terms.LongKeyedBucketOrds;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the two ways that the {@code multi_terms} aggregation can key the buckets of a tuple of
+ * {@code keyword} terms: serializing the terms into a {@link BytesRef} or packing their global ordinals
+ * into a {@code long}.
+ */
+@Fork(2)
+@Warmup(iterations = 10)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(MultiTermsKeyBenchmark.DOCS)
+@State(Scope.Benchmark)
+public class MultiTermsKeyBenchmark {
+    static final int DOCS = 1_000_000;
+
+    /**
+     * The number of distinct terms in each of the two fields.
+     */
+    @Param({ "100", "10000" })
+    private int cardinality;
+
+    private final PageCacheRecycler recycler = new PageCacheRecycler(Settings.EMPTY);
+    private final BigArrays bigArrays = new BigArrays(recycler, null, "REQUEST");
+
+    private BytesRef[] terms;
+    private int[] firstOrds;
+    private int[] secondOrds;
+    private int shift;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        terms = new BytesRef[cardinality];
+        for (int i = 0; i < cardinality; i++) {
+            terms[i] = new BytesRef(String.format(Locale.ROOT, "term-%08d", i));
+        }
+        firstOrds = new int[DOCS];
+        secondOrds = new int[DOCS];
+        for (int d = 0; d < DOCS; d++) {
+            firstOrds[d] = random.nextInt(cardinality);
+            secondOrds[d] = random.nextInt(cardinality);
+        }
+        shift = 64 - Long.numberOfLeadingZeros(cardinality - 1);
+    }
+
+    @Benchmark
+    public long serializedTerms() throws IOException {
+        try (
+            BytesKeyedBucketOrds ords = BytesKeyedBucketOrds.build(bigArrays, CardinalityUpperBound.ONE);
+            BytesStreamOutput output = new BytesStreamOutput()
+        ) {
+            List<Object> path = new ArrayList<>(2);
+            path.add(null);
+            path.add(null);
+            for (int d = 0; d < DOCS; d++) {
+                path.set(0, BytesRef.deepCopyOf(terms[firstOrds[d]]));
+                path.set(1, BytesRef.deepCopyOf(terms[secondOrds[d]]));
+                output.seek(0L);
+                output.writeCollection(path, StreamOutput::writeGenericValue);
+                ords.add(0, output.bytes().toBytesRef());
+            }
+            return ords.size();
+        }
+    }
+
+    @Benchmark
+    public long packedGlobalOrdinals() {
+        long max = ((long) (cardinality - 1) << shift) | (cardinality - 1);
+        try (LongKeyedBucketOrds ords = LongKeyedBucketOrds.buildForValueRange(bigArrays, CardinalityUpperBound.ONE, 0, max)) {
+            for (int d = 0; d < DOCS; d++) {
+                ords.add(0, ((long) firstOrds[d] << shift) | secondOrds[d]);
+            }
+            return ords.size();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.search.fetch.subphase;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.SortedSetDocValuesField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.mapper.CompositeSyntheticFieldLoader;
+import org.elasticsearch.index.mapper.SortedNumericDocValuesSyntheticFieldLoader;
+import org.elasticsearch.index.mapper.SortedSetDocValuesSyntheticFieldLoaderLayer;
+import org.elasticsearch.index.mapper.SourceLoader;
+import org.elasticsearch.xcontent.XContentBuilder;
+import org.elasticsearch.xcontent.json.JsonXContent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares loading the doc values that synthetic {@code _source} is built from one document at a time
+ * against loading them for a whole fetch batch up front.
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SyntheticSourceDocValuesLoadingBenchmark {
+    private static final int NUM_DOCS = 100_000;
+
+    @Param({ "100", "10000" })
+    private int hits;
+
+    @Param({ "1", "4" })
+    private int valuesPerDoc;
+
+    private Directory directory;
+    private DirectoryReader reader;
+    private int[] docIds;
+
+    @Setup
+    public void setup() throws IOException {
+        Random random = new Random(0);
+        directory = new ByteBuffersDirectory();
+        try (IndexWriter iw = new IndexWriter(directory, new IndexWriterConfig())) {
+            for (int d = 0; d < NUM_DOCS; d++) {
+                Document doc = new Document();
+                for (int v = 0; v < valuesPerDoc; v++) {
+                    doc.add(new SortedNumericDocValuesField("number", random.nextInt(1_000_000)));
+                    doc.add(new SortedSetDocValuesField("keyword", new BytesRef("value-" + random.nextInt(10_000))));
+                }
+                iw.addDocument(doc);
+            }
+            iw.forceMerge(1);
+        }
+        reader = DirectoryReader.open(directory);
+        docIds = random.ints(0, NUM_DOCS).distinct().limit(hits).sorted().toArray();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        IOUtils.close(reader, directory);
+    }
+
+    @Benchmark
+    public long perDoc() throws IOException {
+        return load(null);
+    }
+
+    @Benchmark
+    public long batched() throws IOException {
+        return load(docIds);
+    }
+
+    private long load(int[] docIdsInLeaf) throws IOException {
+        LeafReader leaf = reader.leaves().get(0).reader();
+        SourceLoader.SyntheticFieldLoader[] fields = new SourceLoader.SyntheticFieldLoader[] {
+            new SortedNumericDocValuesSyntheticFieldLoader("number", "number", false) {
+                @Override
+                protected void writeValue(XContentBuilder b, long value) throws IOException {
+                    b.value(value);
+                }
+            },
+            new CompositeSyntheticFieldLoader("keyword", "keyword", new SortedSetDocValuesSyntheticFieldLoaderLayer("keyword") {
+                @Override
+                protected BytesRef convert(BytesRef value) {
+                    return value;
+                }
+
+                @Override
+                protected BytesRef preserve(BytesRef value) {
+                    return BytesRef.deepCopyOf(value);
+                }
+            }) };
+        SourceLoader.SyntheticFieldLoader.DocValuesLoader[] loaders = new SourceLoader.SyntheticFieldLoader.DocValuesLoader[fields.length];
+        for (int f = 0; f < fields.length; f++) {
+            loaders[f] = fields[f].docValuesLoader(leaf, docIdsInLeaf);
+        }
+        long bytes = 0;
+        for (int docId : docIds) {
+            try (XContentBuilder b = XContentBuilder.builder(JsonXContent.jsonXContent)) {
+                b.startObject();
+                for (int f = 0; f < fields.length; f++) {
+                    if (loaders[f] != null) {
+                        loaders[f].advanceToDoc(docId);
+                    }
+                    if (fields[f].hasValue()) {
+                        fields[f].write(b);
+                    }
+                }
+                b.endObject();
+                bytes += BytesReference.bytes(b).length();
+            }
+        }
+        return bytes;
+    }
+}
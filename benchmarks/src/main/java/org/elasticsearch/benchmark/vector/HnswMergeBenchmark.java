@@ -0,0 +1,232 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.benchmark.vector;
+
+import org.apache.lucene.codecs.KnnVectorsFormat;
+import org.apache.lucene.codecs.lucene101.Lucene101Codec;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.index.CodecReader;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.KnnFloatVectorQuery;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.NamedThreadFactory;
+import org.elasticsearch.common.logging.LogConfigurator;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.index.codec.vectors.ES814HnswScalarQuantizedVectorsFormat;
+import org.elasticsearch.index.codec.vectors.es818.ES818HnswBinaryQuantizedVectorsFormat;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Measures how long it takes to merge segments of HNSW indexed vectors into a single segment depending on the number of threads
+ * that build the graph of the merged segment, and the recall of the merged graph. The recall is reported as the {@code recall}
+ * secondary result, the fraction of the exact top {@link #K} nearest neighbors that the merged graph finds.
+ * Run with ./gradlew -p benchmarks run --args 'HnswMergeBenchmark'
+ */
+@Fork(value = 1, jvmArgsPrepend = { "--add-modules=jdk.incubator.vector" })
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class HnswMergeBenchmark {
+
+    static {
+        LogConfigurator.configureESLogging(); // native access requires logging to be initialized
+    }
+
+    private static final String FIELD = "vector";
+    private static final int K = 10;
+    private static final int NUM_QUERIES = 100;
+
+    @Param({ "1", "2", "4", "8" })
+    int mergeWorkers;
+
+    @Param({ "int8_hnsw", "bbq_hnsw" })
+    String format;
+
+    @Param({ "100000" })
+    int numVectors;
+
+    @Param({ "128" })
+    int dims;
+
+    @Param({ "8" })
+    int numSegments;
+
+    private Path path;
+    private Directory source;
+    private DirectoryReader sourceReader;
+    private ExecutorService mergeExec;
+    private float[][] queries;
+    private int[][] groundTruth;
+
+    private Directory target;
+    private int merges;
+
+    /**
+     * The recall of the graph of the last merge, as a secondary result of the benchmark.
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Recall {
+        public double recall;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            recall = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        path = Files.createTempDirectory("HnswMergeBenchmark");
+        mergeExec = mergeWorkers > 1 ? Executors.newFixedThreadPool(mergeWorkers, new NamedThreadFactory("hnsw-merge")) : null;
+
+        Random random = new Random(42);
+        float[][] vectors = new float[numVectors][];
+        for (int i = 0; i < numVectors; i++) {
+            vectors[i] = randomVector(random);
+        }
+        queries = new float[NUM_QUERIES][];
+        groundTruth = new int[NUM_QUERIES][];
+        for (int q = 0; q < NUM_QUERIES; q++) {
+            float[] query = randomVector(random);
+            queries[q] = query;
+            groundTruth[q] = IntStream.range(0, numVectors)
+                .boxed()
+                .sorted(Comparator.comparingDouble(i -> -VectorSimilarityFunction.EUCLIDEAN.compare(query, vectors[i])))
+                .limit(K)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        }
+
+        // the segments to merge are written with a single worker, only the merges differ
+        source = new MMapDirectory(path.resolve("source"));
+        IndexWriterConfig config = new IndexWriterConfig().setCodec(codec(vectorsFormat(1, null)))
+            .setMergePolicy(NoMergePolicy.INSTANCE)
+            .setRAMBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH)
+            .setMaxBufferedDocs(IndexWriterConfig.DISABLE_AUTO_FLUSH);
+        try (IndexWriter writer = new IndexWriter(source, config)) {
+            int docsPerSegment = (numVectors + numSegments - 1) / numSegments;
+            for (int i = 0; i < numVectors; i++) {
+                Document doc = new Document();
+                doc.add(new KnnFloatVectorField(FIELD, vectors[i], VectorSimilarityFunction.EUCLIDEAN));
+                writer.addDocument(doc);
+                if ((i + 1) % docsPerSegment == 0) {
+                    writer.flush();
+                }
+            }
+            writer.commit();
+        }
+        sourceReader = DirectoryReader.open(source);
+    }
+
+    @TearDown(Level.Trial)
+    public void teardown() throws IOException {
+        if (mergeExec != null) {
+            mergeExec.shutdown();
+        }
+        IOUtils.close(sourceReader, source);
+        IOUtils.rm(path);
+    }
+
+    @Setup(Level.Invocation)
+    public void createTarget() throws IOException {
+        target = new MMapDirectory(path.resolve("target-" + merges++));
+    }
+
+    @TearDown(Level.Invocation)
+    public void measureRecall(Recall recall) throws IOException {
+        try (DirectoryReader reader = DirectoryReader.open(target)) {
+            IndexSearcher searcher = new IndexSearcher(reader);
+            long found = 0;
+            for (int q = 0; q < NUM_QUERIES; q++) {
+                ScoreDoc[] hits = searcher.search(new KnnFloatVectorQuery(FIELD, queries[q], K), K).scoreDocs;
+                for (ScoreDoc hit : hits) {
+                    if (Arrays.stream(groundTruth[q]).anyMatch(doc -> doc == hit.doc)) {
+                        found++;
+                    }
+                }
+            }
+            recall.recall = (double) found / (NUM_QUERIES * K);
+        }
+        target.close();
+    }
+
+    /**
+     * Takes the {@link Recall} counters so that they are reported with the results, they are filled in after each merge.
+     */
+    @Benchmark
+    public void merge(Recall recall) throws IOException {
+        IndexWriterConfig config = new IndexWriterConfig().setCodec(codec(vectorsFormat(mergeWorkers, mergeExec)));
+        try (IndexWriter writer = new IndexWriter(target, config)) {
+            // adding the segments as readers merges them into a single segment, building the graph with the merge workers
+            writer.addIndexes(sourceReader.leaves().stream().map(leaf -> (CodecReader) leaf.reader()).toArray(CodecReader[]::new));
+            writer.commit();
+        }
+    }
+
+    private KnnVectorsFormat vectorsFormat(int workers, ExecutorService exec) {
+        return switch (format) {
+            case "int8_hnsw" -> new ES814HnswScalarQuantizedVectorsFormat(16, 100, null, 7, false, workers, exec);
+            case "bbq_hnsw" -> new ES818HnswBinaryQuantizedVectorsFormat(16, 100, workers, exec);
+            default -> throw new IllegalArgumentException("unknown format [" + format + "]");
+        };
+    }
+
+    private static Lucene101Codec codec(KnnVectorsFormat vectorsFormat) {
+        return new Lucene101Codec() {
+            @Override
+            public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                return vectorsFormat;
+            }
+        };
+    }
+
+    private float[] randomVector(Random random) {
+        float[] vector = new float[dims];
+        for (int d = 0; d < dims; d++) {
+            vector[d] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}
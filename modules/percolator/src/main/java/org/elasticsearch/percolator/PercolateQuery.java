@@ -28,12 +28,15 @@ import org.apache.lucene.util.Bits;
 import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.lucene.Lucene;
 import org.elasticsearch.core.CheckedFunction;
+import org.elasticsearch.search.profile.query.QueryDebugInfoProvider;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
 
-final class PercolateQuery extends Query implements Accountable {
+final class PercolateQuery extends Query implements Accountable, QueryDebugInfoProvider {
 
     // cost of matching the query against the document, arbitrary as it would be really complex to estimate
     private static final float MATCH_COST = 1000;
@@ -46,6 +49,12 @@ final class PercolateQuery extends Query implements Accountable {
     private final IndexSearcher percolatorIndexSearcher;
     private final Query nonNestedDocsFilter;
 
+    // How candidate matches were handled, reported when the query is profiled to help tuning the percolator queries
+    private final LongAdder candidateMatches = new LongAdder();
+    private final LongAdder verifiedMatches = new LongAdder();
+    private final LongAdder memoryIndexVerifications = new LongAdder();
+    private final LongAdder matches = new LongAdder();
+
     PercolateQuery(
         String name,
         QueryStore queryStore,
@@ -135,6 +144,7 @@ final class PercolateQuery extends Query implements Accountable {
 
                                 @Override
                                 boolean matchDocId(int docId) throws IOException {
+                                    candidateMatches.increment();
                                     Query query = percolatorQueries.apply(docId);
                                     if (query != null) {
                                         if (nonNestedDocsFilter != null) {
@@ -142,9 +152,11 @@ final class PercolateQuery extends Query implements Accountable {
                                                 .add(nonNestedDocsFilter, Occur.FILTER)
                                                 .build();
                                         }
+                                        memoryIndexVerifications.increment();
                                         TopDocs topDocs = percolatorIndexSearcher.search(query, 1);
                                         if (topDocs.scoreDocs.length > 0) {
                                             score = topDocs.scoreDocs[0].score;
+                                            matches.increment();
                                             return true;
                                         } else {
                                             return false;
@@ -169,12 +181,15 @@ final class PercolateQuery extends Query implements Accountable {
                                 }
 
                                 boolean matchDocId(int docId) throws IOException {
+                                    candidateMatches.increment();
                                     // We use the verifiedDocsBits to skip the expensive MemoryIndex verification.
                                     // If docId also appears in the verifiedDocsBits then that means during indexing
                                     // we were able to extract all query terms and for this candidate match
                                     // and we determined based on the nature of the query that it is safe to skip
                                     // the MemoryIndex verification.
                                     if (verifiedDocsBits.get(docId)) {
+                                        verifiedMatches.increment();
+                                        matches.increment();
                                         return true;
                                     }
                                     Query query = percolatorQueries.apply(docId);
@@ -186,7 +201,12 @@ final class PercolateQuery extends Query implements Accountable {
                                             .add(nonNestedDocsFilter, Occur.FILTER)
                                             .build();
                                     }
-                                    return Lucene.exists(percolatorIndexSearcher, query);
+                                    memoryIndexVerifications.increment();
+                                    if (Lucene.exists(percolatorIndexSearcher, query)) {
+                                        matches.increment();
+                                        return true;
+                                    }
+                                    return false;
                                 }
                             };
                         }
@@ -266,6 +286,14 @@ final class PercolateQuery extends Query implements Accountable {
         visitor.visitLeaf(this);
     }
 
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        add.accept("candidate_matches", candidateMatches.sum());
+        add.accept("verified_matches", verifiedMatches.sum());
+        add.accept("memory_index_verifications", memoryIndexVerifications.sum());
+        add.accept("matches", matches.sum());
+    }
+
     @Override
     public long ramBytesUsed() {
         long ramUsed = 0L;
@@ -52,6 +52,7 @@ import org.elasticsearch.index.fielddata.IndexFieldData;
 import org.elasticsearch.index.fielddata.IndexFieldDataCache;
 import org.elasticsearch.index.mapper.LuceneDocument;
 import org.elasticsearch.index.mapper.MappedFieldType;
+import org.elasticsearch.index.mapper.MappingLookup;
 import org.elasticsearch.index.mapper.NestedLookup;
 import org.elasticsearch.index.mapper.ParsedDocument;
 import org.elasticsearch.index.mapper.SourceToParse;
@@ -63,6 +64,7 @@ import org.elasticsearch.index.query.Rewriteable;
 import org.elasticsearch.index.query.SearchExecutionContext;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.breaker.NoneCircuitBreakerService;
+import org.elasticsearch.search.lookup.SearchLookup;
 import org.elasticsearch.xcontent.ConstructingObjectParser;
 import org.elasticsearch.xcontent.NamedXContentRegistry;
 import org.elasticsearch.xcontent.ParseField;
@@ -504,9 +506,14 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
 
         PercolatorFieldMapper.PercolatorFieldType pft = (PercolatorFieldMapper.PercolatorFieldType) fieldType;
         String queryName = this.name != null ? this.name : pft.name();
-        SearchExecutionContext percolateShardContext = wrap(context);
-        percolateShardContext = PercolatorFieldMapper.configureContext(percolateShardContext, pft.mapUnmappedFieldsAsText);
-        PercolateQuery.QueryStore queryStore = createStore(pft.queryBuilderField, percolateShardContext);
+        PercolateQuery.QueryStore queryStore;
+        if (pft.queryCache == null) {
+            SearchExecutionContext percolateShardContext = wrap(context);
+            percolateShardContext = PercolatorFieldMapper.configureContext(percolateShardContext, pft.mapUnmappedFieldsAsText);
+            queryStore = createStore(pft.queryBuilderField, percolateShardContext);
+        } else {
+            queryStore = createCachingStore(pft.queryBuilderField, pft.queryCache, context, pft.mapUnmappedFieldsAsText);
+        }
 
         return pft.percolateQuery(queryName, queryStore, documents, docSearcher, excludeNestedDocuments, context.indexVersionCreated());
     }
@@ -556,35 +563,7 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
             }
             return docId -> {
                 if (binaryDocValues.advanceExact(docId)) {
-                    BytesRef qbSource = binaryDocValues.binaryValue();
-                    try (
-                        InputStream in = new ByteArrayInputStream(qbSource.bytes, qbSource.offset, qbSource.length);
-                        StreamInput input = new NamedWriteableAwareStreamInput(new InputStreamStreamInput(in, qbSource.length), registry)
-                    ) {
-                        // Query builder's content is stored via BinaryFieldMapper, which has a custom encoding
-                        // to encode multiple binary values into a single binary doc values field.
-                        // This is the reason we need to first read the number of values and
-                        // then the length of the field value in bytes.
-                        int numValues = input.readVInt();
-                        assert numValues == 1;
-                        int valueLength = input.readVInt();
-                        assert valueLength > 0;
-
-                        TransportVersion transportVersion;
-                        if (indexVersion.before(IndexVersions.V_8_8_0)) {
-                            transportVersion = TransportVersion.fromId(indexVersion.id());
-                        } else {
-                            transportVersion = TransportVersion.readVersion(input);
-                        }
-                        // set the transportversion here - only read vints so far, so can change the version freely at this point
-                        input.setTransportVersion(transportVersion);
-
-                        QueryBuilder queryBuilder = input.readNamedWriteable(QueryBuilder.class);
-                        assert in.read() == -1;
-                        queryBuilder = Rewriteable.rewrite(queryBuilder, context);
-                        return queryBuilder.toQuery(context);
-                    }
-
+                    return toQuery(binaryDocValues.binaryValue(), indexVersion, registry, context);
                 } else {
                     return null;
                 }
@@ -592,6 +571,100 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
         };
     }
 
+    /**
+     * Like {@link #createStore} but looks the compiled queries up in the given cache first. Each query that is missing from the
+     * cache is compiled with its own copy of the request's context, so that only queries that don't depend on the current request,
+     * like on {@code now} or on scripts, are added to the cache.
+     */
+    static PercolateQuery.QueryStore createCachingStore(
+        MappedFieldType queryBuilderFieldType,
+        PercolatorQueryCache queryCache,
+        SearchExecutionContext requestContext,
+        boolean mapUnmappedFieldsAsText
+    ) {
+        SearchExecutionContext context = PercolatorFieldMapper.configureContext(wrap(requestContext), mapUnmappedFieldsAsText);
+        IndexVersion indexVersion = context.indexVersionCreated();
+        NamedWriteableRegistry registry = context.getWriteableRegistry();
+        MappingLookup.CacheKey mappingKey = context.mappingCacheKey();
+        boolean allowExpensiveQueries = context.allowExpensiveQueries();
+        return ctx -> {
+            LeafReader leafReader = ctx.reader();
+            BinaryDocValues binaryDocValues = leafReader.getBinaryDocValues(queryBuilderFieldType.name());
+            if (binaryDocValues == null) {
+                return docId -> null;
+            }
+            IndexReader.CacheKey segmentKey = queryCache.segmentKey(ctx);
+            if (segmentKey == null) {
+                return docId -> binaryDocValues.advanceExact(docId)
+                    ? toQuery(binaryDocValues.binaryValue(), indexVersion, registry, context)
+                    : null;
+            }
+            return docId -> {
+                PercolatorQueryCache.Key key = new PercolatorQueryCache.Key(
+                    segmentKey,
+                    mappingKey,
+                    allowExpensiveQueries,
+                    queryBuilderFieldType.name(),
+                    docId
+                );
+                Query query = queryCache.get(key);
+                if (query != null) {
+                    return query;
+                }
+                if (binaryDocValues.advanceExact(docId) == false) {
+                    return null;
+                }
+                // the configured context delegates to the wrapped one, which is what tracks whether the query can be cached
+                SearchExecutionContext compileContext = wrap(requestContext);
+                query = toQuery(
+                    binaryDocValues.binaryValue(),
+                    indexVersion,
+                    registry,
+                    PercolatorFieldMapper.configureContext(compileContext, mapUnmappedFieldsAsText)
+                );
+                if (compileContext.isCacheable()) {
+                    queryCache.put(key, query);
+                }
+                return query;
+            };
+        };
+    }
+
+    private static Query toQuery(
+        BytesRef qbSource,
+        IndexVersion indexVersion,
+        NamedWriteableRegistry registry,
+        SearchExecutionContext context
+    ) throws IOException {
+        try (
+            InputStream in = new ByteArrayInputStream(qbSource.bytes, qbSource.offset, qbSource.length);
+            StreamInput input = new NamedWriteableAwareStreamInput(new InputStreamStreamInput(in, qbSource.length), registry)
+        ) {
+            // Query builder's content is stored via BinaryFieldMapper, which has a custom encoding
+            // to encode multiple binary values into a single binary doc values field.
+            // This is the reason we need to first read the number of values and
+            // then the length of the field value in bytes.
+            int numValues = input.readVInt();
+            assert numValues == 1;
+            int valueLength = input.readVInt();
+            assert valueLength > 0;
+
+            TransportVersion transportVersion;
+            if (indexVersion.before(IndexVersions.V_8_8_0)) {
+                transportVersion = TransportVersion.fromId(indexVersion.id());
+            } else {
+                transportVersion = TransportVersion.readVersion(input);
+            }
+            // set the transportversion here - only read vints so far, so can change the version freely at this point
+            input.setTransportVersion(transportVersion);
+
+            QueryBuilder queryBuilder = input.readNamedWriteable(QueryBuilder.class);
+            assert in.read() == -1;
+            queryBuilder = Rewriteable.rewrite(queryBuilder, context);
+            return queryBuilder.toQuery(context);
+        }
+    }
+
     static SearchExecutionContext wrap(SearchExecutionContext delegate) {
         return new SearchExecutionContext(delegate) {
 
@@ -643,6 +716,13 @@ public class PercolateQueryBuilder extends AbstractQueryBuilder<PercolateQueryBu
             public void addNamedQuery(String name, Query query) {
                 delegate.addNamedQuery(name, query);
             }
+
+            @Override
+            public SearchLookup lookup() {
+                // Queries that hold on to the lookup, like script queries, are bound to the current request
+                disableCache();
+                return super.lookup();
+            }
         };
     }
 
@@ -38,6 +38,7 @@ import org.elasticsearch.common.io.stream.OutputStreamStreamOutput;
 import org.elasticsearch.common.lucene.search.Queries;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.IndexVersions;
@@ -101,9 +102,14 @@ public class PercolatorFieldMapper extends FieldMapper {
 
     @Override
     public FieldMapper.Builder getMergeBuilder() {
-        return new Builder(leafName(), searchExecutionContext, mapUnmappedFieldsAsText, indexCreatedVersion, clusterTransportVersion).init(
-            this
-        );
+        return new Builder(
+            leafName(),
+            searchExecutionContext,
+            mapUnmappedFieldsAsText,
+            indexCreatedVersion,
+            clusterTransportVersion,
+            queryCache
+        ).init(this);
     }
 
     static class Builder extends FieldMapper.Builder {
@@ -115,19 +121,22 @@ public class PercolatorFieldMapper extends FieldMapper {
 
         private final IndexVersion indexCreatedVersion;
         private final Supplier<TransportVersion> clusterTransportVersion;
+        private final PercolatorQueryCache queryCache;
 
         Builder(
             String fieldName,
             Supplier<SearchExecutionContext> searchExecutionContext,
             boolean mapUnmappedFieldsAsText,
             IndexVersion indexCreatedVersion,
-            Supplier<TransportVersion> clusterTransportVersion
+            Supplier<TransportVersion> clusterTransportVersion,
+            @Nullable PercolatorQueryCache queryCache
         ) {
             super(fieldName);
             this.searchExecutionContext = searchExecutionContext;
             this.mapUnmappedFieldsAsText = mapUnmappedFieldsAsText;
             this.indexCreatedVersion = Objects.requireNonNull(indexCreatedVersion);
             this.clusterTransportVersion = clusterTransportVersion;
+            this.queryCache = queryCache;
         }
 
         @Override
@@ -160,6 +169,7 @@ public class PercolatorFieldMapper extends FieldMapper {
             NumberFieldMapper minimumShouldMatchFieldMapper = createMinimumShouldMatchField(context, indexCreatedVersion);
             fieldType.minimumShouldMatchField = minimumShouldMatchFieldMapper.fieldType();
             fieldType.mapUnmappedFieldsAsText = mapUnmappedFieldsAsText;
+            fieldType.queryCache = queryCache;
 
             return new PercolatorFieldMapper(
                 leafName(),
@@ -173,7 +183,8 @@ public class PercolatorFieldMapper extends FieldMapper {
                 minimumShouldMatchFieldMapper,
                 mapUnmappedFieldsAsText,
                 indexCreatedVersion,
-                clusterTransportVersion
+                clusterTransportVersion,
+                queryCache
             );
         }
 
@@ -213,6 +224,12 @@ public class PercolatorFieldMapper extends FieldMapper {
 
     static class TypeParser implements Mapper.TypeParser {
 
+        private final PercolatorQueryCache queryCache;
+
+        TypeParser(@Nullable PercolatorQueryCache queryCache) {
+            this.queryCache = queryCache;
+        }
+
         @Override
         public Builder parse(String name, Map<String, Object> node, MappingParserContext parserContext) throws MapperParsingException {
             return new Builder(
@@ -220,7 +237,8 @@ public class PercolatorFieldMapper extends FieldMapper {
                 parserContext.searchExecutionContext(),
                 getMapUnmappedFieldAsText(parserContext.getSettings()),
                 parserContext.indexVersionCreated(),
-                parserContext.clusterTransportVersion()
+                parserContext.clusterTransportVersion(),
+                queryCache
             );
         }
     }
@@ -238,6 +256,8 @@ public class PercolatorFieldMapper extends FieldMapper {
 
         RangeFieldMapper.RangeFieldType rangeField;
         boolean mapUnmappedFieldsAsText;
+        @Nullable
+        PercolatorQueryCache queryCache;
 
         private PercolatorFieldType(String name, Map<String, String> meta) {
             super(name, false, false, false, TextSearchInfo.NONE, meta);
@@ -369,6 +389,7 @@ public class PercolatorFieldMapper extends FieldMapper {
     private final boolean mapUnmappedFieldsAsText;
     private final IndexVersion indexCreatedVersion;
     private final Supplier<TransportVersion> clusterTransportVersion;
+    private final PercolatorQueryCache queryCache;
 
     PercolatorFieldMapper(
         String simpleName,
@@ -382,7 +403,8 @@ public class PercolatorFieldMapper extends FieldMapper {
         NumberFieldMapper minimumShouldMatchFieldMapper,
         boolean mapUnmappedFieldsAsText,
         IndexVersion indexCreatedVersion,
-        Supplier<TransportVersion> clusterTransportVersion
+        Supplier<TransportVersion> clusterTransportVersion,
+        @Nullable PercolatorQueryCache queryCache
     ) {
         super(simpleName, mappedFieldType, builderParams);
         this.searchExecutionContext = searchExecutionContext;
@@ -394,6 +416,7 @@ public class PercolatorFieldMapper extends FieldMapper {
         this.mapUnmappedFieldsAsText = mapUnmappedFieldsAsText;
         this.indexCreatedVersion = indexCreatedVersion;
         this.clusterTransportVersion = clusterTransportVersion;
+        this.queryCache = queryCache;
     }
 
     @Override
@@ -0,0 +1,153 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.percolator;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.RamUsageEstimator;
+import org.elasticsearch.common.cache.Cache;
+import org.elasticsearch.common.cache.CacheBuilder;
+import org.elasticsearch.common.cache.RemovalNotification;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.mapper.MappingLookup;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Node level cache of the {@link Query queries} that percolator queries compile to, so that the candidate queries of a segment
+ * don't need to be read from doc values, deserialized, rewritten and compiled again for every percolate request. The cache is
+ * an LRU bounded by the estimated heap usage of the compiled queries. Entries are keyed by the segment core, the mapping and the
+ * {@code search.allow_expensive_queries} setting that they were compiled with. The keys are also tracked per segment core, so
+ * that the entries of a segment can be dropped directly once that segment is closed.
+ */
+final class PercolatorQueryCache implements IndexReader.ClosedListener {
+
+    /**
+     * The maximum heap that compiled percolator queries may use, disabled by default.
+     */
+    static final Setting<ByteSizeValue> QUERY_CACHE_SIZE_SETTING = Setting.memorySizeSetting(
+        "indices.percolator.query_cache.size",
+        ByteSizeValue.ZERO,
+        Property.NodeScope
+    );
+
+    private static final long KEY_RAM_BYTES_USED = RamUsageEstimator.shallowSizeOfInstance(Key.class);
+
+    private final Cache<Key, Query> cache;
+    private final Set<IndexReader.CacheKey> registeredClosedListeners = ConcurrentCollections.newConcurrentSet();
+    private final Map<IndexReader.CacheKey, Set<Key>> keysBySegment = ConcurrentCollections.newConcurrentMap();
+
+    PercolatorQueryCache(ByteSizeValue size) {
+        this.cache = CacheBuilder.<Key, Query>builder()
+            .setMaximumWeight(size.getBytes())
+            .weigher((key, query) -> KEY_RAM_BYTES_USED + RamUsageEstimator.sizeOf(query))
+            .removalListener(this::onRemoval)
+            .build();
+    }
+
+    /**
+     * Returns the cache to use for the given settings, or {@code null} if caching percolator queries is disabled.
+     */
+    @Nullable
+    static PercolatorQueryCache create(ByteSizeValue size) {
+        return size.getBytes() > 0 ? new PercolatorQueryCache(size) : null;
+    }
+
+    /**
+     * Returns the key of the segment core that the queries of the given leaf can be cached under, or {@code null} if the leaf
+     * doesn't support caching.
+     */
+    @Nullable
+    IndexReader.CacheKey segmentKey(LeafReaderContext ctx) {
+        IndexReader.CacheHelper cacheHelper = ctx.reader().getCoreCacheHelper();
+        if (cacheHelper == null) {
+            return null;
+        }
+        IndexReader.CacheKey segmentKey = cacheHelper.getKey();
+        if (registeredClosedListeners.add(segmentKey)) {
+            cacheHelper.addClosedListener(this);
+        }
+        return segmentKey;
+    }
+
+    @Nullable
+    Query get(Key key) {
+        return cache.get(key);
+    }
+
+    void put(Key key, Query query) {
+        keysBySegment.compute(key.segmentKey(), (segmentKey, keys) -> {
+            if (keys == null) {
+                keys = ConcurrentCollections.newConcurrentSet();
+            }
+            keys.add(key);
+            return keys;
+        });
+        cache.put(key, query);
+    }
+
+    int count() {
+        return cache.count();
+    }
+
+    long weight() {
+        return cache.weight();
+    }
+
+    /**
+     * The number of segments that have queries in the cache.
+     */
+    int segmentCount() {
+        return keysBySegment.size();
+    }
+
+    private void onRemoval(RemovalNotification<Key, Query> notification) {
+        if (notification.getRemovalReason() == RemovalNotification.RemovalReason.REPLACED) {
+            // the key is still cached, with the new query
+            return;
+        }
+        Key removed = notification.getKey();
+        keysBySegment.computeIfPresent(removed.segmentKey(), (segmentKey, keys) -> {
+            keys.remove(removed);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    @Override
+    public void onClose(IndexReader.CacheKey segmentKey) {
+        registeredClosedListeners.remove(segmentKey);
+        // A query that is compiled concurrently with the segment being closed may still be added afterwards. Such an entry is never
+        // read again and only lingers until it is evicted.
+        Set<Key> keys = keysBySegment.remove(segmentKey);
+        if (keys != null) {
+            for (Key key : keys) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Identifies the percolator query stored in a document of a segment, as compiled with a specific mapping and with expensive
+     * queries allowed or not, since compiling some queries fails when they aren't allowed.
+     */
+    record Key(
+        IndexReader.CacheKey segmentKey,
+        MappingLookup.CacheKey mappingKey,
+        boolean allowExpensiveQueries,
+        String field,
+        int docId
+    ) {}
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+package org.elasticsearch.percolator;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.plugins.Plugin;
+import org.elasticsearch.plugins.PluginsService;
+import org.elasticsearch.script.MockScriptPlugin;
+import org.elasticsearch.script.Script;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.search.profile.ProfileResult;
+import org.elasticsearch.search.profile.SearchProfileShardResult;
+import org.elasticsearch.test.ESSingleNodeTestCase;
+import org.elasticsearch.xcontent.XContentType;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertResponse;
+import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertSearchHitsWithoutFailures;
+import static org.elasticsearch.xcontent.XContentFactory.jsonBuilder;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class PercolatorQueryCacheTests extends ESSingleNodeTestCase {
+
+    @Override
+    protected Collection<Class<? extends Plugin>> getPlugins() {
+        return List.of(PercolatorPlugin.class, CustomScriptPlugin.class);
+    }
+
+    @Override
+    protected Settings nodeSettings() {
+        return Settings.builder()
+            .put(super.nodeSettings())
+            .put(PercolatorQueryCache.QUERY_CACHE_SIZE_SETTING.getKey(), "1mb")
+            .build();
+    }
+
+    public static class CustomScriptPlugin extends MockScriptPlugin {
+        @Override
+        protected Map<String, Function<Map<String, Object>, Object>> pluginScripts() {
+            return Map.of("1==1", vars -> Boolean.TRUE);
+        }
+    }
+
+    public void testCachesRequestIndependentQueries() throws Exception {
+        indicesAdmin().prepareCreate("index").setMapping("query", "type=percolator", "field1", "type=text", "date", "type=date").get();
+        // phrase queries are only partially extracted at index time, so they always need to be verified against the document
+        prepareIndex("index").setId("phrase")
+            .setSource(jsonBuilder().startObject().field("query", QueryBuilders.matchPhraseQuery("field1", "a b")).endObject())
+            .get();
+        prepareIndex("index").setId("now")
+            .setSource(jsonBuilder().startObject().field("query", QueryBuilders.rangeQuery("date").lte("now")).endObject())
+            .get();
+        prepareIndex("index").setId("script")
+            .setSource(
+                jsonBuilder().startObject()
+                    .field(
+                        "query",
+                        QueryBuilders.scriptQuery(new Script(ScriptType.INLINE, CustomScriptPlugin.NAME, "1==1", Map.of()))
+                    )
+                    .endObject()
+            )
+            .setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE)
+            .get();
+
+        PercolatorQueryCache queryCache = getInstanceFromNode(PluginsService.class).filterPlugins(PercolatorPlugin.class)
+            .findFirst()
+            .orElseThrow()
+            .getQueryCache();
+        assertThat(queryCache, notNullValue());
+        assertThat(queryCache.count(), equalTo(0));
+
+        PercolateQueryBuilder percolateQuery = new PercolateQueryBuilder(
+            "query",
+            BytesReference.bytes(jsonBuilder().startObject().field("field1", "a b c").field("date", "2020-01-01").endObject()),
+            XContentType.JSON
+        );
+        for (int i = 0; i < 2; i++) {
+            assertSearchHitsWithoutFailures(client().prepareSearch("index").setQuery(percolateQuery), "phrase", "now", "script");
+            // queries that depend on the request, through now or a script, are compiled again for every request
+            assertThat(queryCache.count(), equalTo(1));
+            assertThat(queryCache.segmentCount(), equalTo(1));
+            assertThat(queryCache.weight(), greaterThan(0L));
+        }
+
+        assertResponse(client().prepareSearch("index").setQuery(percolateQuery).setProfile(true), response -> {
+            assertThat(response.getHits().getTotalHits().value(), equalTo(3L));
+            ProfileResult profile = null;
+            for (SearchProfileShardResult shardResult : response.getProfileResults().values()) {
+                profile = findPercolateQuery(shardResult.getQueryProfileResults().get(0).getQueryResults());
+            }
+            assertThat(profile, notNullValue());
+            Map<String, Object> debug = profile.getDebugInfo();
+            // none of the queries could be verified at index time, so all of their candidate matches were verified in memory
+            assertThat((Long) debug.get("candidate_matches"), greaterThanOrEqualTo(3L));
+            assertThat(debug.get("verified_matches"), equalTo(0L));
+            assertThat(debug.get("memory_index_verifications"), equalTo(debug.get("candidate_matches")));
+            assertThat(debug.get("matches"), equalTo(debug.get("candidate_matches")));
+        });
+
+        indicesAdmin().prepareDelete("index").get();
+        assertBusy(() -> {
+            assertThat(queryCache.count(), equalTo(0));
+            assertThat(queryCache.segmentCount(), equalTo(0));
+        });
+    }
+
+    public void testClosingASegmentOnlyInvalidatesItsQueries() throws Exception {
+        PercolatorQueryCache queryCache = new PercolatorQueryCache(ByteSizeValue.ofMb(1));
+        try (Directory closedDir = newDirectory(); Directory openDir = newDirectory()) {
+            IndexReader closedReader = openReaderWithOneDocument(closedDir);
+            try (IndexReader openReader = openReaderWithOneDocument(openDir)) {
+                IndexReader.CacheKey closedSegment = queryCache.segmentKey(closedReader.leaves().get(0));
+                IndexReader.CacheKey openSegment = queryCache.segmentKey(openReader.leaves().get(0));
+                for (int docId = 0; docId < 3; docId++) {
+                    PercolatorQueryCache.Key key = new PercolatorQueryCache.Key(closedSegment, null, true, "query", docId);
+                    queryCache.put(key, new TermQuery(new Term("f", "v")));
+                }
+                PercolatorQueryCache.Key openKey = new PercolatorQueryCache.Key(openSegment, null, true, "query", 0);
+                queryCache.put(openKey, new TermQuery(new Term("f", "v")));
+                assertThat(queryCache.count(), equalTo(4));
+                assertThat(queryCache.segmentCount(), equalTo(2));
+
+                closedReader.close();
+                assertThat(queryCache.count(), equalTo(1));
+                assertThat(queryCache.segmentCount(), equalTo(1));
+                assertThat(queryCache.get(openKey), notNullValue());
+                // queries compiled while expensive queries were allowed aren't served once they aren't
+                assertThat(queryCache.get(new PercolatorQueryCache.Key(openSegment, null, false, "query", 0)), nullValue());
+            }
+        }
+        assertThat(queryCache.count(), equalTo(0));
+        assertThat(queryCache.segmentCount(), equalTo(0));
+    }
+
+    private static IndexReader openReaderWithOneDocument(Directory directory) throws IOException {
+        try (IndexWriter writer = new IndexWriter(directory, new IndexWriterConfig())) {
+            Document document = new Document();
+            document.add(new StringField("f", "v", Field.Store.NO));
+            writer.addDocument(document);
+        }
+        return DirectoryReader.open(directory);
+    }
+
+    private static ProfileResult findPercolateQuery(List<ProfileResult> results) {
+        for (ProfileResult result : results) {
+            if (result.getQueryName().equals(PercolateQuery.class.getSimpleName())) {
+                return result;
+            }
+            ProfileResult child = findPercolateQuery(result.getProfiledChildren());
+            if (child != null) {
+                return child;
+            }
+        }
+        return null;
+    }
+}
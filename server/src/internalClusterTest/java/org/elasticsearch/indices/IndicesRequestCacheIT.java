@@ -21,6 +21,7 @@ import org.elasticsearch.search.aggregations.bucket.MultiBucketsAggregation.Buck
 import org.elasticsearch.search.aggregations.bucket.global.GlobalAggregationBuilder;
 import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
 import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.search.aggregations.bucket.histogram.LongBounds;
 import org.elasticsearch.test.ESIntegTestCase;
 import org.elasticsearch.test.hamcrest.ElasticsearchAssertions;
 
@@ -318,6 +319,60 @@ public class IndicesRequestCacheIT extends ESIntegTestCase {
         assertCacheState(client, "index", 2, 1);
     }
 
+    public void testDateHistogramExtendedBoundsShareCacheEntry() throws Exception {
+        Client client = client();
+        assertAcked(
+            indicesAdmin().prepareCreate("index")
+                .setMapping("d", "type=date")
+                .setSettings(indexSettings(1, 0).put(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING.getKey(), true))
+        );
+        indexRandom(
+            true,
+            client.prepareIndex("index").setId("1").setSource("d", "2014-01-01T00:00:00"),
+            client.prepareIndex("index").setId("2").setSource("d", "2014-02-01T00:00:00"),
+            client.prepareIndex("index").setId("3").setSource("d", "2014-03-01T00:00:00"),
+            client.prepareIndex("index").setId("4").setSource("d", "2014-05-01T00:00:00"),
+            client.prepareIndex("index").setId("5").setSource("d", "2014-06-01T00:00:00")
+        );
+        ensureSearchable("index");
+
+        // Force merge the index to ensure there can be no background merges during the subsequent searches that would invalidate the cache
+        BroadcastResponse forceMergeResponse = indicesAdmin().prepareForceMerge("index").setFlush(true).get();
+        ElasticsearchAssertions.assertAllSuccessful(forceMergeResponse);
+        refresh();
+        ensureSearchable("index");
+        assertCacheState(client, "index", 0, 0);
+
+        // a dashboard that moves its time range, which covers all documents, by one month on every refresh
+        final String[][] windows = new String[][] {
+            { "2013-12-01T00:00:00", "2014-10-01T00:00:00" },
+            { "2013-11-01T00:00:00", "2014-11-01T00:00:00" },
+            { "2014-01-01T00:00:00", "2014-06-01T00:00:00" } };
+        final int[] expectedBuckets = new int[] { 11, 13, 6 };
+        for (int i = 0; i < windows.length; i++) {
+            final int expected = expectedBuckets[i];
+            assertNoFailuresAndResponse(
+                client.prepareSearch("index")
+                    .setSearchType(SearchType.QUERY_THEN_FETCH)
+                    .setSize(0)
+                    .setQuery(QueryBuilders.rangeQuery("d").gte(windows[i][0]).lte(windows[i][1]))
+                    .addAggregation(
+                        dateHistogram("histo").field("d")
+                            .calendarInterval(DateHistogramInterval.MONTH)
+                            .minDocCount(0)
+                            .extendedBounds(new LongBounds(windows[i][0], windows[i][1]))
+                    ),
+                response -> {
+                    assertThat(response.getHits().getTotalHits().value(), equalTo(5L));
+                    Histogram histogram = response.getAggregations().get("histo");
+                    assertThat(histogram.getBuckets().size(), equalTo(expected));
+                    assertThat(histogram.getBuckets().stream().mapToLong(Bucket::getDocCount).sum(), equalTo(5L));
+                }
+            );
+            assertCacheState(client, "index", i, 1);
+        }
+    }
+
     public void testQueryRewriteDatesWithNow() throws Exception {
         Client client = client();
         Settings settings = indexSettings(1, 0).put(IndicesRequestCache.INDEX_CACHE_REQUEST_ENABLED_SETTING.getKey(), true).build();
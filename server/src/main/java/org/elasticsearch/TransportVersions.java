@@ -259,6 +259,14 @@ public class TransportVersions {
     public static final TransportVersion ESQL_TIME_SERIES_SOURCE_STATUS = def(9_076_0_00);
     public static final TransportVersion ESQL_HASH_OPERATOR_STATUS_OUTPUT_TIME = def(9_077_0_00);
     public static final TransportVersion ML_INFERENCE_HUGGING_FACE_CHAT_COMPLETION_ADDED = def(9_078_0_00);
+    public static final TransportVersion TRANSLOG_SYNC_STATS = def(9_079_0_00);
+    public static final TransportVersion ADAPTIVE_SELECTION_UTILIZATION = def(9_080_0_00);
+    public static final TransportVersion PUBLISH_STATE_RELAY = def(9_081_0_00);
+    public static final TransportVersion INDEXING_STATS_INCLUDES_WRITE_INDEXING_BUFFER_COUNT = def(9_082_0_00);
+    public static final TransportVersion KNN_PROFILE_SEARCH_STRATEGIES = def(9_083_0_00);
+    public static final TransportVersion ESQL_HASH_OPERATOR_STATUS_SPILLS = def(9_084_0_00);
+    public static final TransportVersion ESQL_EXCHANGE_BUFFER_BYTES = def(9_085_0_00);
+    public static final TransportVersion TRANSLOG_GROUP_COMMIT_STATS = def(9_086_0_00);
 
     /*
      * STOP! READ THIS FIRST! No, really,
@@ -249,10 +249,20 @@ public interface DocWriteRequest<T> extends IndicesRequest, Accountable {
      *                that does not have a unique shard id.
      */
     static DocWriteRequest<?> readDocumentRequest(@Nullable ShardId shardId, StreamInput in) throws IOException {
+        return readDocumentRequest(shardId, in, false);
+    }
+
+    /**
+     * Read a document write (index/delete/update) request
+     *
+     * @param retainSource whether the source of an index request should be retained as a slice of the stream's buffer rather than copied,
+     *                     see {@link IndexRequest#IndexRequest(ShardId, StreamInput, boolean)}
+     */
+    static DocWriteRequest<?> readDocumentRequest(@Nullable ShardId shardId, StreamInput in, boolean retainSource) throws IOException {
         byte type = in.readByte();
         DocWriteRequest<?> docWriteRequest;
         if (type == 0) {
-            docWriteRequest = new IndexRequest(shardId, in);
+            docWriteRequest = new IndexRequest(shardId, in, retainSource);
         } else if (type == 1) {
             docWriteRequest = new DeleteRequest(shardId, in);
         } else if (type == 2) {
@@ -30,9 +30,9 @@ public class BulkItemRequest implements Writeable, Accountable {
     private final DocWriteRequest<?> request;
     private volatile BulkItemResponse primaryResponse;
 
-    BulkItemRequest(@Nullable ShardId shardId, StreamInput in) throws IOException {
+    BulkItemRequest(@Nullable ShardId shardId, StreamInput in, boolean retainSource) throws IOException {
         id = in.readVInt();
-        request = DocWriteRequest.readDocumentRequest(shardId, in);
+        request = DocWriteRequest.readDocumentRequest(shardId, in, retainSource);
         if (in.readBoolean()) {
             if (shardId == null) {
                 primaryResponse = new BulkItemResponse(in);
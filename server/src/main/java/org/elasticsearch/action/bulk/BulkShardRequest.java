@@ -18,13 +18,19 @@ import org.elasticsearch.action.support.replication.ReplicatedWriteRequest;
 import org.elasticsearch.action.support.replication.ReplicationRequest;
 import org.elasticsearch.action.update.UpdateRequest;
 import org.elasticsearch.cluster.metadata.InferenceFieldMetadata;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.util.set.Sets;
+import org.elasticsearch.core.AbstractRefCounted;
+import org.elasticsearch.core.RefCounted;
+import org.elasticsearch.core.Releasables;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.transport.RawIndexingDataTransportRequest;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -37,17 +43,38 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
 
     private final BulkItemRequest[] items;
     private final boolean isSimulated;
+    // releases the sources of index requests that are slices of the buffer this request was read from, rather than copies
+    private final RefCounted refCounted;
 
     private transient Map<String, InferenceFieldMetadata> inferenceFieldMap = null;
 
     public BulkShardRequest(StreamInput in) throws IOException {
         super(in);
-        items = in.readArray(i -> i.readOptionalWriteable(inpt -> new BulkItemRequest(shardId, inpt)), BulkItemRequest[]::new);
-        if (in.getTransportVersion().onOrAfter(TransportVersions.V_8_15_0)) {
-            isSimulated = in.readBoolean();
-        } else {
-            isSimulated = false;
+        final List<ReleasableBytesReference> retainedSources = new ArrayList<>();
+        boolean success = false;
+        try {
+            items = in.readArray(i -> i.readOptionalWriteable(inpt -> {
+                final BulkItemRequest item = new BulkItemRequest(shardId, inpt, true);
+                if (item.request() instanceof IndexRequest indexRequest
+                    && indexRequest.source() instanceof ReleasableBytesReference retainedSource) {
+                    retainedSources.add(retainedSource);
+                }
+                return item;
+            }), BulkItemRequest[]::new);
+            if (in.getTransportVersion().onOrAfter(TransportVersions.V_8_15_0)) {
+                isSimulated = in.readBoolean();
+            } else {
+                isSimulated = false;
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                Releasables.close(retainedSources);
+            }
         }
+        refCounted = retainedSources.isEmpty()
+            ? RefCounted.ALWAYS_REFERENCED
+            : AbstractRefCounted.of(() -> Releasables.close(retainedSources));
     }
 
     public BulkShardRequest(ShardId shardId, RefreshPolicy refreshPolicy, BulkItemRequest[] items) {
@@ -59,6 +86,7 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
         this.items = items;
         setRefreshPolicy(refreshPolicy);
         this.isSimulated = isSimulated;
+        this.refCounted = RefCounted.ALWAYS_REFERENCED;
     }
 
     /**
@@ -208,6 +236,26 @@ public final class BulkShardRequest extends ReplicatedWriteRequest<BulkShardRequ
         }
     }
 
+    @Override
+    public void incRef() {
+        refCounted.incRef();
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return refCounted.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return refCounted.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return refCounted.hasReferences();
+    }
+
     @Override
     public long ramBytesUsed() {
         long sum = SHALLOW_SIZE;
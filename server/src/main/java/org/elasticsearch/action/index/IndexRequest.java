@@ -158,6 +158,15 @@ public class IndexRequest extends ReplicatedWriteRequest<IndexRequest> implement
     }
 
     public IndexRequest(@Nullable ShardId shardId, StreamInput in) throws IOException {
+        this(shardId, in, false);
+    }
+
+    /**
+     * @param retainSource whether to read the source as a slice of the buffer underlying {@code in}, if it supports that, rather than
+     *                     copying it onto the heap. The caller is then responsible for releasing the source, which is then a
+     *                     {@link org.elasticsearch.common.bytes.ReleasableBytesReference}, once the request is no longer used.
+     */
+    public IndexRequest(@Nullable ShardId shardId, StreamInput in, boolean retainSource) throws IOException {
         super(shardId, in);
         if (in.getTransportVersion().before(TransportVersions.V_8_0_0)) {
             String type = in.readOptionalString();
@@ -165,7 +174,7 @@ public class IndexRequest extends ReplicatedWriteRequest<IndexRequest> implement
         }
         id = in.readOptionalString();
         routing = in.readOptionalString();
-        source = in.readBytesReference();
+        source = retainSource ? in.readReleasableBytesReference() : in.readBytesReference();
         opType = OpType.fromId(in.readByte());
         version = in.readLong();
         versionType = VersionType.fromValue(in.readByte());
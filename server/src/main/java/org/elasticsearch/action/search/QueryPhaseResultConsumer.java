@@ -66,6 +66,13 @@ import static org.elasticsearch.action.search.SearchPhaseController.setShardInde
 public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhaseResult> {
     private static final Logger logger = LogManager.getLogger(QueryPhaseResultConsumer.class);
 
+    /**
+     * The maximum number of shard-level top docs to buffer before a partial reduce is triggered, regardless of the
+     * batched reduce size. Large {@code from + size} values multiplied by a large batched reduce size would otherwise keep
+     * millions of {@link org.apache.lucene.search.ScoreDoc}s on the heap of the coordinating node until the batch is full.
+     */
+    static final int DEFAULT_MAX_BUFFERED_TOP_DOCS = 1 << 16;
+
     private final Executor executor;
     private final CircuitBreaker circuitBreaker;
     private final SearchProgressListener progressListener;
@@ -80,6 +87,7 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
     private final Consumer<Exception> onPartialMergeFailure;
 
     private final int batchReduceSize;
+    private final int maxBufferedTopDocs;
     private List<QuerySearchResult> buffer = new ArrayList<>();
     private List<SearchShard> emptyResults = new ArrayList<>();
     // the memory that is accounted in the circuit breaker for this consumer
@@ -87,6 +95,8 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
     // the memory that is currently used in the buffer
     private volatile long aggsCurrentBufferSize;
     private volatile long maxAggsCurrentBufferSize = 0;
+    // the number of top docs that are currently held in the buffer
+    private long topDocsCurrentBufferSize;
 
     private final ArrayDeque<MergeTask> queue = new ArrayDeque<>();
     private final AtomicReference<MergeTask> runningTask = new AtomicReference<>();
@@ -110,6 +120,30 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         SearchProgressListener progressListener,
         int expectedResultSize,
         Consumer<Exception> onPartialMergeFailure
+    ) {
+        this(
+            request,
+            executor,
+            circuitBreaker,
+            controller,
+            isCanceled,
+            progressListener,
+            expectedResultSize,
+            onPartialMergeFailure,
+            DEFAULT_MAX_BUFFERED_TOP_DOCS
+        );
+    }
+
+    QueryPhaseResultConsumer(
+        SearchRequest request,
+        Executor executor,
+        CircuitBreaker circuitBreaker,
+        SearchPhaseController controller,
+        Supplier<Boolean> isCanceled,
+        SearchProgressListener progressListener,
+        int expectedResultSize,
+        Consumer<Exception> onPartialMergeFailure,
+        int maxBufferedTopDocs
     ) {
         super(expectedResultSize);
         this.executor = executor;
@@ -129,6 +163,7 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
         this.hasAggs = source != null && source.aggregations() != null;
         this.aggReduceContextBuilder = hasAggs ? controller.getReduceContext(isCanceled, source.aggregations()) : null;
         batchReduceSize = (hasAggs || hasTopDocs) ? Math.min(request.getBatchedReduceSize(), expectedResultSize) : expectedResultSize;
+        this.maxBufferedTopDocs = maxBufferedTopDocs;
         topDocsStats = new TopDocsStats(request.resolveTrackTotalHitsUpTo());
     }
 
@@ -478,6 +513,7 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
             next.run();
         } else {
             final long aggsSize = ramBytesUsedQueryResult(result);
+            final int topDocsSize = hasTopDocs ? result.topDocs().topDocs.scoreDocs.length : 0;
             boolean executeNextImmediately = true;
             boolean hasFailure = false;
             synchronized (this) {
@@ -498,17 +534,20 @@ public class QueryPhaseResultConsumer extends ArraySearchPhaseResults<SearchPhas
                         aggsCurrentBufferSize += aggsSize;
                         // add one if a partial merge is pending
                         int size = b.size() + (hasPartialReduce ? 1 : 0);
-                        if (size >= batchReduceSize) {
+                        // also reduce early if the buffered top docs get large, a partial merge only keeps the top N of them
+                        if (size >= batchReduceSize || (b.isEmpty() == false && topDocsCurrentBufferSize >= maxBufferedTopDocs)) {
                             hasPartialReduce = true;
                             executeNextImmediately = false;
                             MergeTask task = new MergeTask(b, aggsCurrentBufferSize, emptyResults, next);
                             b = buffer = new ArrayList<>();
                             emptyResults = new ArrayList<>();
                             aggsCurrentBufferSize = 0;
+                            topDocsCurrentBufferSize = 0;
                             queue.add(task);
                             tryExecuteNext();
                         }
                         b.add(result);
+                        topDocsCurrentBufferSize += topDocsSize;
                     }
                 }
             }
@@ -57,7 +57,7 @@ public final class SearchExecutionStatsCollector extends DelegatingActionListene
             final long responseDuration = System.nanoTime() - startNanos;
             // EWMA/queue size may be -1 if the query node doesn't support capturing it
             if (serviceTimeEWMA > 0 && queueSize >= 0) {
-                collector.addNodeStatistics(nodeId, queueSize, responseDuration, serviceTimeEWMA);
+                collector.addNodeStatistics(nodeId, queueSize, responseDuration, serviceTimeEWMA, queryResult.nodeUtilization());
             }
         }
         delegate.onResponse(response);
@@ -369,7 +369,12 @@ public abstract class TransportReplicationAction<
 
     private void handleOperationRequest(final Request request, final TransportChannel channel, Task task) {
         Releasable releasable = checkOperationLimits(request);
-        ActionListener<Response> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        // the request may retain parts of the network buffer it was read from, keep it alive until we respond
+        request.mustIncRef();
+        ActionListener<Response> listener = ActionListener.runBefore(
+            new ChannelActionListener<>(channel),
+            Releasables.wrap(releasable, request::decRef)::close
+        );
         runReroutePhase(task, request, listener, false);
     }
 
@@ -383,7 +388,11 @@ public abstract class TransportReplicationAction<
             request.sentFromLocalReroute(),
             request.localRerouteInitiatedByNodeClient()
         );
-        ActionListener<Response> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        request.mustIncRef();
+        ActionListener<Response> listener = ActionListener.runBefore(
+            new ChannelActionListener<>(channel),
+            Releasables.wrap(releasable, request::decRef)::close
+        );
 
         try {
             new AsyncPrimaryAction(request, listener, (ReplicationTask) task).run();
@@ -625,7 +634,11 @@ public abstract class TransportReplicationAction<
         final Task task
     ) {
         Releasable releasable = checkReplicaLimits(replicaRequest.getRequest());
-        ActionListener<ReplicaResponse> listener = ActionListener.runBefore(new ChannelActionListener<>(channel), releasable::close);
+        replicaRequest.mustIncRef();
+        ActionListener<ReplicaResponse> listener = ActionListener.runBefore(
+            new ChannelActionListener<>(channel),
+            Releasables.wrap(releasable, replicaRequest::decRef)::close
+        );
 
         try {
             new AsyncReplicaAction(replicaRequest, listener, (ReplicationTask) task).run();
@@ -1414,6 +1427,26 @@ public abstract class TransportReplicationAction<
             return "[" + request.getDescription() + "] for aID [" + targetAllocationID + "] and term [" + primaryTerm + "]";
         }
 
+        @Override
+        public void incRef() {
+            request.incRef();
+        }
+
+        @Override
+        public boolean tryIncRef() {
+            return request.tryIncRef();
+        }
+
+        @Override
+        public boolean decRef() {
+            return request.decRef();
+        }
+
+        @Override
+        public boolean hasReferences() {
+            return request.hasReferences();
+        }
+
         @Override
         public void writeTo(StreamOutput out) throws IOException {
             // If sentFromLocalReroute is marked true, then this request should just be looped back through
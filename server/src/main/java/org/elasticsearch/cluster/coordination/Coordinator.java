@@ -288,7 +288,13 @@ public class Coordinator extends AbstractLifecycleComponent implements ClusterSt
             ApplyCommitRequest::new,
             (request, channel, task) -> handleApplyCommit(request, new ChannelActionListener<>(channel).map(r -> Empty.INSTANCE))
         );
-        this.publicationHandler = new PublicationTransportHandler(transportService, namedWriteableRegistry, this::handlePublishRequest);
+        this.publicationHandler = new PublicationTransportHandler(
+            transportService,
+            namedWriteableRegistry,
+            this::handlePublishRequest,
+            PublicationTransportHandler.PUBLISH_RELAY_FANOUT_SETTING.get(settings),
+            PublicationTransportHandler.PUBLISH_RELAY_TIMEOUT_SETTING.get(settings)
+        );
         this.leaderChecker = new LeaderChecker(settings, transportService, this::onLeaderFailure, nodeHealthService);
         this.followersChecker = new FollowersChecker(
             settings,
@@ -1627,6 +1633,7 @@ public class Coordinator extends AbstractLifecycleComponent implements ClusterSt
                         followersChecker.setCurrentNodes(publishNodes);
                         lagDetector.setTrackedNodes(publishNodes);
                         publication.start(followersChecker.getFaultyNodes());
+                        publicationContext.sendRelayedPublishRequests();
                     } catch (Exception e) {
                         assert false : e;
                         if (currentPublication.isEmpty()) {
@@ -11,11 +11,14 @@ package org.elasticsearch.cluster.coordination;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionRunnable;
 import org.elasticsearch.action.support.ChannelActionListener;
+import org.elasticsearch.action.support.RefCountingRunnable;
+import org.elasticsearch.action.support.SubscribableListener;
 import org.elasticsearch.cluster.ClusterState;
 import org.elasticsearch.cluster.ClusterStatePublicationEvent;
 import org.elasticsearch.cluster.Diff;
@@ -34,23 +37,34 @@ import org.elasticsearch.common.io.stream.PositionTrackingOutputStreamStreamOutp
 import org.elasticsearch.common.io.stream.RecyclerBytesStreamOutput;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.util.LazyInitializable;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
 import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.Releasable;
 import org.elasticsearch.core.Releasables;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.BytesTransportRequest;
 import org.elasticsearch.transport.NodeNotConnectedException;
+import org.elasticsearch.transport.RemoteTransportException;
 import org.elasticsearch.transport.Transport;
 import org.elasticsearch.transport.TransportException;
 import org.elasticsearch.transport.TransportRequestOptions;
 import org.elasticsearch.transport.TransportService;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -68,17 +82,50 @@ import static org.elasticsearch.threadpool.ThreadPool.Names.GENERIC;
  * <p>
  * It also uses the {@link Diff} mechanism to reduce the data to be transferred wherever possible. This is only a best-effort mechanism so
  * we fall back to sending a full cluster state if the diff cannot be applied for some reason.
+ * <p>
+ * In very large clusters the master's outbound bandwidth limits how quickly it can send even a diff to every node. If
+ * {@link #PUBLISH_RELAY_FANOUT_SETTING} is positive then diffs for non-master-eligible nodes are instead sent through a tree of relaying
+ * nodes: the master sends the serialized diff to a few of them, each of which forwards the same bytes to a few more, and so on, and the
+ * outcomes of the individual publications are aggregated back up the tree. Each hop is bounded by {@link #PUBLISH_RELAY_TIMEOUT_SETTING}: a
+ * relay reports whatever outcomes it has once its share of the timeout elapses, so that a hung node only holds back its own outcome rather
+ * than that of its whole subtree. Any node whose outcome the master does not receive through the tree is sent the state directly.
  */
 public class PublicationTransportHandler {
 
     private static final Logger logger = LogManager.getLogger(PublicationTransportHandler.class);
 
     public static final String PUBLISH_STATE_ACTION_NAME = "internal:cluster/coordination/publish_state";
+    public static final String PUBLISH_STATE_RELAY_ACTION_NAME = "internal:cluster/coordination/publish_state_relay";
+
+    /**
+     * The number of nodes to which each node in the relay tree forwards a cluster state diff, or {@code 0} to have the master send it to
+     * every node itself.
+     */
+    public static final Setting<Integer> PUBLISH_RELAY_FANOUT_SETTING = Setting.intSetting(
+        "cluster.publish.relay_fanout",
+        0,
+        0,
+        Setting.Property.NodeScope
+    );
+
+    /**
+     * How long the master waits for a relay to report the outcomes of its subtree before sending the state directly to the nodes whose
+     * outcomes are missing. Each relay waits for three quarters of the time its parent waits, leaving the rest for its partial outcomes to
+     * travel back up the tree.
+     */
+    public static final Setting<TimeValue> PUBLISH_RELAY_TIMEOUT_SETTING = Setting.timeSetting(
+        "cluster.publish.relay_timeout",
+        TimeValue.timeValueSeconds(10),
+        TimeValue.timeValueMillis(1),
+        Setting.Property.NodeScope
+    );
 
     private final TransportService transportService;
     private final Executor clusterCoordinationExecutor;
     private final NamedWriteableRegistry namedWriteableRegistry;
     private final Function<PublishRequest, PublishWithJoinResponse> handlePublishRequest;
+    private final int relayFanout;
+    private final TimeValue relayTimeout;
 
     private final AtomicReference<ClusterState> lastSeenClusterState = new AtomicReference<>();
 
@@ -100,11 +147,23 @@ public class PublicationTransportHandler {
         TransportService transportService,
         NamedWriteableRegistry namedWriteableRegistry,
         Function<PublishRequest, PublishWithJoinResponse> handlePublishRequest
+    ) {
+        this(transportService, namedWriteableRegistry, handlePublishRequest, 0, PUBLISH_RELAY_TIMEOUT_SETTING.getDefault(Settings.EMPTY));
+    }
+
+    public PublicationTransportHandler(
+        TransportService transportService,
+        NamedWriteableRegistry namedWriteableRegistry,
+        Function<PublishRequest, PublishWithJoinResponse> handlePublishRequest,
+        int relayFanout,
+        TimeValue relayTimeout
     ) {
         this.transportService = transportService;
         this.clusterCoordinationExecutor = transportService.getThreadPool().executor(ThreadPool.Names.CLUSTER_COORDINATION);
         this.namedWriteableRegistry = namedWriteableRegistry;
         this.handlePublishRequest = handlePublishRequest;
+        this.relayFanout = relayFanout;
+        this.relayTimeout = relayTimeout;
 
         transportService.registerRequestHandler(
             PUBLISH_STATE_ACTION_NAME,
@@ -114,6 +173,15 @@ public class PublicationTransportHandler {
             BytesTransportRequest::new,
             (request, channel, task) -> this.handleIncomingPublishRequest(request, new ChannelActionListener<>(channel))
         );
+
+        transportService.registerRequestHandler(
+            PUBLISH_STATE_RELAY_ACTION_NAME,
+            transportService.getThreadPool().generic(),
+            false,
+            false,
+            PublishRelayRequest::new,
+            (request, channel, task) -> this.handleIncomingRelayRequest(request, task, new ChannelActionListener<>(channel))
+        );
     }
 
     public PublishClusterStateStats stats() {
@@ -182,6 +250,138 @@ public class PublicationTransportHandler {
         }
     }
 
+    private void handleIncomingRelayRequest(PublishRelayRequest request, Task task, ActionListener<PublishRelayResponse> listener) {
+        assert ThreadPool.assertCurrentThreadPool(GENERIC);
+        final Queue<PublishRelayResponse.NodeResult> results = new ConcurrentLinkedQueue<>();
+        try (var refs = new RefCountingRunnable(() -> listener.onResponse(new PublishRelayResponse(List.copyOf(results))))) {
+            // wait for the subtrees for at most our share of the timeout, then report what we have so that a hung node further down only
+            // delays its own outcome; the master sends the state directly to any node whose outcome is missing
+            final SubscribableListener<Void> subtreesListener = new SubscribableListener<>();
+            final var timeoutTask = transportService.getThreadPool()
+                .schedule(() -> subtreesListener.onResponse(null), request.timeout(), transportService.getThreadPool().generic());
+            subtreesListener.addListener(ActionListener.releasing(Releasables.wrap(timeoutTask::cancel, refs.acquire())));
+
+            // relay the state before processing it locally, so that the rest of the tree does not wait for us to apply the diff
+            try (var subtreeRefs = new RefCountingRunnable(() -> subtreesListener.onResponse(null))) {
+                for (final List<DiscoveryNode> subtree : relaySubtrees(request.targets(), request.fanout())) {
+                    relayToSubtree(request, subtree, task, results, subtreeRefs.acquire());
+                }
+            }
+            ActionListener.run(
+                ActionListener.releaseAfter(nodeResultListener(transportService.getLocalNode(), results), refs.acquire()),
+                l -> handleIncomingPublishRequest(new BytesTransportRequest(request.bytes(), request.version()), l)
+            );
+        }
+    }
+
+    private void relayToSubtree(
+        PublishRelayRequest request,
+        List<DiscoveryNode> subtree,
+        Task task,
+        Queue<PublishRelayResponse.NodeResult> results,
+        Releasable ref
+    ) {
+        final DiscoveryNode destination = subtree.get(0);
+        final Transport.Connection connection;
+        try {
+            connection = transportService.getConnection(destination);
+        } catch (NodeNotConnectedException e) {
+            // leave the whole subtree out of the results, the master sends the state to these nodes directly instead
+            logger.debug(() -> format("No connection to [%s] available, not relaying cluster state", destination), e);
+            ref.close();
+            return;
+        }
+        if (connection.getTransportVersion().equals(request.version()) == false) {
+            logger.debug(
+                "not relaying cluster state serialized with transport version [{}] to [{}] which uses transport version [{}]",
+                request.version().toReleaseVersion(),
+                destination,
+                connection.getTransportVersion().toReleaseVersion()
+            );
+            ref.close();
+            return;
+        }
+
+        request.bytes().incRef();
+        if (subtree.size() == 1) {
+            transportService.sendChildRequest(
+                connection,
+                PUBLISH_STATE_ACTION_NAME,
+                new BytesTransportRequest(request.bytes(), request.version()),
+                task,
+                STATE_REQUEST_OPTIONS,
+                new CleanableResponseHandler<>(
+                    ActionListener.releaseAfter(nodeResultListener(destination, results), ref),
+                    PublishWithJoinResponse::new,
+                    EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                    request.bytes()::decRef
+                )
+            );
+        } else {
+            transportService.sendChildRequest(
+                connection,
+                PUBLISH_STATE_RELAY_ACTION_NAME,
+                new PublishRelayRequest(
+                    List.copyOf(subtree.subList(1, subtree.size())),
+                    request.fanout(),
+                    subtreeTimeout(request.timeout()),
+                    request.bytes(),
+                    request.version()
+                ),
+                task,
+                STATE_REQUEST_OPTIONS,
+                new CleanableResponseHandler<>(
+                    ActionListener.releaseAfter(
+                        ActionListener.wrap(
+                            response -> results.addAll(response.results()),
+                            e -> results.add(new PublishRelayResponse.NodeResult(destination.getId(), null, e))
+                        ),
+                        ref
+                    ),
+                    PublishRelayResponse::new,
+                    EsExecutors.DIRECT_EXECUTOR_SERVICE,
+                    request.bytes()::decRef
+                )
+            );
+        }
+    }
+
+    private static ActionListener<PublishWithJoinResponse> nodeResultListener(
+        DiscoveryNode node,
+        Queue<PublishRelayResponse.NodeResult> results
+    ) {
+        return ActionListener.wrap(
+            response -> results.add(new PublishRelayResponse.NodeResult(node.getId(), response, null)),
+            e -> results.add(new PublishRelayResponse.NodeResult(node.getId(), null, e))
+        );
+    }
+
+    /**
+     * The time a relay waits for the outcomes of its subtrees, given the time that its parent waits for it.
+     */
+    static TimeValue subtreeTimeout(TimeValue timeout) {
+        return TimeValue.timeValueNanos(timeout.nanos() / 4 * 3);
+    }
+
+    /**
+     * Splits the given nodes into at most {@code fanout} contiguous subtrees of similar sizes. The first node of each subtree receives the
+     * cluster state and relays it to the rest of its subtree, so that the state reaches {@code n} nodes in about {@code log(n)/log(fanout)}
+     * hops and no node sends it more than {@code fanout} times.
+     */
+    static <T> List<List<T>> relaySubtrees(List<T> nodes, int fanout) {
+        assert fanout > 0 : fanout;
+        final int subtreeCount = Math.min(fanout, nodes.size());
+        final List<List<T>> subtrees = new ArrayList<>(subtreeCount);
+        int start = 0;
+        for (int i = 0; i < subtreeCount; i++) {
+            final int end = start + (nodes.size() - start) / (subtreeCount - i);
+            subtrees.add(nodes.subList(start, end));
+            start = end;
+        }
+        assert start == nodes.size();
+        return subtrees;
+    }
+
     private ClusterState deserializeAndApplyDiff(BytesTransportRequest request, StreamInput in, ClusterState currentState)
         throws IOException {
         ClusterState incomingState;
@@ -344,6 +544,8 @@ public class PublicationTransportHandler {
         // All the values of these maps have one ref for the context (while it's open) and one for each in-flight message.
         private final Map<TransportVersion, ReleasableBytesReference> serializedStates = new ConcurrentHashMap<>();
         private final Map<TransportVersion, ReleasableBytesReference> serializedDiffs = new HashMap<>();
+        // Nodes which will receive the diff via a relay, grouped by transport version; only accessed under the coordinator mutex.
+        private final Map<TransportVersion, List<RelayRecipient>> relayRecipients = new HashMap<>();
 
         PublicationContext(ClusterStatePublicationEvent clusterStatePublicationEvent) {
             discoveryNodes = clusterStatePublicationEvent.getNewState().nodes();
@@ -434,12 +636,145 @@ public class PublicationTransportHandler {
             } else if (sendFullVersion || previousState.nodes().nodeExists(destination) == false) {
                 logger.trace("sending full cluster state version [{}] to [{}]", newStateVersion, destination);
                 sendFullClusterState(destination, listener);
+            } else if (isRelayRecipient(destination)) {
+                logger.trace("deferring cluster state diff for version [{}] to [{}] until it is relayed", newStateVersion, destination);
+                relayRecipients.computeIfAbsent(nodeConnections.get(destination).getTransportVersion(), v -> new ArrayList<>())
+                    .add(new RelayRecipient(destination, listener));
             } else {
                 logger.trace("sending cluster state diff for version [{}] to [{}]", newStateVersion, destination);
                 sendClusterStateDiff(destination, listener);
             }
         }
 
+        private boolean isRelayRecipient(DiscoveryNode destination) {
+            if (relayFanout == 0 || destination.isMasterNode()) {
+                // master-eligible nodes decide whether the state commits so we always send it to them directly
+                return false;
+            }
+            final Transport.Connection connection = nodeConnections.get(destination);
+            return connection != null && connection.getTransportVersion().onOrAfter(TransportVersions.PUBLISH_STATE_RELAY);
+        }
+
+        /**
+         * Sends the cluster state diff to the nodes for which {@link #sendPublishRequest} deferred it, via a tree of nodes that relay it
+         * onwards. Called once {@link #sendPublishRequest} has been called for every node in the publication.
+         */
+        public void sendRelayedPublishRequests() {
+            assert refCount() > 0;
+            for (final var entry : relayRecipients.entrySet()) {
+                final ReleasableBytesReference bytes = serializedDiffs.get(entry.getKey());
+                assert bytes != null : "failed to find serialized diff for version [" + entry.getKey().toReleaseVersion() + "]";
+                for (final List<RelayRecipient> subtree : relaySubtrees(entry.getValue(), relayFanout)) {
+                    sendRelayRequest(subtree, entry.getKey(), bytes);
+                }
+            }
+            relayRecipients.clear();
+        }
+
+        private void sendRelayRequest(List<RelayRecipient> subtree, TransportVersion version, ReleasableBytesReference bytes) {
+            final RelayRecipient relay = subtree.get(0);
+            if (subtree.size() == 1) {
+                sendClusterStateDiff(relay.node(), relay.listener());
+                return;
+            }
+
+            final Map<String, RelayRecipient> pendingRecipients = new HashMap<>(subtree.size());
+            for (final RelayRecipient recipient : subtree) {
+                pendingRecipients.put(recipient.node().getId(), recipient);
+            }
+
+            // acquire a ref to the context in case we need to send the state directly to some of the nodes
+            if (tryIncRef() == false) {
+                assert false;
+                final var e = new IllegalStateException("publication context released before transmission");
+                subtree.forEach(recipient -> recipient.listener().onFailure(e));
+                return;
+            }
+            if (bytes.tryIncRef() == false) {
+                assert false;
+                decRef();
+                final var e = new IllegalStateException("serialized cluster state released before transmission");
+                subtree.forEach(recipient -> recipient.listener().onFailure(e));
+                return;
+            }
+
+            logger.trace("relaying cluster state diff for version [{}] to [{}] nodes via [{}]", newState.version(), subtree.size(), relay);
+            final ActionListener<PublishRelayResponse> relayListener = new ActionListener<>() {
+                @Override
+                public void onResponse(PublishRelayResponse response) {
+                    for (final PublishRelayResponse.NodeResult result : response.results()) {
+                        final RelayRecipient recipient = pendingRecipients.remove(result.nodeId());
+                        if (recipient == null) {
+                            assert false : "unexpected relayed result from [" + result.nodeId() + "]";
+                            continue;
+                        }
+                        if (result.response() != null) {
+                            recipient.listener().onResponse(result.response());
+                        } else {
+                            final DiscoveryNode node = recipient.node();
+                            onDiffFailure(
+                                node,
+                                recipient.listener(),
+                                new RemoteTransportException(node.getName(), node.getAddress(), PUBLISH_STATE_ACTION_NAME, result.failure())
+                            );
+                        }
+                    }
+                    sendDirectly(pendingRecipients.values());
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    final RelayRecipient recipient = pendingRecipients.remove(relay.node().getId());
+                    onDiffFailure(recipient.node(), recipient.listener(), e);
+                    sendDirectly(pendingRecipients.values());
+                }
+            };
+            // completed exactly once, either by the relay's response or by the timeout, so only one thread touches pendingRecipients
+            final ActionListener<PublishRelayResponse> listener = ActionListener.notifyOnce(
+                ActionListener.runAfter(relayListener, this::decRef)
+            );
+
+            final var timeoutTask = transportService.getThreadPool()
+                .schedule(
+                    () -> listener.onFailure(
+                        new ElasticsearchTimeoutException(
+                            "timed out after [{}] waiting for [{}] to relay cluster state version [{}]",
+                            relayTimeout,
+                            relay.node(),
+                            newState.version()
+                        )
+                    ),
+                    relayTimeout,
+                    clusterCoordinationExecutor
+                );
+            transportService.sendChildRequest(
+                nodeConnections.get(relay.node()),
+                PUBLISH_STATE_RELAY_ACTION_NAME,
+                new PublishRelayRequest(
+                    subtree.stream().skip(1).map(RelayRecipient::node).toList(),
+                    relayFanout,
+                    subtreeTimeout(relayTimeout),
+                    bytes,
+                    version
+                ),
+                task,
+                STATE_REQUEST_OPTIONS,
+                new CleanableResponseHandler<>(
+                    ActionListener.runBefore(listener, timeoutTask::cancel),
+                    PublishRelayResponse::new,
+                    clusterCoordinationExecutor,
+                    bytes::decRef
+                )
+            );
+        }
+
+        private void sendDirectly(Collection<RelayRecipient> unreachedRecipients) {
+            for (final RelayRecipient recipient : unreachedRecipients) {
+                logger.debug("cluster state diff was not relayed to [{}], sending it directly", recipient.node());
+                sendClusterStateDiff(recipient.node(), recipient.listener());
+            }
+        }
+
         private void sendFullClusterState(DiscoveryNode destination, ActionListener<PublishWithJoinResponse> listener) {
             assert refCount() > 0;
             Transport.Connection connection = nodeConnections.get(destination);
@@ -485,24 +820,30 @@ public class PublicationTransportHandler {
                 listener.onFailure(new IllegalStateException("publication context released before transmission"));
                 return;
             }
-            sendClusterState(connection, bytes, ActionListener.runAfter(listener.delegateResponse((delegate, e) -> {
-                if (e instanceof final TransportException transportException) {
-                    if (transportException.unwrapCause() instanceof IncompatibleClusterStateVersionException) {
-                        logger.debug(
-                            () -> format(
-                                "resending full cluster state to node %s reason %s",
-                                destination,
-                                transportException.getDetailedMessage()
-                            )
-                        );
-                        sendFullClusterState(destination, delegate);
-                        return;
-                    }
+            sendClusterState(
+                connection,
+                bytes,
+                ActionListener.runAfter(listener.delegateResponse((delegate, e) -> onDiffFailure(destination, delegate, e)), this::decRef)
+            );
+        }
+
+        private void onDiffFailure(DiscoveryNode destination, ActionListener<PublishWithJoinResponse> listener, Exception e) {
+            if (e instanceof final TransportException transportException) {
+                if (transportException.unwrapCause() instanceof IncompatibleClusterStateVersionException) {
+                    logger.debug(
+                        () -> format(
+                            "resending full cluster state to node %s reason %s",
+                            destination,
+                            transportException.getDetailedMessage()
+                        )
+                    );
+                    sendFullClusterState(destination, listener);
+                    return;
                 }
+            }
 
-                logger.debug(() -> format("failed to send cluster state to %s", destination), e);
-                delegate.onFailure(e);
-            }), this::decRef));
+            logger.debug(() -> format("failed to send cluster state to %s", destination), e);
+            listener.onFailure(e);
         }
 
         private void sendClusterState(
@@ -528,11 +869,14 @@ public class PublicationTransportHandler {
 
         @Override
         protected void closeInternal() {
+            assert relayRecipients.isEmpty() : "relayed publish requests were never sent";
             serializedDiffs.values().forEach(Releasables::closeExpectNoException);
             serializedStates.values().forEach(Releasables::closeExpectNoException);
         }
     }
 
+    private record RelayRecipient(DiscoveryNode node, ActionListener<PublishWithJoinResponse> listener) {}
+
     private static class SerializationStatsTracker {
 
         private long fullStateCount;
@@ -0,0 +1,120 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+package org.elasticsearch.cluster.coordination;
+
+import org.elasticsearch.TransportVersion;
+import org.elasticsearch.cluster.node.DiscoveryNode;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.transport.AbstractTransportRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Asks the receiving node to accept a serialized cluster state diff and to relay the same bytes on to the given {@code targets}, which
+ * are split into at most {@code fanout} subtrees, and to report the outcomes it has received within {@code timeout}. The bytes are only meaningful to nodes using the {@link #version()} they were serialized
+ * with, so the receiver must not relay them over a connection with a different transport version.
+ */
+public class PublishRelayRequest extends AbstractTransportRequest {
+
+    private final List<DiscoveryNode> targets;
+    private final int fanout;
+    private final TimeValue timeout;
+    private final ReleasableBytesReference bytes;
+    private final TransportVersion version;
+
+    public PublishRelayRequest(
+        List<DiscoveryNode> targets,
+        int fanout,
+        TimeValue timeout,
+        ReleasableBytesReference bytes,
+        TransportVersion version
+    ) {
+        this.targets = targets;
+        this.fanout = fanout;
+        this.timeout = timeout;
+        this.bytes = bytes;
+        this.version = version;
+    }
+
+    public PublishRelayRequest(StreamInput in) throws IOException {
+        super(in);
+        targets = in.readCollectionAsImmutableList(DiscoveryNode::new);
+        fanout = in.readVInt();
+        timeout = in.readTimeValue();
+        bytes = in.readReleasableBytesReference();
+        version = in.getTransportVersion();
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        assert out.getTransportVersion().equals(version) : out.getTransportVersion() + " vs " + version;
+        super.writeTo(out);
+        out.writeCollection(targets);
+        out.writeVInt(fanout);
+        out.writeTimeValue(timeout);
+        out.writeBytesReference(bytes);
+    }
+
+    public List<DiscoveryNode> targets() {
+        return targets;
+    }
+
+    public int fanout() {
+        return fanout;
+    }
+
+    public TimeValue timeout() {
+        return timeout;
+    }
+
+    public ReleasableBytesReference bytes() {
+        return bytes;
+    }
+
+    public TransportVersion version() {
+        return version;
+    }
+
+    @Override
+    public void incRef() {
+        bytes.incRef();
+    }
+
+    @Override
+    public boolean tryIncRef() {
+        return bytes.tryIncRef();
+    }
+
+    @Override
+    public boolean decRef() {
+        return bytes.decRef();
+    }
+
+    @Override
+    public boolean hasReferences() {
+        return bytes.hasReferences();
+    }
+
+    @Override
+    public String toString() {
+        return "PublishRelayRequest{targets="
+            + targets.size()
+            + ", fanout="
+            + fanout
+            + ", timeout="
+            + timeout
+            + ", size="
+            + bytes.length()
+            + "}";
+    }
+}
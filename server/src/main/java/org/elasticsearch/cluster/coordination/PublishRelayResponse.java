@@ -0,0 +1,79 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+package org.elasticsearch.cluster.coordination;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.transport.TransportResponse;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Response to a {@link PublishRelayRequest}, carrying the outcome of the publication on the relaying node and on every node in its subtree
+ * that the relayed state reached. Nodes that are missing from the results were not reached and the master sends them the state directly.
+ */
+public class PublishRelayResponse extends TransportResponse {
+
+    private final List<NodeResult> results;
+
+    public PublishRelayResponse(List<NodeResult> results) {
+        this.results = results;
+    }
+
+    public PublishRelayResponse(StreamInput in) throws IOException {
+        results = in.readCollectionAsImmutableList(NodeResult::readFrom);
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeCollection(results);
+    }
+
+    public List<NodeResult> results() {
+        return results;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishRelayResponse{results=" + results + "}";
+    }
+
+    /**
+     * The outcome of a publication on a single node: exactly one of {@code response} and {@code failure} is set.
+     */
+    public record NodeResult(String nodeId, @Nullable PublishWithJoinResponse response, @Nullable Exception failure) implements Writeable {
+
+        public NodeResult {
+            assert (response == null) != (failure == null) : nodeId;
+        }
+
+        static NodeResult readFrom(StreamInput in) throws IOException {
+            final String nodeId = in.readString();
+            if (in.readBoolean()) {
+                return new NodeResult(nodeId, new PublishWithJoinResponse(in), null);
+            } else {
+                return new NodeResult(nodeId, null, in.readException());
+            }
+        }
+
+        @Override
+        public void writeTo(StreamOutput out) throws IOException {
+            out.writeString(nodeId);
+            out.writeBoolean(response != null);
+            if (response != null) {
+                response.writeTo(out);
+            } else {
+                out.writeException(failure);
+            }
+        }
+    }
+}
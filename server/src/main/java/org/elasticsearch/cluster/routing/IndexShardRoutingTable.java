@@ -295,7 +295,8 @@ public class IndexShardRoutingTable {
      *
      * This adjustment takes the "winning" node's statistics and adds the average of those statistics with each non-winning node. Let's say
      * the winning node had a queue size of 10 and a non-winning node had a queue of 18. The average queue size is (10 + 18) / 2 = 14 so the
-     * non-winning node will have statistics added for a queue size of 14. This is repeated for the response time and service times as well.
+     * non-winning node will have statistics added for a queue size of 14. This is repeated for the response time, service time and
+     * utilization as well.
      */
     private static void adjustStats(
         final ResponseCollectorService collector,
@@ -318,8 +319,11 @@ public class IndexShardRoutingTable {
                     );
                     avgServiceTime.addValue((minStats.serviceTime + stats.serviceTime) / 2);
                     final long updatedService = (long) avgServiceTime.getAverage();
+                    final double updatedUtilization = minStats.utilization >= 0 && stats.utilization >= 0
+                        ? (minStats.utilization + stats.utilization) / 2
+                        : -1;
 
-                    collector.addNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService);
+                    collector.addNodeStatistics(nodeId, updatedQueue, updatedResponse, updatedService, updatedUtilization);
                 }
             }
         }
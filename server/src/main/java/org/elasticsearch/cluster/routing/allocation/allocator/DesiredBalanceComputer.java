@@ -12,7 +12,10 @@ package org.elasticsearch.cluster.routing.allocation.allocator;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.elasticsearch.cluster.ClusterInfo;
 import org.elasticsearch.cluster.ClusterInfoSimulator;
+import org.elasticsearch.cluster.metadata.IndexMetadata;
+import org.elasticsearch.cluster.metadata.NodesShutdownMetadata;
 import org.elasticsearch.cluster.routing.RoutingNodes;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.cluster.routing.UnassignedInfo;
@@ -22,11 +25,14 @@ import org.elasticsearch.cluster.routing.allocation.decider.Decision;
 import org.elasticsearch.common.metrics.MeanMetric;
 import org.elasticsearch.common.settings.ClusterSettings;
 import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.time.TimeProvider;
 import org.elasticsearch.common.util.Maps;
 import org.elasticsearch.core.Strings;
 import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.index.Index;
 import org.elasticsearch.index.shard.ShardId;
+import org.elasticsearch.snapshots.SnapshotShardSizeInfo;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -70,8 +76,21 @@ public class DesiredBalanceComputer {
         Setting.Property.NodeScope
     );
 
+    /**
+     * Whether to skip the computation if the cluster has reached the previous converged desired balance and nothing that could affect the
+     * balance has changed since it was computed, which is the case for most shard-started events.
+     */
+    public static final Setting<Boolean> REUSE_CONVERGED_BALANCE_SETTING = Setting.boolSetting(
+        "cluster.routing.allocation.desired_balance.reuse_converged_balance",
+        false,
+        Setting.Property.Dynamic,
+        Setting.Property.NodeScope
+    );
+
     private TimeValue progressLogInterval;
     private long maxBalanceComputationTimeDuringIndexCreationMillis;
+    private volatile boolean reuseConvergedBalance;
+    private ConvergedInput lastConvergedInput;
     private long numComputeCallsSinceLastConverged;
     private long numIterationsSinceLastConverged;
     private long lastConvergedTimeMillis;
@@ -91,6 +110,7 @@ public class DesiredBalanceComputer {
             MAX_BALANCE_COMPUTATION_TIME_DURING_INDEX_CREATION_SETTING,
             value -> this.maxBalanceComputationTimeDuringIndexCreationMillis = value.millis()
         );
+        clusterSettings.initializeAndWatch(REUSE_CONVERGED_BALANCE_SETTING, value -> this.reuseConvergedBalance = value);
     }
 
     public DesiredBalance compute(
@@ -113,6 +133,26 @@ public class DesiredBalanceComputer {
             logger.debug("Recomputing desired balance for [{}]", desiredBalanceInput.index());
         }
 
+        final ConvergedInput convergedInput = lastConvergedInput;
+        lastConvergedInput = null;
+        if (reuseConvergedBalance
+            && convergedInput != null
+            && pendingDesiredBalanceMoves.isEmpty()
+            && convergedInput.canReuse(previousDesiredBalance, desiredBalanceInput)) {
+            logger.debug("Reusing converged desired balance for [{}]", desiredBalanceInput.index());
+            numComputeCallsSinceLastConverged = 0;
+            numIterationsSinceLastConverged = 0;
+            lastConvergedTimeMillis = timeProvider.relativeTimeInMillis();
+            final var reused = new DesiredBalance(
+                desiredBalanceInput.index(),
+                previousDesiredBalance.assignments(),
+                previousDesiredBalance.weightsPerNode(),
+                DesiredBalance.ComputationFinishReason.CONVERGED
+            );
+            lastConvergedInput = convergedInput.withBalance(reused);
+            return reused;
+        }
+
         final var routingAllocation = desiredBalanceInput.routingAllocation().mutableCloneForSimulation();
         final var routingNodes = routingAllocation.routingNodes();
         final var knownNodeIds = routingNodes.getAllNodeIds();
@@ -463,7 +503,115 @@ public class DesiredBalanceComputer {
         }
 
         long lastConvergedIndex = hasChanges ? previousDesiredBalance.lastConvergedIndex() : desiredBalanceInput.index();
-        return new DesiredBalance(lastConvergedIndex, assignments, routingNodes.getBalanceWeightStatsPerNode(), finishReason);
+        final var desiredBalance = new DesiredBalance(
+            lastConvergedIndex,
+            assignments,
+            routingNodes.getBalanceWeightStatsPerNode(),
+            finishReason
+        );
+        if (hasChanges == false && finishReason == DesiredBalance.ComputationFinishReason.CONVERGED) {
+            lastConvergedInput = ConvergedInput.of(desiredBalance, desiredBalanceInput.routingAllocation());
+        }
+        return desiredBalance;
+    }
+
+    /**
+     * The inputs, other than the routing table, that a converged {@link DesiredBalance} was computed from. If none of these changed and
+     * every shard copy is already on one of its desired nodes then recomputing the balance would only simulate the same allocation again,
+     * so the previous result can be returned instead. Anything else, including a shard that isn't where the balance wants it, falls back
+     * to the full computation.
+     */
+    private record ConvergedInput(
+        DesiredBalance balance,
+        Set<String> nodeIds,
+        ClusterInfo clusterInfo,
+        SnapshotShardSizeInfo snapshotShardSizeInfo,
+        Settings persistentSettings,
+        Settings transientSettings,
+        NodesShutdownMetadata nodeShutdowns,
+        Map<Index, Settings> indexSettings
+    ) {
+
+        static ConvergedInput of(DesiredBalance balance, RoutingAllocation allocation) {
+            final var metadata = allocation.metadata();
+            final var indexSettings = new HashMap<Index, Settings>();
+            for (IndexMetadata indexMetadata : metadata.indicesAllProjects()) {
+                indexSettings.put(indexMetadata.getIndex(), indexMetadata.getSettings());
+            }
+            return new ConvergedInput(
+                balance,
+                Set.copyOf(allocation.routingNodes().getAllNodeIds()),
+                allocation.clusterInfo(),
+                allocation.snapshotShardSizeInfo(),
+                metadata.persistentSettings(),
+                metadata.transientSettings(),
+                metadata.nodeShutdowns(),
+                indexSettings
+            );
+        }
+
+        ConvergedInput withBalance(DesiredBalance newBalance) {
+            return new ConvergedInput(
+                newBalance,
+                nodeIds,
+                clusterInfo,
+                snapshotShardSizeInfo,
+                persistentSettings,
+                transientSettings,
+                nodeShutdowns,
+                indexSettings
+            );
+        }
+
+        boolean canReuse(DesiredBalance previousDesiredBalance, DesiredBalanceInput input) {
+            final var allocation = input.routingAllocation();
+            final var metadata = allocation.metadata();
+            // settings are compared by identity since they are carried over unchanged from one cluster state to the next
+            if (previousDesiredBalance != balance
+                || input.ignoredShards().isEmpty() == false
+                || allocation.clusterInfo() != clusterInfo
+                || allocation.snapshotShardSizeInfo() != snapshotShardSizeInfo
+                || metadata.persistentSettings() != persistentSettings
+                || metadata.transientSettings() != transientSettings
+                || metadata.nodeShutdowns().equals(nodeShutdowns) == false
+                || allocation.routingNodes().getAllNodeIds().equals(nodeIds) == false) {
+                return false;
+            }
+            int indexCount = 0;
+            for (IndexMetadata indexMetadata : metadata.indicesAllProjects()) {
+                if (indexSettings.get(indexMetadata.getIndex()) != indexMetadata.getSettings()) {
+                    return false;
+                }
+                indexCount++;
+            }
+            if (indexCount != indexSettings.size()) {
+                return false;
+            }
+            return isAtDesiredBalance(allocation.routingNodes(), balance);
+        }
+
+        private static boolean isAtDesiredBalance(RoutingNodes routingNodes, DesiredBalance balance) {
+            if (routingNodes.unassigned().isEmpty() == false || routingNodes.unassigned().ignored().isEmpty() == false) {
+                return false;
+            }
+            final var assignedShards = routingNodes.getAssignedShards();
+            if (assignedShards.size() != balance.assignments().size()) {
+                return false;
+            }
+            for (var entry : assignedShards.entrySet()) {
+                final var assignment = balance.getAssignment(entry.getKey());
+                if (assignment == null || assignment.unassigned() > 0 || assignment.total() != entry.getValue().size()) {
+                    return false;
+                }
+                for (ShardRouting shardRouting : entry.getValue()) {
+                    // initializing shards are assumed to start, relocations are still in progress towards the desired balance
+                    if (shardRouting.relocating() || assignment.nodeIds().contains(shardRouting.currentNodeId()) == false) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
     }
 
     // visible for testing
@@ -0,0 +1,100 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.Releasable;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A fixed set of locks that keys are hashed onto. Unlike {@link KeyedLock} this does not allocate anything when a lock is acquired
+ * or released, at the price of unrelated keys that hash to the same stripe contending on the same lock. Callers must therefore not
+ * block on a second key while holding a lock for a first one unless they can tolerate both keys sharing a stripe.
+ * Note: this lock is reentrant
+ */
+public final class StripedLock<T> {
+
+    public static final int MAX_STRIPES = 1 << 16;
+
+    private final ReentrantLock[] locks;
+    private final Releasable[] releasables;
+    private final int mask;
+
+    /**
+     * Creates a lock with at least {@code stripes} stripes, rounded up to the next power of two.
+     */
+    public StripedLock(int stripes) {
+        if (stripes <= 0 || stripes > MAX_STRIPES) {
+            throw new IllegalArgumentException("stripes must be in [1, " + MAX_STRIPES + "] but was [" + stripes + "]");
+        }
+        final int size = stripes == 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.locks = new ReentrantLock[size];
+        this.releasables = new Releasable[size];
+        for (int i = 0; i < size; i++) {
+            final ReentrantLock lock = new ReentrantLock();
+            locks[i] = lock;
+            releasables[i] = lock::unlock;
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Acquires the lock for the stripe the given key maps to. The lock is released by closing the returned {@link Releasable},
+     * which must happen exactly once and on the acquiring thread.
+     */
+    public Releasable acquire(T key) {
+        final int stripe = stripe(key);
+        locks[stripe].lock();
+        return releasables[stripe];
+    }
+
+    /**
+     * Tries to acquire the lock for the given key and returns it. If the lock can't be acquired null is returned.
+     */
+    public Releasable tryAcquire(T key) {
+        final int stripe = stripe(key);
+        if (locks[stripe].tryLock()) {
+            return releasables[stripe];
+        }
+        return null;
+    }
+
+    /**
+     * Returns <code>true</code> iff the caller thread holds the lock of the stripe the given key maps to
+     */
+    public boolean isHeldByCurrentThread(T key) {
+        return locks[stripe(key)].isHeldByCurrentThread();
+    }
+
+    /**
+     * Returns <code>true</code> if at least one stripe is locked.
+     */
+    public boolean hasLockedKeys() {
+        for (ReentrantLock lock : locks) {
+            if (lock.isLocked()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of stripes.
+     */
+    public int stripes() {
+        return locks.length;
+    }
+
+    private int stripe(T key) {
+        final int h = key.hashCode();
+        // spread the high bits down, like HashMap does, since we only look at the low bits
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -156,6 +156,21 @@ public final class IndexSettings {
         Property.IndexScope
     );
 
+    /**
+     * Index setting describing the number of workers that build the HNSW graph of {@code dense_vector} fields when segments are
+     * merged. The merge thread is one of them, the others run on the {@code vector_merge} thread pool which is shared by all
+     * indices on the node. The graph of the largest segment without deletions is reused as the starting point of the merged graph
+     * regardless of this setting.
+     */
+    public static final Setting<Integer> DENSE_VECTOR_MERGE_WORKERS_SETTING = Setting.intSetting(
+        "index.dense_vector.merge_workers",
+        1,
+        1,
+        64,
+        Property.Dynamic,
+        Property.IndexScope
+    );
+
     /**
      * Index setting describing the maximum value of allowed `script_fields`that can be retrieved
      * per search request. The default maximum of 32 is defensive for the reason that retrieving
@@ -891,6 +906,7 @@ public final class IndexSettings {
     private volatile boolean warmerEnabled;
     private volatile int maxResultWindow;
     private volatile int maxInnerResultWindow;
+    private volatile int denseVectorMergeWorkers;
     private volatile int maxRescoreWindow;
     private volatile int maxDocvalueFields;
     private volatile int maxScriptFields;
@@ -1062,6 +1078,7 @@ public final class IndexSettings {
         warmerEnabled = scopedSettings.get(INDEX_WARMER_ENABLED_SETTING);
         maxResultWindow = scopedSettings.get(MAX_RESULT_WINDOW_SETTING);
         maxInnerResultWindow = scopedSettings.get(MAX_INNER_RESULT_WINDOW_SETTING);
+        denseVectorMergeWorkers = scopedSettings.get(DENSE_VECTOR_MERGE_WORKERS_SETTING);
         maxRescoreWindow = scopedSettings.get(MAX_RESCORE_WINDOW_SETTING);
         maxDocvalueFields = scopedSettings.get(MAX_DOCVALUE_FIELDS_SEARCH_SETTING);
         maxScriptFields = scopedSettings.get(MAX_SCRIPT_FIELDS_SETTING);
@@ -1166,6 +1183,7 @@ public final class IndexSettings {
         scopedSettings.addSettingsUpdateConsumer(INDEX_TRANSLOG_SYNC_INTERVAL_SETTING, this::setTranslogSyncInterval);
         scopedSettings.addSettingsUpdateConsumer(MAX_RESULT_WINDOW_SETTING, this::setMaxResultWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_INNER_RESULT_WINDOW_SETTING, this::setMaxInnerResultWindow);
+        scopedSettings.addSettingsUpdateConsumer(DENSE_VECTOR_MERGE_WORKERS_SETTING, this::setDenseVectorMergeWorkers);
         scopedSettings.addSettingsUpdateConsumer(MAX_RESCORE_WINDOW_SETTING, this::setMaxRescoreWindow);
         scopedSettings.addSettingsUpdateConsumer(MAX_DOCVALUE_FIELDS_SEARCH_SETTING, this::setMaxDocvalueFields);
         scopedSettings.addSettingsUpdateConsumer(MAX_SCRIPT_FIELDS_SETTING, this::setMaxScriptFields);
@@ -1509,6 +1527,17 @@ public final class IndexSettings {
         this.maxInnerResultWindow = maxInnerResultWindow;
     }
 
+    /**
+     * Returns the number of workers that build the HNSW graph of {@code dense_vector} fields when segments are merged.
+     */
+    public int getDenseVectorMergeWorkers() {
+        return denseVectorMergeWorkers;
+    }
+
+    private void setDenseVectorMergeWorkers(int denseVectorMergeWorkers) {
+        this.denseVectorMergeWorkers = denseVectorMergeWorkers;
+    }
+
     /**
      * Returns the maximum rescore window for search requests.
      */
@@ -17,6 +17,7 @@ import org.apache.lucene.codecs.lucene90.Lucene90DocValuesFormat;
 import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat;
 import org.elasticsearch.common.util.BigArrays;
 import org.elasticsearch.common.util.FeatureFlag;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.IndexMode;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersions;
@@ -29,6 +30,11 @@ import org.elasticsearch.index.mapper.Mapper;
 import org.elasticsearch.index.mapper.MapperService;
 import org.elasticsearch.index.mapper.vectors.DenseVectorFieldMapper;
 
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH;
+import static org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN;
+
 /**
  * Class that encapsulates the logic of figuring out the most appropriate file format for a given field, across postings, doc values and
  * vectors.
@@ -45,11 +51,22 @@ public class PerFieldFormatSupplier {
 
     private final ES87BloomFilterPostingsFormat bloomFilterPostingsFormat;
     private final MapperService mapperService;
+    @Nullable
+    private final ExecutorService vectorMergeExecutor;
 
     private final PostingsFormat defaultPostingsFormat;
 
     public PerFieldFormatSupplier(MapperService mapperService, BigArrays bigArrays) {
+        this(mapperService, bigArrays, null);
+    }
+
+    /**
+     * @param vectorMergeExecutor the executor that builds HNSW graphs of merged segments concurrently, or {@code null} to always
+     *                            build them on the merge thread
+     */
+    public PerFieldFormatSupplier(MapperService mapperService, BigArrays bigArrays, @Nullable ExecutorService vectorMergeExecutor) {
         this.mapperService = mapperService;
+        this.vectorMergeExecutor = vectorMergeExecutor;
         this.bloomFilterPostingsFormat = new ES87BloomFilterPostingsFormat(bigArrays, this::internalGetPostingsFormatForField);
 
         if (mapperService != null
@@ -103,12 +120,27 @@ public class PerFieldFormatSupplier {
         if (mapperService != null) {
             Mapper mapper = mapperService.mappingLookup().getMapper(field);
             if (mapper instanceof DenseVectorFieldMapper vectorMapper) {
+                final int mergeWorkers = vectorMergeWorkers();
+                if (mergeWorkers > 1) {
+                    return vectorMapper.getKnnVectorsFormatForField(
+                        new Lucene99HnswVectorsFormat(DEFAULT_MAX_CONN, DEFAULT_BEAM_WIDTH, mergeWorkers, vectorMergeExecutor),
+                        mergeWorkers,
+                        vectorMergeExecutor
+                    );
+                }
                 return vectorMapper.getKnnVectorsFormatForField(knnVectorsFormat);
             }
         }
         return knnVectorsFormat;
     }
 
+    private int vectorMergeWorkers() {
+        if (vectorMergeExecutor == null) {
+            return 1;
+        }
+        return mapperService.getIndexSettings().getDenseVectorMergeWorkers();
+    }
+
     public DocValuesFormat getDocValuesFormatForField(String field) {
         if (useTSDBDocValuesFormat(field)) {
             return tsdbDocValuesFormat;
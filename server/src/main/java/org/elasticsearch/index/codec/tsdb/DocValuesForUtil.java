@@ -23,9 +23,12 @@ public class DocValuesForUtil {
     private static final int BITS_IN_SEVEN_BYTES = 7 * Byte.SIZE;
     private final int blockSize;
     private final byte[] encoded = new byte[1024];
+    // reused across blocks when decoding 5, 6 or 7 bytes per value, sized so that the last value can be read as a full long
+    private final byte[] decoded;
 
     public DocValuesForUtil(int numericBlockSize) {
         this.blockSize = numericBlockSize;
+        this.decoded = new byte[(BITS_IN_SEVEN_BYTES / Byte.SIZE) * numericBlockSize + Long.BYTES];
     }
 
     public static int roundBits(int bitsPerValue) {
@@ -87,7 +90,7 @@ public class DocValuesForUtil {
         // NOTE: we expect multibyte values to be written "least significant byte" first
         int bytesPerValue = bitsPerValue / Byte.SIZE;
         long mask = (1L << bitsPerValue) - 1;
-        byte[] buffer = new byte[bytesPerValue * blockSize + Long.BYTES - bytesPerValue];
+        final byte[] buffer = this.decoded;
         in.readBytes(buffer, 0, bytesPerValue * blockSize);
         for (int i = 0; i < blockSize; ++i) {
             out[i] = ByteUtils.readLongLE(buffer, i * bytesPerValue) & mask;
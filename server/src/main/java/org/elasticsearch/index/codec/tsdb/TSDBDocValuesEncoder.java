@@ -309,24 +309,29 @@ public class TSDBDocValuesEncoder {
         // simple blocks that only perform bit packing exit early here
         // this is typical for SORTED(_SET) ordinals
         if ((token & 0x07) != 0) {
-
+            // the GCD, offset and delta stages are undone in a single pass over the block where possible
             final boolean doGcdCompression = (token & 0x01) != 0;
-            if (doGcdCompression) {
-                final long gcd = 2 + in.readVLong();
-                mul(out, gcd);
-            }
+            final long gcd = doGcdCompression ? 2 + in.readVLong() : 1;
 
             final boolean hasOffset = (token & 0x02) != 0;
-            if (hasOffset) {
-                final long min = in.readZLong();
-                add(out, min);
-            }
+            final long min = hasOffset ? in.readZLong() : 0;
 
             final boolean doDeltaCompression = (token & 0x04) != 0;
             if (doDeltaCompression) {
                 final long first = in.readZLong();
-                out[0] += first;
-                deltaDecode(out);
+                if (doGcdCompression) {
+                    mulAddDeltaDecode(out, gcd, min, first);
+                } else {
+                    addDeltaDecode(out, min, first);
+                }
+            } else if (doGcdCompression) {
+                if (hasOffset) {
+                    mulAdd(out, gcd, min);
+                } else {
+                    mul(out, gcd);
+                }
+            } else {
+                add(out, min);
             }
         }
     }
@@ -345,9 +350,28 @@ public class TSDBDocValuesEncoder {
         }
     }
 
-    private void deltaDecode(long[] arr) {
+    // this loop should auto-vectorize
+    private void mulAdd(long[] arr, long m, long min) {
+        for (int i = 0; i < numericBlockSize; ++i) {
+            arr[i] = arr[i] * m + min;
+        }
+    }
+
+    private void addDeltaDecode(long[] arr, long min, long first) {
+        long prev = arr[0] + min + first;
+        arr[0] = prev;
+        for (int i = 1; i < numericBlockSize; ++i) {
+            prev += arr[i] + min;
+            arr[i] = prev;
+        }
+    }
+
+    private void mulAddDeltaDecode(long[] arr, long m, long min, long first) {
+        long prev = arr[0] * m + min + first;
+        arr[0] = prev;
         for (int i = 1; i < numericBlockSize; ++i) {
-            arr[i] += arr[i - 1];
+            prev += arr[i] * m + min;
+            arr[i] = prev;
         }
     }
 }
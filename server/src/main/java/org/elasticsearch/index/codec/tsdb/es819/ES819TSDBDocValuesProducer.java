@@ -43,6 +43,7 @@ import org.apache.lucene.util.packed.DirectMonotonicReader;
 import org.apache.lucene.util.packed.PackedInts;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.index.codec.tsdb.TSDBDocValuesEncoder;
+import org.elasticsearch.index.mapper.BlockLoader;
 
 import java.io.IOException;
 
@@ -337,6 +338,9 @@ final class ES819TSDBDocValuesProducer extends DocValuesProducer {
 
     private SortedDocValues getSorted(SortedEntry entry) throws IOException {
         final NumericDocValues ords = getNumeric(entry.ordsEntry, entry.termsDictEntry.termsDictSize);
+        if (ords instanceof DenseNumericDocValues dense) {
+            return new DenseSortedDocValues(entry, dense);
+        }
         return new BaseSortedDocValues(entry) {
 
             @Override
@@ -371,6 +375,50 @@ final class ES819TSDBDocValuesProducer extends DocValuesProducer {
         };
     }
 
+    private final class DenseSortedDocValues extends BaseSortedDocValues implements BlockLoader.OptionalColumnAtATimeReader {
+        private final DenseNumericDocValues ords;
+
+        DenseSortedDocValues(SortedEntry entry, DenseNumericDocValues ords) throws IOException {
+            super(entry);
+            this.ords = ords;
+        }
+
+        @Override
+        public int ordValue() throws IOException {
+            return (int) ords.longValue();
+        }
+
+        @Override
+        public boolean advanceExact(int target) throws IOException {
+            return ords.advanceExact(target);
+        }
+
+        @Override
+        public int docID() {
+            return ords.docID();
+        }
+
+        @Override
+        public int nextDoc() throws IOException {
+            return ords.nextDoc();
+        }
+
+        @Override
+        public int advance(int target) throws IOException {
+            return ords.advance(target);
+        }
+
+        @Override
+        public long cost() {
+            return ords.cost();
+        }
+
+        @Override
+        public BlockLoader.Block tryRead(BlockLoader.BlockFactory factory, BlockLoader.Docs docs) throws IOException {
+            return ords.tryReadOrdinals(this, factory, docs);
+        }
+    }
+
     abstract class BaseSortedDocValues extends SortedDocValues {
 
         final SortedEntry entry;
@@ -1032,6 +1080,136 @@ final class ES819TSDBDocValuesProducer extends DocValuesProducer {
         entry.termsIndexAddressesLength = meta.readLong();
     }
 
+    /**
+     * Numeric doc values for fields that have a value for every document. Besides the usual doc-at-a-time
+     * access this can load the values of many documents at once, decoding each block only once and copying
+     * its values without advancing to every single document.
+     */
+    private static final class DenseNumericDocValues extends NumericDocValues implements BlockLoader.OptionalColumnAtATimeReader {
+        private final int maxDoc;
+        private final DirectMonotonicReader indexReader;
+        private final IndexInput valuesData;
+        private final long maxOrd;
+        private final int bitsPerOrd;
+        private final TSDBDocValuesEncoder decoder = new TSDBDocValuesEncoder(ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE);
+        private final long[] currentBlock = new long[ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE];
+        private long currentBlockIndex = -1;
+        private int doc = -1;
+
+        DenseNumericDocValues(int maxDoc, DirectMonotonicReader indexReader, IndexInput valuesData, long maxOrd, int bitsPerOrd) {
+            this.maxDoc = maxDoc;
+            this.indexReader = indexReader;
+            this.valuesData = valuesData;
+            this.maxOrd = maxOrd;
+            this.bitsPerOrd = bitsPerOrd;
+        }
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int nextDoc() throws IOException {
+            return advance(doc + 1);
+        }
+
+        @Override
+        public int advance(int target) throws IOException {
+            if (target >= maxDoc) {
+                return doc = NO_MORE_DOCS;
+            }
+            return doc = target;
+        }
+
+        @Override
+        public boolean advanceExact(int target) {
+            doc = target;
+            return true;
+        }
+
+        @Override
+        public long cost() {
+            return maxDoc;
+        }
+
+        @Override
+        public long longValue() throws IOException {
+            final int index = doc;
+            loadBlock(index >>> ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT);
+            return currentBlock[index & ES819TSDBDocValuesFormat.NUMERIC_BLOCK_MASK];
+        }
+
+        @Override
+        public BlockLoader.Block tryRead(BlockLoader.BlockFactory factory, BlockLoader.Docs docs) throws IOException {
+            if (maxOrd >= 0 || canReadForward(docs) == false) {
+                return null;
+            }
+            try (BlockLoader.LongBuilder builder = factory.longsFromDocValues(docs.count())) {
+                final int count = docs.count();
+                int i = 0;
+                while (i < count) {
+                    int index = docs.get(i);
+                    final int blockIndex = index >>> ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
+                    final int nextBlockStart = (blockIndex + 1) << ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
+                    loadBlock(blockIndex);
+                    // copy all requested values of this block without going back to the block lookup
+                    do {
+                        builder.appendLong(currentBlock[index & ES819TSDBDocValuesFormat.NUMERIC_BLOCK_MASK]);
+                    } while (++i < count && (index = docs.get(i)) < nextBlockStart);
+                }
+                doc = docs.get(count - 1);
+                return builder.build();
+            }
+        }
+
+        /**
+         * Like {@link #tryRead} but reads the values as ordinals of the given sorted doc values.
+         */
+        BlockLoader.Block tryReadOrdinals(SortedDocValues ordinals, BlockLoader.BlockFactory factory, BlockLoader.Docs docs)
+            throws IOException {
+            if (maxOrd < 0 || canReadForward(docs) == false) {
+                return null;
+            }
+            try (BlockLoader.SingletonOrdinalsBuilder builder = factory.singletonOrdinalsBuilder(ordinals, docs.count())) {
+                final int count = docs.count();
+                int i = 0;
+                while (i < count) {
+                    int index = docs.get(i);
+                    final int blockIndex = index >>> ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
+                    final int nextBlockStart = (blockIndex + 1) << ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
+                    loadBlock(blockIndex);
+                    do {
+                        builder.appendOrd((int) currentBlock[index & ES819TSDBDocValuesFormat.NUMERIC_BLOCK_MASK]);
+                    } while (++i < count && (index = docs.get(i)) < nextBlockStart);
+                }
+                doc = docs.get(count - 1);
+                return builder.build();
+            }
+        }
+
+        private boolean canReadForward(BlockLoader.Docs docs) {
+            // blocks can only be decoded moving forward, leave anything else to the doc-at-a-time path
+            return docs.count() > 0 && docs.get(0) >= doc && docs.get(docs.count() - 1) < maxDoc;
+        }
+
+        private void loadBlock(int blockIndex) throws IOException {
+            if (blockIndex != currentBlockIndex) {
+                assert blockIndex > currentBlockIndex : blockIndex + " < " + currentBlockIndex;
+                // no need to seek if the loading block is the next block
+                if (currentBlockIndex + 1 != blockIndex) {
+                    valuesData.seek(indexReader.get(blockIndex));
+                }
+                currentBlockIndex = blockIndex;
+                if (maxOrd >= 0) {
+                    decoder.decodeOrdinals(valuesData, currentBlock, bitsPerOrd);
+                } else {
+                    decoder.decode(valuesData, currentBlock);
+                }
+            }
+        }
+    }
+
     private abstract static class NumericValues {
         abstract long advance(long index) throws IOException;
     }
@@ -1140,64 +1318,7 @@ final class ES819TSDBDocValuesProducer extends DocValuesProducer {
         final int bitsPerOrd = maxOrd >= 0 ? PackedInts.bitsRequired(maxOrd - 1) : -1;
         if (entry.docsWithFieldOffset == -1) {
             // dense
-            return new NumericDocValues() {
-
-                private final int maxDoc = ES819TSDBDocValuesProducer.this.maxDoc;
-                private int doc = -1;
-                private final TSDBDocValuesEncoder decoder = new TSDBDocValuesEncoder(ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE);
-                private long currentBlockIndex = -1;
-                private final long[] currentBlock = new long[ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SIZE];
-
-                @Override
-                public int docID() {
-                    return doc;
-                }
-
-                @Override
-                public int nextDoc() throws IOException {
-                    return advance(doc + 1);
-                }
-
-                @Override
-                public int advance(int target) throws IOException {
-                    if (target >= maxDoc) {
-                        return doc = NO_MORE_DOCS;
-                    }
-                    return doc = target;
-                }
-
-                @Override
-                public boolean advanceExact(int target) {
-                    doc = target;
-                    return true;
-                }
-
-                @Override
-                public long cost() {
-                    return maxDoc;
-                }
-
-                @Override
-                public long longValue() throws IOException {
-                    final int index = doc;
-                    final int blockIndex = index >>> ES819TSDBDocValuesFormat.NUMERIC_BLOCK_SHIFT;
-                    final int blockInIndex = index & ES819TSDBDocValuesFormat.NUMERIC_BLOCK_MASK;
-                    if (blockIndex != currentBlockIndex) {
-                        assert blockIndex > currentBlockIndex : blockIndex + " < " + currentBlockIndex;
-                        // no need to seek if the loading block is the next block
-                        if (currentBlockIndex + 1 != blockIndex) {
-                            valuesData.seek(indexReader.get(blockIndex));
-                        }
-                        currentBlockIndex = blockIndex;
-                        if (maxOrd >= 0) {
-                            decoder.decodeOrdinals(valuesData, currentBlock, bitsPerOrd);
-                        } else {
-                            decoder.decode(valuesData, currentBlock);
-                        }
-                    }
-                    return currentBlock[blockInIndex];
-                }
-            };
+            return new DenseNumericDocValues(maxDoc, indexReader, valuesData, maxOrd, bitsPerOrd);
         } else {
             final IndexedDISI disi = new IndexedDISI(
                 data,
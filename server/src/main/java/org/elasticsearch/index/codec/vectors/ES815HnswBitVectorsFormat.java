@@ -17,9 +17,12 @@ import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsReader;
 import org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsWriter;
 import org.apache.lucene.index.SegmentReadState;
 import org.apache.lucene.index.SegmentWriteState;
+import org.apache.lucene.search.TaskExecutor;
 
 import java.io.IOException;
+import java.util.concurrent.ExecutorService;
 
+import static org.apache.lucene.codecs.lucene99.Lucene99HnswVectorsFormat.DEFAULT_NUM_MERGE_WORKER;
 import static org.elasticsearch.index.mapper.vectors.DenseVectorFieldMapper.MAX_DIMS_COUNT;
 
 public class ES815HnswBitVectorsFormat extends KnnVectorsFormat {
@@ -31,6 +34,8 @@ public class ES815HnswBitVectorsFormat extends KnnVectorsFormat {
 
     private final int maxConn;
     private final int beamWidth;
+    private final int numMergeWorkers;
+    private final TaskExecutor mergeExec;
 
     private static final FlatVectorsFormat flatVectorsFormat = new ES815BitFlatVectorsFormat();
 
@@ -39,6 +44,15 @@ public class ES815HnswBitVectorsFormat extends KnnVectorsFormat {
     }
 
     public ES815HnswBitVectorsFormat(int maxConn, int beamWidth) {
+        this(maxConn, beamWidth, DEFAULT_NUM_MERGE_WORKER, null);
+    }
+
+    /**
+     * @param numMergeWorkers number of threads that build the HNSW graph of a merged segment. If larger than 1, a non-null
+     *     {@link ExecutorService} must be passed as mergeExec
+     * @param mergeExec the {@link ExecutorService} that runs the graph building tasks of all merges done with this format
+     */
+    public ES815HnswBitVectorsFormat(int maxConn, int beamWidth, int numMergeWorkers, ExecutorService mergeExec) {
         super(NAME);
         if (maxConn <= 0 || maxConn > MAXIMUM_MAX_CONN) {
             throw new IllegalArgumentException(
@@ -52,11 +66,19 @@ public class ES815HnswBitVectorsFormat extends KnnVectorsFormat {
         }
         this.maxConn = maxConn;
         this.beamWidth = beamWidth;
+        if (numMergeWorkers == 1 && mergeExec != null) {
+            throw new IllegalArgumentException("No executor service is needed as we'll use single thread to merge");
+        }
+        if (numMergeWorkers > 1 && mergeExec == null) {
+            throw new IllegalArgumentException("An executor service is needed to merge with [" + numMergeWorkers + "] threads");
+        }
+        this.numMergeWorkers = numMergeWorkers;
+        this.mergeExec = mergeExec == null ? null : new TaskExecutor(mergeExec);
     }
 
     @Override
     public KnnVectorsWriter fieldsWriter(SegmentWriteState state) throws IOException {
-        return new Lucene99HnswVectorsWriter(state, maxConn, beamWidth, flatVectorsFormat.fieldsWriter(state), 1, null);
+        return new Lucene99HnswVectorsWriter(state, maxConn, beamWidth, flatVectorsFormat.fieldsWriter(state), numMergeWorkers, mergeExec);
     }
 
     @Override
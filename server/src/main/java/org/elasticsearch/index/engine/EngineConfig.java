@@ -21,6 +21,7 @@ import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.settings.Setting.Property;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.unit.MemorySizeValue;
+import org.elasticsearch.common.util.concurrent.StripedLock;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexMode;
@@ -122,6 +123,20 @@ public final class EngineConfig {
         }
     }, Property.IndexScope, Property.NodeScope, Property.ServerlessPublic);
 
+    /**
+     * The number of lock stripes the {@link LiveVersionMap} uses to serialize operations on the same document id. The default of
+     * {@code 0} uses a lock per id being operated on, which allocates on every operation; a positive value uses a fixed set of striped
+     * locks instead, trading allocations for possible contention between ids sharing a stripe.
+     */
+    public static final Setting<Integer> INDEX_VERSION_MAP_LOCK_STRIPES_SETTING = Setting.intSetting(
+        "index.version_map.lock_stripes",
+        0,
+        0,
+        StripedLock.MAX_STRIPES,
+        Property.IndexScope,
+        Property.Final
+    );
+
     // don't convert to Setting<> and register... we only set this in tests and register via a test plugin
     public static final String USE_COMPOUND_FILE = "index.use_compound_file";
 
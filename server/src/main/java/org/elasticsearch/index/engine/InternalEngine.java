@@ -101,6 +101,7 @@ import org.elasticsearch.index.translog.TranslogConfig;
 import org.elasticsearch.index.translog.TranslogCorruptedException;
 import org.elasticsearch.index.translog.TranslogDeletionPolicy;
 import org.elasticsearch.index.translog.TranslogStats;
+import org.elasticsearch.index.translog.TranslogSyncScheduler;
 import org.elasticsearch.indices.recovery.RecoverySettings;
 import org.elasticsearch.search.suggest.completion.CompletionStats;
 import org.elasticsearch.threadpool.ThreadPool;
@@ -243,7 +244,10 @@ public class InternalEngine extends Engine {
         this.relativeTimeInNanosSupplier = config().getRelativeTimeInNanosSupplier();
         this.lastFlushTimestamp = relativeTimeInNanosSupplier.getAsLong(); // default to creation timestamp
         this.liveVersionMapArchive = createLiveVersionMapArchive();
-        this.versionMap = new LiveVersionMap(liveVersionMapArchive);
+        this.versionMap = new LiveVersionMap(
+            liveVersionMapArchive,
+            EngineConfig.INDEX_VERSION_MAP_LOCK_STRIPES_SETTING.get(engineConfig.getIndexSettings().getSettings())
+        );
         final TranslogDeletionPolicy translogDeletionPolicy = new TranslogDeletionPolicy();
         store.incRef();
         IndexWriter writer = null;
@@ -703,7 +707,16 @@ public class InternalEngine extends Engine {
                         location = location.compareTo(marker.v2()) >= 0 ? location : marker.v2();
                     }
 
-                    final boolean synced = translog.ensureSynced(location, processGlobalCheckpoint);
+                    final TranslogSyncScheduler.PathScheduler syncScheduler = engineConfig.getTranslogConfig().getSyncScheduler();
+                    final boolean synced;
+                    if (syncScheduler == null || translog.syncNeeded() == false) {
+                        // nothing to batch if the location and checkpoint are already durable
+                        synced = translog.ensureSynced(location, processGlobalCheckpoint);
+                    } else {
+                        final Translog.Location locationToSync = location;
+                        final long checkpointToSync = processGlobalCheckpoint;
+                        synced = syncScheduler.sync(() -> translog.ensureSynced(locationToSync, checkpointToSync));
+                    }
                     if (synced) {
                         revisitIndexDeletionPolicyOnTranslogSynced();
                     }
@@ -2903,13 +2916,33 @@ public class InternalEngine extends Engine {
         }
     }
 
+    /**
+     * Identifies the disk that this shard's merges write to, by the file store of the shard's data path (which holds the translog),
+     * so that the merges of all shards on the same disk share an IO budget.
+     */
+    @Nullable
+    private String mergeDisk() {
+        try {
+            return Environment.getFileStore(engineConfig.getTranslogConfig().getTranslogPath()).toString();
+        } catch (IOException e) {
+            logger.debug("failed to determine the file store of the shard data path, merges will share the IO budget of unknown disks", e);
+            return null;
+        }
+    }
+
     private final class EngineThreadPoolMergeScheduler extends ThreadPoolMergeScheduler {
         EngineThreadPoolMergeScheduler(
             ShardId shardId,
             IndexSettings indexSettings,
             ThreadPoolMergeExecutorService threadPoolMergeExecutorService
         ) {
-            super(shardId, indexSettings, threadPoolMergeExecutorService, InternalEngine.this::estimateMergeBytes);
+            super(
+                shardId,
+                InternalEngine.this.mergeDisk(),
+                indexSettings,
+                threadPoolMergeExecutorService,
+                InternalEngine.this::estimateMergeBytes
+            );
         }
 
         @Override
@@ -15,6 +15,7 @@ import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.RamUsageEstimator;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.KeyedLock;
+import org.elasticsearch.common.util.concurrent.StripedLock;
 import org.elasticsearch.core.Releasable;
 
 import java.io.IOException;
@@ -25,7 +26,7 @@ import java.util.concurrent.atomic.AtomicLong;
 /** Maps _uid value to its version information. */
 public final class LiveVersionMap implements ReferenceManager.RefreshListener, Accountable {
 
-    private final KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+    private final UidLock uidLock;
 
     private final LiveVersionMapArchive archive;
 
@@ -34,7 +35,69 @@ public final class LiveVersionMap implements ReferenceManager.RefreshListener, A
     }
 
     LiveVersionMap(LiveVersionMapArchive archive) {
+        this(archive, 0);
+    }
+
+    /**
+     * @param lockStripes the number of lock stripes used to serialize operations on the same uid, or {@code 0} to use a
+     *                    {@link KeyedLock} that allocates one lock per uid being operated on
+     */
+    LiveVersionMap(LiveVersionMapArchive archive, int lockStripes) {
         this.archive = archive;
+        this.uidLock = lockStripes == 0 ? UidLock.keyed() : UidLock.striped(lockStripes);
+    }
+
+    /**
+     * Serializes operations on the same uid. The {@link KeyedLock} based implementation creates and removes a lock (and a map entry)
+     * on each acquisition, which adds garbage on every indexing operation. The {@link StripedLock} based one doesn't allocate at all,
+     * but unrelated uids may contend when they hash to the same stripe.
+     */
+    private interface UidLock {
+        Releasable acquire(BytesRef uid);
+
+        Releasable tryAcquire(BytesRef uid);
+
+        boolean isHeldByCurrentThread(BytesRef uid);
+
+        static UidLock keyed() {
+            final KeyedLock<BytesRef> keyedLock = new KeyedLock<>();
+            return new UidLock() {
+                @Override
+                public Releasable acquire(BytesRef uid) {
+                    return keyedLock.acquire(uid);
+                }
+
+                @Override
+                public Releasable tryAcquire(BytesRef uid) {
+                    return keyedLock.tryAcquire(uid);
+                }
+
+                @Override
+                public boolean isHeldByCurrentThread(BytesRef uid) {
+                    return keyedLock.isHeldByCurrentThread(uid);
+                }
+            };
+        }
+
+        static UidLock striped(int stripes) {
+            final StripedLock<BytesRef> stripedLock = new StripedLock<>(stripes);
+            return new UidLock() {
+                @Override
+                public Releasable acquire(BytesRef uid) {
+                    return stripedLock.acquire(uid);
+                }
+
+                @Override
+                public Releasable tryAcquire(BytesRef uid) {
+                    return stripedLock.tryAcquire(uid);
+                }
+
+                @Override
+                public boolean isHeldByCurrentThread(BytesRef uid) {
+                    return stripedLock.isHeldByCurrentThread(uid);
+                }
+            };
+        }
     }
 
     public static final class VersionLookup {
@@ -441,7 +504,7 @@ public final class LiveVersionMap implements ReferenceManager.RefreshListener, A
             // we won't collect the tombstone below since it must be newer than this one.
             if (canRemoveTombstone(maxTimestampToPrune, maxSeqNoToPrune, entry.getValue())) {
                 final BytesRef uid = entry.getKey();
-                try (Releasable lock = keyedLock.tryAcquire(uid)) {
+                try (Releasable lock = uidLock.tryAcquire(uid)) {
                     // we use tryAcquire here since this is a best effort and we try to be least disruptive
                     // this method is also called under lock in the engine under certain situations such that this can lead to deadlocks
                     // if we do use a blocking acquire. see #28714
@@ -533,13 +596,14 @@ public final class LiveVersionMap implements ReferenceManager.RefreshListener, A
      * this lock to be hold by the caller otherwise the visibility guarantees of this version
      * map are broken. We assert on this lock to be hold when calling these methods.
      * @see KeyedLock
+     * @see StripedLock
      */
     Releasable acquireLock(BytesRef uid) {
-        return keyedLock.acquire(uid);
+        return uidLock.acquire(uid);
     }
 
     boolean assertKeyedLockHeldByCurrentThread(BytesRef uid) {
-        assert keyedLock.isHeldByCurrentThread(uid) : "Thread [" + Thread.currentThread().getName() + "], uid [" + uid.utf8ToString() + "]";
+        assert uidLock.isHeldByCurrentThread(uid) : "Thread [" + Thread.currentThread().getName() + "], uid [" + uid.utf8ToString() + "]";
         return true;
     }
 
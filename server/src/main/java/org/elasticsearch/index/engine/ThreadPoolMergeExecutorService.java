@@ -16,8 +16,10 @@ import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.engine.ThreadPoolMergeScheduler.MergeTask;
 import org.elasticsearch.threadpool.ThreadPool;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -44,11 +46,19 @@ public class ThreadPoolMergeExecutorService {
      * Initial value for IO write rate limit of individual merge tasks when doAutoIOThrottle is true
      */
     static final ByteSizeValue START_IO_RATE = ByteSizeValue.ofMb(20L);
+    /**
+     * The key of the IO budget shared by the merge tasks that don't know which disk they write to.
+     */
+    static final String UNKNOWN_DISK = "_unknown";
     /**
      * Total number of submitted merge tasks that support IO auto throttling and that have not yet been run (or aborted).
      * This includes merge tasks that are currently running and that are backlogged (by their respective merge schedulers).
      */
     private final AtomicInteger ioThrottledMergeTasksCount = new AtomicInteger();
+    /**
+     * Total number of submitted merge tasks that have not yet been run (or aborted), whether they support IO throttling or not.
+     */
+    private final AtomicInteger submittedMergeTasksCount = new AtomicInteger();
     /**
      * The merge tasks that are waiting execution. This does NOT include backlogged or currently executing merge tasks.
      * For instance, this can be empty while there are backlogged merge tasks awaiting re-enqueuing.
@@ -63,10 +73,12 @@ public class ThreadPoolMergeExecutorService {
      */
     private final Set<MergeTask> runningMergeTasks = ConcurrentCollections.newConcurrentSet();
     /**
-     * Current IO write throttle rate, in bytes per sec, that's in effect for all currently running merge tasks,
-     * across all {@link ThreadPoolMergeScheduler}s that use this instance of the queue.
+     * The IO budgets of the disks that merge tasks have been submitted for, keyed by {@link MergeTask#getDisk()}.
+     * Each disk has its own IO write throttle rate that's in effect for the currently running merge tasks writing to it, across all
+     * {@link ThreadPoolMergeScheduler}s that use this instance of the queue, so that a burst of merges on one disk does not change
+     * the rate of merges (and, in turn, the indexing throttling) on the others.
      */
-    private final AtomicIORate targetIORateBytesPerSec = new AtomicIORate(START_IO_RATE.getBytes());
+    private final Map<String, DiskIOBudget> diskIOBudgets = ConcurrentCollections.newConcurrentMap();
     private final ExecutorService executorService;
     /**
      * The maximum number of concurrently running merges, given the number of threads in the pool.
@@ -105,10 +117,13 @@ public class ThreadPoolMergeExecutorService {
             mergeTask.abort();
             return false;
         } else {
+            submittedMergeTasksCount.incrementAndGet();
             if (mergeTask.supportsIOThrottling()) {
-                // count enqueued merge tasks that support IO auto throttling, and maybe adjust IO rate for all
-                int currentTaskCount = ioThrottledMergeTasksCount.incrementAndGet();
-                targetIORateBytesPerSec.update(
+                ioThrottledMergeTasksCount.incrementAndGet();
+                // count enqueued merge tasks on the same disk that support IO auto throttling, and maybe adjust IO rate for all of them
+                DiskIOBudget diskIOBudget = diskIOBudget(mergeTask.getDisk());
+                int currentTaskCount = diskIOBudget.ioThrottledMergeTasksCount.incrementAndGet();
+                diskIOBudget.targetIORateBytesPerSec.update(
                     currentTargetIORateBytesPerSec -> newTargetIORateBytesPerSec(
                         currentTargetIORateBytesPerSec,
                         currentTaskCount,
@@ -122,7 +137,7 @@ public class ThreadPoolMergeExecutorService {
                         // merges.
                         if (prevTargetIORateBytesPerSec != newTargetIORateBytesPerSec) {
                             runningMergeTasks.forEach(runningMergeTask -> {
-                                if (runningMergeTask.supportsIOThrottling()) {
+                                if (runningMergeTask.supportsIOThrottling() && diskIOBudget(runningMergeTask.getDisk()) == diskIOBudget) {
                                     runningMergeTask.setIORateLimit(newTargetIORateBytesPerSec);
                                 }
                             });
@@ -202,15 +217,19 @@ public class ThreadPoolMergeExecutorService {
         assert mergeTask.isRunning() == false;
         boolean added = runningMergeTasks.add(mergeTask);
         assert added : "starting merge task [" + mergeTask + "] registered as already running";
+        DiskIOBudget diskIOBudget = diskIOBudget(mergeTask.getDisk());
         try {
             if (mergeTask.supportsIOThrottling()) {
-                mergeTask.setIORateLimit(targetIORateBytesPerSec.get());
+                mergeTask.setIORateLimit(diskIOBudget.targetIORateBytesPerSec.get());
             }
             mergeTask.run();
         } finally {
             boolean removed = runningMergeTasks.remove(mergeTask);
             assert removed : "completed merge task [" + mergeTask + "] not registered as running";
+            diskIOBudget.mergedBytesWritten.addAndGet(mergeTask.getBytesWritten());
+            submittedMergeTasksCount.decrementAndGet();
             if (mergeTask.supportsIOThrottling()) {
+                diskIOBudget.ioThrottledMergeTasksCount.decrementAndGet();
                 ioThrottledMergeTasksCount.decrementAndGet();
             }
             mergeEventListeners.forEach(l -> l.onMergeCompleted(mergeTask.getOnGoingMerge()));
@@ -223,7 +242,9 @@ public class ThreadPoolMergeExecutorService {
         try {
             mergeTask.abort();
         } finally {
+            submittedMergeTasksCount.decrementAndGet();
             if (mergeTask.supportsIOThrottling()) {
+                diskIOBudget(mergeTask.getDisk()).ioThrottledMergeTasksCount.decrementAndGet();
                 ioThrottledMergeTasksCount.decrementAndGet();
             }
             mergeEventListeners.forEach(l -> l.onMergeAborted(mergeTask.getOnGoingMerge()));
@@ -257,6 +278,38 @@ public class ThreadPoolMergeExecutorService {
         return newTargetIORateBytesPerSec;
     }
 
+    private DiskIOBudget diskIOBudget(@Nullable String disk) {
+        return diskIOBudgets.computeIfAbsent(disk == null ? UNKNOWN_DISK : disk, k -> new DiskIOBudget());
+    }
+
+    /**
+     * The merge IO accounting of a single disk.
+     */
+    private static class DiskIOBudget {
+        /**
+         * Number of submitted merge tasks writing to this disk that support IO auto throttling and that have not yet been run (or aborted).
+         */
+        private final AtomicInteger ioThrottledMergeTasksCount = new AtomicInteger();
+        /**
+         * Current IO write throttle rate, in bytes per sec, that's in effect for all currently running merge tasks writing to this disk.
+         */
+        private final AtomicIORate targetIORateBytesPerSec = new AtomicIORate(START_IO_RATE.getBytes());
+        /**
+         * Total bytes written to this disk by the merge tasks that completed, as measured by their rate limiters.
+         */
+        private final AtomicLong mergedBytesWritten = new AtomicLong();
+    }
+
+    /**
+     * Point-in-time merge IO statistics of a single disk.
+     *
+     * @param disk                    the disk, see {@link MergeTask#getDisk()}
+     * @param targetIORateBytesPerSec the IO write throttle rate currently in effect for merges writing to the disk
+     * @param ioThrottledMergeTasks   the number of submitted, not yet completed, merge tasks that are IO throttled
+     * @param mergedBytesWritten      the total bytes written by completed merges
+     */
+    public record DiskMergeStats(String disk, long targetIORateBytesPerSec, int ioThrottledMergeTasks, long mergedBytesWritten) {}
+
     static class AtomicIORate {
         private final AtomicLong ioRate;
 
@@ -288,8 +341,58 @@ public class ThreadPoolMergeExecutorService {
         }
     }
 
-    public boolean usingMaxTargetIORateBytesPerSec() {
-        return MAX_IO_RATE.getBytes() == targetIORateBytesPerSec.get();
+    /**
+     * Returns whether merges writing to the given disk are currently not IO throttled any more than the maximum allowed rate.
+     */
+    public boolean usingMaxTargetIORateBytesPerSec(@Nullable String disk) {
+        return MAX_IO_RATE.getBytes() == getTargetIORateBytesPerSec(disk);
+    }
+
+    /**
+     * Returns the IO write throttle rate, in bytes per sec, currently in effect for merges writing to the given disk.
+     */
+    public long getTargetIORateBytesPerSec(@Nullable String disk) {
+        DiskIOBudget diskIOBudget = diskIOBudgets.get(disk == null ? UNKNOWN_DISK : disk);
+        return diskIOBudget == null ? START_IO_RATE.getBytes() : diskIOBudget.targetIORateBytesPerSec.get();
+    }
+
+    /**
+     * Returns the number of merge tasks that are waiting for a merge thread. This does NOT include backlogged merge tasks.
+     */
+    public int getQueuedMergeTasksCount() {
+        return queuedMergeTasks.size();
+    }
+
+    /**
+     * Returns the number of merge tasks that are currently being executed.
+     */
+    public int getRunningMergeTasksCount() {
+        return runningMergeTasks.size();
+    }
+
+    /**
+     * Returns the number of submitted merge tasks that are neither queued nor running, because their merge scheduler backlogged them.
+     */
+    public int getBackloggedMergeTasksCount() {
+        return Math.max(0, submittedMergeTasksCount.get() - queuedMergeTasks.size() - runningMergeTasks.size());
+    }
+
+    /**
+     * Returns the merge IO statistics of every disk that merge tasks have been submitted for.
+     */
+    public List<DiskMergeStats> getDiskMergeStats() {
+        List<DiskMergeStats> stats = new ArrayList<>(diskIOBudgets.size());
+        diskIOBudgets.forEach(
+            (disk, diskIOBudget) -> stats.add(
+                new DiskMergeStats(
+                    disk,
+                    diskIOBudget.targetIORateBytesPerSec.get(),
+                    diskIOBudget.ioThrottledMergeTasksCount.get(),
+                    diskIOBudget.mergedBytesWritten.get()
+                )
+            )
+        );
+        return stats;
     }
 
     public void registerMergeEventListener(MergeEventListener consumer) {
@@ -306,9 +409,13 @@ public class ThreadPoolMergeExecutorService {
         return queuedMergeTasks;
     }
 
-    // exposed for tests and stats
+    // exposed for tests, the highest IO rate across all disks
     long getTargetIORateBytesPerSec() {
-        return targetIORateBytesPerSec.get();
+        return diskIOBudgets.values()
+            .stream()
+            .mapToLong(diskIOBudget -> diskIOBudget.targetIORateBytesPerSec.get())
+            .max()
+            .orElse(START_IO_RATE.getBytes());
     }
 
     // exposed for tests
@@ -23,6 +23,7 @@ import org.apache.lucene.store.RateLimitedIndexOutput;
 import org.elasticsearch.common.logging.Loggers;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.MergeSchedulerConfig;
@@ -49,6 +50,9 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
         Setting.Property.NodeScope
     );
     private final ShardId shardId;
+    // the disk this shard's merges write to, which determines the IO budget they share with the merges of other shards
+    @Nullable
+    private final String disk;
     private final MergeSchedulerConfig config;
     protected final Logger logger;
     private final MergeTracking mergeTracking;
@@ -72,14 +76,29 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
         IndexSettings indexSettings,
         ThreadPoolMergeExecutorService threadPoolMergeExecutorService,
         MergeMemoryEstimateProvider mergeMemoryEstimateProvider
+    ) {
+        this(shardId, null, indexSettings, threadPoolMergeExecutorService, mergeMemoryEstimateProvider);
+    }
+
+    /**
+     * @param disk identifies the disk that the shard's merges write to, merges writing to the same disk share an IO budget.
+     *             Merges of schedulers that don't know their disk share a single IO budget.
+     */
+    public ThreadPoolMergeScheduler(
+        ShardId shardId,
+        @Nullable String disk,
+        IndexSettings indexSettings,
+        ThreadPoolMergeExecutorService threadPoolMergeExecutorService,
+        MergeMemoryEstimateProvider mergeMemoryEstimateProvider
     ) {
         this.shardId = shardId;
+        this.disk = disk;
         this.config = indexSettings.getMergeSchedulerConfig();
         this.logger = Loggers.getLogger(getClass(), shardId);
         this.mergeTracking = new MergeTracking(
             logger,
             () -> this.config.isAutoThrottle()
-                ? ByteSizeValue.ofBytes(threadPoolMergeExecutorService.getTargetIORateBytesPerSec()).getMbFrac()
+                ? ByteSizeValue.ofBytes(threadPoolMergeExecutorService.getTargetIORateBytesPerSec(disk)).getMbFrac()
                 : Double.POSITIVE_INFINITY
         );
         this.threadPoolMergeExecutorService = threadPoolMergeExecutorService;
@@ -198,7 +217,7 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
         int activeMerges = (int) (submittedMergesCount - doneMergesCount);
         if (activeMerges > configuredMaxMergeCount
             // only throttle indexing if disk IO is un-throttled, and we still can't keep up with the merge load
-            && threadPoolMergeExecutorService.usingMaxTargetIORateBytesPerSec()
+            && threadPoolMergeExecutorService.usingMaxTargetIORateBytesPerSec(disk)
             && shouldThrottleIncomingMerges.get() == false) {
             // maybe enable merge task throttling
             synchronized (shouldThrottleIncomingMerges) {
@@ -354,6 +373,21 @@ public class ThreadPoolMergeScheduler extends MergeScheduler implements Elastics
             return mergeStartTimeNS.get() > 0L;
         }
 
+        /**
+         * The disk this merge writes to, or {@code null} if it is not known.
+         */
+        @Nullable
+        public String getDisk() {
+            return disk;
+        }
+
+        /**
+         * The number of bytes this merge has written so far.
+         */
+        public long getBytesWritten() {
+            return rateLimiter.getTotalBytesWritten();
+        }
+
         /**
          * Runs the merge associated to this task. MUST be invoked after {@link #schedule()} returned {@link Schedule#RUN},
          * to confirm that the associated {@link MergeScheduler} assents to run the merge.
@@ -13,6 +13,7 @@ import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
 import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasable;
 import org.elasticsearch.search.fetch.StoredFieldsSpec;
 import org.elasticsearch.search.lookup.Source;
@@ -55,6 +56,22 @@ public interface BlockLoader {
 
     interface AllReader extends ColumnAtATimeReader, RowStrideReader {}
 
+    /**
+     * Implemented by doc values that can load the values for a whole {@link Docs}
+     * in one call, without advancing document by document. {@link ColumnAtATimeReader}s
+     * on top of doc values check for this and fall back to their doc-at-a-time
+     * path when it isn't implemented or returns {@code null}.
+     */
+    interface OptionalColumnAtATimeReader {
+        /**
+         * Attempts to read the values of all documents in {@code docs}.
+         * @return the loaded block or {@code null} if this reader can't bulk load
+         *         these docs, in which case its position has not been changed
+         */
+        @Nullable
+        BlockLoader.Block tryRead(BlockFactory factory, Docs docs) throws IOException;
+    }
+
     interface StoredFields {
         /**
          * The {@code _source} of the document.
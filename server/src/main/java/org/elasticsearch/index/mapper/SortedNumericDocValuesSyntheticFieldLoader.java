@@ -13,6 +13,7 @@ import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.SortedNumericDocValues;
+import org.apache.lucene.util.ArrayUtil;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
@@ -63,9 +64,9 @@ public abstract class SortedNumericDocValuesSyntheticFieldLoader implements Sour
         }
         if (docIdsInLeaf != null && docIdsInLeaf.length > 1) {
             /*
-             * The singleton optimization is mostly about looking up all
-             * values for the field at once. If there's just a single
-             * document then it's just extra overhead.
+             * Loading up front is mostly about looking up all values
+             * for the field at once. If there's just a single document
+             * then it's just extra overhead.
              */
             NumericDocValues single = DocValues.unwrapSingleton(dv);
             if (single != null) {
@@ -73,6 +74,9 @@ public abstract class SortedNumericDocValuesSyntheticFieldLoader implements Sour
                 values = loader == null ? NO_VALUES : loader;
                 return loader;
             }
+            MultiValuedDocValuesLoader loader = buildMultiValuedDocValuesLoader(dv, docIdsInLeaf);
+            values = loader == null ? NO_VALUES : loader;
+            return loader;
         }
         ImmediateDocValuesLoader loader = new ImmediateDocValuesLoader(dv);
         values = loader;
@@ -220,6 +224,69 @@ public abstract class SortedNumericDocValuesSyntheticFieldLoader implements Sour
         }
     }
 
+    private MultiValuedDocValuesLoader buildMultiValuedDocValuesLoader(SortedNumericDocValues dv, int[] docIdsInLeaf)
+        throws IOException {
+        int[] offsets = new int[docIdsInLeaf.length + 1];
+        long[] values = new long[docIdsInLeaf.length];
+        int count = 0;
+        for (int d = 0; d < docIdsInLeaf.length; d++) {
+            if (dv.advanceExact(docIdsInLeaf[d])) {
+                int docValueCount = dv.docValueCount();
+                values = ArrayUtil.grow(values, count + docValueCount);
+                for (int i = 0; i < docValueCount; i++) {
+                    values[count++] = dv.nextValue();
+                }
+            }
+            offsets[d + 1] = count;
+        }
+        if (count == 0) {
+            return null;
+        }
+        return new MultiValuedDocValuesLoader(docIdsInLeaf, offsets, values);
+    }
+
+    /**
+     * Load all values for all docs up front like {@link SingletonDocValuesLoader}
+     * but for fields that may have many values per document. The values of the
+     * document at index {@code i} in {@code docIdsInLeaf} are stored in
+     * {@code values} from {@code offsets[i]} to {@code offsets[i + 1]}.
+     */
+    private class MultiValuedDocValuesLoader implements DocValuesLoader, Values {
+        private final int[] docIdsInLeaf;
+        private final int[] offsets;
+        private final long[] values;
+        private int idx = -1;
+
+        private MultiValuedDocValuesLoader(int[] docIdsInLeaf, int[] offsets, long[] values) {
+            this.docIdsInLeaf = docIdsInLeaf;
+            this.offsets = offsets;
+            this.values = values;
+        }
+
+        @Override
+        public boolean advanceToDoc(int docId) throws IOException {
+            idx++;
+            if (docIdsInLeaf[idx] != docId) {
+                throw new IllegalArgumentException(
+                    "expected to be called with [" + docIdsInLeaf[idx] + "] but was called with " + docId + " instead"
+                );
+            }
+            return count() > 0;
+        }
+
+        @Override
+        public int count() {
+            return offsets[idx + 1] - offsets[idx];
+        }
+
+        @Override
+        public void write(XContentBuilder b) throws IOException {
+            for (int i = offsets[idx]; i < offsets[idx + 1]; i++) {
+                writeValue(b, values[i]);
+            }
+        }
+    }
+
     /**
      * Returns a {@link SortedNumericDocValues} or null if it doesn't have any doc values.
      * See {@link DocValues#getSortedNumeric} which is *nearly* the same, but it returns
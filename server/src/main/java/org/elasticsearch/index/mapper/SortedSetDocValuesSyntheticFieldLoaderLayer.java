@@ -13,6 +13,7 @@ import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.LeafReader;
 import org.apache.lucene.index.SortedDocValues;
 import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.ArrayUtil;
 import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.logging.LogManager;
 import org.elasticsearch.logging.Logger;
@@ -52,8 +53,8 @@ public abstract class SortedSetDocValuesSyntheticFieldLoaderLayer implements Com
         }
         if (docIdsInLeaf != null && docIdsInLeaf.length > 1) {
             /*
-             * The singleton optimization is mostly about looking up ordinals
-             * in sorted order and doesn't buy anything if there is only a single
+             * Loading up front is mostly about looking up ordinals in sorted
+             * order and doesn't buy anything if there is only a single
              * document.
              */
             SortedDocValues singleton = DocValues.unwrapSingleton(dv);
@@ -62,6 +63,9 @@ public abstract class SortedSetDocValuesSyntheticFieldLoaderLayer implements Com
                 docValues = loader == null ? NO_VALUES : loader;
                 return loader;
             }
+            MultiValuedDocValuesLoader loader = buildMultiValuedDocValuesLoader(dv, docIdsInLeaf);
+            docValues = loader == null ? NO_VALUES : loader;
+            return loader;
         }
         ImmediateDocValuesLoader loader = new ImmediateDocValuesLoader(dv);
         docValues = loader;
@@ -224,6 +228,93 @@ public abstract class SortedSetDocValuesSyntheticFieldLoaderLayer implements Com
         }
     }
 
+    /**
+     * Load all ordinals for all docs up front like {@link #buildSingletonDocValuesLoader}
+     * but for fields that may have many values per document. Each distinct ordinal is
+     * resolved to its value only once, in ordinal order.
+     */
+    private MultiValuedDocValuesLoader buildMultiValuedDocValuesLoader(SortedSetDocValues dv, int[] docIdsInLeaf) throws IOException {
+        int[] offsets = new int[docIdsInLeaf.length + 1];
+        long[] ords = new long[docIdsInLeaf.length];
+        int count = 0;
+        for (int d = 0; d < docIdsInLeaf.length; d++) {
+            if (dv.advanceExact(docIdsInLeaf[d])) {
+                int docValueCount = dv.docValueCount();
+                ords = ArrayUtil.grow(ords, count + docValueCount);
+                for (int i = 0; i < docValueCount; i++) {
+                    ords[count++] = dv.nextOrd();
+                }
+            }
+            offsets[d + 1] = count;
+        }
+        if (count == 0) {
+            return null;
+        }
+        long[] uniqueOrds = ArrayUtil.copyOfSubArray(ords, 0, count);
+        Arrays.sort(uniqueOrds);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || uniqueOrds[i] != uniqueOrds[i - 1]) {
+                uniqueOrds[unique++] = uniqueOrds[i];
+            }
+        }
+        BytesRef[] converted = new BytesRef[unique];
+        for (int i = 0; i < unique; i++) {
+            converted[i] = preserve(convert(dv.lookupOrd(uniqueOrds[i])));
+        }
+        int[] convertedIdx = new int[count];
+        for (int i = 0; i < count; i++) {
+            convertedIdx[i] = Arrays.binarySearch(uniqueOrds, 0, unique, ords[i]);
+        }
+        logger.debug("loading [{}] on [{}] docs covering [{}] ords", name, docIdsInLeaf.length, unique);
+        return new MultiValuedDocValuesLoader(docIdsInLeaf, offsets, convertedIdx, converted);
+    }
+
+    /**
+     * The values of the document at index {@code i} in {@code docIdsInLeaf} are
+     * {@code converted[convertedIdx[j]]} for {@code j} from {@code offsets[i]}
+     * to {@code offsets[i + 1]}.
+     */
+    private static class MultiValuedDocValuesLoader implements DocValuesLoader, DocValuesFieldValues {
+        private final int[] docIdsInLeaf;
+        private final int[] offsets;
+        private final int[] convertedIdx;
+        private final BytesRef[] converted;
+
+        private int idx = -1;
+
+        private MultiValuedDocValuesLoader(int[] docIdsInLeaf, int[] offsets, int[] convertedIdx, BytesRef[] converted) {
+            this.docIdsInLeaf = docIdsInLeaf;
+            this.offsets = offsets;
+            this.convertedIdx = convertedIdx;
+            this.converted = converted;
+        }
+
+        @Override
+        public boolean advanceToDoc(int docId) throws IOException {
+            idx++;
+            if (docIdsInLeaf[idx] != docId) {
+                throw new IllegalArgumentException(
+                    "expected to be called with [" + docIdsInLeaf[idx] + "] but was called with " + docId + " instead"
+                );
+            }
+            return count() > 0;
+        }
+
+        @Override
+        public int count() {
+            return offsets[idx + 1] - offsets[idx];
+        }
+
+        @Override
+        public void write(XContentBuilder b) throws IOException {
+            for (int i = offsets[idx]; i < offsets[idx + 1]; i++) {
+                BytesRef c = converted[convertedIdx[i]];
+                b.utf8Value(c.bytes, c.offset, c.length);
+            }
+        }
+    }
+
     /**
      * Convert a {@link BytesRef} read from the source into bytes to write
      * to the xcontent. This shouldn't make a deep copy if the conversion
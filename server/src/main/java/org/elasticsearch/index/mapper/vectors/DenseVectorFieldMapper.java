@@ -40,6 +40,7 @@ import org.apache.lucene.util.VectorUtil;
 import org.elasticsearch.common.ParsingException;
 import org.elasticsearch.common.settings.Setting;
 import org.elasticsearch.common.xcontent.support.XContentMapValues;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.features.NodeFeature;
 import org.elasticsearch.index.IndexVersion;
 import org.elasticsearch.index.IndexVersions;
@@ -91,6 +92,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
@@ -1301,6 +1303,14 @@ public class DenseVectorFieldMapper extends FieldMapper {
 
         abstract KnnVectorsFormat getVectorsFormat(ElementType elementType);
 
+        /**
+         * Returns the format to write vectors with, building the HNSW graph of merged segments with {@code mergeWorkers} threads
+         * of the given executor if the format has a graph. Formats without a graph ignore these parameters.
+         */
+        KnnVectorsFormat getVectorsFormat(ElementType elementType, int mergeWorkers, @Nullable ExecutorService mergeExecutor) {
+            return getVectorsFormat(elementType);
+        }
+
         public boolean validate(ElementType elementType, int dim, boolean throwOnError) {
             return validateElementType(elementType, throwOnError) && validateDimension(dim, throwOnError);
         }
@@ -1722,8 +1732,13 @@ public class DenseVectorFieldMapper extends FieldMapper {
 
         @Override
         public KnnVectorsFormat getVectorsFormat(ElementType elementType) {
+            return getVectorsFormat(elementType, 1, null);
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat(ElementType elementType, int mergeWorkers, ExecutorService mergeExecutor) {
             assert elementType == ElementType.FLOAT;
-            return new ES814HnswScalarQuantizedVectorsFormat(m, efConstruction, confidenceInterval, 4, true);
+            return new ES814HnswScalarQuantizedVectorsFormat(m, efConstruction, confidenceInterval, 4, true, mergeWorkers, mergeExecutor);
         }
 
         @Override
@@ -1853,8 +1868,13 @@ public class DenseVectorFieldMapper extends FieldMapper {
 
         @Override
         public KnnVectorsFormat getVectorsFormat(ElementType elementType) {
+            return getVectorsFormat(elementType, 1, null);
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat(ElementType elementType, int mergeWorkers, ExecutorService mergeExecutor) {
             assert elementType == ElementType.FLOAT;
-            return new ES814HnswScalarQuantizedVectorsFormat(m, efConstruction, confidenceInterval, 7, false);
+            return new ES814HnswScalarQuantizedVectorsFormat(m, efConstruction, confidenceInterval, 7, false, mergeWorkers, mergeExecutor);
         }
 
         @Override
@@ -1934,10 +1954,15 @@ public class DenseVectorFieldMapper extends FieldMapper {
 
         @Override
         public KnnVectorsFormat getVectorsFormat(ElementType elementType) {
+            return getVectorsFormat(elementType, 1, null);
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat(ElementType elementType, int mergeWorkers, ExecutorService mergeExecutor) {
             if (elementType == ElementType.BIT) {
-                return new ES815HnswBitVectorsFormat(m, efConstruction);
+                return new ES815HnswBitVectorsFormat(m, efConstruction, mergeWorkers, mergeExecutor);
             }
-            return new Lucene99HnswVectorsFormat(m, efConstruction, 1, null);
+            return new Lucene99HnswVectorsFormat(m, efConstruction, mergeWorkers, mergeExecutor);
         }
 
         @Override
@@ -1994,8 +2019,13 @@ public class DenseVectorFieldMapper extends FieldMapper {
 
         @Override
         KnnVectorsFormat getVectorsFormat(ElementType elementType) {
+            return getVectorsFormat(elementType, 1, null);
+        }
+
+        @Override
+        KnnVectorsFormat getVectorsFormat(ElementType elementType, int mergeWorkers, ExecutorService mergeExecutor) {
             assert elementType == ElementType.FLOAT;
-            return new ES818HnswBinaryQuantizedVectorsFormat(m, efConstruction);
+            return new ES818HnswBinaryQuantizedVectorsFormat(m, efConstruction, mergeWorkers, mergeExecutor);
         }
 
         @Override
@@ -2621,11 +2651,31 @@ public class DenseVectorFieldMapper extends FieldMapper {
      * {@code null} if the default format should be used.
      */
     public KnnVectorsFormat getKnnVectorsFormatForField(KnnVectorsFormat defaultFormat) {
+        return getKnnVectorsFormatForField(defaultFormat, 1, null);
+    }
+
+    /**
+     * Like {@link #getKnnVectorsFormatForField(KnnVectorsFormat)}, but builds the HNSW graph of merged segments with
+     * {@code mergeWorkers} threads of the given executor. {@code mergeExecutor} must be {@code null} if and only if
+     * {@code mergeWorkers} is 1.
+     */
+    public KnnVectorsFormat getKnnVectorsFormatForField(
+        KnnVectorsFormat defaultFormat,
+        int mergeWorkers,
+        @Nullable ExecutorService mergeExecutor
+    ) {
         final KnnVectorsFormat format;
         if (indexOptions == null) {
-            format = fieldType().elementType == ElementType.BIT ? new ES815HnswBitVectorsFormat() : defaultFormat;
+            format = fieldType().elementType == ElementType.BIT
+                ? new ES815HnswBitVectorsFormat(
+                    Lucene99HnswVectorsFormat.DEFAULT_MAX_CONN,
+                    Lucene99HnswVectorsFormat.DEFAULT_BEAM_WIDTH,
+                    mergeWorkers,
+                    mergeExecutor
+                )
+                : defaultFormat;
         } else {
-            format = indexOptions.getVectorsFormat(fieldType().elementType);
+            format = indexOptions.getVectorsFormat(fieldType().elementType, mergeWorkers, mergeExecutor);
         }
         // It's legal to reuse the same format name as this is the same on-disk format.
         return new KnnVectorsFormat(format.getName()) {
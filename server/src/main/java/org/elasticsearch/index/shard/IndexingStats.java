@@ -26,6 +26,7 @@ import java.util.Objects;
 import java.util.concurrent.TimeUnit;
 
 import static org.elasticsearch.TransportVersions.INDEXING_STATS_INCLUDES_RECENT_WRITE_LOAD;
+import static org.elasticsearch.TransportVersions.INDEXING_STATS_INCLUDES_WRITE_INDEXING_BUFFER_COUNT;
 import static org.elasticsearch.TransportVersions.INDEX_STATS_AND_METADATA_INCLUDE_PEAK_WRITE_LOAD;
 import static org.elasticsearch.TransportVersions.WRITE_LOAD_INCLUDES_BUFFER_WRITES;
 
@@ -53,6 +54,8 @@ public class IndexingStats implements Writeable, ToXContentFragment {
         private long totalActiveTimeInNanos;
         private double recentIndexingLoad;
         private double peakIndexingLoad;
+        // The number of times IndexingMemoryController asked this shard to move its indexing buffer to disk
+        private long writeIndexingBufferCount;
 
         Stats() {}
 
@@ -101,6 +104,9 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                     ? totalIndexingTimeSinceShardStartedInNanos
                     : 0;
             }
+            if (in.getTransportVersion().onOrAfter(INDEXING_STATS_INCLUDES_WRITE_INDEXING_BUFFER_COUNT)) {
+                writeIndexingBufferCount = in.readVLong();
+            }
         }
 
         public Stats(
@@ -119,7 +125,8 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             long totalIndexingExecutionTimeSinceShardStartedInNanos,
             long totalActiveTimeInNanos,
             double recentIndexingLoad,
-            double peakIndexingLoad
+            double peakIndexingLoad,
+            long writeIndexingBufferCount
         ) {
             this.indexCount = indexCount;
             this.indexTimeInMillis = indexTimeInMillis;
@@ -139,6 +146,7 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             // We store the weighted write load as a double because the calculation is inherently floating point
             this.recentIndexingLoad = recentIndexingLoad;
             this.peakIndexingLoad = peakIndexingLoad;
+            this.writeIndexingBufferCount = writeIndexingBufferCount;
         }
 
         public void add(Stats stats) {
@@ -168,6 +176,7 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                     / totalActiveTimeInNanos;
                 peakIndexingLoad += (stats.peakIndexingLoad - peakIndexingLoad) * stats.totalActiveTimeInNanos / totalActiveTimeInNanos;
             }
+            writeIndexingBufferCount += stats.writeIndexingBufferCount;
         }
 
         /**
@@ -284,6 +293,13 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             return peakIndexingLoad;
         }
 
+        /**
+         * The number of times the indexing buffer of this shard was moved to disk to keep the node within its indexing buffer budget.
+         */
+        public long getWriteIndexingBufferCount() {
+            return writeIndexingBufferCount;
+        }
+
         public long getTotalActiveTimeInMillis() {
             return TimeUnit.NANOSECONDS.toMillis(totalActiveTimeInNanos);
         }
@@ -323,6 +339,9 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             if (out.getTransportVersion().onOrAfter(WRITE_LOAD_INCLUDES_BUFFER_WRITES)) {
                 out.writeLong(totalIndexingExecutionTimeSinceShardStartedInNanos);
             }
+            if (out.getTransportVersion().onOrAfter(INDEXING_STATS_INCLUDES_WRITE_INDEXING_BUFFER_COUNT)) {
+                out.writeVLong(writeIndexingBufferCount);
+            }
         }
 
         @Override
@@ -345,6 +364,7 @@ public class IndexingStats implements Writeable, ToXContentFragment {
             builder.field(Fields.WRITE_LOAD, getWriteLoad());
             builder.field(Fields.RECENT_WRITE_LOAD, getRecentWriteLoad());
             builder.field(Fields.PEAK_WRITE_LOAD, getPeakWriteLoad());
+            builder.field(Fields.WRITE_INDEXING_BUFFER_TOTAL, writeIndexingBufferCount);
             return builder;
         }
 
@@ -368,7 +388,8 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                 && totalIndexingExecutionTimeSinceShardStartedInNanos == that.totalIndexingExecutionTimeSinceShardStartedInNanos
                 && totalActiveTimeInNanos == that.totalActiveTimeInNanos
                 && recentIndexingLoad == that.recentIndexingLoad
-                && peakIndexingLoad == that.peakIndexingLoad;
+                && peakIndexingLoad == that.peakIndexingLoad
+                && writeIndexingBufferCount == that.writeIndexingBufferCount;
         }
 
         @Override
@@ -387,7 +408,8 @@ public class IndexingStats implements Writeable, ToXContentFragment {
                 throttleTimeInMillis,
                 totalIndexingTimeSinceShardStartedInNanos,
                 totalIndexingExecutionTimeSinceShardStartedInNanos,
-                totalActiveTimeInNanos
+                totalActiveTimeInNanos,
+                writeIndexingBufferCount
             );
         }
     }
@@ -471,6 +493,7 @@ public class IndexingStats implements Writeable, ToXContentFragment {
         static final String WRITE_LOAD = "write_load";
         static final String RECENT_WRITE_LOAD = "recent_write_load";
         static final String PEAK_WRITE_LOAD = "peak_write_load";
+        static final String WRITE_INDEXING_BUFFER_TOTAL = "write_indexing_buffer_total";
     }
 
     @Override
@@ -171,6 +171,14 @@ final class InternalIndexingStats implements IndexingOperationListener {
         totalStats.recentIndexMetric.addIncrement(took, relativeTimeInNanosSupplier.getAsLong());
     }
 
+    /**
+     * Increment the number of times the indexing buffer of this shard was moved to disk.
+     * @see org.elasticsearch.indices.IndexingMemoryController
+     */
+    void writeIndexingBuffer() {
+        totalStats.writeIndexingBuffers.inc();
+    }
+
     static class StatsHolder {
         // Used for the count and total 'took' time (in ns) of index operations
         private final MeanMetric indexMetric = new MeanMetric();
@@ -186,6 +194,7 @@ final class InternalIndexingStats implements IndexingOperationListener {
         private final CounterMetric indexFailedDueToVersionConflicts = new CounterMetric();
         private final CounterMetric deleteCurrent = new CounterMetric();
         private final CounterMetric noopUpdates = new CounterMetric();
+        private final CounterMetric writeIndexingBuffers = new CounterMetric();
 
         StatsHolder(long startTimeInNanos, TimeValue recentWriteLoadHalfLife) {
             double lambdaInInverseNanos = Math.log(2.0) / recentWriteLoadHalfLife.nanos();
@@ -251,7 +260,8 @@ final class InternalIndexingStats implements IndexingOperationListener {
                 totalIndexingExecutionTimeSinceShardStartedInNanos,
                 timeSinceShardStartedInNanos,
                 recentIndexingLoadSinceShardStarted,
-                peakIndexingLoad
+                peakIndexingLoad,
+                writeIndexingBuffers.count()
             );
         }
     }
@@ -52,7 +52,9 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.LongConsumer;
@@ -125,6 +127,9 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
     private final LongConsumer persistedSequenceNumberConsumer;
     private final OperationListener operationListener;
     private final TranslogOperationAsserter operationAsserter;
+    // number of syncs that actually fsynced the current writer and the time spent in them, for stats
+    private final LongAdder syncs = new LongAdder();
+    private final LongAdder syncTimeInNanos = new LongAdder();
 
     /**
      * Creates a new Translog instance. This method will create a new transaction log unless the given {@link TranslogGeneration} is
@@ -815,7 +820,7 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
             readLock.lock();
             try {
                 if (closed.get() == false) {
-                    current.sync();
+                    syncCurrentUpTo(Long.MAX_VALUE, SequenceNumbers.UNASSIGNED_SEQ_NO);
                 }
             } finally {
                 readLock.unlock();
@@ -826,6 +831,21 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
         }
     }
 
+    /**
+     * Syncs the current writer up to the given offset and global checkpoint, and records the sync in the stats if it caused an actual
+     * fsync. Concurrent callers are coalesced by the writer, so comparing the number of syncs with the number of sync requests tells how
+     * well syncs are batched.
+     */
+    private boolean syncCurrentUpTo(long offset, long globalCheckpoint) throws IOException {
+        final long startTimeInNanos = System.nanoTime();
+        final boolean synced = current.syncUpTo(offset, globalCheckpoint);
+        if (synced) {
+            syncs.increment();
+            syncTimeInNanos.add(System.nanoTime() - startTimeInNanos);
+        }
+        return synced;
+    }
+
     /**
      *  Returns <code>true</code> if an fsync is required to ensure durability of the translogs operations or it's metadata.
      */
@@ -907,7 +927,7 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                 long persistedGlobalCheckpoint = current.getLastSyncedCheckpoint().globalCheckpoint;
                 if (location.generation == current.getGeneration() || persistedGlobalCheckpoint < globalCheckpoint) {
                     ensureOpen();
-                    return current.syncUpTo(location.translogLocation + location.size, globalCheckpoint);
+                    return syncCurrentUpTo(location.translogLocation + location.size, globalCheckpoint);
                 }
             } finally {
                 readLock.unlock();
@@ -958,7 +978,9 @@ public class Translog extends AbstractIndexShardComponent implements IndexShardC
                 sizeInBytes(),
                 totalOperationsByMinGen(uncommittedGen),
                 sizeInBytesByMinGen(uncommittedGen),
-                earliestLastModifiedAge()
+                earliestLastModifiedAge(),
+                syncs.sum(),
+                TimeUnit.NANOSECONDS.toMillis(syncTimeInNanos.sum())
             );
         } finally {
             readLock.unlock();
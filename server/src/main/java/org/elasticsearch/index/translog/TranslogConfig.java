@@ -13,6 +13,7 @@ import org.elasticsearch.common.io.DiskIoBufferPool;
 import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.BigArrays;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.IndexSettings;
 import org.elasticsearch.index.IndexVersions;
 import org.elasticsearch.index.shard.ShardId;
@@ -38,6 +39,8 @@ public final class TranslogConfig {
     private final DiskIoBufferPool diskIoBufferPool;
     private final OperationListener operationListener;
     private final boolean fsync;
+    @Nullable
+    private final TranslogSyncScheduler.PathScheduler syncScheduler;
 
     /**
      * Creates a new TranslogConfig instance
@@ -47,6 +50,24 @@ public final class TranslogConfig {
      * @param bigArrays a bigArrays instance used for temporarily allocating write operations
      */
     public TranslogConfig(ShardId shardId, Path translogPath, IndexSettings indexSettings, BigArrays bigArrays) {
+        this(shardId, translogPath, indexSettings, bigArrays, null);
+    }
+
+    /**
+     * Creates a new TranslogConfig instance
+     * @param shardId the shard ID this translog belongs to
+     * @param translogPath the path to use for the transaction log files
+     * @param indexSettings the index settings used to set internal variables
+     * @param bigArrays a bigArrays instance used for temporarily allocating write operations
+     * @param syncScheduler the group commit scheduler of the data path holding the translog, or {@code null} to sync directly
+     */
+    public TranslogConfig(
+        ShardId shardId,
+        Path translogPath,
+        IndexSettings indexSettings,
+        BigArrays bigArrays,
+        @Nullable TranslogSyncScheduler.PathScheduler syncScheduler
+    ) {
         this(
             shardId,
             translogPath,
@@ -55,7 +76,8 @@ public final class TranslogConfig {
             DEFAULT_BUFFER_SIZE,
             DiskIoBufferPool.INSTANCE,
             NOOP_OPERATION_LISTENER,
-            true
+            true,
+            syncScheduler
         );
     }
 
@@ -80,6 +102,20 @@ public final class TranslogConfig {
         DiskIoBufferPool diskIoBufferPool,
         OperationListener operationListener,
         boolean fsync
+    ) {
+        this(shardId, translogPath, indexSettings, bigArrays, bufferSize, diskIoBufferPool, operationListener, fsync, null);
+    }
+
+    public TranslogConfig(
+        ShardId shardId,
+        Path translogPath,
+        IndexSettings indexSettings,
+        BigArrays bigArrays,
+        ByteSizeValue bufferSize,
+        DiskIoBufferPool diskIoBufferPool,
+        OperationListener operationListener,
+        boolean fsync,
+        @Nullable TranslogSyncScheduler.PathScheduler syncScheduler
     ) {
         this.bufferSize = bufferSize;
         this.indexSettings = indexSettings;
@@ -89,6 +125,7 @@ public final class TranslogConfig {
         this.diskIoBufferPool = diskIoBufferPool;
         this.operationListener = operationListener;
         this.fsync = fsync;
+        this.syncScheduler = syncScheduler;
     }
 
     /**
@@ -145,6 +182,15 @@ public final class TranslogConfig {
         return fsync;
     }
 
+    /**
+     * @return the group commit scheduler that batches this translog's syncs with the other translogs on the same data path, or
+     * {@code null} if the translog syncs directly
+     */
+    @Nullable
+    public TranslogSyncScheduler.PathScheduler getSyncScheduler() {
+        return syncScheduler;
+    }
+
     /**
      * @return {@code true} if the configuration allows the Translog files to exist, {@code false} otherwise. In the case there is no
      * translog, the shard is not writeable.
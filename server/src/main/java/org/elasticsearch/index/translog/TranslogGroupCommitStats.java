@@ -0,0 +1,101 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.io.stream.Writeable;
+import org.elasticsearch.common.metrics.ExponentialBucketHistogram;
+import org.elasticsearch.core.TimeValue;
+import org.elasticsearch.xcontent.ToXContentObject;
+import org.elasticsearch.xcontent.XContentBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Translog group commit stats of one data path, see {@link TranslogSyncScheduler}.
+ *
+ * @param rounds             the number of sync rounds released on the path
+ * @param requests           the number of sync requests served by those rounds
+ * @param totalLatencyNanos  the total time requests spent waiting for their round and syncing
+ * @param batchSizes         the frequencies of round sizes, in buckets as per {@link ExponentialBucketHistogram}
+ * @param latenciesMicros    the frequencies of request latencies in microseconds, in buckets as per {@link ExponentialBucketHistogram}
+ */
+public record TranslogGroupCommitStats(long rounds, long requests, long totalLatencyNanos, long[] batchSizes, long[] latenciesMicros)
+    implements
+        Writeable,
+        ToXContentObject {
+
+    public TranslogGroupCommitStats(StreamInput in) throws IOException {
+        this(in.readVLong(), in.readVLong(), in.readVLong(), in.readVLongArray(), in.readVLongArray());
+    }
+
+    @Override
+    public void writeTo(StreamOutput out) throws IOException {
+        out.writeVLong(rounds);
+        out.writeVLong(requests);
+        out.writeVLong(totalLatencyNanos);
+        out.writeVLongArray(batchSizes);
+        out.writeVLongArray(latenciesMicros);
+    }
+
+    @Override
+    public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
+        builder.startObject();
+        builder.field("rounds", rounds);
+        builder.field("requests", requests);
+        builder.humanReadableField("total_latency_in_millis", "total_latency", TimeValue.timeValueNanos(totalLatencyNanos));
+        histogramToXContent(builder, "batch_size_histogram", batchSizes, "ge", "lt");
+        histogramToXContent(builder, "latency_histogram", latenciesMicros, "ge_micros", "lt_micros");
+        return builder.endObject();
+    }
+
+    private static void histogramToXContent(XContentBuilder builder, String fieldName, long[] frequencies, String ge, String lt)
+        throws IOException {
+        final int[] bucketBounds = ExponentialBucketHistogram.getBucketUpperBounds(frequencies.length);
+        builder.startArray(fieldName);
+        for (int i = 0; i < frequencies.length; i++) {
+            if (frequencies[i] == 0) {
+                continue;
+            }
+            builder.startObject();
+            if (i > 0) {
+                builder.field(ge, bucketBounds[i - 1]);
+            }
+            if (i < bucketBounds.length) {
+                builder.field(lt, bucketBounds[i]);
+            }
+            builder.field("count", frequencies[i]);
+            builder.endObject();
+        }
+        builder.endArray();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TranslogGroupCommitStats that = (TranslogGroupCommitStats) o;
+        return rounds == that.rounds
+            && requests == that.requests
+            && totalLatencyNanos == that.totalLatencyNanos
+            && Arrays.equals(batchSizes, that.batchSizes)
+            && Arrays.equals(latenciesMicros, that.latenciesMicros);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(rounds, requests, totalLatencyNanos);
+        result = 31 * result + Arrays.hashCode(batchSizes);
+        return 31 * result + Arrays.hashCode(latenciesMicros);
+    }
+}
@@ -8,11 +8,13 @@
  */
 package org.elasticsearch.index.translog;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
 import org.elasticsearch.common.io.stream.Writeable;
 import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.XContentBuilder;
 
@@ -26,6 +28,8 @@ public class TranslogStats implements Writeable, ToXContentFragment {
     private long uncommittedSizeInBytes;
     private int uncommittedOperations;
     private long earliestLastModifiedAge;
+    private long syncs;
+    private long syncTimeInMillis;
 
     public TranslogStats() {}
 
@@ -35,6 +39,10 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         uncommittedOperations = in.readVInt();
         uncommittedSizeInBytes = in.readVLong();
         earliestLastModifiedAge = in.readVLong();
+        if (in.getTransportVersion().onOrAfter(TransportVersions.TRANSLOG_SYNC_STATS)) {
+            syncs = in.readVLong();
+            syncTimeInMillis = in.readVLong();
+        }
     }
 
     public TranslogStats(
@@ -43,6 +51,18 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         int uncommittedOperations,
         long uncommittedSizeInBytes,
         long earliestLastModifiedAge
+    ) {
+        this(numberOfOperations, translogSizeInBytes, uncommittedOperations, uncommittedSizeInBytes, earliestLastModifiedAge, 0, 0);
+    }
+
+    public TranslogStats(
+        int numberOfOperations,
+        long translogSizeInBytes,
+        int uncommittedOperations,
+        long uncommittedSizeInBytes,
+        long earliestLastModifiedAge,
+        long syncs,
+        long syncTimeInMillis
     ) {
         if (numberOfOperations < 0) {
             throw new IllegalArgumentException("numberOfOperations must be >= 0");
@@ -59,11 +79,19 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         if (earliestLastModifiedAge < 0) {
             throw new IllegalArgumentException("earliestLastModifiedAge must be >= 0");
         }
+        if (syncs < 0) {
+            throw new IllegalArgumentException("syncs must be >= 0");
+        }
+        if (syncTimeInMillis < 0) {
+            throw new IllegalArgumentException("syncTimeInMillis must be >= 0");
+        }
         this.numberOfOperations = numberOfOperations;
         this.translogSizeInBytes = translogSizeInBytes;
         this.uncommittedSizeInBytes = uncommittedSizeInBytes;
         this.uncommittedOperations = uncommittedOperations;
         this.earliestLastModifiedAge = earliestLastModifiedAge;
+        this.syncs = syncs;
+        this.syncTimeInMillis = syncTimeInMillis;
     }
 
     public void add(TranslogStats translogStats) {
@@ -75,6 +103,8 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         this.translogSizeInBytes += translogStats.translogSizeInBytes;
         this.uncommittedOperations += translogStats.uncommittedOperations;
         this.uncommittedSizeInBytes += translogStats.uncommittedSizeInBytes;
+        this.syncs += translogStats.syncs;
+        this.syncTimeInMillis += translogStats.syncTimeInMillis;
         if (this.earliestLastModifiedAge == 0) {
             this.earliestLastModifiedAge = translogStats.earliestLastModifiedAge;
         } else {
@@ -104,6 +134,16 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         return earliestLastModifiedAge;
     }
 
+    /** the number of times the translog was actually fsynced, after coalescing concurrent sync requests */
+    public long getSyncs() {
+        return syncs;
+    }
+
+    /** the total time spent in translog syncs, including waiting for concurrent syncs to complete */
+    public long getSyncTimeInMillis() {
+        return syncTimeInMillis;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject("translog");
@@ -112,6 +152,8 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         builder.field("uncommitted_operations", uncommittedOperations);
         builder.humanReadableField("uncommitted_size_in_bytes", "uncommitted_size", ByteSizeValue.ofBytes(uncommittedSizeInBytes));
         builder.field("earliest_last_modified_age", earliestLastModifiedAge);
+        builder.field("sync_total", syncs);
+        builder.humanReadableField("sync_total_time_in_millis", "sync_total_time", new TimeValue(syncTimeInMillis));
         builder.endObject();
         return builder;
     }
@@ -128,6 +170,10 @@ public class TranslogStats implements Writeable, ToXContentFragment {
         out.writeVInt(uncommittedOperations);
         out.writeVLong(uncommittedSizeInBytes);
         out.writeVLong(earliestLastModifiedAge);
+        if (out.getTransportVersion().onOrAfter(TransportVersions.TRANSLOG_SYNC_STATS)) {
+            out.writeVLong(syncs);
+            out.writeVLong(syncTimeInMillis);
+        }
     }
 
     @Override
@@ -139,7 +185,9 @@ public class TranslogStats implements Writeable, ToXContentFragment {
             && translogSizeInBytes == that.translogSizeInBytes
             && uncommittedOperations == that.uncommittedOperations
             && uncommittedSizeInBytes == that.uncommittedSizeInBytes
-            && earliestLastModifiedAge == that.earliestLastModifiedAge;
+            && earliestLastModifiedAge == that.earliestLastModifiedAge
+            && syncs == that.syncs
+            && syncTimeInMillis == that.syncTimeInMillis;
     }
 
     @Override
@@ -149,7 +197,9 @@ public class TranslogStats implements Writeable, ToXContentFragment {
             translogSizeInBytes,
             uncommittedOperations,
             uncommittedSizeInBytes,
-            earliestLastModifiedAge
+            earliestLastModifiedAge,
+            syncs,
+            syncTimeInMillis
         );
     }
 }
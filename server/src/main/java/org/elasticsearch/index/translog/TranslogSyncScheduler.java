@@ -0,0 +1,206 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.CheckedSupplier;
+import org.elasticsearch.common.metrics.CounterMetric;
+import org.elasticsearch.common.metrics.ExponentialBucketHistogram;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Setting;
+import org.elasticsearch.common.settings.Setting.Property;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.TimeValue;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Node-level group commit for translog fsyncs. Sync requests from all shards whose translog lives on the same data path are gathered
+ * into rounds: the first request of a round waits for up to {@link #MAX_WAIT_SETTING} (or until {@link #MAX_BATCH_SIZE_SETTING}
+ * requests have joined) before the round is released, at which point every request in it runs its fsync. Holding back the first sync
+ * lets more operations accumulate behind each shard's translog location, so a burst of bulk requests across many shards turns into one
+ * fsync per shard per round rather than one per request. With a max wait of zero, which is the default, syncs run immediately and only
+ * the stats are recorded.
+ */
+public final class TranslogSyncScheduler {
+
+    public static final Setting<TimeValue> MAX_WAIT_SETTING = Setting.timeSetting(
+        "indices.translog.group_commit.max_wait",
+        TimeValue.ZERO,
+        TimeValue.ZERO,
+        TimeValue.timeValueMillis(100),
+        Property.NodeScope,
+        Property.Dynamic
+    );
+
+    public static final Setting<Integer> MAX_BATCH_SIZE_SETTING = Setting.intSetting(
+        "indices.translog.group_commit.max_batch_size",
+        64,
+        1,
+        Property.NodeScope,
+        Property.Dynamic
+    );
+
+    /**
+     * Number of buckets in the batch size and latency histograms, see {@link ExponentialBucketHistogram}.
+     */
+    static final int HISTOGRAM_BUCKETS = 18;
+
+    private final ConcurrentMap<Path, PathScheduler> schedulers = new ConcurrentHashMap<>();
+    private final LongSupplier relativeTimeInNanos;
+    private volatile long maxWaitNanos;
+    private volatile int maxBatchSize;
+
+    public TranslogSyncScheduler(Settings settings, ClusterSettings clusterSettings, LongSupplier relativeTimeInNanos) {
+        this.relativeTimeInNanos = relativeTimeInNanos;
+        this.maxWaitNanos = MAX_WAIT_SETTING.get(settings).nanos();
+        this.maxBatchSize = MAX_BATCH_SIZE_SETTING.get(settings);
+        clusterSettings.addSettingsUpdateConsumer(MAX_WAIT_SETTING, maxWait -> this.maxWaitNanos = maxWait.nanos());
+        clusterSettings.addSettingsUpdateConsumer(MAX_BATCH_SIZE_SETTING, size -> this.maxBatchSize = size);
+    }
+
+    /**
+     * Returns the scheduler shared by all translogs on the given data path.
+     */
+    public PathScheduler forPath(Path dataPath) {
+        return schedulers.computeIfAbsent(dataPath, PathScheduler::new);
+    }
+
+    /**
+     * Returns the group commit stats of the given data path, or {@code null} if no translog on that path has synced yet.
+     */
+    @Nullable
+    public TranslogGroupCommitStats stats(Path dataPath) {
+        final PathScheduler scheduler = schedulers.get(dataPath);
+        return scheduler == null ? null : scheduler.stats();
+    }
+
+    private static final class Round {
+        int size;
+        boolean released;
+    }
+
+    public final class PathScheduler {
+
+        private final Path dataPath;
+        private final Object mutex = new Object();
+        private Round openRound; // guarded by mutex
+
+        private final CounterMetric rounds = new CounterMetric();
+        private final CounterMetric requests = new CounterMetric();
+        private final CounterMetric totalLatencyNanos = new CounterMetric();
+        private final ExponentialBucketHistogram batchSizes = new ExponentialBucketHistogram(HISTOGRAM_BUCKETS);
+        private final ExponentialBucketHistogram latenciesMicros = new ExponentialBucketHistogram(HISTOGRAM_BUCKETS);
+
+        private PathScheduler(Path dataPath) {
+            this.dataPath = dataPath;
+        }
+
+        public Path getDataPath() {
+            return dataPath;
+        }
+
+        /**
+         * Runs the given fsync as part of the next round on this data path, blocking until the round is released. Exceptions thrown by
+         * the fsync are rethrown to the caller only; they do not affect the other requests in the round.
+         */
+        public boolean sync(CheckedSupplier<Boolean, IOException> fsync) throws IOException {
+            final long startNanos = relativeTimeInNanos.getAsLong();
+            final long maxWait = maxWaitNanos;
+            try {
+                if (maxWait > 0) {
+                    awaitRound(startNanos, maxWait);
+                } else {
+                    onRoundReleased(1);
+                }
+                return fsync.get();
+            } finally {
+                final long tookNanos = Math.max(0L, relativeTimeInNanos.getAsLong() - startNanos);
+                requests.inc();
+                totalLatencyNanos.inc(tookNanos);
+                latenciesMicros.addObservation(TimeUnit.NANOSECONDS.toMicros(tookNanos));
+            }
+        }
+
+        private void awaitRound(long startNanos, long maxWait) {
+            boolean interrupted = false;
+            synchronized (mutex) {
+                final Round round;
+                final boolean leader;
+                if (openRound == null) {
+                    round = openRound = new Round();
+                    leader = true;
+                } else {
+                    round = openRound;
+                    leader = false;
+                }
+                round.size++;
+                if (round.size >= maxBatchSize) {
+                    release(round);
+                }
+                while (round.released == false) {
+                    try {
+                        if (leader) {
+                            final long remainingNanos = maxWait - (relativeTimeInNanos.getAsLong() - startNanos);
+                            if (remainingNanos <= 0) {
+                                release(round);
+                            } else {
+                                TimeUnit.NANOSECONDS.timedWait(mutex, remainingNanos);
+                            }
+                        } else {
+                            // the leader releases the round within the max wait, so this is bounded
+                            mutex.wait();
+                        }
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        if (leader) {
+                            release(round);
+                        }
+                    }
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void release(Round round) {
+            assert Thread.holdsLock(mutex);
+            if (round.released == false) {
+                round.released = true;
+                if (openRound == round) {
+                    openRound = null;
+                }
+                onRoundReleased(round.size);
+                mutex.notifyAll();
+            }
+        }
+
+        private void onRoundReleased(int size) {
+            rounds.inc();
+            batchSizes.addObservation(size);
+        }
+
+        public TranslogGroupCommitStats stats() {
+            return new TranslogGroupCommitStats(
+                rounds.count(),
+                requests.count(),
+                totalLatencyNanos.count(),
+                batchSizes.getSnapshot(),
+                latenciesMicros.getSnapshot()
+            );
+        }
+    }
+}
@@ -98,6 +98,30 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         Property.NodeScope
     );
 
+    /**
+     * The order in which shards get their indexing buffer moved to disk when the node goes over its indexing buffer budget.
+     */
+    public enum ShardWriteOrder {
+        /**
+         * Go over shards in a round-robin fashion across checks, regardless of how much heap each shard is using.
+         */
+        ROUND_ROBIN,
+        /**
+         * Prefer shards that are cheapest to write: search-idle shards come first since nothing is waiting on a refresh to see their
+         * documents, then shards with the largest indexing buffer relative to the number of merges they are already running, so that
+         * shards which are busy serving searches or merging get asked to write new segments less often.
+         */
+        COST_AWARE
+    }
+
+    /** How to pick the shards whose indexing buffer gets moved to disk when over budget (default: round_robin). */
+    public static final Setting<ShardWriteOrder> SHARD_WRITE_ORDER_SETTING = Setting.enumSetting(
+        ShardWriteOrder.class,
+        "indices.memory.shard_write_order",
+        ShardWriteOrder.ROUND_ROBIN,
+        Property.NodeScope
+    );
+
     private final ThreadPool threadPool;
 
     private final Iterable<IndexShard> indexShards;
@@ -106,6 +130,7 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
 
     private final TimeValue inactiveTime;
     private final TimeValue interval;
+    private final ShardWriteOrder shardWriteOrder;
 
     /** Contains shards currently being throttled because we can't write segments quickly enough */
     private final Set<IndexShard> throttled = new HashSet<>();
@@ -146,16 +171,19 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         this.inactiveTime = SHARD_INACTIVE_TIME_SETTING.get(settings);
         // we need to have this relatively small to free up heap quickly enough
         this.interval = SHARD_MEMORY_INTERVAL_TIME_SETTING.get(settings);
+        this.shardWriteOrder = SHARD_WRITE_ORDER_SETTING.get(settings);
 
         this.statusChecker = new ShardsIndicesStatusChecker();
 
         logger.debug(
-            "using indexing buffer size [{}] with {} [{}], {} [{}]",
+            "using indexing buffer size [{}] with {} [{}], {} [{}], {} [{}]",
             this.indexingBuffer,
             SHARD_INACTIVE_TIME_SETTING.getKey(),
             this.inactiveTime,
             SHARD_MEMORY_INTERVAL_TIME_SETTING.getKey(),
-            this.interval
+            this.interval,
+            SHARD_WRITE_ORDER_SETTING.getKey(),
+            this.shardWriteOrder
         );
         this.scheduler = scheduleTask(threadPool);
 
@@ -201,6 +229,16 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
         return shard.getWritingBytes();
     }
 
+    /** returns whether this shard has not been searched recently, see {@link IndexShard#isSearchIdle()} */
+    protected boolean isSearchIdle(IndexShard shard) {
+        return shard.isSearchIdle();
+    }
+
+    /** returns how many merges this shard is currently running */
+    protected long getCurrentMerges(IndexShard shard) {
+        return shard.mergeStats().getCurrent();
+    }
+
     /** Record that the given shard needs to write its indexing buffer. */
     protected void enqueueWriteIndexingBuffer(IndexShard shard) {
         if (pendingWriteIndexingBufferSet.add(shard)) {
@@ -302,6 +340,30 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
 
     }
 
+    private record ShardWriteCost(ShardAndBytesUsed shardAndBytesUsed, boolean searchIdle, long bytesPerRunningMerge) {}
+
+    /**
+     * Sorts the given shards so that the cheapest ones to write come first, see {@link ShardWriteOrder#COST_AWARE}.
+     */
+    private void sortByWriteCost(List<ShardAndBytesUsed> queue) {
+        final List<ShardWriteCost> costs = new ArrayList<>(queue.size());
+        for (ShardAndBytesUsed shardAndBytesUsed : queue) {
+            final IndexShard shard = shardAndBytesUsed.shard;
+            final long bytesPerRunningMerge = shardAndBytesUsed.bytesUsed / (1 + Math.max(0L, getCurrentMerges(shard)));
+            costs.add(new ShardWriteCost(shardAndBytesUsed, isSearchIdle(shard), bytesPerRunningMerge));
+        }
+        costs.sort(
+            Comparator.comparing(ShardWriteCost::searchIdle)
+                .thenComparingLong(ShardWriteCost::bytesPerRunningMerge)
+                .reversed()
+                // break ties on something stable so that the order doesn't depend on the order shards were listed in
+                .thenComparing(cost -> cost.shardAndBytesUsed().shard.shardId())
+        );
+        for (int i = 0; i < costs.size(); i++) {
+            queue.set(i, costs.get(i).shardAndBytesUsed());
+        }
+    }
+
     /** not static because we need access to many fields/methods from our containing class (IMC): */
     final class ShardsIndicesStatusChecker implements Runnable {
 
@@ -473,10 +535,15 @@ public class IndexingMemoryController implements IndexingOperationListener, Clos
                 // highest ingestion rate, and thus it is also the shard that is the most likely to re-create a new pending segment in the
                 // very near future after one segment has been flushed.
 
-                // We want to go over shards in a round-robin fashion across calls to #runUnlocked. First sort shards by something stable
-                // like the shard ID.
-                queue.sort(Comparator.comparing(shardAndBytes -> shardAndBytes.shard.shardId()));
-                if (lastShardId != null) {
+                // Going over shards by write cost gives up on the above in favour of not interrupting shards that are busy serving
+                // searches or merging. Otherwise, we want to go over shards in a round-robin fashion across calls to #runUnlocked. First
+                // sort shards by something stable like the shard ID.
+                if (shardWriteOrder == ShardWriteOrder.COST_AWARE) {
+                    sortByWriteCost(queue);
+                } else {
+                    queue.sort(Comparator.comparing(shardAndBytes -> shardAndBytes.shard.shardId()));
+                }
+                if (shardWriteOrder == ShardWriteOrder.ROUND_ROBIN && lastShardId != null) {
                     // Then rotate the list so that the first shard that is greater than the ID of the last shard whose indexing buffer was
                     // written comes first.
                     int nextShardIdIndex = 0;
@@ -131,6 +131,7 @@ import org.elasticsearch.index.shard.IndexingStatsSettings;
 import org.elasticsearch.index.shard.SearchOperationListener;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.index.translog.TranslogStats;
+import org.elasticsearch.index.translog.TranslogSyncScheduler;
 import org.elasticsearch.indices.breaker.CircuitBreakerService;
 import org.elasticsearch.indices.cluster.IndicesClusterStateService;
 import org.elasticsearch.indices.fielddata.cache.IndicesFieldDataCache;
@@ -144,6 +145,10 @@ import org.elasticsearch.plugins.PluginsService;
 import org.elasticsearch.plugins.internal.rewriter.QueryRewriteInterceptor;
 import org.elasticsearch.repositories.RepositoriesService;
 import org.elasticsearch.script.ScriptService;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
 import org.elasticsearch.search.aggregations.support.ValuesSourceRegistry;
 import org.elasticsearch.search.builder.PointInTimeBuilder;
 import org.elasticsearch.search.internal.AliasFilter;
@@ -236,6 +241,7 @@ public class IndicesService extends AbstractLifecycleComponent
     private final ThreadPool threadPool;
     @Nullable
     private final ThreadPoolMergeExecutorService threadPoolMergeExecutorService;
+    private final TranslogSyncScheduler translogSyncScheduler;
     private final CircuitBreakerService circuitBreakerService;
     private final BigArrays bigArrays;
     private final ScriptService scriptService;
@@ -319,6 +325,7 @@ public class IndicesService extends AbstractLifecycleComponent
         this.bigArrays = builder.bigArrays;
         this.scriptService = builder.scriptService;
         this.clusterService = builder.clusterService;
+        this.translogSyncScheduler = new TranslogSyncScheduler(settings, clusterService.getClusterSettings(), System::nanoTime);
         this.projectResolver = builder.projectResolver;
         this.client = builder.client;
         this.idFieldDataEnabled = INDICES_ID_FIELD_DATA_ENABLED_SETTING.get(clusterService.getSettings());
@@ -796,6 +803,7 @@ public class IndicesService extends AbstractLifecycleComponent
             bigArrays,
             threadPool,
             threadPoolMergeExecutorService,
+            translogSyncScheduler,
             scriptService,
             clusterService,
             client,
@@ -1648,6 +1656,14 @@ public class IndicesService extends AbstractLifecycleComponent
             StreamInput in = new NamedWriteableAwareStreamInput(bytesReference.streamInput(), namedWriteableRegistry);
             result.readFromWithId(context.id(), in);
             result.setSearchShardTarget(context.shardTarget());
+            if (result.hasAggs() && request.source() != null && request.source().aggregations() != null) {
+                // the cache key does not depend on the order of the top-level aggregations, so restore the order of this request
+                InternalAggregations aggregations = inRequestOrder(result.consumeAggs().expand(), request.source().aggregations());
+                if (context.aggregations() != null) {
+                    aggregations = context.aggregations().factories().withRequestOnlyParameters(aggregations);
+                }
+                result.aggregations(aggregations);
+            }
         } else if (context.queryResult().searchTimedOut()) {
             // we have to invalidate the cache entry if we cached a query result form a request that timed out.
             // we can't really throw exceptions in the loading part to signal a timed out search to the outside world since if there are
@@ -1672,6 +1688,17 @@ public class IndicesService extends AbstractLifecycleComponent
         }
     }
 
+    private static InternalAggregations inRequestOrder(InternalAggregations aggregations, AggregatorFactories.Builder requested) {
+        final List<InternalAggregation> ordered = new ArrayList<>(aggregations.asList().size());
+        for (AggregationBuilder builder : requested.getAggregatorFactories()) {
+            final InternalAggregation aggregation = aggregations.get(builder.getName());
+            if (aggregation != null) {
+                ordered.add(aggregation);
+            }
+        }
+        return ordered.size() == aggregations.asList().size() ? InternalAggregations.from(ordered) : aggregations;
+    }
+
     public long getTotalIndexingBufferBytes() {
         return indexingMemoryController.indexingBufferSize();
     }
@@ -1935,4 +1962,8 @@ public class IndicesService extends AbstractLifecycleComponent
     public ThreadPoolMergeExecutorService getThreadPoolMergeExecutorService() {
         return threadPoolMergeExecutorService;
     }
+
+    public TranslogSyncScheduler getTranslogSyncScheduler() {
+        return translogSyncScheduler;
+    }
 }
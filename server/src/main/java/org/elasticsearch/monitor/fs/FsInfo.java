@@ -9,6 +9,7 @@
 
 package org.elasticsearch.monitor.fs;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.cluster.routing.allocation.DiskThresholdSettings;
 import org.elasticsearch.common.collect.Iterators;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -18,6 +19,7 @@ import org.elasticsearch.common.unit.ByteSizeUnit;
 import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.set.Sets;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.index.translog.TranslogGroupCommitStats;
 import org.elasticsearch.xcontent.ToXContentFragment;
 import org.elasticsearch.xcontent.ToXContentObject;
 import org.elasticsearch.xcontent.XContentBuilder;
@@ -45,6 +47,10 @@ public class FsInfo implements Iterable<FsInfo.Path>, Writeable, ToXContentFragm
         ByteSizeValue floodStageWatermarkFreeSpace = null;
         ByteSizeValue frozenFloodStageWatermarkFreeSpace = null;
 
+        /** Translog group commit stats of the shards on this path, {@code null} for total aggregates and paths without translog syncs. */
+        @Nullable
+        TranslogGroupCommitStats translogGroupCommit = null;
+
         public Path() {}
 
         public Path(String path, String mount, long total, long free, long available) {
@@ -65,6 +71,9 @@ public class FsInfo implements Iterable<FsInfo.Path>, Writeable, ToXContentFragm
             total = in.readLong();
             free = in.readLong();
             available = in.readLong();
+            if (in.getTransportVersion().onOrAfter(TransportVersions.TRANSLOG_GROUP_COMMIT_STATS)) {
+                translogGroupCommit = in.readOptionalWriteable(TranslogGroupCommitStats::new);
+            }
         }
 
         @Override
@@ -75,6 +84,9 @@ public class FsInfo implements Iterable<FsInfo.Path>, Writeable, ToXContentFragm
             out.writeLong(total);
             out.writeLong(free);
             out.writeLong(available);
+            if (out.getTransportVersion().onOrAfter(TransportVersions.TRANSLOG_GROUP_COMMIT_STATS)) {
+                out.writeOptionalWriteable(translogGroupCommit);
+            }
         }
 
         public String getPath() {
@@ -130,6 +142,11 @@ public class FsInfo implements Iterable<FsInfo.Path>, Writeable, ToXContentFragm
             return frozenFloodStageWatermarkFreeSpace;
         }
 
+        @Nullable
+        public TranslogGroupCommitStats getTranslogGroupCommit() {
+            return translogGroupCommit;
+        }
+
         private static long addLong(long current, long other) {
             if (current == -1 && other == -1) {
                 return 0;
@@ -167,6 +184,7 @@ public class FsInfo implements Iterable<FsInfo.Path>, Writeable, ToXContentFragm
             static final String FLOOD_STAGE_FREE_SPACE_IN_BYTES = "flood_stage_free_space_in_bytes";
             static final String FROZEN_FLOOD_STAGE_FREE_SPACE = "frozen_flood_stage_free_space";
             static final String FROZEN_FLOOD_STAGE_FREE_SPACE_IN_BYTES = "frozen_flood_stage_free_space_in_bytes";
+            static final String TRANSLOG_GROUP_COMMIT = "translog_group_commit";
         }
 
         @Override
@@ -220,6 +238,9 @@ public class FsInfo implements Iterable<FsInfo.Path>, Writeable, ToXContentFragm
                     getFrozenFloodStageWatermarkFreeSpace()
                 );
             }
+            if (translogGroupCommit != null) {
+                builder.field(Fields.TRANSLOG_GROUP_COMMIT, translogGroupCommit);
+            }
 
             builder.endObject();
             return builder;
@@ -12,11 +12,13 @@ package org.elasticsearch.monitor.fs;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.lucene.util.Constants;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.PathUtils;
 import org.elasticsearch.core.SuppressForbidden;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.env.NodeEnvironment.DataPath;
+import org.elasticsearch.index.translog.TranslogSyncScheduler;
 
 import java.io.IOException;
 import java.nio.file.FileStore;
@@ -35,9 +37,16 @@ public class FsProbe {
     private static final Logger logger = LogManager.getLogger(FsProbe.class);
 
     private final NodeEnvironment nodeEnv;
+    @Nullable
+    private final TranslogSyncScheduler translogSyncScheduler;
 
     public FsProbe(NodeEnvironment nodeEnv) {
+        this(nodeEnv, null);
+    }
+
+    public FsProbe(NodeEnvironment nodeEnv, @Nullable TranslogSyncScheduler translogSyncScheduler) {
         this.nodeEnv = nodeEnv;
+        this.translogSyncScheduler = translogSyncScheduler;
     }
 
     public FsInfo stats(FsInfo previous) throws IOException {
@@ -48,6 +57,9 @@ public class FsProbe {
         FsInfo.Path[] paths = new FsInfo.Path[dataLocations.length];
         for (int i = 0; i < dataLocations.length; i++) {
             paths[i] = getFSInfo(dataLocations[i]);
+            if (translogSyncScheduler != null) {
+                paths[i].translogGroupCommit = translogSyncScheduler.stats(dataLocations[i].path);
+            }
         }
         FsInfo.IoStats ioStats = null;
         if (Constants.LINUX) {
@@ -15,9 +15,11 @@ import org.apache.lucene.store.AlreadyClosedException;
 import org.elasticsearch.cluster.routing.ShardRouting;
 import org.elasticsearch.common.component.AbstractLifecycleComponent;
 import org.elasticsearch.common.util.SingleObjectCache;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexMode;
 import org.elasticsearch.index.IndexService;
+import org.elasticsearch.index.engine.ThreadPoolMergeExecutorService;
 import org.elasticsearch.index.shard.DocsStats;
 import org.elasticsearch.index.shard.IllegalIndexShardStateException;
 import org.elasticsearch.index.shard.IndexShard;
@@ -27,25 +29,30 @@ import org.elasticsearch.telemetry.metric.MeterRegistry;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 /**
  * {@link IndicesMetrics} monitors index statistics on an Elasticsearch node and exposes them as metrics
  * through the provided {@link MeterRegistry}. It tracks the current total number of indices, document count, and
- * store size (in bytes) for each index mode.
+ * store size (in bytes) for each index mode, as well as the backlog and per-disk IO of the node's merges.
  */
 public class IndicesMetrics extends AbstractLifecycleComponent {
     private final Logger logger = LogManager.getLogger(IndicesMetrics.class);
     private final MeterRegistry registry;
     private final List<AutoCloseable> metrics = new ArrayList<>();
     private final IndicesStatsCache stateCache;
+    @Nullable
+    private final ThreadPoolMergeExecutorService threadPoolMergeExecutorService;
 
     public IndicesMetrics(MeterRegistry meterRegistry, IndicesService indicesService, TimeValue metricsInterval) {
         this.registry = meterRegistry;
+        this.threadPoolMergeExecutorService = indicesService.getThreadPoolMergeExecutorService();
         // Use half of the update interval to ensure that results aren't cached across updates,
         // while preventing the cache from expiring when reading different gauges within the same update.
         var cacheExpiry = new TimeValue(metricsInterval.getMillis() / 2);
@@ -169,6 +176,57 @@ public class IndicesMetrics extends AbstractLifecycleComponent {
         return metrics;
     }
 
+    private static List<AutoCloseable> registerMergeMetrics(MeterRegistry registry, ThreadPoolMergeExecutorService mergeExecutorService) {
+        return List.of(
+            registry.registerLongGauge(
+                "es.merge.executor.queued.current",
+                "number of merges waiting for a merge thread",
+                "unit",
+                () -> new LongWithAttributes(mergeExecutorService.getQueuedMergeTasksCount())
+            ),
+            registry.registerLongGauge(
+                "es.merge.executor.running.current",
+                "number of merges currently running",
+                "unit",
+                () -> new LongWithAttributes(mergeExecutorService.getRunningMergeTasksCount())
+            ),
+            registry.registerLongGauge(
+                "es.merge.executor.backlogged.current",
+                "number of merges held back by their shard's merge scheduler",
+                "unit",
+                () -> new LongWithAttributes(mergeExecutorService.getBackloggedMergeTasksCount())
+            ),
+            registry.registerLongsGauge(
+                "es.merge.executor.disk.io_rate.target",
+                "IO write rate limit in effect for the merges writing to each disk",
+                "bytes/s",
+                () -> diskMergeMetric(mergeExecutorService, ThreadPoolMergeExecutorService.DiskMergeStats::targetIORateBytesPerSec)
+            ),
+            registry.registerLongsGauge(
+                "es.merge.executor.disk.throttled.current",
+                "number of IO throttled merges not yet completed for each disk",
+                "unit",
+                () -> diskMergeMetric(mergeExecutorService, ThreadPoolMergeExecutorService.DiskMergeStats::ioThrottledMergeTasks)
+            ),
+            registry.registerLongsAsyncCounter(
+                "es.merge.executor.disk.written.total",
+                "bytes written by the completed merges of each disk",
+                "bytes",
+                () -> diskMergeMetric(mergeExecutorService, ThreadPoolMergeExecutorService.DiskMergeStats::mergedBytesWritten)
+            )
+        );
+    }
+
+    private static Collection<LongWithAttributes> diskMergeMetric(
+        ThreadPoolMergeExecutorService mergeExecutorService,
+        ToLongFunction<ThreadPoolMergeExecutorService.DiskMergeStats> metric
+    ) {
+        return mergeExecutorService.getDiskMergeStats()
+            .stream()
+            .map(stats -> new LongWithAttributes(metric.applyAsLong(stats), Map.of("es_merge_disk", stats.disk())))
+            .toList();
+    }
+
     static Supplier<LongWithAttributes> diffGauge(Supplier<Long> currentValue) {
         final AtomicLong counter = new AtomicLong();
         return () -> {
@@ -181,6 +239,9 @@ public class IndicesMetrics extends AbstractLifecycleComponent {
     @Override
     protected void doStart() {
         metrics.addAll(registerAsyncMetrics(registry, stateCache));
+        if (threadPoolMergeExecutorService != null) {
+            metrics.addAll(registerMergeMetrics(registry, threadPoolMergeExecutorService));
+        }
     }
 
     @Override
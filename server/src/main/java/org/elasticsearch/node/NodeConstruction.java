@@ -1147,7 +1147,7 @@ class NodeConstruction {
         nodeService = new NodeService(
             settings,
             threadPool,
-            new MonitorService(settings, nodeEnvironment, threadPool),
+            new MonitorService(settings, nodeEnvironment, threadPool, indicesService.getTranslogSyncScheduler()),
             discoveryModule.getCoordinator(),
             transportService,
             indicesService,
@@ -9,6 +9,7 @@
 
 package org.elasticsearch.node;
 
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.cluster.ClusterChangedEvent;
 import org.elasticsearch.cluster.ClusterStateListener;
 import org.elasticsearch.cluster.node.DiscoveryNode;
@@ -27,9 +28,9 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Collects statistics about queue size, response time, and service time of
- * tasks executed on each node, making the EWMA of the values available to the
- * coordinating node.
+ * Collects statistics about queue size, response time, service time and search
+ * thread pool utilization of tasks executed on each node, making the EWMA of the
+ * values available to the coordinating node.
  */
 public final class ResponseCollectorService implements ClusterStateListener {
 
@@ -58,17 +59,34 @@ public final class ResponseCollectorService implements ClusterStateListener {
     }
 
     public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos) {
+        addNodeStatistics(nodeId, queueSize, responseTimeNanos, avgServiceTimeNanos, -1);
+    }
+
+    /**
+     * Records the statistics of a response from the given node.
+     *
+     * @param utilization the fraction of the node's search threads that were busy, or a negative value if the node didn't report it
+     */
+    public void addNodeStatistics(String nodeId, int queueSize, long responseTimeNanos, long avgServiceTimeNanos, double utilization) {
         nodeIdToStats.compute(nodeId, (id, ns) -> {
             if (ns == null) {
                 ExponentiallyWeightedMovingAverage queueEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, queueSize);
                 ExponentiallyWeightedMovingAverage responseEWMA = new ExponentiallyWeightedMovingAverage(ALPHA, responseTimeNanos);
-                return new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos);
+                ns = new NodeStatistics(nodeId, queueEWMA, responseEWMA, avgServiceTimeNanos);
             } else {
                 ns.queueSize.addValue((double) queueSize);
                 ns.responseTime.addValue((double) responseTimeNanos);
                 ns.serviceTime = avgServiceTimeNanos;
-                return ns;
             }
+            if (utilization >= 0) {
+                final double clamped = Math.min(utilization, 1.0);
+                if (ns.utilization == null) {
+                    ns.utilization = new ExponentiallyWeightedMovingAverage(ALPHA, clamped);
+                } else {
+                    ns.utilization.addValue(clamped);
+                }
+            }
+            return ns;
         });
     }
 
@@ -97,13 +115,16 @@ public final class ResponseCollectorService implements ClusterStateListener {
     /**
      * Struct-like class encapsulating a point-in-time snapshot of a particular
      * node's statistics. This includes the EWMA of queue size, response time,
-     * and service time.
+     * service time, and search thread pool utilization.
      */
     public static class ComputedNodeStats implements Writeable {
         // We store timestamps with nanosecond precision, however, the
         // formula specifies milliseconds, therefore we need to convert
         // the values so the times don't unduely weight the formula
         private final double FACTOR = 1000000.0;
+        // Lower bound for the idle fraction of a node's search threads, so that
+        // a fully utilized node is penalized heavily but not infinitely
+        private static final double MIN_IDLE_FRACTION = 0.05;
         private final int clientNum;
 
         private double cachedRank = 0;
@@ -112,13 +133,22 @@ public final class ResponseCollectorService implements ClusterStateListener {
         public final int queueSize;
         public final double responseTime;
         public final double serviceTime;
+        /**
+         * The EWMA of the fraction of busy search threads, or {@code -1} if the node never reported it.
+         */
+        public final double utilization;
 
         public ComputedNodeStats(String nodeId, int clientNum, int queueSize, double responseTime, double serviceTime) {
+            this(nodeId, clientNum, queueSize, responseTime, serviceTime, -1);
+        }
+
+        public ComputedNodeStats(String nodeId, int clientNum, int queueSize, double responseTime, double serviceTime, double utilization) {
             this.nodeId = nodeId;
             this.clientNum = clientNum;
             this.queueSize = queueSize;
             this.responseTime = responseTime;
             this.serviceTime = serviceTime;
+            this.utilization = utilization;
         }
 
         ComputedNodeStats(int clientNum, NodeStatistics nodeStats) {
@@ -127,7 +157,8 @@ public final class ResponseCollectorService implements ClusterStateListener {
                 clientNum,
                 (int) nodeStats.queueSize.getAverage(),
                 nodeStats.responseTime.getAverage(),
-                nodeStats.serviceTime
+                nodeStats.serviceTime,
+                nodeStats.utilization == null ? -1 : nodeStats.utilization.getAverage()
             );
         }
 
@@ -137,6 +168,11 @@ public final class ResponseCollectorService implements ClusterStateListener {
             this.queueSize = in.readInt();
             this.responseTime = in.readDouble();
             this.serviceTime = in.readDouble();
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ADAPTIVE_SELECTION_UTILIZATION)) {
+                this.utilization = in.readDouble();
+            } else {
+                this.utilization = -1;
+            }
         }
 
         @Override
@@ -146,6 +182,9 @@ public final class ResponseCollectorService implements ClusterStateListener {
             out.writeInt(this.queueSize);
             out.writeDouble(this.responseTime);
             out.writeDouble(this.serviceTime);
+            if (out.getTransportVersion().onOrAfter(TransportVersions.ADAPTIVE_SELECTION_UTILIZATION)) {
+                out.writeDouble(this.utilization);
+            }
         }
 
         /**
@@ -172,8 +211,15 @@ public final class ResponseCollectorService implements ClusterStateListener {
             // defines service time as the inverse of service rate (muBarS).
             double muBarSInverse = serviceTime / FACTOR;
 
+            // The queue size only grows once all search threads are busy, so on its own it
+            // notices a hot node late. Scale the expected waiting time by how saturated the
+            // node's search threads are, similar to the 1 / (1 - utilization) growth of the
+            // waiting time in a queueing system. An idle node or one that doesn't report
+            // utilization keeps the paper's formula.
+            double utilizationFactor = utilization > 0 ? 1 / Math.max(1 - utilization, MIN_IDLE_FRACTION) : 1;
+
             // The final formula
-            return rS - muBarSInverse + Math.pow(qHatS, queueAdjustmentFactor) * muBarSInverse;
+            return rS - muBarSInverse + Math.pow(qHatS, queueAdjustmentFactor) * muBarSInverse * utilizationFactor;
         }
 
         public double rank(long outstandingRequests) {
@@ -191,6 +237,7 @@ public final class ResponseCollectorService implements ClusterStateListener {
             sb.append(", queue: ").append(queueSize);
             sb.append(", response time: ").append(String.format(Locale.ROOT, "%.1f", responseTime));
             sb.append(", service time: ").append(String.format(Locale.ROOT, "%.1f", serviceTime));
+            sb.append(", utilization: ").append(String.format(Locale.ROOT, "%.2f", utilization));
             sb.append(", rank: ").append(String.format(Locale.ROOT, "%.1f", rank(1)));
             sb.append(")");
             return sb.toString();
@@ -199,7 +246,7 @@ public final class ResponseCollectorService implements ClusterStateListener {
 
     /**
      * Class encapsulating a node's exponentially weighted queue size, response
-     * time, and service time, however, this class is private and intended only
+     * time, service time, and utilization, however, this class is private and intended only
      * to be used for the internal accounting of {@code ResponseCollectorService}.
      */
     private static class NodeStatistics {
@@ -207,6 +254,8 @@ public final class ResponseCollectorService implements ClusterStateListener {
         final ExponentiallyWeightedMovingAverage queueSize;
         final ExponentiallyWeightedMovingAverage responseTime;
         double serviceTime;
+        // null until the node reports its utilization
+        ExponentiallyWeightedMovingAverage utilization;
 
         NodeStatistics(
             String nodeId,
@@ -308,14 +308,18 @@ final class DefaultSearchContext extends SearchContext {
         SearchService.ResultsType resultsType,
         SearchSourceBuilder source,
         ToLongFunction<String> fieldCardinality,
-        boolean isQueryPhaseParallelismEnabled
+        boolean isParallelismEnabled
     ) {
         if (resultsType == SearchService.ResultsType.DFS) {
             return true;
         }
-        if (resultsType == SearchService.ResultsType.QUERY && isQueryPhaseParallelismEnabled) {
+        if (resultsType == SearchService.ResultsType.QUERY && isParallelismEnabled) {
             return source == null || source.supportsParallelCollection(fieldCardinality);
         }
+        if (resultsType == SearchService.ResultsType.FETCH) {
+            // Nothing is collected, but FetchPhase may load large batches of hits from several segments at once
+            return isParallelismEnabled;
+        }
         return false;
     }
 
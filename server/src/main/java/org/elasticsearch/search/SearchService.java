@@ -250,6 +250,13 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         Property.Dynamic
     );
 
+    public static final Setting<Boolean> FETCH_PHASE_PARALLEL_ENABLED = Setting.boolSetting(
+        "search.fetch_phase_parallel_enabled",
+        true,
+        Property.NodeScope,
+        Property.Dynamic
+    );
+
     public static final Setting<Integer> MAX_OPEN_SCROLL_CONTEXT = Setting.intSetting(
         "search.max_open_scroll_context",
         500,
@@ -334,6 +341,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
     private final int prewarmingMaxPoolFactorThreshold;
     private volatile Executor searchExecutor;
     private volatile boolean enableQueryPhaseParallelCollection;
+    private volatile boolean enableFetchPhaseParallelism;
 
     private volatile long defaultKeepAlive;
 
@@ -431,6 +439,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         clusterService.getClusterSettings().addSettingsUpdateConsumer(SEARCH_WORKER_THREADS_ENABLED, this::setEnableSearchWorkerThreads);
 
         enableQueryPhaseParallelCollection = QUERY_PHASE_PARALLEL_COLLECTION_ENABLED.get(settings);
+        enableFetchPhaseParallelism = FETCH_PHASE_PARALLEL_ENABLED.get(settings);
         if (BATCHED_QUERY_PHASE_FEATURE_FLAG) {
             batchQueryPhase = BATCHED_QUERY_PHASE.get(settings);
         } else {
@@ -438,6 +447,8 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         }
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(QUERY_PHASE_PARALLEL_COLLECTION_ENABLED, this::setEnableQueryPhaseParallelCollection);
+        clusterService.getClusterSettings()
+            .addSettingsUpdateConsumer(FETCH_PHASE_PARALLEL_ENABLED, this::setEnableFetchPhaseParallelism);
         clusterService.getClusterSettings()
             .addSettingsUpdateConsumer(BATCHED_QUERY_PHASE, bulkExecuteQueryPhase -> this.batchQueryPhase = bulkExecuteQueryPhase);
         memoryAccountingBufferSize = MEMORY_ACCOUNTING_BUFFER_SIZE.get(settings).getBytes();
@@ -462,6 +473,10 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
         this.enableQueryPhaseParallelCollection = enableQueryPhaseParallelCollection;
     }
 
+    private void setEnableFetchPhaseParallelism(boolean enableFetchPhaseParallelism) {
+        this.enableFetchPhaseParallelism = enableFetchPhaseParallelism;
+    }
+
     private static void validateKeepAlives(TimeValue defaultKeepAlive, TimeValue maxKeepAlive) {
         if (defaultKeepAlive.millis() > maxKeepAlive.millis()) {
             throw new IllegalArgumentException(
@@ -1389,7 +1404,7 @@ public class SearchService extends AbstractLifecycleComponent implements IndexEv
                 lowLevelCancellation,
                 searchExecutor,
                 resultsType,
-                enableQueryPhaseParallelCollection,
+                resultsType == ResultsType.FETCH ? enableFetchPhaseParallelism : enableQueryPhaseParallelCollection,
                 minimumDocsPerSlice,
                 memoryAccountingBufferSize
             );
@@ -253,6 +253,25 @@ public class AggregatorFactories {
         return factories.length;
     }
 
+    /**
+     * Applies {@link AggregatorFactory#withRequestOnlyParameters} to the results of these aggregations that were loaded from the
+     * shard request cache.
+     */
+    public InternalAggregations withRequestOnlyParameters(InternalAggregations cached) {
+        final List<InternalAggregation> aggregations = new ArrayList<>(cached.asList().size());
+        for (InternalAggregation aggregation : cached) {
+            InternalAggregation adapted = aggregation;
+            for (AggregatorFactory factory : factories) {
+                if (factory.name().equals(aggregation.getName())) {
+                    adapted = factory.withRequestOnlyParameters(aggregation);
+                    break;
+                }
+            }
+            aggregations.add(adapted);
+        }
+        return InternalAggregations.from(aggregations);
+    }
+
     /**
      * This returns a copy of {@link AggregatorFactories} modified so that
      * calls to {@link #createSubAggregators} will ignore the provided parent
@@ -81,6 +81,15 @@ public abstract class AggregatorFactory {
         return createInternal(parent, cardinality, this.metadata);
     }
 
+    /**
+     * Applies the parameters of this aggregation that the shard request cache leaves out of its key to a result that was loaded
+     * from the cache, and so may have been built for a request with different values for them. Returns the result unchanged
+     * unless the aggregation has such parameters.
+     */
+    public InternalAggregation withRequestOnlyParameters(InternalAggregation cached) {
+        return cached;
+    }
+
     public AggregatorFactory getParent() {
         return parent;
     }
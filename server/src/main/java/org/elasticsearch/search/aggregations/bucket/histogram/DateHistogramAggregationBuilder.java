@@ -289,6 +289,16 @@ public class DateHistogramAggregationBuilder extends ValuesSourceAggregationBuil
         return this;
     }
 
+    /**
+     * Returns a copy of this histogram without extended bounds. The shard request cache keys requests by this copy since the
+     * extended bounds don't change the buckets that a shard collects, they only add empty buckets when shard results are reduced.
+     */
+    public DateHistogramAggregationBuilder withoutExtendedBounds() {
+        final DateHistogramAggregationBuilder copy = new DateHistogramAggregationBuilder(this, factoriesBuilder, metadata);
+        copy.extendedBounds = null;
+        return copy;
+    }
+
     /** Set hard bounds on this histogram, specifying boundaries outside which buckets cannot be created. */
     public DateHistogramAggregationBuilder hardBounds(LongBounds hardBounds) {
         if (hardBounds == null) {
@@ -17,6 +17,7 @@ import org.elasticsearch.search.aggregations.AggregatorFactories;
 import org.elasticsearch.search.aggregations.AggregatorFactory;
 import org.elasticsearch.search.aggregations.BucketOrder;
 import org.elasticsearch.search.aggregations.CardinalityUpperBound;
+import org.elasticsearch.search.aggregations.InternalAggregation;
 import org.elasticsearch.search.aggregations.support.AggregationContext;
 import org.elasticsearch.search.aggregations.support.CoreValuesSourceType;
 import org.elasticsearch.search.aggregations.support.SamplingContext;
@@ -130,4 +131,9 @@ public final class DateHistogramAggregatorFactory extends ValuesSourceAggregator
             metadata
         );
     }
+
+    @Override
+    public InternalAggregation withRequestOnlyParameters(InternalAggregation cached) {
+        return cached instanceof InternalDateHistogram histogram ? histogram.withExtendedBounds(extendedBounds) : cached;
+    }
 }
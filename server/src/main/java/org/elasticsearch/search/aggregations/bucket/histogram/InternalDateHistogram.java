@@ -15,6 +15,7 @@ import org.elasticsearch.TransportVersions;
 import org.elasticsearch.common.Rounding;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.search.DocValueFormat;
 import org.elasticsearch.search.aggregations.AggregationReduceContext;
 import org.elasticsearch.search.aggregations.AggregatorReducer;
@@ -290,6 +291,27 @@ public final class InternalDateHistogram extends InternalMultiBucketAggregation<
         );
     }
 
+    /**
+     * Returns a copy of this histogram that adds empty buckets up to the given extended bounds when it is reduced.
+     */
+    InternalDateHistogram withExtendedBounds(@Nullable LongBounds bounds) {
+        if (emptyBucketInfo == null || Objects.equals(emptyBucketInfo.bounds, bounds)) {
+            return this;
+        }
+        return new InternalDateHistogram(
+            name,
+            buckets,
+            order,
+            minDocCount,
+            offset,
+            new EmptyBucketInfo(emptyBucketInfo.rounding, emptyBucketInfo.subAggregations, bounds),
+            format,
+            keyed,
+            downsampledResultsOffset,
+            metadata
+        );
+    }
+
     @Override
     public Bucket createBucket(InternalAggregations aggregations, Bucket prototype) {
         return new Bucket(prototype.key, prototype.docCount, prototype.format, aggregations);
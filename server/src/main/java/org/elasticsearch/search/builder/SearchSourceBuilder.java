@@ -801,6 +801,14 @@ public final class SearchSourceBuilder implements Writeable, ToXContentObject, R
         return this;
     }
 
+    /**
+     * Sets the aggregations to perform as part of the search, replacing any that were added before.
+     */
+    public SearchSourceBuilder aggregations(@Nullable AggregatorFactories.Builder aggregations) {
+        this.aggregations = aggregations;
+        return this;
+    }
+
     /**
      * Gets the bytes representing the aggregation builders for this request.
      */
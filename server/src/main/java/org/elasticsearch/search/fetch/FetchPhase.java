@@ -28,6 +28,7 @@ import org.elasticsearch.search.fetch.FetchSubPhase.HitContext;
 import org.elasticsearch.search.fetch.subphase.InnerHitsContext;
 import org.elasticsearch.search.fetch.subphase.InnerHitsPhase;
 import org.elasticsearch.search.internal.SearchContext;
+import org.elasticsearch.search.internal.SubSearchContext;
 import org.elasticsearch.search.lookup.Source;
 import org.elasticsearch.search.lookup.SourceProvider;
 import org.elasticsearch.search.profile.ProfileResult;
@@ -44,7 +45,9 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * Fetch phase of a search request, used to fetch the actual top matching documents to be returned to the client, identified
@@ -115,14 +118,25 @@ public final class FetchPhase {
         FetchContext fetchContext = new FetchContext(context);
         SourceLoader sourceLoader = context.newSourceLoader();
 
-        PreloadedSourceProvider sourceProvider = new PreloadedSourceProvider();
-        PreloadedFieldLookupProvider fieldLookupProvider = new PreloadedFieldLookupProvider();
-        // The following relies on the fact that we fetch sequentially one segment after another, from a single thread
-        // This needs to be revised once we add concurrency to the fetch phase, and needs a work-around for situations
-        // where we run fetch as part of the query phase, where inter-segment concurrency is leveraged.
-        // One problem is the global setLookupProviders call against the shared execution context.
-        // Another problem is that the above provider implementations are not thread-safe
-        context.getSearchExecutionContext().setLookupProviders(sourceProvider, ctx -> fieldLookupProvider);
+        final int partitions = concurrentPartitions(context, docIdsToLoad, profiler);
+        final List<LeafReaderContext> leaves = context.searcher().getIndexReader().leaves();
+        // The providers below are not thread-safe, and the lookup providers are set globally on the shared execution context. When
+        // fetching sequentially, from a single thread, one segment after another, a single pair of providers is enough. When fetching
+        // concurrently each thread only ever reads its own segments, so we give each segment its own pair of providers instead.
+        // This needs a work-around for situations where we run fetch as part of the query phase, where inter-segment concurrency is
+        // leveraged, which is why sub-search contexts always fetch sequentially.
+        final PreloadedSourceProvider[] sourceProviders = new PreloadedSourceProvider[partitions > 1 ? leaves.size() : 1];
+        final PreloadedFieldLookupProvider[] fieldLookupProviders = new PreloadedFieldLookupProvider[sourceProviders.length];
+        for (int i = 0; i < sourceProviders.length; i++) {
+            sourceProviders[i] = new PreloadedSourceProvider();
+            fieldLookupProviders[i] = new PreloadedFieldLookupProvider();
+        }
+        final ToIntFunction<LeafReaderContext> providerIndex = partitions > 1 ? ctx -> ctx.ord : ctx -> 0;
+        context.getSearchExecutionContext()
+            .setLookupProviders(
+                (ctx, doc) -> sourceProviders[providerIndex.applyAsInt(ctx)].getSource(ctx, doc),
+                ctx -> fieldLookupProviders[providerIndex.applyAsInt(ctx)]
+            );
 
         List<FetchSubPhaseProcessor> processors = getProcessors(context.shardTarget(), fetchContext, profiler);
         StoredFieldsSpec storedFieldsSpec = StoredFieldsSpec.build(processors, FetchSubPhaseProcessor::storedFieldsSpec);
@@ -131,21 +145,123 @@ public final class FetchPhase {
         // the getProcessors call to before the setLookupProviders call, which causes weird issues in InnerHitsPhase.
         // setLookupProviders resets the SearchLookup used throughout the rest of the fetch phase, which StoredValueFetchers rely on
         // to retrieve stored fields, and InnerHitsPhase is the last sub-fetch phase and re-runs the entire fetch phase.
-        fieldLookupProvider.setPreloadedStoredFieldNames(storedFieldsSpec.requiredStoredFields());
+        for (PreloadedFieldLookupProvider fieldLookupProvider : fieldLookupProviders) {
+            fieldLookupProvider.setPreloadedStoredFieldNames(storedFieldsSpec.requiredStoredFields());
+        }
 
         StoredFieldLoader storedFieldLoader = profiler.storedFields(StoredFieldLoader.fromSpec(storedFieldsSpec));
         IdLoader idLoader = context.newIdLoader();
         boolean requiresSource = storedFieldsSpec.requiresSource();
-        final int[] locallyAccumulatedBytes = new int[1];
         NestedDocuments nestedDocuments = context.getSearchExecutionContext().getNestedDocuments();
 
-        FetchPhaseDocsIterator docsIterator = new FetchPhaseDocsIterator() {
+        final SearchHit[] hits;
+        if (partitions > 1) {
+            // Each partition gets its own processors and nested documents, built up front on this thread, as both hold per-segment state
+            List<FetchPhaseDocsIterator> docsIterators = new ArrayList<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                docsIterators.add(
+                    newDocsIterator(
+                        context,
+                        profiler,
+                        rankDocs,
+                        i == 0 ? processors : getProcessors(context.shardTarget(), fetchContext, profiler),
+                        sourceLoader,
+                        storedFieldLoader,
+                        idLoader,
+                        requiresSource,
+                        i == 0 ? nestedDocuments : context.getSearchExecutionContext().getNestedDocuments(),
+                        ctx -> sourceProviders[ctx.ord],
+                        ctx -> fieldLookupProviders[ctx.ord]
+                    )
+                );
+            }
+            hits = FetchPhaseDocsIterator.iterateConcurrently(
+                context.shardTarget(),
+                context.searcher().getIndexReader(),
+                docIdsToLoad,
+                context.request().allowPartialSearchResults(),
+                context.queryResult(),
+                context.searcher().getTaskExecutor(),
+                docsIterators
+            );
+        } else {
+            hits = newDocsIterator(
+                context,
+                profiler,
+                rankDocs,
+                processors,
+                sourceLoader,
+                storedFieldLoader,
+                idLoader,
+                requiresSource,
+                nestedDocuments,
+                ctx -> sourceProviders[0],
+                ctx -> fieldLookupProviders[0]
+            ).iterate(
+                context.shardTarget(),
+                context.searcher().getIndexReader(),
+                docIdsToLoad,
+                context.request().allowPartialSearchResults(),
+                context.queryResult()
+            );
+        }
+
+        if (context.isCancelled()) {
+            for (SearchHit hit : hits) {
+                // release all hits that would otherwise become owned and eventually released by SearchHits below
+                hit.decRef();
+            }
+            throw new TaskCancelledException("cancelled");
+        }
+
+        TotalHits totalHits = context.getTotalHits();
+        return new SearchHits(hits, totalHits, context.getMaxScore());
+    }
+
+    /**
+     * Hits are only fetched concurrently when each partition gets at least this many of them, so that the coordination pays off.
+     */
+    static final int MINIMUM_HITS_PER_CONCURRENT_PARTITION = 500;
+
+    /**
+     * Returns the number of partitions that the hits may be fetched in concurrently, or {@code 1} to fetch them sequentially.
+     */
+    static int concurrentPartitions(SearchContext context, int[] docIdsToLoad, Profiler profiler) {
+        if (context.searcher().hasExecutor() == false
+            || profiler != Profiler.NOOP
+            // sub-search contexts run within the fetch phase of their parent or while collecting aggregations
+            || context instanceof SubSearchContext
+            // inner hits re-run the whole fetch phase, resetting the lookup providers of the shared execution context
+            || context.innerHits().getInnerHits().isEmpty() == false) {
+            return 1;
+        }
+        int maxPartitions = Math.min(context.searcher().getMaximumNumberOfSlices(), context.searcher().getIndexReader().leaves().size());
+        return Math.max(1, Math.min(maxPartitions, docIdsToLoad.length / MINIMUM_HITS_PER_CONCURRENT_PARTITION));
+    }
+
+    private static FetchPhaseDocsIterator newDocsIterator(
+        SearchContext context,
+        Profiler profiler,
+        RankDocShardInfo rankDocs,
+        List<FetchSubPhaseProcessor> processors,
+        SourceLoader sourceLoader,
+        StoredFieldLoader storedFieldLoader,
+        IdLoader idLoader,
+        boolean requiresSource,
+        NestedDocuments nestedDocuments,
+        Function<LeafReaderContext, PreloadedSourceProvider> sourceProviders,
+        Function<LeafReaderContext, PreloadedFieldLookupProvider> fieldLookupProviders
+    ) {
+        return new FetchPhaseDocsIterator() {
 
             LeafReaderContext ctx;
             LeafNestedDocuments leafNestedDocuments;
             LeafStoredFieldLoader leafStoredFieldLoader;
             SourceLoader.Leaf leafSourceLoader;
             IdLoader.Leaf leafIdLoader;
+            PreloadedSourceProvider sourceProvider;
+            PreloadedFieldLookupProvider fieldLookupProvider;
+            int locallyAccumulatedBytes;
 
             @Override
             protected void setNextReader(LeafReaderContext ctx, int[] docsInLeaf) throws IOException {
@@ -155,6 +271,8 @@ public final class FetchPhase {
                 this.leafStoredFieldLoader = storedFieldLoader.getLoader(ctx, docsInLeaf);
                 this.leafSourceLoader = sourceLoader.leaf(ctx.reader(), docsInLeaf);
                 this.leafIdLoader = idLoader.leaf(leafStoredFieldLoader, ctx.reader(), docsInLeaf);
+                this.sourceProvider = sourceProviders.apply(ctx);
+                this.fieldLookupProvider = fieldLookupProviders.apply(ctx);
                 fieldLookupProvider.setNextReader(ctx);
                 for (FetchSubPhaseProcessor processor : processors) {
                     processor.setNextReader(ctx);
@@ -169,9 +287,9 @@ public final class FetchPhase {
                 if (context.isCancelled()) {
                     throw new TaskCancelledException("cancelled");
                 }
-                if (context.checkRealMemoryCB(locallyAccumulatedBytes[0], "fetch source")) {
+                if (context.checkRealMemoryCB(locallyAccumulatedBytes, "fetch source")) {
                     // if we checked the real memory breaker, we restart our local accounting
-                    locallyAccumulatedBytes[0] = 0;
+                    locallyAccumulatedBytes = 0;
                 }
 
                 HitContext hit = prepareHitContext(
@@ -196,7 +314,7 @@ public final class FetchPhase {
 
                     BytesReference sourceRef = hit.hit().getSourceRef();
                     if (sourceRef != null) {
-                        locallyAccumulatedBytes[0] += sourceRef.length();
+                        locallyAccumulatedBytes += sourceRef.length();
                     }
                     success = true;
                     return hit.hit();
@@ -207,25 +325,6 @@ public final class FetchPhase {
                 }
             }
         };
-
-        SearchHit[] hits = docsIterator.iterate(
-            context.shardTarget(),
-            context.searcher().getIndexReader(),
-            docIdsToLoad,
-            context.request().allowPartialSearchResults(),
-            context.queryResult()
-        );
-
-        if (context.isCancelled()) {
-            for (SearchHit hit : hits) {
-                // release all hits that would otherwise become owned and eventually released by SearchHits below
-                hit.decRef();
-            }
-            throw new TaskCancelledException("cancelled");
-        }
-
-        TotalHits totalHits = context.getTotalHits();
-        return new SearchHits(hits, totalHits, context.getMaxScore());
     }
 
     List<FetchSubPhaseProcessor> getProcessors(SearchShardTarget target, FetchContext context, Profiler profiler) {
@@ -12,6 +12,7 @@ package org.elasticsearch.search.fetch;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.ReaderUtil;
+import org.apache.lucene.search.TaskExecutor;
 import org.elasticsearch.common.breaker.CircuitBreakingException;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.SearchHits;
@@ -21,7 +22,11 @@ import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.search.query.SearchTimeoutException;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
 
 /**
  * Given a set of doc ids and an index reader, sorts the docs by id, splits the sorted
@@ -111,6 +116,97 @@ abstract class FetchPhaseDocsIterator {
         return searchHits;
     }
 
+    /**
+     * Splits the docs into at most {@code iterators.size()} partitions of whole leaves holding roughly the same number of docs and
+     * {@link #iterate iterates} each partition with its own iterator on the given executor. Each iterator only ever sees the leaves
+     * of its own partition, all of them on the same thread. Hits are returned in the order of the original doc ids, or, if the fetch
+     * timed out and partial results are allowed, the hits that were fetched before the timeout in the order of the original doc ids.
+     */
+    static SearchHit[] iterateConcurrently(
+        SearchShardTarget shardTarget,
+        IndexReader indexReader,
+        int[] docIds,
+        boolean allowPartialResults,
+        QuerySearchResult querySearchResult,
+        TaskExecutor taskExecutor,
+        List<? extends FetchPhaseDocsIterator> iterators
+    ) {
+        DocIdToIndex[] docs = new DocIdToIndex[docIds.length];
+        for (int index = 0; index < docIds.length; index++) {
+            docs[index] = new DocIdToIndex(docIds[index], index);
+        }
+        Arrays.sort(docs);
+        int[] partitionEnds = partitionEnds(indexReader, docs, iterators.size());
+        SearchHit[][] partitionHits = new SearchHit[partitionEnds.length][];
+        List<Callable<Void>> tasks = new ArrayList<>(partitionEnds.length);
+        for (int p = 0; p < partitionEnds.length; p++) {
+            final int partition = p;
+            final int start = p == 0 ? 0 : partitionEnds[p - 1];
+            final int[] partitionDocIds = new int[partitionEnds[p] - start];
+            for (int i = 0; i < partitionDocIds.length; i++) {
+                partitionDocIds[i] = docs[start + i].docId;
+            }
+            tasks.add(() -> {
+                partitionHits[partition] = iterators.get(partition)
+                    .iterate(shardTarget, indexReader, partitionDocIds, allowPartialResults, querySearchResult);
+                return null;
+            });
+        }
+        boolean success = false;
+        try {
+            taskExecutor.invokeAll(tasks);
+            success = true;
+        } catch (IOException e) {
+            throw new FetchPhaseExecutionException(shardTarget, "Error running fetch phase", e);
+        } finally {
+            if (success == false) {
+                for (SearchHit[] hits : partitionHits) {
+                    if (hits != null) {
+                        purgeSearchHits(hits);
+                    }
+                }
+            }
+        }
+
+        SearchHit[] searchHits = new SearchHit[docIds.length];
+        boolean partial = false;
+        for (int p = 0; p < partitionEnds.length; p++) {
+            final int start = p == 0 ? 0 : partitionEnds[p - 1];
+            SearchHit[] hits = partitionHits[p];
+            partial |= hits.length < partitionEnds[p] - start;
+            for (int i = 0; i < hits.length; i++) {
+                assert searchHits[docs[start + i].index] == null;
+                searchHits[docs[start + i].index] = hits[i];
+            }
+        }
+        if (partial) {
+            assert allowPartialResults;
+            return Arrays.stream(searchHits).filter(Objects::nonNull).toArray(SearchHit[]::new);
+        }
+        return searchHits;
+    }
+
+    /**
+     * Returns the exclusive end, in the sorted docs, of each partition. Partitions never split a leaf so that each leaf is only
+     * ever read from a single thread.
+     */
+    private static int[] partitionEnds(IndexReader indexReader, DocIdToIndex[] docs, int maxPartitions) {
+        final int targetDocsPerPartition = Math.ceilDiv(docs.length, maxPartitions);
+        int[] ends = new int[maxPartitions];
+        int partitions = 0;
+        int start = 0;
+        int i = 0;
+        while (i < docs.length) {
+            LeafReaderContext ctx = indexReader.leaves().get(ReaderUtil.subIndex(docs[i].docId, indexReader.leaves()));
+            i = endReaderIdx(ctx, i, docs);
+            if (i - start >= targetDocsPerPartition || i == docs.length) {
+                ends[partitions++] = i;
+                start = i;
+            }
+        }
+        return Arrays.copyOf(ends, partitions);
+    }
+
     private static void purgeSearchHits(SearchHit[] searchHits) {
         for (SearchHit searchHit : searchHits) {
             if (searchHit != null) {
@@ -150,6 +150,13 @@ public class ContextIndexSearcher extends IndexSearcher implements Releasable {
         return hasExecutor;
     }
 
+    /**
+     * The maximum number of tasks that work may be split into when it runs concurrently, see {@link #hasExecutor()}.
+     */
+    public int getMaximumNumberOfSlices() {
+        return maximumNumberOfSlices;
+    }
+
     @Override
     protected LeafSlice[] slices(List<LeafReaderContext> leaves) {
         // we offload to the executor unconditionally, including requests that don't support concurrency
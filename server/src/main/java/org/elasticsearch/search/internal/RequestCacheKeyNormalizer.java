@@ -0,0 +1,131 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.internal;
+
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Tuple;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.PipelineAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.builder.SubSearchSourceBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Rewrites a {@link SearchSourceBuilder} into a canonical form for use in the shard request cache key, so that requests which only
+ * differ in the order of parts whose order does not affect the result share a cache entry. This covers the non-scoring clauses of
+ * {@code bool} queries and the top-level aggregations. Scoring clauses keep their order since the order in which scores are summed
+ * can change the result, and sub-aggregations keep theirs since it is reflected in the order of each bucket's aggregations.
+ * The extended bounds of top-level date histograms are left out entirely, since they don't change what a shard collects.
+ */
+final class RequestCacheKeyNormalizer {
+
+    private RequestCacheKeyNormalizer() {}
+
+    /**
+     * Returns a shallow copy of the given source in canonical form. The given source is not modified.
+     */
+    @Nullable
+    static SearchSourceBuilder normalize(@Nullable SearchSourceBuilder source) throws IOException {
+        if (source == null) {
+            return null;
+        }
+        final SearchSourceBuilder normalized = source.shallowCopy();
+        final List<SubSearchSourceBuilder> subSearches = new ArrayList<>(source.subSearches().size());
+        for (SubSearchSourceBuilder subSearch : source.subSearches()) {
+            subSearches.add(new SubSearchSourceBuilder(normalize(subSearch.getQueryBuilder())));
+        }
+        normalized.subSearches(subSearches);
+        normalized.postFilter(normalize(source.postFilter()));
+        if (source.aggregations() != null) {
+            normalized.aggregations(normalize(source.aggregations()));
+        }
+        return normalized;
+    }
+
+    static QueryBuilder normalize(@Nullable QueryBuilder query) throws IOException {
+        if (query instanceof BoolQueryBuilder bool) {
+            final BoolQueryBuilder normalized = new BoolQueryBuilder();
+            for (QueryBuilder clause : bool.must()) {
+                normalized.must(normalize(clause));
+            }
+            for (QueryBuilder clause : bool.should()) {
+                normalized.should(normalize(clause));
+            }
+            for (QueryBuilder clause : sortedNonScoringClauses(bool.filter())) {
+                normalized.filter(clause);
+            }
+            for (QueryBuilder clause : sortedNonScoringClauses(bool.mustNot())) {
+                normalized.mustNot(clause);
+            }
+            normalized.minimumShouldMatch(bool.minimumShouldMatch());
+            normalized.adjustPureNegative(bool.adjustPureNegative());
+            normalized.boost(bool.boost());
+            normalized.queryName(bool.queryName());
+            return normalized;
+        }
+        return query;
+    }
+
+    static AggregatorFactories.Builder normalize(AggregatorFactories.Builder aggregations) {
+        final AggregatorFactories.Builder normalized = new AggregatorFactories.Builder();
+        aggregations.getAggregatorFactories()
+            .stream()
+            .sorted(Comparator.comparing(AggregationBuilder::getName))
+            .map(RequestCacheKeyNormalizer::normalize)
+            .forEach(normalized::addAggregator);
+        aggregations.getPipelineAggregatorFactories()
+            .stream()
+            .sorted(Comparator.comparing(PipelineAggregationBuilder::getName))
+            .forEach(normalized::addPipelineAggregator);
+        return normalized;
+    }
+
+    /**
+     * Leaves the extended bounds of top-level date histograms out of the key: dashboards move them with every refresh while the
+     * results that shards collect stay the same. The bounds of the current request are applied to cached results when they are
+     * loaded, see {@link org.elasticsearch.search.aggregations.AggregatorFactory#withRequestOnlyParameters}.
+     */
+    private static AggregationBuilder normalize(AggregationBuilder aggregation) {
+        if (aggregation instanceof DateHistogramAggregationBuilder histogram && histogram.extendedBounds() != null) {
+            return histogram.withoutExtendedBounds();
+        }
+        return aggregation;
+    }
+
+    /**
+     * Normalizes the given clauses and sorts them by their serialized form, which is deterministic for equal clauses.
+     */
+    private static List<QueryBuilder> sortedNonScoringClauses(List<QueryBuilder> clauses) throws IOException {
+        if (clauses.isEmpty()) {
+            return clauses;
+        }
+        final List<Tuple<BytesReference, QueryBuilder>> keyed = new ArrayList<>(clauses.size());
+        for (QueryBuilder clause : clauses) {
+            final QueryBuilder normalized = normalize(clause);
+            try (BytesStreamOutput out = new BytesStreamOutput()) {
+                out.writeNamedWriteable(normalized);
+                // copy the bytes, the pages of the stream are released when it is closed
+                keyed.add(Tuple.tuple(out.copyBytes(), normalized));
+            }
+        }
+        keyed.sort((a, b) -> a.v1().compareTo(b.v1()));
+        return keyed.stream().map(Tuple::v2).toList();
+    }
+}
@@ -357,7 +357,7 @@ public class ShardSearchRequest extends AbstractTransportRequest implements Indi
             out.writeVInt(numberOfShards);
         }
         out.writeOptionalTimeValue(scroll);
-        out.writeOptionalWriteable(source);
+        out.writeOptionalWriteable(asKey ? RequestCacheKeyNormalizer.normalize(source) : source);
         if (out.getTransportVersion().onOrAfter(TransportVersions.V_8_8_0) && out.getTransportVersion().before(TransportVersions.V_8_9_X)) {
             // to serialize between the 8.8 and 8.500.020 version we need to translate
             // the sub searches into rank queries if we are ranking, otherwise, we
@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 
 public abstract class AbstractInternalProfileTree<PB extends AbstractProfileBreakdown<?>, E> {
 
@@ -148,7 +149,7 @@ public abstract class AbstractInternalProfileTree<PB extends AbstractProfileBrea
             type,
             description,
             breakdown.toBreakdownMap(),
-            breakdown.toDebugMap(),
+            getDebugFromElement(element, breakdown),
             breakdown.toNodeTime(),
             childrenProfileResults
         );
@@ -158,6 +159,13 @@ public abstract class AbstractInternalProfileTree<PB extends AbstractProfileBrea
 
     protected abstract String getDescriptionFromElement(E element);
 
+    /**
+     * Extra debugging information for the element, by default whatever its breakdown collected
+     */
+    protected Map<String, Object> getDebugFromElement(E element, PB breakdown) {
+        return breakdown.toDebugMap();
+    }
+
     /**
      * Internal helper to add a child to the current parent node
      *
@@ -14,6 +14,8 @@ import org.elasticsearch.search.profile.AbstractInternalProfileTree;
 import org.elasticsearch.search.profile.ProfileResult;
 import org.elasticsearch.search.profile.Timer;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -46,6 +48,16 @@ final class InternalQueryProfileTree extends AbstractInternalProfileTree<QueryPr
         return query.toString();
     }
 
+    @Override
+    protected Map<String, Object> getDebugFromElement(Query query, QueryProfileBreakdown breakdown) {
+        if (query instanceof QueryDebugInfoProvider provider) {
+            Map<String, Object> debug = new HashMap<>(breakdown.toDebugMap());
+            provider.collectDebugInfo(debug::put);
+            return debug;
+        }
+        return breakdown.toDebugMap();
+    }
+
     /**
      * Begin timing a query for a specific Timing context and return the running timer
      */
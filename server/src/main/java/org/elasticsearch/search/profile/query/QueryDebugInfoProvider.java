@@ -0,0 +1,29 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.profile.query;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Implemented by {@link org.apache.lucene.search.Query}s that keep track of how they matched, so that the query profiler can
+ * report it under the {@code debug} section of the query's profile.
+ */
+public interface QueryDebugInfoProvider {
+
+    /**
+     * Collect debug information to add to the profiling results. This will only be called if the query is being profiled,
+     * once the search has completed.
+     * <p>
+     * Well behaved implementations will always add the same keys, and only add objects which can be serialized with
+     * {@link org.elasticsearch.common.io.stream.StreamOutput#writeGenericValue(Object)} and
+     * {@link org.elasticsearch.xcontent.XContentBuilder#value(Object)}.
+     */
+    void collectDebugInfo(BiConsumer<String, Object> add);
+}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -36,6 +37,7 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
     public static final String QUERY_ARRAY = "query";
 
     public static final String VECTOR_OPERATIONS_COUNT = "vector_operations_count";
+    public static final String KNN_SEARCH_STRATEGIES = "knn_search_strategies";
 
     private final List<ProfileResult> queryProfileResults;
 
@@ -45,17 +47,30 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
 
     private final Long vectorOperationsCount;
 
+    private final Map<String, Long> knnSearchStrategies;
+
     public QueryProfileShardResult(
         List<ProfileResult> queryProfileResults,
         long rewriteTime,
         CollectorResult profileCollector,
         @Nullable Long vectorOperationsCount
+    ) {
+        this(queryProfileResults, rewriteTime, profileCollector, vectorOperationsCount, Map.of());
+    }
+
+    public QueryProfileShardResult(
+        List<ProfileResult> queryProfileResults,
+        long rewriteTime,
+        CollectorResult profileCollector,
+        @Nullable Long vectorOperationsCount,
+        Map<String, Long> knnSearchStrategies
     ) {
         assert (profileCollector != null);
         this.queryProfileResults = queryProfileResults;
         this.profileCollector = profileCollector;
         this.rewriteTime = rewriteTime;
         this.vectorOperationsCount = vectorOperationsCount;
+        this.knnSearchStrategies = Objects.requireNonNull(knnSearchStrategies);
     }
 
     /**
@@ -71,6 +86,11 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         profileCollector = new CollectorResult(in);
         rewriteTime = in.readLong();
         vectorOperationsCount = (in.getTransportVersion().onOrAfter(TransportVersions.V_8_12_0)) ? in.readOptionalLong() : null;
+        if (in.getTransportVersion().onOrAfter(TransportVersions.KNN_PROFILE_SEARCH_STRATEGIES)) {
+            knnSearchStrategies = in.readImmutableMap(StreamInput::readVLong);
+        } else {
+            knnSearchStrategies = Map.of();
+        }
     }
 
     @Override
@@ -84,6 +104,9 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         if (out.getTransportVersion().onOrAfter(TransportVersions.V_8_12_0)) {
             out.writeOptionalLong(vectorOperationsCount);
         }
+        if (out.getTransportVersion().onOrAfter(TransportVersions.KNN_PROFILE_SEARCH_STRATEGIES)) {
+            out.writeMap(knnSearchStrategies, StreamOutput::writeVLong);
+        }
     }
 
     public List<ProfileResult> getQueryResults() {
@@ -98,12 +121,22 @@ public final class QueryProfileShardResult implements Writeable, ToXContentObjec
         return profileCollector;
     }
 
+    /**
+     * The number of segments that the kNN queries searched with each strategy, empty if no kNN query was profiled.
+     */
+    public Map<String, Long> getKnnSearchStrategies() {
+        return knnSearchStrategies;
+    }
+
     @Override
     public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
         builder.startObject();
         if (vectorOperationsCount != null) {
             builder.field(VECTOR_OPERATIONS_COUNT, vectorOperationsCount);
         }
+        if (knnSearchStrategies.isEmpty() == false) {
+            builder.field(KNN_SEARCH_STRATEGIES, knnSearchStrategies);
+        }
         builder.startArray(QUERY_ARRAY);
         for (ProfileResult p : queryProfileResults) {
             p.toXContent(builder, params);
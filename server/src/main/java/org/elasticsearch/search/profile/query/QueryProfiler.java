@@ -13,6 +13,9 @@ import org.apache.lucene.search.Query;
 import org.elasticsearch.search.profile.AbstractProfiler;
 import org.elasticsearch.search.profile.Timer;
 
+import java.util.Map;
+import java.util.TreeMap;
+
 import static java.util.Objects.requireNonNull;
 
 /**
@@ -35,6 +38,8 @@ public final class QueryProfiler extends AbstractProfiler<QueryProfileBreakdown,
 
     private long vectorOpsCount;
 
+    private final Map<String, Long> knnSearchStrategies = new TreeMap<>();
+
     public QueryProfiler() {
         super(new InternalQueryProfileTree());
     }
@@ -55,6 +60,23 @@ public final class QueryProfiler extends AbstractProfiler<QueryProfileBreakdown,
         return this.vectorOpsCount;
     }
 
+    /**
+     * Adds a number of segments that a kNN query searched with the given strategy
+     * @param strategy how the segments were searched, e.g. {@code graph} or {@code exact}
+     * @param segments number of segments to add to the count of the strategy
+     */
+    public void addKnnSearchStrategy(String strategy, long segments) {
+        knnSearchStrategies.merge(strategy, segments, Long::sum);
+    }
+
+    /**
+     * Retrieves the number of segments that the kNN queries searched with each strategy
+     * @return number of segments per strategy, empty if no kNN query was profiled
+     */
+    public Map<String, Long> getKnnSearchStrategies() {
+        return knnSearchStrategies;
+    }
+
     /** Set the collector result that is associated with this profiler. */
     public void setCollectorResult(CollectorResult collectorResult) {
         if (this.collectorResult != null) {
@@ -46,6 +46,7 @@ import org.elasticsearch.threadpool.ThreadPool;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 
 import static org.elasticsearch.search.internal.SearchContext.TRACK_TOTAL_HITS_DISABLED;
 
@@ -90,6 +91,7 @@ public class QueryPhase {
         boolean searchTimedOut = querySearchResult.searchTimedOut();
         long serviceTimeEWMA = querySearchResult.serviceTimeEWMA();
         int nodeQueueSize = querySearchResult.nodeQueueSize();
+        double nodeUtilization = querySearchResult.nodeUtilization();
         try {
             // run each of the rank queries
             for (Query rankQuery : queryPhaseRankShardContext.queries()) {
@@ -109,6 +111,7 @@ public class QueryPhase {
                     rrfRankResults.add(rrfQuerySearchResult.topDocs().topDocs);
                     serviceTimeEWMA += rrfQuerySearchResult.serviceTimeEWMA();
                     nodeQueueSize = Math.max(nodeQueueSize, rrfQuerySearchResult.nodeQueueSize());
+                    nodeUtilization = Math.max(nodeUtilization, rrfQuerySearchResult.nodeUtilization());
                     searchTimedOut = rrfQuerySearchResult.searchTimedOut();
                 }
             }
@@ -119,6 +122,7 @@ public class QueryPhase {
             querySearchResult.searchTimedOut(searchTimedOut);
             querySearchResult.serviceTimeEWMA(serviceTimeEWMA);
             querySearchResult.nodeQueueSize(nodeQueueSize);
+            querySearchResult.nodeUtilization(nodeUtilization);
         } catch (Exception e) {
             throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Failed to execute rank query", e);
         }
@@ -232,12 +236,22 @@ public class QueryPhase {
             if (executor instanceof TaskExecutionTimeTrackingEsThreadPoolExecutor rExecutor) {
                 queryResult.nodeQueueSize(rExecutor.getCurrentQueueSize());
                 queryResult.serviceTimeEWMA((long) rExecutor.getTaskExecutionEWMA());
+                queryResult.nodeUtilization(nodeUtilization(rExecutor));
             }
         } catch (Exception e) {
             throw new QueryPhaseExecutionException(searchContext.shardTarget(), "Failed to execute main query", e);
         }
     }
 
+    /**
+     * The fraction of the threads of the search pool that are busy with other work than this query phase,
+     * which runs on one of them and would otherwise make an idle node look busy.
+     */
+    static double nodeUtilization(ThreadPoolExecutor executor) {
+        int othersActive = Math.max(0, executor.getActiveCount() - 1);
+        return (double) othersActive / executor.getMaximumPoolSize();
+    }
+
     /**
      * Returns whether collection within the provided <code>reader</code> can be early-terminated if it sorts
      * with <code>sortAndFormats</code>.
@@ -68,6 +68,7 @@ public final class QuerySearchResult extends SearchPhaseResult {
     private boolean hasProfileResults;
     private long serviceTimeEWMA = -1;
     private int nodeQueueSize = -1;
+    private double nodeUtilization = -1;
 
     private boolean reduced;
 
@@ -391,6 +392,19 @@ public final class QuerySearchResult extends SearchPhaseResult {
         return this;
     }
 
+    /**
+     * The fraction of the search threads on the node that were busy when this result was produced,
+     * or {@code -1} if unknown.
+     */
+    public double nodeUtilization() {
+        return this.nodeUtilization;
+    }
+
+    public QuerySearchResult nodeUtilization(double nodeUtilization) {
+        this.nodeUtilization = nodeUtilization;
+        return this;
+    }
+
     /**
      * Returns <code>true</code> if this result has any suggest score docs
      */
@@ -445,6 +459,9 @@ public final class QuerySearchResult extends SearchPhaseResult {
             hasProfileResults = profileShardResults != null;
             serviceTimeEWMA = in.readZLong();
             nodeQueueSize = in.readInt();
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ADAPTIVE_SELECTION_UTILIZATION)) {
+                nodeUtilization = in.readDouble();
+            }
             setShardSearchRequest(in.readOptionalWriteable(ShardSearchRequest::new));
             setRescoreDocIds(new RescoreDocIds(in));
             if (in.getTransportVersion().onOrAfter(TransportVersions.V_8_8_0)) {
@@ -513,6 +530,9 @@ public final class QuerySearchResult extends SearchPhaseResult {
         out.writeOptionalWriteable(profileShardResults);
         out.writeZLong(serviceTimeEWMA);
         out.writeInt(nodeQueueSize);
+        if (out.getTransportVersion().onOrAfter(TransportVersions.ADAPTIVE_SELECTION_UTILIZATION)) {
+            out.writeDouble(nodeUtilization);
+        }
         out.writeOptionalWriteable(getShardSearchRequest());
         getRescoreDocIds().writeTo(out);
         if (out.getTransportVersion().onOrAfter(TransportVersions.V_8_8_0)) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.util.BitSet;
+import org.apache.lucene.util.BitSetIterator;
+import org.apache.lucene.util.Bits;
+import org.elasticsearch.search.profile.query.QueryProfiler;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chooses, per segment, between searching the graph of a filtered kNN query and scoring all the documents that match the
+ * filter, and records the strategy that produced the results of each segment so that they can be reported in the search profile.
+ * <p>
+ * Lucene only falls back to exact search after the graph search visited more nodes than the filter matches documents. With a
+ * restrictive filter, most of the nodes that the graph search visits are rejected by the filter, so it explores in the order of
+ * {@code k * log(n) / selectivity} nodes before it finds {@code k} matches. When that is more than the number of documents that
+ * match the filter we go straight to exact search and save the wasted graph exploration.
+ */
+final class AdaptiveKnnSearch {
+
+    static final String GRAPH = "graph";
+    static final String EXACT = "exact";
+
+    /**
+     * The strategy of each segment by leaf ord. Lucene falls back to exact search when the graph search of a filtered query
+     * visits too many nodes, so the last strategy recorded for a segment is the one that produced its results.
+     */
+    private final Map<Integer, String> strategies = new ConcurrentHashMap<>();
+
+    /**
+     * Whether scoring all the {@code filterCardinality} documents that match the filter is expected to be cheaper than
+     * searching the graph of a segment with {@code numVectors} vectors for the {@code k} nearest matches.
+     */
+    static boolean preferExactSearch(int k, int filterCardinality, int numVectors) {
+        if (filterCardinality <= k) {
+            return true;
+        }
+        if (numVectors <= 1 || filterCardinality >= numVectors) {
+            return false;
+        }
+        double selectivity = (double) filterCardinality / numVectors;
+        double expectedVisitedNodes = k * Math.log(numVectors) / selectivity;
+        return expectedVisitedNodes >= filterCardinality;
+    }
+
+    /**
+     * Returns an iterator over the documents that match the filter if the segment should be scored exhaustively, {@code null}
+     * if its graph should be searched. Must only be called for filtered queries, for which Lucene collects the live documents
+     * that match the filter into a {@link BitSet}; the accepted documents of unfiltered queries are the live documents.
+     */
+    DocIdSetIterator exactSearchCandidates(int k, Bits acceptDocs, int numVectors) {
+        if (acceptDocs instanceof BitSet bitSet) {
+            int cardinality = bitSet.cardinality();
+            if (preferExactSearch(k, cardinality, numVectors)) {
+                return new BitSetIterator(bitSet, cardinality);
+            }
+        }
+        return null;
+    }
+
+    void onGraphSearch(LeafReaderContext context) {
+        strategies.put(context.ord, GRAPH);
+    }
+
+    void onExactSearch(LeafReaderContext context) {
+        strategies.put(context.ord, EXACT);
+    }
+
+    void reset() {
+        strategies.clear();
+    }
+
+    void profile(QueryProfiler queryProfiler) {
+        long exactSearches = strategies.values().stream().filter(EXACT::equals).count();
+        queryProfiler.addKnnSearchStrategy(GRAPH, strategies.size() - exactSearches);
+        queryProfiler.addKnnSearchStrategy(EXACT, exactSearches);
+    }
+}
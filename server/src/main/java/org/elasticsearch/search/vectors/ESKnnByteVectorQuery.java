@@ -9,21 +9,63 @@
 
 package org.elasticsearch.search.vectors;
 
+import org.apache.lucene.index.KnnVectorValues;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.QueryTimeout;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.KnnByteVectorQuery;
 import org.apache.lucene.search.Query;
 import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.knn.KnnCollectorManager;
 import org.apache.lucene.search.knn.KnnSearchStrategy;
+import org.apache.lucene.util.Bits;
 import org.elasticsearch.search.profile.query.QueryProfiler;
 
+import java.io.IOException;
+
 public class ESKnnByteVectorQuery extends KnnByteVectorQuery implements QueryProfilerProvider {
     private final Integer kParam;
     private long vectorOpsCount;
+    private final AdaptiveKnnSearch adaptiveSearch = new AdaptiveKnnSearch();
 
     public ESKnnByteVectorQuery(String field, byte[] target, Integer k, int numCands, Query filter, KnnSearchStrategy strategy) {
         super(field, target, numCands, filter, strategy);
         this.kParam = k;
     }
 
+    @Override
+    public Query rewrite(IndexSearcher indexSearcher) throws IOException {
+        adaptiveSearch.reset();
+        return super.rewrite(indexSearcher);
+    }
+
+    @Override
+    protected TopDocs approximateSearch(
+        LeafReaderContext context,
+        Bits acceptDocs,
+        int visitedLimit,
+        KnnCollectorManager knnCollectorManager
+    ) throws IOException {
+        KnnVectorValues vectorValues = filter == null ? null : context.reader().getByteVectorValues(field);
+        if (vectorValues != null) {
+            DocIdSetIterator candidates = adaptiveSearch.exactSearchCandidates(k, acceptDocs, vectorValues.size());
+            if (candidates != null) {
+                // we don't set a timeout on the searcher, cancellation is checked by the exitable reader instead
+                return exactSearch(context, candidates, null);
+            }
+        }
+        adaptiveSearch.onGraphSearch(context);
+        return super.approximateSearch(context, acceptDocs, visitedLimit, knnCollectorManager);
+    }
+
+    @Override
+    protected TopDocs exactSearch(LeafReaderContext context, DocIdSetIterator acceptIterator, QueryTimeout queryTimeout)
+        throws IOException {
+        adaptiveSearch.onExactSearch(context);
+        return super.exactSearch(context, acceptIterator, queryTimeout);
+    }
+
     @Override
     protected TopDocs mergeLeafResults(TopDocs[] perLeafResults) {
         // if k param is set, we get only top k results from each shard
@@ -35,6 +77,7 @@ public class ESKnnByteVectorQuery extends KnnByteVectorQuery implements QueryPro
     @Override
     public void profile(QueryProfiler queryProfiler) {
         queryProfiler.addVectorOpsCount(vectorOpsCount);
+        adaptiveSearch.profile(queryProfiler);
     }
 
     public Integer kParam() {
@@ -158,6 +158,16 @@ public class DefaultBuiltInExecutorBuilders implements BuiltInExecutorBuilders {
                 EsExecutors.TaskTrackingConfig.DO_NOT_TRACK
             )
         );
+        result.put(
+            ThreadPool.Names.VECTOR_MERGE,
+            new FixedExecutorBuilder(
+                settings,
+                ThreadPool.Names.VECTOR_MERGE,
+                ThreadPool.halfAllocatedProcessors(allocatedProcessors),
+                -1,
+                EsExecutors.TaskTrackingConfig.DO_NOT_TRACK
+            )
+        );
         result.put(
             ThreadPool.Names.CLUSTER_COORDINATION,
             new FixedExecutorBuilder(settings, ThreadPool.Names.CLUSTER_COORDINATION, 1, -1, EsExecutors.TaskTrackingConfig.DO_NOT_TRACK)
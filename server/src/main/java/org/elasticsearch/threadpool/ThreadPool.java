@@ -137,6 +137,11 @@ public class ThreadPool implements ReportingService<ThreadPoolInfo>, Scheduler,
         public static final String SNAPSHOT_META = "snapshot_meta";
         public static final String MERGE = "merge";
         public static final String FORCE_MERGE = "force_merge";
+        /**
+         * A thread pool for building the HNSW graphs of {@code dense_vector} fields concurrently while segments are merged, see
+         * {@link org.elasticsearch.index.IndexSettings#DENSE_VECTOR_MERGE_WORKERS_SETTING}.
+         */
+        public static final String VECTOR_MERGE = "vector_merge";
         public static final String FETCH_SHARD_STARTED = "fetch_shard_started";
         public static final String FETCH_SHARD_STORE = "fetch_shard_store";
         public static final String SYSTEM_READ = "system_read";
@@ -198,6 +203,7 @@ public class ThreadPool implements ReportingService<ThreadPoolInfo>, Scheduler,
         entry(Names.SNAPSHOT_META, ThreadPoolType.SCALING),
         entry(Names.MERGE, ThreadPoolType.SCALING),
         entry(Names.FORCE_MERGE, ThreadPoolType.FIXED),
+        entry(Names.VECTOR_MERGE, ThreadPoolType.FIXED),
         entry(Names.FETCH_SHARD_STARTED, ThreadPoolType.SCALING),
         entry(Names.FETCH_SHARD_STORE, ThreadPoolType.SCALING),
         entry(Names.SYSTEM_READ, ThreadPoolType.FIXED),
@@ -58,6 +58,28 @@ public class ComputedNodeStatsTests extends ESTestCase {
         assertTrue(first.rank(0) < second.rank(1));
     }
 
+    public void testUtilization() {
+        // Unknown or zero utilization keeps the original formula.
+        ComputedNodeStats baseline = createStats(1, 150, 100);
+        assertThat(createStats(1, 150, 100, -1).rank(1), equalTo(baseline.rank(1)));
+        assertThat(createStats(1, 150, 100, 0).rank(1), equalTo(baseline.rank(1)));
+
+        // Busier search threads should always result in a larger rank.
+        ComputedNodeStats first = createStats(1, 150, 100, 0.2);
+        ComputedNodeStats second = createStats(1, 150, 100, 0.8);
+        assertTrue(baseline.rank(1) < first.rank(1));
+        assertTrue(first.rank(1) < second.rank(1));
+
+        // A fully utilized node is penalized, but its rank stays finite.
+        ComputedNodeStats saturated = createStats(1, 150, 100, 1.0);
+        assertTrue(second.rank(1) < saturated.rank(1));
+        assertTrue(Double.isFinite(saturated.rank(1)));
+    }
+
+    private ComputedNodeStats createStats(int queueSize, int responseTimeMillis, int serviceTimeMillis, double utilization) {
+        return new ComputedNodeStats("node0", 5, queueSize, 1_000_000 * responseTimeMillis, 1_000_000 * serviceTimeMillis, utilization);
+    }
+
     private ComputedNodeStats createStats(int queueSize, int responseTimeMillis, int serviceTimeMillis) {
         return new ComputedNodeStats("node0", 5, queueSize, 1_000_000 * responseTimeMillis, 1_000_000 * serviceTimeMillis);
     }
@@ -457,6 +457,7 @@ public class NodeStatsTests extends ESTestCase {
                         assertEquals(aStats.queueSize, bStats.queueSize, 0.01);
                         assertEquals(aStats.serviceTime, bStats.serviceTime, 0.01);
                         assertEquals(aStats.responseTime, bStats.responseTime, 0.01);
+                        assertEquals(aStats.utilization, bStats.utilization, 0.01);
                     });
                 }
                 var scriptCacheStats = nodeStats.getScriptCacheStats();
@@ -594,6 +595,7 @@ public class NodeStatsTests extends ESTestCase {
             ++iota,
             ++iota,
             ++iota,
+            ++iota,
             ++iota
         );
         indicesCommonStats.getIndexing().add(new IndexingStats(indexingStats));
@@ -1021,7 +1023,8 @@ public class NodeStatsTests extends ESTestCase {
                         randomIntBetween(1, 10),
                         randomIntBetween(0, 2000),
                         randomDoubleBetween(1.0, 10000000.0, true),
-                        randomDoubleBetween(1.0, 10000000.0, true)
+                        randomDoubleBetween(1.0, 10000000.0, true),
+                        randomBoolean() ? -1 : randomDoubleBetween(0.0, 1.0, true)
                     );
                     nodeStats.put(nodeId, stats);
                 }
@@ -14,13 +14,20 @@ import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.support.WriteRequest.RefreshPolicy;
 import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.bytes.ReleasableBytesReference;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.StreamInput;
+import org.elasticsearch.core.AbstractRefCounted;
 import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.test.ESTestCase;
+import org.elasticsearch.xcontent.XContentType;
 
 import java.io.IOException;
 
 import static org.apache.lucene.tests.util.TestUtil.randomSimpleString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
 
 public class BulkShardRequestTests extends ESTestCase {
     public void testToString() {
@@ -60,6 +67,41 @@ public class BulkShardRequestTests extends ESTestCase {
         assertThat(bulkShardRequest.getRefreshPolicy(), equalTo(copy.getRefreshPolicy()));
     }
 
+    public void testRetainsSourcesReadFromReleasableBuffer() throws IOException {
+        final String indexName = randomAlphaOfLength(10);
+        final ShardId shardId = new ShardId(indexName, randomAlphaOfLength(10), 0);
+        final BulkItemRequest[] items = new BulkItemRequest[between(1, 20)];
+        for (int i = 0; i < items.length; i++) {
+            final String source = "{\"field\":\"" + randomAlphaOfLength(between(1, 100)) + "\"}";
+            items[i] = new BulkItemRequest(i, new IndexRequest(indexName).id("id_" + i).source(source, XContentType.JSON));
+        }
+        final BulkShardRequest original = new BulkShardRequest(shardId, RefreshPolicy.NONE, items);
+
+        final AbstractRefCounted bufferRefs = AbstractRefCounted.of(() -> {});
+        final BulkShardRequest copy;
+        try (BytesStreamOutput out = new BytesStreamOutput()) {
+            original.writeTo(out);
+            final ReleasableBytesReference buffer = new ReleasableBytesReference(out.bytes(), bufferRefs);
+            try (StreamInput in = buffer.streamInput()) {
+                copy = new BulkShardRequest(in);
+            }
+            buffer.decRef();
+        }
+
+        // the sources are slices of the buffer so it must stay referenced for as long as the request is
+        assertTrue(bufferRefs.hasReferences());
+        for (int i = 0; i < items.length; i++) {
+            final IndexRequest indexRequest = (IndexRequest) copy.items()[i].request();
+            assertThat(indexRequest.source(), instanceOf(ReleasableBytesReference.class));
+            assertThat(indexRequest.source(), equalTo(((IndexRequest) items[i].request()).source()));
+        }
+        copy.incRef();
+        assertFalse(copy.decRef());
+        assertTrue(bufferRefs.hasReferences());
+        assertTrue(copy.decRef());
+        assertFalse(bufferRefs.hasReferences());
+    }
+
     protected BulkShardRequest randomBulkShardRequest() {
         String indexName = randomAlphaOfLength(100);
         ShardId shardId = new ShardId(indexName, randomAlphaOfLength(50), randomInt());
@@ -1069,7 +1069,8 @@ public class DataStreamAutoShardingServiceTests extends ESTestCase {
                 totalIndexingTimeSinceShardStartedInNanos,
                 totalActiveTimeInNanos,
                 recentIndexingLoad,
-                peakIndexingLoad
+                peakIndexingLoad,
+                0
             )
         );
     }
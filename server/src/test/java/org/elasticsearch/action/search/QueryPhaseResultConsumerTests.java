@@ -26,6 +26,7 @@ import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.elasticsearch.search.aggregations.AggregationReduceContext;
 import org.elasticsearch.search.aggregations.InternalAggregations;
 import org.elasticsearch.search.aggregations.pipeline.PipelineAggregator;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.threadpool.TestThreadPool;
@@ -148,6 +149,64 @@ public class QueryPhaseResultConsumerTests extends ESTestCase {
         }
     }
 
+    public void testPartialReduceWhenBufferedTopDocsExceedLimit() throws Exception {
+        SearchRequest searchRequest = new SearchRequest("index");
+        searchRequest.source(new SearchSourceBuilder().size(10));
+        searchRequest.setBatchedReduceSize(100);
+        AtomicInteger numPartialReduces = new AtomicInteger();
+        SearchProgressListener progressListener = new SearchProgressListener() {
+            @Override
+            protected void onPartialReduce(List<SearchShard> shards, TotalHits totalHits, InternalAggregations aggs, int reducePhase) {
+                numPartialReduces.incrementAndGet();
+            }
+        };
+        int numShards = 10;
+        try (
+            QueryPhaseResultConsumer queryPhaseResultConsumer = new QueryPhaseResultConsumer(
+                searchRequest,
+                executor,
+                new NoopCircuitBreaker(CircuitBreaker.REQUEST),
+                searchPhaseController,
+                () -> false,
+                progressListener,
+                numShards,
+                e -> fail("unexpected partial merge failure: " + e),
+                25
+            )
+        ) {
+            CountDownLatch latch = new CountDownLatch(numShards);
+            float maxScore = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < numShards; i++) {
+                SearchShardTarget searchShardTarget = new SearchShardTarget("node", new ShardId("index", "uuid", i), null);
+                QuerySearchResult querySearchResult = new QuerySearchResult();
+                ScoreDoc[] scoreDocs = new ScoreDoc[10];
+                for (int doc = 0; doc < scoreDocs.length; doc++) {
+                    // distinct and descending scores per shard
+                    scoreDocs[doc] = new ScoreDoc(doc, i * 100 + (scoreDocs.length - doc));
+                }
+                maxScore = Math.max(maxScore, scoreDocs[0].score);
+                TopDocs topDocs = new TopDocs(new TotalHits(scoreDocs.length, TotalHits.Relation.EQUAL_TO), scoreDocs);
+                querySearchResult.topDocs(new TopDocsAndMaxScore(topDocs, scoreDocs[0].score), new DocValueFormat[0]);
+                querySearchResult.setSearchShardTarget(searchShardTarget);
+                querySearchResult.setShardIndex(i);
+                queryPhaseResultConsumer.consumeResult(querySearchResult, latch::countDown);
+            }
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+            // a partial reduce is triggered once 25 or more top docs are buffered, well before the batched reduce size is reached
+            assertEquals(3, numPartialReduces.get());
+
+            SearchPhaseController.ReducedQueryPhase reduce = queryPhaseResultConsumer.reduce();
+            assertEquals(4, reduce.numReducePhases());
+            assertEquals(100, reduce.totalHits().value());
+            ScoreDoc[] merged = reduce.sortedTopDocs().scoreDocs();
+            assertEquals(10, merged.length);
+            assertEquals(maxScore, merged[0].score, 0f);
+            for (ScoreDoc scoreDoc : merged) {
+                assertEquals(numShards - 1, scoreDoc.shardIndex);
+            }
+        }
+    }
+
     private static class ThrowingSearchProgressListener extends SearchProgressListener {
         private final AtomicInteger onQueryResult = new AtomicInteger(0);
         private final AtomicInteger onPartialReduce = new AtomicInteger(0);
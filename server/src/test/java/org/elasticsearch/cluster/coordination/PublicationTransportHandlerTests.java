@@ -9,6 +9,7 @@
 package org.elasticsearch.cluster.coordination;
 
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.ExceptionsHelper;
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.TransportVersions;
@@ -37,6 +38,7 @@ import org.elasticsearch.common.util.MockPageCacheRecycler;
 import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
 import org.elasticsearch.core.IOUtils;
 import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexVersions;
 import org.elasticsearch.tasks.Task;
 import org.elasticsearch.tasks.TaskId;
@@ -49,6 +51,7 @@ import org.elasticsearch.threadpool.TestThreadPool;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.transport.BytesRefRecycler;
 import org.elasticsearch.transport.BytesTransportRequest;
+import org.elasticsearch.transport.ConnectTransportException;
 import org.elasticsearch.transport.RemoteTransportException;
 import org.elasticsearch.transport.TestTransportChannel;
 import org.elasticsearch.transport.Transport;
@@ -60,6 +63,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -67,13 +71,18 @@ import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyMap;
 import static org.elasticsearch.cluster.service.MasterService.STATE_UPDATE_ACTION_NAME;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -520,4 +529,268 @@ public class PublicationTransportHandlerTests extends ESTestCase {
         assertFalse(deterministicTaskQueue.hasRunnableTasks());
         assertFalse(deterministicTaskQueue.hasDeferredTasks());
     }
+
+    public void testRelaySubtrees() {
+        final List<Integer> nodes = IntStream.range(0, between(0, 1000)).boxed().toList();
+        final int fanout = between(1, 20);
+        final List<List<Integer>> subtrees = PublicationTransportHandler.relaySubtrees(nodes, fanout);
+        assertThat(subtrees.size(), equalTo(Math.min(fanout, nodes.size())));
+        assertEquals(nodes, subtrees.stream().flatMap(List::stream).toList());
+        for (final List<Integer> subtree : subtrees) {
+            assertThat(subtree.size(), greaterThanOrEqualTo(Math.max(1, nodes.size() / fanout)));
+            assertThat(subtree.size(), lessThanOrEqualTo(nodes.size() / fanout + 1));
+        }
+    }
+
+    public void testRelayedPublicationReducesPublicationLatency() {
+        final int nodeCount = 1000;
+        final long directLatencyMillis = simulatePublication(nodeCount, 0, Set.of(), Set.of());
+        final long relayedLatencyMillis = simulatePublication(nodeCount, between(4, 16), Set.of(), Set.of());
+        logger.info(
+            "publication to [{}] nodes took [{}ms] directly and [{}ms] relayed",
+            nodeCount,
+            directLatencyMillis,
+            relayedLatencyMillis
+        );
+        // every message occupies the sender's outbound link for a while, so the master alone needs nodeCount of these intervals
+        assertThat(directLatencyMillis, greaterThanOrEqualTo(nodeCount * MESSAGE_TRANSMISSION_MILLIS));
+        assertThat(relayedLatencyMillis * 10, lessThan(directLatencyMillis));
+    }
+
+    public void testRelayedPublicationWithUnreachableNodes() {
+        final int nodeCount = between(10, 200);
+        final Set<String> unreachableNodeIds = new HashSet<>();
+        for (int i = between(1, 5); i > 0; i--) {
+            unreachableNodeIds.add("node-" + between(0, nodeCount - 1));
+        }
+        simulatePublication(nodeCount, between(2, 8), unreachableNodeIds, Set.of());
+    }
+
+    public void testRelayedPublicationWithHungNodes() {
+        final int nodeCount = between(10, 200);
+        final Set<String> hungNodeIds = new HashSet<>();
+        for (int i = between(1, 5); i > 0; i--) {
+            hungNodeIds.add("node-" + between(0, nodeCount - 1));
+        }
+        // a hung node never responds, so without a bound on each hop it would hold back the outcomes of its whole subtree forever
+        final long latencyMillis = simulatePublication(nodeCount, between(2, 8), Set.of(), hungNodeIds);
+        assertThat(
+            latencyMillis,
+            lessThanOrEqualTo(RELAY_TIMEOUT.millis() + nodeCount * (MESSAGE_TRANSMISSION_MILLIS + 2 * NETWORK_LATENCY_MILLIS))
+        );
+    }
+
+    public void testSubtreeTimeoutLeavesTimeForTheResponse() {
+        final TimeValue timeout = TimeValue.timeValueMillis(randomLongBetween(1, 100_000));
+        final TimeValue subtreeTimeout = PublicationTransportHandler.subtreeTimeout(timeout);
+        assertThat(subtreeTimeout.nanos(), lessThan(timeout.nanos()));
+        assertThat(subtreeTimeout.nanos(), greaterThanOrEqualTo(timeout.nanos() / 2));
+    }
+
+    private static final long MESSAGE_TRANSMISSION_MILLIS = 10;
+    private static final long NETWORK_LATENCY_MILLIS = 1;
+    private static final TimeValue RELAY_TIMEOUT = TimeValue.timeValueSeconds(10);
+
+    /**
+     * Publishes a full cluster state and then a diff from a master to {@code nodeCount} other nodes, where each message occupies the
+     * sender's outbound link for {@link #MESSAGE_TRANSMISSION_MILLIS}, and returns how long it took for the master to receive the outcome
+     * of publishing the diff to every node. Nodes in {@code hungNodeIds} receive the full state but never respond to the diff.
+     */
+    private long simulatePublication(int nodeCount, int relayFanout, Set<String> unreachableNodeIds, Set<String> hungNodeIds) {
+        final var deterministicTaskQueue = new DeterministicTaskQueue();
+        final var threadPool = deterministicTaskQueue.getThreadPool();
+
+        final var transportsByNode = new HashMap<DiscoveryNode, MockTransport>();
+        final var transportHandlersByNode = new HashMap<DiscoveryNode, PublicationTransportHandler>();
+        final var receivedStates = new HashMap<DiscoveryNode, ClusterState>();
+        final var hanging = new AtomicBoolean();
+        final var hungRequests = new ArrayList<Runnable>();
+
+        final var masterNode = DiscoveryNodeUtils.builder("master").roles(Set.of(DiscoveryNodeRole.MASTER_ROLE)).build();
+        final var nodesBuilder = DiscoveryNodes.builder().add(masterNode).localNodeId(masterNode.getId()).masterNodeId(masterNode.getId());
+        final var otherNodes = new ArrayList<DiscoveryNode>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            final var node = DiscoveryNodeUtils.builder("node-" + i).roles(Set.of(DiscoveryNodeRole.DATA_ROLE)).build();
+            otherNodes.add(node);
+            nodesBuilder.add(node);
+        }
+
+        for (final var discoveryNode : nodesBuilder.build()) {
+            final var transport = new MockTransport() {
+                private long outboundLinkFreeMillis;
+
+                @Override
+                protected void onSendRequest(long requestId, String action, TransportRequest request, DiscoveryNode node) {
+                    @SuppressWarnings("unchecked")
+                    final var context = (ResponseContext<TransportResponse>) getResponseHandlers().remove(requestId);
+                    outboundLinkFreeMillis = Math.max(outboundLinkFreeMillis, deterministicTaskQueue.getCurrentTimeMillis())
+                        + MESSAGE_TRANSMISSION_MILLIS;
+                    deterministicTaskQueue.scheduleAt(outboundLinkFreeMillis + NETWORK_LATENCY_MILLIS, () -> {
+                        if (unreachableNodeIds.contains(node.getId())) {
+                            context.handler().handleException(new ConnectTransportException(node, "simulated", action));
+                            return;
+                        }
+                        if (hanging.get() && hungNodeIds.contains(node.getId())) {
+                            hungRequests.add(
+                                () -> context.handler().handleException(new ConnectTransportException(node, "simulated disconnect", action))
+                            );
+                            return;
+                        }
+                        final var channel = new TestTransportChannel(
+                            ActionListener.wrap(
+                                response -> respond(() -> context.handler().handleResponse(response)),
+                                e -> respond(() -> context.handler().handleException(new RemoteTransportException("wrapped", e)))
+                            )
+                        );
+                        try {
+                            transportsByNode.get(node)
+                                .getRequestHandlers()
+                                .getHandler(action)
+                                .getHandler()
+                                .messageReceived(
+                                    request,
+                                    channel,
+                                    new Task(randomNonNegativeLong(), "test", "test", "", TaskId.EMPTY_TASK_ID, Map.of())
+                                );
+                        } catch (Exception e) {
+                            context.handler().handleException(new RemoteTransportException("wrapped", e));
+                        }
+                    });
+                }
+
+                private void respond(Runnable runnable) {
+                    deterministicTaskQueue.scheduleAt(deterministicTaskQueue.getCurrentTimeMillis() + NETWORK_LATENCY_MILLIS, runnable);
+                }
+            };
+            transportsByNode.put(discoveryNode, transport);
+
+            final var transportService = transport.createTransportService(
+                Settings.EMPTY,
+                threadPool,
+                TransportService.NOOP_TRANSPORT_INTERCEPTOR,
+                ignored -> discoveryNode,
+                null,
+                Set.of()
+            );
+            final var publicationTransportHandler = new PublicationTransportHandler(
+                transportService,
+                writableRegistry(),
+                publishRequest -> {
+                    assertNull(receivedStates.put(discoveryNode, publishRequest.getAcceptedState()));
+                    return new PublishWithJoinResponse(
+                        new PublishResponse(publishRequest.getAcceptedState().term(), publishRequest.getAcceptedState().version()),
+                        Optional.empty()
+                    );
+                },
+                discoveryNode.equals(masterNode) ? relayFanout : 0,
+                RELAY_TIMEOUT
+            );
+            transportHandlersByNode.put(discoveryNode, publicationTransportHandler);
+            transportService.start();
+            transportService.acceptIncomingRequests();
+        }
+
+        threadPool.getThreadContext().markAsSystemContext();
+
+        final var clusterState0 = ClusterState.builder(ClusterState.EMPTY_STATE)
+            .nodes(nodesBuilder)
+            .metadata(
+                Metadata.builder()
+                    .coordinationMetadata(
+                        CoordinationMetadata.builder().lastAcceptedConfiguration(VotingConfiguration.of(masterNode)).build()
+                    )
+                    .generateClusterUuidIfNeeded()
+            )
+            .build();
+        final var clusterState1 = ClusterState.builder(clusterState0).incrementVersion().build();
+
+        // the nodes have no state yet so they reject the diff and are sent the full state instead
+        final var masterHandler = transportHandlersByNode.get(masterNode);
+        publish(deterministicTaskQueue, masterHandler, clusterState0, clusterState0, otherNodes, unreachableNodeIds, Set.of());
+        for (final var node : otherNodes) {
+            assertEquals(unreachableNodeIds.contains(node.getId()) == false, receivedStates.containsKey(node));
+        }
+        receivedStates.clear();
+
+        hanging.set(true);
+        final long startMillis = deterministicTaskQueue.getCurrentTimeMillis();
+        final long endMillis = publish(
+            deterministicTaskQueue,
+            masterHandler,
+            clusterState0,
+            clusterState1,
+            otherNodes,
+            unreachableNodeIds,
+            hungNodeIds
+        );
+        // the hung nodes eventually disconnect, which releases everything that was waiting for them
+        hungRequests.forEach(Runnable::run);
+        deterministicTaskQueue.runAllTasksInTimeOrder();
+        for (final var node : otherNodes) {
+            if (unreachableNodeIds.contains(node.getId()) || hungNodeIds.contains(node.getId())) {
+                assertFalse(receivedStates.containsKey(node));
+            } else {
+                assertEquals(clusterState1.stateUUID(), receivedStates.get(node).stateUUID());
+                final var stats = transportHandlersByNode.get(node).stats();
+                assertEquals(1, stats.getFullClusterStateReceivedCount());
+                assertEquals(1, stats.getCompatibleClusterStateDiffReceivedCount());
+            }
+        }
+        return endMillis - startMillis;
+    }
+
+    private static long publish(
+        DeterministicTaskQueue deterministicTaskQueue,
+        PublicationTransportHandler handler,
+        ClusterState previousState,
+        ClusterState newState,
+        List<DiscoveryNode> nodes,
+        Set<String> unreachableNodeIds,
+        Set<String> hungNodeIds
+    ) {
+        final var outcomes = new HashMap<DiscoveryNode, Exception>();
+        final var lastOutcomeMillis = new AtomicLong();
+        final var context = handler.newPublicationContext(
+            new ClusterStatePublicationEvent(
+                new BatchSummary(() -> "test"),
+                previousState,
+                newState,
+                new Task(randomNonNegativeLong(), "test", "test", "", TaskId.EMPTY_TASK_ID, Map.of()),
+                0L,
+                0L
+            )
+        );
+        try {
+            for (final var node : nodes) {
+                context.sendPublishRequest(node, new PublishRequest(newState), ActionListener.wrap(response -> {
+                    assertFalse(outcomes.containsKey(node));
+                    outcomes.put(node, null);
+                    lastOutcomeMillis.set(deterministicTaskQueue.getCurrentTimeMillis());
+                }, e -> {
+                    assertFalse(outcomes.containsKey(node));
+                    outcomes.put(node, e);
+                    lastOutcomeMillis.set(deterministicTaskQueue.getCurrentTimeMillis());
+                }));
+            }
+            context.sendRelayedPublishRequests();
+        } finally {
+            context.decRef();
+        }
+        deterministicTaskQueue.runAllTasksInTimeOrder();
+
+        for (final var node : nodes) {
+            if (hungNodeIds.contains(node.getId())) {
+                // either still waiting for the hung node, or the master gave up on it as a relay
+                if (outcomes.containsKey(node)) {
+                    assertThat(outcomes.get(node), instanceOf(ElasticsearchTimeoutException.class));
+                }
+            } else if (unreachableNodeIds.contains(node.getId())) {
+                assertThat(ExceptionsHelper.unwrapCause(outcomes.get(node)), instanceOf(ConnectTransportException.class));
+            } else {
+                assertTrue("no outcome for " + node, outcomes.containsKey(node));
+                assertNull(outcomes.get(node));
+            }
+        }
+        return lastOutcomeMillis.get();
+    }
 }
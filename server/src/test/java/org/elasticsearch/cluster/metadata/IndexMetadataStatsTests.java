@@ -129,7 +129,8 @@ public class IndexMetadataStatsTests extends ESTestCase {
                     totalIndexingTimeSinceShardStartedInNanos,
                     totalActiveTimeInNanos,
                     0.0,
-                    0.0
+                    0.0,
+                    0
                 )
             );
         return new ShardStats(shardRouting, commonStats, null, null, null, null, null, false, false, 0);
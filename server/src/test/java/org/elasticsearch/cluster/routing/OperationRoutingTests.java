@@ -468,4 +468,45 @@ public class OperationRoutingTests extends ESTestCase {
         terminate(threadPool);
     }
 
+    public void testARSReactsToSearchThreadPoolUtilization() throws Exception {
+        int numIndices = 1;
+        int numShards = 1;
+        int numReplicas = 1;
+        ProjectId projectId = randomProjectIdOrDefault();
+        String[] indexNames = new String[] { "test" };
+
+        ClusterState state = ClusterStateCreationUtils.stateWithAssignedPrimariesAndReplicas(projectId, indexNames, numShards, numReplicas);
+        ProjectState project = state.projectState(projectId);
+        OperationRouting opRouting = new OperationRouting(
+            Settings.EMPTY,
+            new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS)
+        );
+        opRouting.setUseAdaptiveReplicaSelection(true);
+        TestThreadPool threadPool = new TestThreadPool("test");
+        ClusterService clusterService = ClusterServiceUtils.createClusterService(threadPool);
+
+        ResponseCollectorService collector = new ResponseCollectorService(clusterService);
+
+        // Both nodes respond equally fast with empty queues, the first one has more idle search threads
+        long responseTime = TimeValue.timeValueMillis(50).nanos();
+        long serviceTime = TimeValue.timeValueMillis(40).nanos();
+        collector.addNodeStatistics("node_0", 0, responseTime, serviceTime, 0.1);
+        collector.addNodeStatistics("node_1", 0, responseTime, serviceTime, 0.3);
+
+        List<ShardIterator> groupIterator = opRouting.searchShards(project, indexNames, null, null, collector, new HashMap<>());
+        assertThat(groupIterator.size(), equalTo(numIndices * numShards));
+        assertThat(groupIterator.get(0).nextOrNull().currentNodeId(), equalTo("node_0"));
+
+        // Replay the first node becoming hot: all of its search threads get busy before anything queues up or
+        // responses slow down, which the queue size and response time alone would only notice later
+        for (int i = 0; i < 5; i++) {
+            collector.addNodeStatistics("node_0", 0, responseTime, serviceTime, 0.95);
+        }
+
+        groupIterator = opRouting.searchShards(project, indexNames, null, null, collector, new HashMap<>());
+        assertThat(groupIterator.get(0).nextOrNull().currentNodeId(), equalTo("node_1"));
+
+        IOUtils.close(clusterService);
+        terminate(threadPool);
+    }
 }
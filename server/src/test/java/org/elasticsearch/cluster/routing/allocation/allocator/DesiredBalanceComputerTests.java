@@ -92,6 +92,7 @@ import static org.hamcrest.Matchers.allOf;
 import static org.hamcrest.Matchers.anyOf;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.Matchers.notNullValue;
@@ -123,6 +124,67 @@ public class DesiredBalanceComputerTests extends ESAllocationTestCase {
         );
     }
 
+    public void testReusesConvergedBalance() {
+        var allocateCalls = new AtomicInteger();
+        var desiredBalanceComputer = createDesiredBalanceComputer(
+            Settings.builder().put(DesiredBalanceComputer.REUSE_CONVERGED_BALANCE_SETTING.getKey(), true).build(),
+            allocateCalls
+        );
+        var initialState = createInitialClusterState(3);
+        var index = initialState.metadata().getProject().index(TEST_INDEX).getIndex();
+        var expectedAssignments = Map.of(
+            new ShardId(index, 0),
+            new ShardAssignment(Set.of("node-0", "node-1"), 2, 0, 0),
+            new ShardId(index, 1),
+            new ShardAssignment(Set.of("node-0", "node-1"), 2, 0, 0)
+        );
+
+        var desiredBalance1 = desiredBalanceComputer.compute(
+            DesiredBalance.BECOME_MASTER_INITIAL,
+            createInput(initialState),
+            new LinkedList<>(),
+            input -> true
+        );
+        assertDesiredAssignments(desiredBalance1, expectedAssignments);
+        assertThat(allocateCalls.get(), greaterThan(0));
+
+        // the cluster catches up with the desired balance, e.g. with a series of shard-started events
+        var changes = new RoutingChangesObserver.DelegatingRoutingChangesObserver();
+        var routingNodes = initialState.mutableRoutingNodes();
+        for (var primary : new boolean[] { true, false }) {
+            for (final var iterator = routingNodes.unassigned().iterator(); iterator.hasNext();) {
+                final var shardRouting = iterator.next();
+                if (shardRouting.primary() == primary) {
+                    var initialized = iterator.initialize(primary ? "node-0" : "node-1", null, 0L, changes);
+                    if (primary || randomBoolean()) {
+                        routingNodes.startShard(initialized, changes, 0L);
+                    }
+                }
+            }
+        }
+        var balancedState = rebuildRoutingTable(initialState, routingNodes);
+
+        allocateCalls.set(0);
+        var input2 = createInput(balancedState);
+        var desiredBalance2 = desiredBalanceComputer.compute(desiredBalance1, input2, new LinkedList<>(), input -> true);
+        assertDesiredAssignments(desiredBalance2, expectedAssignments);
+        assertThat(desiredBalance2.lastConvergedIndex(), equalTo(input2.index()));
+        assertThat("the converged balance should be reused", allocateCalls.get(), equalTo(0));
+
+        // a cluster that diverged from the desired balance requires the full computation
+        routingNodes = initialState.mutableRoutingNodes();
+        for (final var iterator = routingNodes.unassigned().iterator(); iterator.hasNext();) {
+            final var shardRouting = iterator.next();
+            if (shardRouting.primary() && shardRouting.shardId().id() == 0) {
+                routingNodes.startShard(iterator.initialize("node-2", null, 0L, changes), changes, 0L);
+                break;
+            }
+        }
+        var divergedState = rebuildRoutingTable(initialState, routingNodes);
+        desiredBalanceComputer.compute(desiredBalance2, createInput(divergedState), new LinkedList<>(), input -> true);
+        assertThat(allocateCalls.get(), greaterThan(0));
+    }
+
     public void testStopsComputingWhenStale() {
         var desiredBalanceComputer = createDesiredBalanceComputer();
         var clusterState = createInitialClusterState(3);
@@ -1504,9 +1566,18 @@ public class DesiredBalanceComputerTests extends ESAllocationTestCase {
      * @return a {@link DesiredBalanceComputer} which allocates unassigned primaries to node-0 and unassigned replicas to node-1
      */
     private static DesiredBalanceComputer createDesiredBalanceComputer() {
-        return createDesiredBalanceComputer(new ShardsAllocator() {
+        return createDesiredBalanceComputer(Settings.EMPTY, new AtomicInteger());
+    }
+
+    /**
+     * Like {@link #createDesiredBalanceComputer()} but with the given settings, counting the calls to the delegate allocator.
+     */
+    private static DesiredBalanceComputer createDesiredBalanceComputer(Settings settings, AtomicInteger allocateCalls) {
+        final var clusterSettings = createBuiltInClusterSettings(settings);
+        return new DesiredBalanceComputer(clusterSettings, TimeProviderUtils.create(() -> 0L), new ShardsAllocator() {
             @Override
             public void allocate(RoutingAllocation allocation) {
+                allocateCalls.incrementAndGet();
                 final var unassignedIterator = allocation.routingNodes().unassigned().iterator();
                 while (unassignedIterator.hasNext()) {
                     final var shardRouting = unassignedIterator.next();
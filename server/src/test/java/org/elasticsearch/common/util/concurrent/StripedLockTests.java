@@ -0,0 +1,106 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.common.util.concurrent;
+
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.test.ESTestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+
+public class StripedLockTests extends ESTestCase {
+
+    public void testStripesAreRoundedToPowerOfTwo() {
+        assertThat(new StripedLock<String>(1).stripes(), equalTo(1));
+        assertThat(new StripedLock<String>(2).stripes(), equalTo(2));
+        assertThat(new StripedLock<String>(3).stripes(), equalTo(4));
+        assertThat(new StripedLock<String>(16).stripes(), equalTo(16));
+        assertThat(new StripedLock<String>(17).stripes(), equalTo(32));
+        assertThat(new StripedLock<String>(StripedLock.MAX_STRIPES).stripes(), equalTo(StripedLock.MAX_STRIPES));
+    }
+
+    public void testInvalidStripes() {
+        int stripes = randomBoolean()
+            ? randomIntBetween(Integer.MIN_VALUE, 0)
+            : randomIntBetween(StripedLock.MAX_STRIPES + 1, Integer.MAX_VALUE);
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> new StripedLock<String>(stripes));
+        assertThat(e.getMessage(), containsString("stripes must be in [1, " + StripedLock.MAX_STRIPES + "]"));
+    }
+
+    public void testAcquireAndRelease() {
+        StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        assertFalse(lock.hasLockedKeys());
+        assertFalse(lock.isHeldByCurrentThread("foo"));
+        Releasable foo = lock.acquire("foo");
+        assertTrue(lock.hasLockedKeys());
+        assertTrue(lock.isHeldByCurrentThread("foo"));
+        // reentrant
+        Releasable again = lock.acquire("foo");
+        again.close();
+        assertTrue(lock.isHeldByCurrentThread("foo"));
+        foo.close();
+        assertFalse(lock.isHeldByCurrentThread("foo"));
+        assertFalse(lock.hasLockedKeys());
+    }
+
+    public void testTryAcquire() throws InterruptedException {
+        StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 64));
+        Releasable foo = lock.tryAcquire("foo");
+        assertNotNull(foo);
+        Thread thread = new Thread(() -> assertNull(lock.tryAcquire("foo")));
+        thread.start();
+        thread.join();
+        foo.close();
+        assertFalse(lock.hasLockedKeys());
+    }
+
+    public void testMutualExclusion() throws InterruptedException {
+        StripedLock<String> lock = new StripedLock<>(randomIntBetween(1, 8));
+        String[] keys = new String[randomIntBetween(1, 40)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = randomAlphaOfLength(10);
+        }
+        Map<String, Integer> counters = new HashMap<>();
+        Set<String> held = ConcurrentCollections.newConcurrentSet();
+        int numThreads = randomIntBetween(2, 8);
+        int iterations = randomIntBetween(100, 1000);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        Thread[] threads = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            threads[t] = new Thread(() -> {
+                safeAwait(startLatch);
+                for (int i = 0; i < iterations; i++) {
+                    String key = randomFrom(keys);
+                    try (Releasable ignored = lock.acquire(key)) {
+                        assertTrue("key [" + key + "] is held by another thread", held.add(key));
+                        // keys on the same stripe are serialized by the lock, but keys on different stripes run
+                        // concurrently and would race on the shared map, so guard it with the map itself
+                        synchronized (counters) {
+                            counters.put(key, counters.getOrDefault(key, 0) + 1);
+                        }
+                        held.remove(key);
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        startLatch.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(counters.values().stream().mapToInt(Integer::intValue).sum(), equalTo(numThreads * iterations));
+        assertFalse(lock.hasLockedKeys());
+    }
+}
@@ -173,6 +173,54 @@ public class ES87TSDBDocValuesEncoderTests extends LuceneTestCase {
         }
     }
 
+    /** Random blocks covering every combination of the GCD, offset and delta stages, decoded one after the other. */
+    public void testRandomStageCombinations() throws IOException {
+        final int numBlocks = randomIntBetween(1, 20);
+        final long[][] blocks = new long[numBlocks][];
+        for (int b = 0; b < numBlocks; b++) {
+            final long gcd = randomBoolean() ? 1 : randomLongBetween(2, 1 << 20);
+            final long offset = randomBoolean() ? 0 : randomLongBetween(-(1L << 40), 1L << 40);
+            final int bitsPerValue = randomIntBetween(1, 40);
+            final long[] arr = new long[blockSize];
+            for (int i = 0; i < blockSize; ++i) {
+                arr[i] = randomLongBetween(0, (1L << bitsPerValue) - 1);
+            }
+            switch (randomIntBetween(0, 2)) {
+                case 0 -> Arrays.sort(arr);
+                case 1 -> {
+                    Arrays.sort(arr);
+                    for (int i = 0; i < blockSize / 2; ++i) {
+                        long tmp = arr[i];
+                        arr[i] = arr[blockSize - 1 - i];
+                        arr[blockSize - 1 - i] = tmp;
+                    }
+                }
+                default -> {
+                    // leave unsorted
+                }
+            }
+            for (int i = 0; i < blockSize; ++i) {
+                arr[i] = arr[i] * gcd + offset;
+            }
+            blocks[b] = arr;
+        }
+        try (Directory dir = newDirectory()) {
+            try (IndexOutput out = dir.createOutput("tests.bin", IOContext.DEFAULT)) {
+                for (long[] block : blocks) {
+                    encoder.encode(block.clone(), out);
+                }
+            }
+            try (IndexInput in = dir.openInput("tests.bin", IOContext.DEFAULT)) {
+                long[] decoded = new long[blockSize];
+                for (long[] block : blocks) {
+                    encoder.decode(in, decoded);
+                    assertArrayEquals(block, decoded);
+                }
+                assertEquals(in.length(), in.getFilePointer());
+            }
+        }
+    }
+
     private void doTest(long[] arr, long expectedNumBytes) throws IOException {
         final long[] expected = arr.clone();
         try (Directory dir = newDirectory()) {
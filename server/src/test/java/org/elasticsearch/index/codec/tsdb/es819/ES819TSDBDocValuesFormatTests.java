@@ -29,10 +29,14 @@ import org.apache.lucene.util.BytesRef;
 import org.elasticsearch.cluster.metadata.DataStream;
 import org.elasticsearch.index.codec.Elasticsearch900Lucene101Codec;
 import org.elasticsearch.index.codec.tsdb.ES87TSDBDocValuesFormatTests;
+import org.elasticsearch.index.mapper.BlockLoader;
+import org.elasticsearch.index.mapper.TestBlock;
 
 import java.util.Arrays;
 import java.util.Locale;
 
+import static org.hamcrest.Matchers.instanceOf;
+
 public class ES819TSDBDocValuesFormatTests extends ES87TSDBDocValuesFormatTests {
 
     private final Codec codec = new Elasticsearch900Lucene101Codec() {
@@ -514,6 +518,78 @@ public class ES819TSDBDocValuesFormatTests extends ES87TSDBDocValuesFormatTests
         }
     }
 
+    public void testBulkLoadDenseValues() throws Exception {
+        String timestampField = "@timestamp";
+        String hostnameField = "host.name";
+        long baseTimestamp = 1704067200000L;
+
+        var config = getTimeSeriesIndexWriterConfig(hostnameField, timestampField);
+        try (var dir = newDirectory(); var iw = new IndexWriter(dir, config)) {
+            int numDocs = 256 + random().nextInt(4096);
+            int numHosts = 2 + random().nextInt(32);
+            for (int i = 0; i < numDocs; i++) {
+                var d = new Document();
+                String hostName = String.format(Locale.ROOT, "host-%03d", i % numHosts);
+                d.add(new SortedDocValuesField(hostnameField, new BytesRef(hostName)));
+                d.add(new SortedNumericDocValuesField(timestampField, baseTimestamp + (1000L * i)));
+                d.add(new NumericDocValuesField("counter", i));
+                iw.addDocument(d);
+                if (i % 100 == 0) {
+                    iw.commit();
+                }
+            }
+            iw.forceMerge(1);
+
+            try (var reader = DirectoryReader.open(iw)) {
+                assertEquals(1, reader.leaves().size());
+                var leaf = reader.leaves().get(0).reader();
+
+                // a random non-decreasing set of docs, with gaps spanning whole blocks
+                int[] docs = new int[randomIntBetween(1, numDocs)];
+                for (int i = 0; i < docs.length; i++) {
+                    docs[i] = randomIntBetween(0, numDocs - 1);
+                }
+                Arrays.sort(docs);
+
+                var counterDV = leaf.getNumericDocValues("counter");
+                var expectedCounterDV = leaf.getNumericDocValues("counter");
+                assertThat(counterDV, instanceOf(BlockLoader.OptionalColumnAtATimeReader.class));
+                var counters = (TestBlock) ((BlockLoader.OptionalColumnAtATimeReader) counterDV).tryRead(
+                    TestBlock.factory(numDocs),
+                    TestBlock.docs(docs)
+                );
+                assertNotNull(counters);
+                assertEquals(docs.length, counters.size());
+                for (int i = 0; i < docs.length; i++) {
+                    assertTrue(expectedCounterDV.advanceExact(docs[i]));
+                    assertEquals(expectedCounterDV.longValue(), counters.get(i));
+                }
+                // going backwards isn't supported by the bulk path
+                if (docs[docs.length - 1] > 0) {
+                    var backwards = ((BlockLoader.OptionalColumnAtATimeReader) counterDV).tryRead(
+                        TestBlock.factory(numDocs),
+                        TestBlock.docs(0)
+                    );
+                    assertNull(backwards);
+                }
+
+                var hostNameDV = leaf.getSortedDocValues(hostnameField);
+                var expectedHostNameDV = leaf.getSortedDocValues(hostnameField);
+                assertThat(hostNameDV, instanceOf(BlockLoader.OptionalColumnAtATimeReader.class));
+                var hostNames = (TestBlock) ((BlockLoader.OptionalColumnAtATimeReader) hostNameDV).tryRead(
+                    TestBlock.factory(numDocs),
+                    TestBlock.docs(docs)
+                );
+                assertNotNull(hostNames);
+                assertEquals(docs.length, hostNames.size());
+                for (int i = 0; i < docs.length; i++) {
+                    assertTrue(expectedHostNameDV.advanceExact(docs[i]));
+                    assertEquals(expectedHostNameDV.lookupOrd(expectedHostNameDV.ordValue()), hostNames.get(i));
+                }
+            }
+        }
+    }
+
     private IndexWriterConfig getTimeSeriesIndexWriterConfig(String hostnameField, String timestampField) {
         var config = new IndexWriterConfig();
         config.setIndexSort(
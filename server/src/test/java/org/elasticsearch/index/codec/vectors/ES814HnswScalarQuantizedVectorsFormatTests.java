@@ -17,6 +17,7 @@ import org.apache.lucene.codecs.perfield.PerFieldKnnVectorsFormat;
 import org.apache.lucene.document.Document;
 import org.apache.lucene.document.Field;
 import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StoredField;
 import org.apache.lucene.index.CodecReader;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.FloatVectorValues;
@@ -29,11 +30,15 @@ import org.apache.lucene.index.VectorSimilarityFunction;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.tests.index.BaseKnnVectorsFormatTestCase;
+import org.apache.lucene.util.NamedThreadFactory;
 import org.elasticsearch.common.logging.LogConfigurator;
 import org.elasticsearch.index.codec.vectors.reflect.OffHeapByteSizeUtils;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.apache.lucene.index.VectorSimilarityFunction.DOT_PRODUCT;
 import static org.apache.lucene.search.DocIdSetIterator.NO_MORE_DOCS;
@@ -184,6 +189,62 @@ public class ES814HnswScalarQuantizedVectorsFormatTests extends BaseKnnVectorsFo
         }
     }
 
+    public void testMergeWithMultipleWorkers() throws Exception {
+        final int numMergeWorkers = random().nextInt(2, 5);
+        final ExecutorService mergeExec = Executors.newFixedThreadPool(numMergeWorkers, new NamedThreadFactory("hnsw-merge"));
+        try {
+            final KnnVectorsFormat format = new ES814HnswScalarQuantizedVectorsFormat(16, 100, null, 7, false, numMergeWorkers, mergeExec);
+            final int dims = random().nextInt(4, 32);
+            final int numSegments = random().nextInt(2, 5);
+            final int docsPerSegment = random().nextInt(50, 200);
+            final float[][] vectors = new float[numSegments * docsPerSegment][];
+            try (Directory dir = newDirectory()) {
+                try (IndexWriter writer = new IndexWriter(dir, newIndexWriterConfig().setCodec(new Lucene101Codec() {
+                    @Override
+                    public KnnVectorsFormat getKnnVectorsFormatForField(String field) {
+                        return format;
+                    }
+                }))) {
+                    for (int i = 0; i < vectors.length; i++) {
+                        vectors[i] = randomVector(dims);
+                        Document doc = new Document();
+                        doc.add(new KnnFloatVectorField("field", vectors[i], VectorSimilarityFunction.EUCLIDEAN));
+                        doc.add(new StoredField("id", i));
+                        writer.addDocument(doc);
+                        if ((i + 1) % docsPerSegment == 0) {
+                            writer.commit();
+                        }
+                    }
+                    writer.forceMerge(1);
+                }
+                try (DirectoryReader reader = DirectoryReader.open(dir)) {
+                    LeafReader leafReader = getOnlyLeafReader(reader);
+                    assertEquals(vectors.length, leafReader.getFloatVectorValues("field").size());
+                    StoredFields storedFields = leafReader.storedFields();
+                    // the graph built by the merge workers must connect every vector, so that it can be found from the entry point
+                    int found = 0;
+                    for (int i = 0; i < vectors.length; i++) {
+                        var hits = leafReader.searchNearestVectors("field", vectors[i], 1, null, Integer.MAX_VALUE);
+                        if (storedFields.document(hits.scoreDocs[0].doc).getField("id").numericValue().intValue() == i) {
+                            found++;
+                        }
+                    }
+                    assertTrue("found " + found + " of " + vectors.length, found >= vectors.length * 0.9);
+                }
+            }
+        } finally {
+            mergeExec.shutdown();
+            assertTrue(mergeExec.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    public void testMergeWorkersRequireExecutor() {
+        expectThrows(
+            IllegalArgumentException.class,
+            () -> new ES814HnswScalarQuantizedVectorsFormat(16, 100, null, 7, false, random().nextInt(2, 8), null)
+        );
+    }
+
     public void testSimpleOffHeapSize() throws IOException {
         float[] vector = randomVector(random().nextInt(12, 500));
         try (Directory dir = newDirectory(); IndexWriter w = new IndexWriter(dir, newIndexWriterConfig())) {
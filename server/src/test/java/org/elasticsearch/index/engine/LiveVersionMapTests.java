@@ -103,8 +103,12 @@ public class LiveVersionMapTests extends ESTestCase {
         return BytesRef.deepCopyOf(builder.get());
     }
 
+    private static LiveVersionMap newLiveVersionMapWithRandomLocking() {
+        return new LiveVersionMap(LiveVersionMapArchive.NOOP_ARCHIVE, randomBoolean() ? 0 : between(1, 64));
+    }
+
     public void testBasics() throws IOException {
-        LiveVersionMap map = new LiveVersionMap();
+        LiveVersionMap map = newLiveVersionMapWithRandomLocking();
         try (Releasable r = map.acquireLock(uid("test"))) {
             Translog.Location tlogLoc = randomTranslogLocation();
             map.putIndexUnderLock(uid("test"), new IndexVersionValue(tlogLoc, 1, 1, 1));
@@ -136,7 +140,7 @@ public class LiveVersionMapTests extends ESTestCase {
         List<BytesRef> keyList = new ArrayList<>(keySet);
         ConcurrentHashMap<BytesRef, VersionValue> values = new ConcurrentHashMap<>();
         ConcurrentHashMap<BytesRef, DeleteVersionValue> deletes = new ConcurrentHashMap<>();
-        LiveVersionMap map = new LiveVersionMap();
+        LiveVersionMap map = newLiveVersionMapWithRandomLocking();
         int numThreads = randomIntBetween(2, 5);
 
         Thread[] threads = new Thread[numThreads];
@@ -410,7 +414,7 @@ public class LiveVersionMapTests extends ESTestCase {
     }
 
     public void testRandomlyIndexDeleteAndRefresh() throws Exception {
-        final LiveVersionMap versionMap = new LiveVersionMap();
+        final LiveVersionMap versionMap = newLiveVersionMapWithRandomLocking();
         final BytesRef uid = uid("1");
         final long versions = between(10, 1000);
         VersionValue latestVersion = null;
@@ -510,4 +514,26 @@ public class LiveVersionMapTests extends ESTestCase {
         assertEquals(map.reclaimableRefreshRamBytes(), 0L);
         assertEquals(map.ramBytesUsedForRefresh(), 0L);
     }
+
+    public void testStripedLocking() throws InterruptedException, IOException {
+        LiveVersionMap map = new LiveVersionMap(LiveVersionMapArchive.NOOP_ARCHIVE, between(1, 64));
+        BytesRef uid = uid("test");
+        try (Releasable r = map.acquireLock(uid)) {
+            assertTrue(map.assertKeyedLockHeldByCurrentThread(uid));
+            // the lock is reentrant
+            try (Releasable r2 = map.acquireLock(uid)) {
+                map.putDeleteUnderLock(uid, new DeleteVersionValue(1, 1, 1, 1));
+            }
+            assertEquals(new DeleteVersionValue(1, 1, 1, 1), map.getUnderLock(uid));
+            map.beforeRefresh(); // refresh otherwise we won't prune since it's tracked by the current map
+            map.afterRefresh(false);
+            // pruning only tries to acquire the lock so it must not block when another thread holds it
+            Thread thread = new Thread(() -> map.pruneTombstones(Long.MAX_VALUE, Long.MAX_VALUE));
+            thread.start();
+            thread.join();
+            assertEquals(1, map.getAllTombstones().size());
+        }
+        map.pruneTombstones(Long.MAX_VALUE, Long.MAX_VALUE);
+        assertEquals(0, map.getAllTombstones().size());
+    }
 }
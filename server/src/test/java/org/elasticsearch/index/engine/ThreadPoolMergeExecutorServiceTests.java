@@ -10,6 +10,7 @@
 package org.elasticsearch.index.engine;
 
 import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.common.util.concurrent.DeterministicTaskQueue;
 import org.elasticsearch.common.util.concurrent.EsExecutors;
@@ -25,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -34,6 +36,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.elasticsearch.index.engine.ThreadPoolMergeExecutorService.MAX_IO_RATE;
 import static org.elasticsearch.index.engine.ThreadPoolMergeExecutorService.MIN_IO_RATE;
@@ -675,6 +679,67 @@ public class ThreadPoolMergeExecutorServiceTests extends ESTestCase {
         }
     }
 
+    public void testIORateIsAdjustedPerDisk() {
+        DeterministicTaskQueue mergeExecutorTaskQueue = new DeterministicTaskQueue();
+        ThreadPool mergeExecutorThreadPool = mergeExecutorTaskQueue.getThreadPool();
+        ThreadPoolMergeExecutorService threadPoolMergeExecutorService = getThreadPoolMergeExecutorService(mergeExecutorThreadPool);
+        long startIORate = ThreadPoolMergeExecutorService.START_IO_RATE.getBytes();
+        // a burst of merges on one disk, more than enough to raise its IO rate
+        int burstMergeCount = threadPoolMergeExecutorService.getMaxConcurrentMerges() * 2 + randomIntBetween(5, 50);
+        List<AtomicLong> busyDiskIORates = new ArrayList<>();
+        long busyDiskBytesWritten = 0L;
+        for (int i = 0; i < burstMergeCount; i++) {
+            AtomicLong ioRate = new AtomicLong();
+            long bytesWritten = randomLongBetween(0L, ByteSizeValue.ofMb(100).getBytes());
+            threadPoolMergeExecutorService.submitMergeTask(mockIOThrottledMergeTask("busy", bytesWritten, ioRate));
+            busyDiskIORates.add(ioRate);
+            busyDiskBytesWritten += bytesWritten;
+        }
+        long busyDiskIORate = threadPoolMergeExecutorService.getTargetIORateBytesPerSec("busy");
+        assertThat(busyDiskIORate, greaterThan(startIORate));
+        // the burst does not change the IO rate of merges on another disk
+        assertThat(threadPoolMergeExecutorService.getTargetIORateBytesPerSec("quiet"), equalTo(startIORate));
+        assertFalse(threadPoolMergeExecutorService.usingMaxTargetIORateBytesPerSec("quiet"));
+        // and a lone merge on the other disk is throttled down, as if the burst wasn't there
+        AtomicLong quietDiskIORate = new AtomicLong();
+        threadPoolMergeExecutorService.submitMergeTask(mockIOThrottledMergeTask("quiet", 0L, quietDiskIORate));
+        assertThat(threadPoolMergeExecutorService.getTargetIORateBytesPerSec("quiet"), lessThan(startIORate));
+        assertThat(threadPoolMergeExecutorService.getTargetIORateBytesPerSec("busy"), equalTo(busyDiskIORate));
+        assertThat(threadPoolMergeExecutorService.getQueuedMergeTasksCount(), equalTo(burstMergeCount + 1));
+        assertThat(threadPoolMergeExecutorService.getRunningMergeTasksCount(), equalTo(0));
+        assertThat(threadPoolMergeExecutorService.getBackloggedMergeTasksCount(), equalTo(0));
+
+        while (runOneTask(mergeExecutorTaskQueue)) {
+            // run all merges
+        }
+        assertTrue(threadPoolMergeExecutorService.allDone());
+        // every merge ran at the IO rate of its own disk
+        for (AtomicLong ioRate : busyDiskIORates) {
+            assertThat(ioRate.get(), equalTo(busyDiskIORate));
+        }
+        assertThat(quietDiskIORate.get(), equalTo(threadPoolMergeExecutorService.getTargetIORateBytesPerSec("quiet")));
+        Map<String, ThreadPoolMergeExecutorService.DiskMergeStats> diskMergeStats = threadPoolMergeExecutorService.getDiskMergeStats()
+            .stream()
+            .collect(Collectors.toMap(ThreadPoolMergeExecutorService.DiskMergeStats::disk, Function.identity()));
+        assertThat(diskMergeStats.keySet(), equalTo(Set.of("busy", "quiet")));
+        assertThat(diskMergeStats.get("busy").mergedBytesWritten(), equalTo(busyDiskBytesWritten));
+        assertThat(diskMergeStats.get("busy").ioThrottledMergeTasks(), equalTo(0));
+        assertThat(diskMergeStats.get("quiet").mergedBytesWritten(), equalTo(0L));
+    }
+
+    private static MergeTask mockIOThrottledMergeTask(String disk, long bytesWritten, AtomicLong ioRateLimit) {
+        MergeTask mergeTask = mock(MergeTask.class);
+        when(mergeTask.supportsIOThrottling()).thenReturn(true);
+        when(mergeTask.getDisk()).thenReturn(disk);
+        when(mergeTask.getBytesWritten()).thenReturn(bytesWritten);
+        when(mergeTask.schedule()).thenReturn(RUN);
+        doAnswer(mock -> {
+            ioRateLimit.set((Long) mock.getArguments()[0]);
+            return null;
+        }).when(mergeTask).setIORateLimit(anyLong());
+        return mergeTask;
+    }
+
     private static class CountingMergeEventListener implements MergeEventListener {
         AtomicInteger queued = new AtomicInteger();
         AtomicInteger aborted = new AtomicInteger();
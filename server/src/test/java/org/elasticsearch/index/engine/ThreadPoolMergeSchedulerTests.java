@@ -711,7 +711,7 @@ public class ThreadPoolMergeSchedulerTests extends ESTestCase {
             submittedMergeTasks.add(mergeTask);
             return null;
         }).when(threadPoolMergeExecutorService).reEnqueueBackloggedMergeTask(any(MergeTask.class));
-        doAnswer(invocation -> isUsingMaxTargetIORate.get()).when(threadPoolMergeExecutorService).usingMaxTargetIORateBytesPerSec();
+        doAnswer(invocation -> isUsingMaxTargetIORate.get()).when(threadPoolMergeExecutorService).usingMaxTargetIORateBytesPerSec(any());
         return threadPoolMergeExecutorService;
     }
 }
@@ -1845,6 +1845,18 @@ public class IndexShardTests extends IndexShardTestCase {
         closeShards(shard);
     }
 
+    public void testWriteIndexingBufferMetric() throws IOException {
+        IndexShard shard = newStartedShard();
+        assertThat(shard.indexingStats().getTotal().getWriteIndexingBufferCount(), equalTo(0L));
+        indexDoc(shard, "_doc", "test");
+        shard.writeIndexingBuffer();
+        assertThat(shard.indexingStats().getTotal().getWriteIndexingBufferCount(), equalTo(1L));
+        closeShards(shard);
+        // the engine is closed, the buffer isn't written so it isn't counted either
+        shard.writeIndexingBuffer();
+        assertThat(shard.indexingStats().getTotal().getWriteIndexingBufferCount(), equalTo(1L));
+    }
+
     public void testExternalRefreshMetric() throws IOException {
         IndexShard shard = newStartedShard();
         assertThat(shard.refreshStats().getExternalTotal(), equalTo(2L)); // refresh on: finalize and end of recovery
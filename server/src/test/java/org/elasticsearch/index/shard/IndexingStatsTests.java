@@ -36,7 +36,8 @@ public class IndexingStatsTests extends ESTestCase {
             1_800_000_000L, // totalIndexingExecutionTimeSinceShardStartedInNanos - 1.8sec
             3_000_000_000L, // totalActiveTimeInNanos - 3sec
             0.1357,
-            0.2468
+            0.2468,
+            0
         );
         double expectedWriteLoad = 0.6; // 1.8sec / 3sec
         assertThat(stats.getWriteLoad(), closeTo(expectedWriteLoad, DOUBLE_TOLERANCE));
@@ -59,7 +60,8 @@ public class IndexingStatsTests extends ESTestCase {
             11,
             12,
             0.1357,
-            0.2468
+            0.2468,
+            0
         );
         IndexingStats.Stats stats2 = new IndexingStats.Stats(
             2001L, // indexCount
@@ -77,15 +79,16 @@ public class IndexingStatsTests extends ESTestCase {
             11,
             12,
             0.1357,
-            0.2468
+            0.2468,
+            0
         );
         IndexingStats.Stats statsAgg = sumOfStats(stats1, stats2);
         assertThat(statsAgg.getIndexCount(), equalTo(1001L + 2001L));
     }
 
     public void testStatsAdd_throttled() {
-        IndexingStats.Stats statsFalse = new IndexingStats.Stats(1, 2, 3, 4, 5, 6, 7, 8, 9, false, 10, 11, 11, 12, 0.1357, 0.2468);
-        IndexingStats.Stats statsTrue = new IndexingStats.Stats(1, 2, 3, 4, 5, 6, 7, 8, 9, true, 10, 11, 11, 12, 0.1357, 0.2468);
+        IndexingStats.Stats statsFalse = new IndexingStats.Stats(1, 2, 3, 4, 5, 6, 7, 8, 9, false, 10, 11, 11, 12, 0.1357, 0.2468, 0);
+        IndexingStats.Stats statsTrue = new IndexingStats.Stats(1, 2, 3, 4, 5, 6, 7, 8, 9, true, 10, 11, 11, 12, 0.1357, 0.2468, 0);
         assertThat(sumOfStats(statsFalse, statsFalse).isThrottled(), is(false));
         assertThat(sumOfStats(statsFalse, statsTrue).isThrottled(), is(true));
         assertThat(sumOfStats(statsTrue, statsFalse).isThrottled(), is(true));
@@ -109,7 +112,8 @@ public class IndexingStatsTests extends ESTestCase {
             1_000_000_000L, // totalIndexingLoadSinceShardStartedInNanos - 1sec
             2_000_000_000L, // totalActiveTimeInNanos - 2sec
             0.1357, // recentWriteLoad
-            0.3579 // peakWriteLoad
+            0.3579, // peakWriteLoad
+            0
         );
         IndexingStats.Stats stats2 = new IndexingStats.Stats(
             2,
@@ -127,7 +131,8 @@ public class IndexingStatsTests extends ESTestCase {
             2_100_000_000L, // totalIndexingTimeSinceShardStartedInNanos - 2.1sec
             3_000_000_000L, // totalActiveTimeInNanos - 3sec
             0.2468, // recentWriteLoad
-            0.5791 // peakWriteLoad
+            0.5791, // peakWriteLoad
+            0
         );
         IndexingStats.Stats statsAgg = sumOfStats(stats1, stats2);
         // The unweighted write loads for the two shards are 0.5 (1sec / 2sec) and 0.7 (2.1sec / 3sec) respectively.
@@ -0,0 +1,164 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.index.translog;
+
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+public class TranslogSyncSchedulerTests extends ESTestCase {
+
+    private static TranslogSyncScheduler newScheduler(Settings settings, ClusterSettings clusterSettings) {
+        // a frozen clock means the leader never times out, so rounds are only released once they are full
+        return new TranslogSyncScheduler(settings, clusterSettings, () -> 0L);
+    }
+
+    private static ClusterSettings newClusterSettings() {
+        return new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS);
+    }
+
+    public void testSyncsDirectlyWhenDisabled() throws IOException {
+        final TranslogSyncScheduler scheduler = newScheduler(Settings.EMPTY, newClusterSettings());
+        final Path dataPath = createTempDir();
+        assertThat(scheduler.stats(dataPath), nullValue());
+
+        final TranslogSyncScheduler.PathScheduler pathScheduler = scheduler.forPath(dataPath);
+        assertSame(pathScheduler, scheduler.forPath(dataPath));
+        assertTrue(pathScheduler.sync(() -> true));
+        assertFalse(pathScheduler.sync(() -> false));
+
+        final TranslogGroupCommitStats stats = scheduler.stats(dataPath);
+        assertThat(stats, notNullValue());
+        assertThat(stats.rounds(), equalTo(2L));
+        assertThat(stats.requests(), equalTo(2L));
+        assertThat(stats.batchSizes()[1], equalTo(2L)); // [1, 2)
+    }
+
+    public void testBatchesConcurrentSyncsOnTheSamePath() throws Exception {
+        final int threadCount = between(2, 8);
+        final Settings settings = Settings.builder()
+            .put(TranslogSyncScheduler.MAX_WAIT_SETTING.getKey(), "100ms")
+            .put(TranslogSyncScheduler.MAX_BATCH_SIZE_SETTING.getKey(), threadCount)
+            .build();
+        final TranslogSyncScheduler scheduler = newScheduler(settings, newClusterSettings());
+        final Path dataPath = createTempDir();
+        final Path otherDataPath = createTempDir();
+
+        final AtomicInteger fsyncs = new AtomicInteger();
+        final List<Exception> failures = new CopyOnWriteArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadCount; i++) {
+            final Thread thread = new Thread(() -> {
+                try {
+                    scheduler.forPath(dataPath).sync(() -> {
+                        // every request of the round runs its own fsync once the round is released
+                        fsyncs.incrementAndGet();
+                        return true;
+                    });
+                } catch (Exception e) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(failures, equalTo(List.of()));
+        assertThat(fsyncs.get(), equalTo(threadCount));
+
+        final TranslogGroupCommitStats stats = scheduler.stats(dataPath);
+        assertThat(stats.rounds(), equalTo(1L));
+        assertThat(stats.requests(), equalTo((long) threadCount));
+        assertThat(LongStream.of(stats.batchSizes()).sum(), equalTo(1L));
+        assertThat(scheduler.stats(otherDataPath), nullValue());
+    }
+
+    public void testMaxWaitReleasesPartialRound() throws IOException {
+        final Settings settings = Settings.builder()
+            .put(TranslogSyncScheduler.MAX_WAIT_SETTING.getKey(), "1ms")
+            .put(TranslogSyncScheduler.MAX_BATCH_SIZE_SETTING.getKey(), 64)
+            .build();
+        final TranslogSyncScheduler scheduler = new TranslogSyncScheduler(settings, newClusterSettings(), System::nanoTime);
+        final Path dataPath = createTempDir();
+        assertTrue(scheduler.forPath(dataPath).sync(() -> true));
+
+        final TranslogGroupCommitStats stats = scheduler.stats(dataPath);
+        assertThat(stats.rounds(), equalTo(1L));
+        assertThat(stats.requests(), equalTo(1L));
+        assertThat(stats.batchSizes()[1], equalTo(1L));
+    }
+
+    public void testFailuresOnlyReachTheirOwnRequest() throws Exception {
+        final Settings settings = Settings.builder()
+            .put(TranslogSyncScheduler.MAX_WAIT_SETTING.getKey(), "100ms")
+            .put(TranslogSyncScheduler.MAX_BATCH_SIZE_SETTING.getKey(), 2)
+            .build();
+        final TranslogSyncScheduler.PathScheduler pathScheduler = newScheduler(settings, newClusterSettings()).forPath(createTempDir());
+
+        final List<Exception> failures = new CopyOnWriteArrayList<>();
+        final Thread failing = new Thread(() -> {
+            try {
+                pathScheduler.sync(() -> { throw new IOException("simulated"); });
+            } catch (Exception e) {
+                failures.add(e);
+            }
+        });
+        failing.start();
+        assertTrue(pathScheduler.sync(() -> true));
+        failing.join();
+
+        assertThat(failures.size(), equalTo(1));
+        assertThat(failures.get(0), instanceOf(IOException.class));
+        assertThat(pathScheduler.stats().rounds(), equalTo(1L));
+        assertThat(pathScheduler.stats().requests(), equalTo(2L));
+    }
+
+    public void testDynamicSettingsUpdate() throws IOException {
+        final ClusterSettings clusterSettings = newClusterSettings();
+        final TranslogSyncScheduler scheduler = newScheduler(Settings.EMPTY, clusterSettings);
+        clusterSettings.applySettings(
+            Settings.builder()
+                .put(TranslogSyncScheduler.MAX_WAIT_SETTING.getKey(), "100ms")
+                .put(TranslogSyncScheduler.MAX_BATCH_SIZE_SETTING.getKey(), 1)
+                .build()
+        );
+        // a batch size of one releases the round as soon as the leader joins it, even though the clock is frozen
+        final Path dataPath = createTempDir();
+        assertTrue(scheduler.forPath(dataPath).sync(() -> true));
+        assertThat(scheduler.stats(dataPath).rounds(), equalTo(1L));
+    }
+
+    public void testStatsSerialization() throws IOException {
+        final int buckets = TranslogSyncScheduler.HISTOGRAM_BUCKETS;
+        final TranslogGroupCommitStats stats = new TranslogGroupCommitStats(
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            LongStream.range(0, buckets).map(i -> randomNonNegativeLong()).toArray(),
+            LongStream.range(0, buckets).map(i -> randomNonNegativeLong()).toArray()
+        );
+        assertThat(copyWriteable(stats, writableRegistry(), TranslogGroupCommitStats::new), equalTo(stats));
+    }
+}
@@ -552,9 +552,17 @@ public class TranslogTests extends ESTestCase {
                         "size_in_bytes": %s,
                         "uncommitted_operations": 4,
                         "uncommitted_size_in_bytes": %s,
-                        "earliest_last_modified_age": %s
+                        "earliest_last_modified_age": %s,
+                        "sync_total": %s,
+                        "sync_total_time_in_millis": %s
                       }
-                    }""", 325L + sourceLength, 270L + sourceLength, stats.getEarliestLastModifiedAge()))));
+                    }""",
+                    325L + sourceLength,
+                    270L + sourceLength,
+                    stats.getEarliestLastModifiedAge(),
+                    copy.getSyncs(),
+                    copy.getSyncTimeInMillis()
+                ))));
             }
         }
         translog.getDeletionPolicy().setLocalCheckpointOfSafeCommit(randomLongBetween(3, Long.MAX_VALUE));
@@ -610,7 +618,9 @@ public class TranslogTests extends ESTestCase {
                 randomIntBetween(1, 1 << 20),
                 randomIntBetween(1, 1 << 20),
                 randomIntBetween(1, 4096),
-                randomIntBetween(1, 1 << 20)
+                randomIntBetween(1, 1 << 20),
+                randomIntBetween(0, 4096),
+                randomIntBetween(0, 1 << 20)
             );
             statsList.add(stats);
             total.add(stats);
@@ -630,6 +640,36 @@ public class TranslogTests extends ESTestCase {
             equalTo(statsList.stream().mapToLong(TranslogStats::getUncommittedSizeInBytes).sum())
         );
         assertThat(total.getEarliestLastModifiedAge(), equalTo(earliestLastModifiedAge));
+        assertThat(total.getSyncs(), equalTo(statsList.stream().mapToLong(TranslogStats::getSyncs).sum()));
+        assertThat(total.getSyncTimeInMillis(), equalTo(statsList.stream().mapToLong(TranslogStats::getSyncTimeInMillis).sum()));
+    }
+
+    public void testSyncStats() throws IOException {
+        translog.sync();
+        final long syncsBefore = translog.stats().getSyncs();
+        // nothing to sync
+        translog.sync();
+        assertThat(translog.stats().getSyncs(), equalTo(syncsBefore));
+
+        final int numOps = randomIntBetween(1, 10);
+        Translog.Location location = null;
+        for (int i = 0; i < numOps; i++) {
+            location = translog.add(TranslogOperationsUtils.indexOp(Integer.toString(i), i, primaryTerm.get()));
+        }
+        assertTrue(translog.ensureSynced(location, SequenceNumbers.UNASSIGNED_SEQ_NO));
+        assertThat(translog.stats().getSyncs(), equalTo(syncsBefore + 1));
+        // already synced, must not count again
+        assertFalse(translog.ensureSynced(location, SequenceNumbers.UNASSIGNED_SEQ_NO));
+        translog.sync();
+        assertThat(translog.stats().getSyncs(), equalTo(syncsBefore + 1));
+        assertThat(translog.stats().getSyncTimeInMillis(), greaterThanOrEqualTo(0L));
+    }
+
+    public void testNegativeSyncStats() {
+        IllegalArgumentException e = expectThrows(IllegalArgumentException.class, () -> new TranslogStats(1, 1, 1, 1, 1, -1, 1));
+        assertThat(e, hasToString(containsString("syncs must be >= 0")));
+        e = expectThrows(IllegalArgumentException.class, () -> new TranslogStats(1, 1, 1, 1, 1, 1, -1));
+        assertThat(e, hasToString(containsString("syncTimeInMillis must be >= 0")));
     }
 
     public void testNegativeNumberOfOperations() {
@@ -54,6 +54,12 @@ public class IndexingMemoryControllerTests extends IndexShardTestCase {
         // Shards that are currently throttled
         final Set<IndexShard> throttled = new HashSet<>();
 
+        // Shards that haven't been searched recently
+        final Set<IndexShard> searchIdle = new HashSet<>();
+
+        // How many merges each shard is currently running
+        final Map<IndexShard, Long> currentMerges = new HashMap<>();
+
         MockController(Settings settings) {
             super(
                 Settings.builder()
@@ -93,6 +99,16 @@ public class IndexingMemoryControllerTests extends IndexShardTestCase {
         @Override
         protected void checkIdle(IndexShard shard, long inactiveTimeNS) {}
 
+        @Override
+        protected boolean isSearchIdle(IndexShard shard) {
+            return searchIdle.contains(shard);
+        }
+
+        @Override
+        protected long getCurrentMerges(IndexShard shard) {
+            return currentMerges.getOrDefault(shard, 0L);
+        }
+
         @Override
         public void enqueueWriteIndexingBuffer(IndexShard shard) {
             long bytes = indexBufferRAMBytesUsed.put(shard, 0L);
@@ -138,6 +154,11 @@ public class IndexingMemoryControllerTests extends IndexShardTestCase {
             assertEquals(expectedMB * 1024 * 1024, actual.longValue());
         }
 
+        public void setBuffer(IndexShard shard, int mb) {
+            indexBufferRAMBytesUsed.put(shard, mb * 1024L * 1024L);
+            writingBytes.putIfAbsent(shard, 0L);
+        }
+
         public void simulateIndexing(IndexShard shard) {
             Long bytes = indexBufferRAMBytesUsed.get(shard);
             if (bytes == null) {
@@ -232,6 +253,61 @@ public class IndexingMemoryControllerTests extends IndexShardTestCase {
         closeShards(shard0, shard1);
     }
 
+    public void testCostAwareShardWriteOrder() throws IOException {
+        MockController controller = new MockController(
+            Settings.builder()
+                .put("indices.memory.index_buffer_size", "6mb")
+                .put(IndexingMemoryController.SHARD_WRITE_ORDER_SETTING.getKey(), "cost_aware")
+                .build()
+        );
+
+        IndexShard hot = newStartedShard(
+            p -> newShard(p, new ShardId("hot", "uuid0", 0), Settings.EMPTY, new InternalEngineFactory()),
+            randomBoolean()
+        );
+        IndexShard cold = newStartedShard(
+            p -> newShard(p, new ShardId("cold", "uuid1", 0), Settings.EMPTY, new InternalEngineFactory()),
+            randomBoolean()
+        );
+        IndexShard merging = newStartedShard(
+            p -> newShard(p, new ShardId("merging", "uuid2", 0), Settings.EMPTY, new InternalEngineFactory()),
+            randomBoolean()
+        );
+        controller.searchIdle.add(cold);
+        controller.currentMerges.put(merging, 3L);
+
+        // the search-idle shard is written first even though the other shards have larger indexing buffers
+        controller.setBuffer(hot, 3);
+        controller.setBuffer(cold, 2);
+        controller.setBuffer(merging, 3);
+        controller.forceCheck();
+        controller.assertBuffer(hot, 3);
+        controller.assertWriting(cold, 2);
+        controller.assertBuffer(merging, 3);
+        controller.doneWriting(cold);
+
+        // then among shards that are being searched, the one that isn't busy merging
+        controller.setBuffer(hot, 3);
+        controller.setBuffer(merging, 5);
+        controller.forceCheck();
+        controller.assertWriting(hot, 3);
+        controller.assertBuffer(merging, 5);
+        controller.doneWriting(hot);
+
+        // whereas round-robin goes over shards in shard id order regardless of search activity, interrupting the hot shard too
+        MockController roundRobin = new MockController(Settings.builder().put("indices.memory.index_buffer_size", "6mb").build());
+        roundRobin.searchIdle.add(cold);
+        roundRobin.setBuffer(hot, 4);
+        roundRobin.setBuffer(cold, 2);
+        roundRobin.setBuffer(merging, 3);
+        roundRobin.forceCheck();
+        roundRobin.assertWriting(cold, 2);
+        roundRobin.assertWriting(hot, 4);
+        roundRobin.assertBuffer(merging, 3);
+
+        closeShards(hot, cold, merging);
+    }
+
     public void testMinBufferSizes() {
         MockController controller = new MockController(
             Settings.builder().put("indices.memory.index_buffer_size", "0.001%").put("indices.memory.min_index_buffer_size", "6mb").build()
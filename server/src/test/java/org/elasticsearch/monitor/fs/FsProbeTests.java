@@ -10,9 +10,12 @@
 package org.elasticsearch.monitor.fs;
 
 import org.apache.lucene.util.Constants;
+import org.elasticsearch.common.settings.ClusterSettings;
+import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.core.Tuple;
 import org.elasticsearch.env.NodeEnvironment;
 import org.elasticsearch.env.NodeEnvironment.DataPath;
+import org.elasticsearch.index.translog.TranslogSyncScheduler;
 import org.elasticsearch.test.ESTestCase;
 
 import java.io.IOException;
@@ -86,6 +89,25 @@ public class FsProbeTests extends ESTestCase {
         }
     }
 
+    public void testFsInfoReportsTranslogGroupCommitStats() throws IOException {
+        try (NodeEnvironment env = newNodeEnvironment()) {
+            final TranslogSyncScheduler scheduler = new TranslogSyncScheduler(
+                Settings.EMPTY,
+                new ClusterSettings(Settings.EMPTY, ClusterSettings.BUILT_IN_CLUSTER_SETTINGS),
+                System::nanoTime
+            );
+            final FsProbe probe = new FsProbe(env, scheduler);
+            assertNull(probe.stats(null).iterator().next().getTranslogGroupCommit());
+
+            final DataPath dataPath = env.dataPaths()[0];
+            assertTrue(scheduler.forPath(dataPath.path).sync(() -> true));
+            final FsInfo.Path path = probe.stats(null).iterator().next();
+            assertThat(path.getPath(), equalTo(dataPath.path.toString()));
+            assertNotNull(path.getTranslogGroupCommit());
+            assertThat(path.getTranslogGroupCommit().requests(), equalTo(1L));
+        }
+    }
+
     public void testFsInfoOverflow() throws Exception {
         final FsInfo.Path pathStats = new FsInfo.Path(
             "/foo/bar",
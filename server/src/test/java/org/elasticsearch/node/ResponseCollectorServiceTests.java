@@ -27,6 +27,7 @@ import org.junit.Before;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 
@@ -64,6 +65,21 @@ public class ResponseCollectorServiceTests extends ESTestCase {
         assertThat(nodeStats.get("node1").serviceTime, equalTo(10.0));
     }
 
+    public void testNodeUtilization() throws Exception {
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        assertThat(collector.getNodeStatistics("node1").get().utilization, equalTo(-1.0));
+
+        collector.addNodeStatistics("node1", 1, 100, 10, 0.5);
+        assertThat(collector.getNodeStatistics("node1").get().utilization, equalTo(0.5));
+
+        // nodes that don't report utilization leave the average untouched
+        collector.addNodeStatistics("node1", 1, 100, 10);
+        assertThat(collector.getNodeStatistics("node1").get().utilization, equalTo(0.5));
+
+        collector.addNodeStatistics("node1", 1, 100, 10, 1.0);
+        assertThat(collector.getNodeStatistics("node1").get().utilization, closeTo(0.5 + ResponseCollectorService.ALPHA * 0.5, 1e-9));
+    }
+
     /*
      * Test that concurrently adding values and removing nodes does not cause exceptions
      */
@@ -155,7 +155,8 @@ public class RestShardsActionTests extends ESTestCase {
                             randomNonNegativeLong(),
                             randomNonNegativeLong(),
                             randomDoubleBetween(0.0, 1.0, true),
-                            randomDoubleBetween(0.0, 1.0, true)
+                            randomDoubleBetween(0.0, 1.0, true),
+                            randomNonNegativeLong()
                         )
                     )
                 );
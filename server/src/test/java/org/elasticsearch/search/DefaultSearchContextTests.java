@@ -746,8 +746,8 @@ public class DefaultSearchContextTests extends MapperServiceTestCase {
         ToLongFunction<String> fieldCardinality = name -> -1;
         for (var resultsType : SearchService.ResultsType.values()) {
             switch (resultsType) {
-                case NONE, RANK_FEATURE, FETCH -> assertFalse(
-                    "NONE, RANK_FEATURE, and FETCH phases do not support parallel collection.",
+                case NONE, RANK_FEATURE -> assertFalse(
+                    "NONE and RANK_FEATURE phases do not support parallel collection.",
                     DefaultSearchContext.isParallelCollectionSupportedForResults(
                         resultsType,
                         searchSourceBuilderOrNull,
@@ -755,6 +755,26 @@ public class DefaultSearchContextTests extends MapperServiceTestCase {
                         randomBoolean()
                     )
                 );
+                case FETCH -> {
+                    assertTrue(
+                        "FETCH phase supports parallelism when enabled.",
+                        DefaultSearchContext.isParallelCollectionSupportedForResults(
+                            resultsType,
+                            searchSourceBuilderOrNull,
+                            fieldCardinality,
+                            true
+                        )
+                    );
+                    assertFalse(
+                        "FETCH phase does not support parallelism when disabled.",
+                        DefaultSearchContext.isParallelCollectionSupportedForResults(
+                            resultsType,
+                            searchSourceBuilderOrNull,
+                            fieldCardinality,
+                            false
+                        )
+                    );
+                }
                 case DFS -> assertTrue(
                     "DFS phase always supports parallel collection.",
                     DefaultSearchContext.isParallelCollectionSupportedForResults(
@@ -11,6 +11,7 @@ package org.elasticsearch.search;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.FilterDirectoryReader;
 import org.apache.lucene.index.LeafReader;
+import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.Query;
@@ -26,6 +27,7 @@ import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.DocWriteResponse;
 import org.elasticsearch.action.OriginalIndices;
 import org.elasticsearch.action.admin.cluster.settings.ClusterUpdateSettingsResponse;
+import org.elasticsearch.action.bulk.BulkRequestBuilder;
 import org.elasticsearch.action.search.ClearScrollRequest;
 import org.elasticsearch.action.search.ClosePointInTimeRequest;
 import org.elasticsearch.action.search.OpenPointInTimeRequest;
@@ -62,10 +64,12 @@ import org.elasticsearch.index.IndexModule;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.IndexService;
 import org.elasticsearch.index.IndexSettings;
+import org.elasticsearch.index.MergePolicyConfig;
 import org.elasticsearch.index.engine.Engine;
 import org.elasticsearch.index.query.AbstractQueryBuilder;
 import org.elasticsearch.index.query.MatchAllQueryBuilder;
 import org.elasticsearch.index.query.MatchNoneQueryBuilder;
+import org.elasticsearch.index.query.MatchQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryRewriteContext;
 import org.elasticsearch.index.query.SearchExecutionContext;
@@ -96,9 +100,13 @@ import org.elasticsearch.search.builder.PointInTimeBuilder;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.dfs.AggregatedDfs;
 import org.elasticsearch.search.fetch.FetchSearchResult;
+import org.elasticsearch.search.fetch.FetchSubPhase;
+import org.elasticsearch.search.fetch.FetchSubPhaseProcessor;
 import org.elasticsearch.search.fetch.ShardFetchRequest;
 import org.elasticsearch.search.fetch.ShardFetchSearchRequest;
+import org.elasticsearch.search.fetch.StoredFieldsSpec;
 import org.elasticsearch.search.fetch.subphase.FieldAndFormat;
+import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
 import org.elasticsearch.search.internal.AliasFilter;
 import org.elasticsearch.search.internal.ContextIndexSearcher;
 import org.elasticsearch.search.internal.ReaderContext;
@@ -129,6 +137,7 @@ import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.ESSingleNodeTestCase;
 import org.elasticsearch.test.hamcrest.ElasticsearchAssertions;
 import org.elasticsearch.threadpool.ThreadPool;
+import org.elasticsearch.xcontent.Text;
 import org.elasticsearch.xcontent.XContentBuilder;
 import org.elasticsearch.xcontent.json.JsonXContent;
 import org.junit.Before;
@@ -154,6 +163,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.IntConsumer;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
@@ -161,6 +171,7 @@ import static java.util.Collections.singletonList;
 import static org.elasticsearch.action.support.WriteRequest.RefreshPolicy.IMMEDIATE;
 import static org.elasticsearch.indices.cluster.IndicesClusterStateService.AllocatedIndices.IndexRemovalReason.DELETED;
 import static org.elasticsearch.search.SearchService.DEFAULT_SIZE;
+import static org.elasticsearch.search.SearchService.FETCH_PHASE_PARALLEL_ENABLED;
 import static org.elasticsearch.search.SearchService.QUERY_PHASE_PARALLEL_COLLECTION_ENABLED;
 import static org.elasticsearch.search.SearchService.SEARCH_WORKER_THREADS_ENABLED;
 import static org.elasticsearch.test.hamcrest.ElasticsearchAssertions.assertAcked;
@@ -173,6 +184,8 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.CoreMatchers.startsWith;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.lessThan;
 import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.mock;
 
@@ -192,7 +205,8 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
             CustomScriptPlugin.class,
             ReaderWrapperCountPlugin.class,
             InternalOrPrivateSettingsPlugin.class,
-            MockSearchService.TestPlugin.class
+            MockSearchService.TestPlugin.class,
+            FetchTimeoutPlugin.class
         );
     }
 
@@ -206,6 +220,8 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
     @Before
     public void resetCount() {
         numWrapInvocations = new AtomicInteger(0);
+        FetchTimeoutPlugin.processors.set(0);
+        FetchTimeoutPlugin.timeoutOnId = null;
     }
 
     private static AtomicInteger numWrapInvocations = new AtomicInteger(0);
@@ -1640,6 +1656,41 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
         }
     }
 
+    /**
+     * Counts the fetch sub-phase processors built for {@link #INDEX} and times out the fetch when it reaches a given document.
+     */
+    public static class FetchTimeoutPlugin extends Plugin implements SearchPlugin {
+        static final String INDEX = "fetch_index";
+        static final AtomicInteger processors = new AtomicInteger();
+        static volatile String timeoutOnId;
+
+        @Override
+        public List<FetchSubPhase> getFetchSubPhases(FetchPhaseConstructionContext context) {
+            return singletonList(fetchContext -> {
+                if (INDEX.equals(fetchContext.getIndexName()) == false) {
+                    return null;
+                }
+                processors.incrementAndGet();
+                return new FetchSubPhaseProcessor() {
+                    @Override
+                    public void setNextReader(LeafReaderContext readerContext) {}
+
+                    @Override
+                    public StoredFieldsSpec storedFieldsSpec() {
+                        return StoredFieldsSpec.NO_REQUIREMENTS;
+                    }
+
+                    @Override
+                    public void process(FetchSubPhase.HitContext hitContext) {
+                        if (hitContext.hit().getId().equals(timeoutOnId)) {
+                            fetchContext.searcher().throwTimeExceededException();
+                        }
+                    }
+                };
+            });
+        }
+    }
+
     public static class FailOnRewriteQueryBuilder extends DummyQueryBuilder {
 
         public FailOnRewriteQueryBuilder(StreamInput in) throws IOException {
@@ -2784,6 +2835,19 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
                 }
             }
             {
+                try (SearchContext searchContext = service.createContext(readerContext, request, task, ResultsType.FETCH, true)) {
+                    ContextIndexSearcher searcher = searchContext.searcher();
+                    assertTrue("FETCH may load hits from several segments concurrently when enabled.", searcher.hasExecutor());
+                    assertEquals(executor.getMaximumPoolSize(), searcher.getMaximumNumberOfSlices());
+                }
+            }
+            try {
+                ClusterUpdateSettingsResponse response = client().admin()
+                    .cluster()
+                    .prepareUpdateSettings(TEST_REQUEST_TIMEOUT, TEST_REQUEST_TIMEOUT)
+                    .setPersistentSettings(Settings.builder().put(FETCH_PHASE_PARALLEL_ENABLED.getKey(), false).build())
+                    .get();
+                assertTrue(response.isAcknowledged());
                 try (SearchContext searchContext = service.createContext(readerContext, request, task, ResultsType.FETCH, true)) {
                     ContextIndexSearcher searcher = searchContext.searcher();
                     assertFalse(searcher.hasExecutor());
@@ -2791,13 +2855,18 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
                     searcher.search(termQuery, new TotalHitCountCollectorManager(searcher.getSlices()));
                     assertBusy(
                         () -> assertEquals(
-                            "The number of slices should be 1 as FETCH does not support parallel collection and thus runs on the calling"
-                                + " thread.",
+                            "The number of slices should be 1 when FETCH parallelism is disabled and thus runs on the calling thread.",
                             0,
                             executor.getCompletedTaskCount() - priorExecutorTaskCount
                         )
                     );
                 }
+            } finally {
+                client().admin()
+                    .cluster()
+                    .prepareUpdateSettings(TEST_REQUEST_TIMEOUT, TEST_REQUEST_TIMEOUT)
+                    .setPersistentSettings(Settings.builder().putNull(FETCH_PHASE_PARALLEL_ENABLED.getKey()).build())
+                    .get();
             }
             {
                 try (SearchContext searchContext = service.createContext(readerContext, request, task, ResultsType.NONE, true)) {
@@ -2878,6 +2947,193 @@ public class SearchServiceSingleNodeTests extends ESSingleNodeTestCase {
         }
     }
 
+    /**
+     * Runs the fetch phase of a fetch-only search context with the source, stored fields, doc value fields and highlighting
+     * sub-phases over enough hits in several segments to fetch them concurrently, and checks that the hits match those of
+     * a sequential fetch.
+     */
+    public void testConcurrentFetchPhase() throws Exception {
+        final IndexShard indexShard = createConcurrentFetchIndex();
+        final SearchService service = getInstanceFromNode(SearchService.class);
+        final List<Integer> docIds = shuffledList(IntStream.range(0, 3 * FETCH_SEGMENT_DOCS).boxed().toList());
+
+        // 1200 hits in three segments of 400 are fetched in two partitions, each of them with its own processors
+        final List<FetchedHit> concurrentHits = fetchHits(service, indexShard, docIds, randomBoolean());
+        assertThat(FetchTimeoutPlugin.processors.getAndSet(0), equalTo(2));
+        assertThat(concurrentHits.stream().map(FetchedHit::docId).toList(), equalTo(docIds));
+        for (FetchedHit hit : concurrentHits) {
+            assertFetchedHit(hit);
+        }
+
+        try {
+            ClusterUpdateSettingsResponse response = client().admin()
+                .cluster()
+                .prepareUpdateSettings(TEST_REQUEST_TIMEOUT, TEST_REQUEST_TIMEOUT)
+                .setPersistentSettings(Settings.builder().put(FETCH_PHASE_PARALLEL_ENABLED.getKey(), false).build())
+                .get();
+            assertTrue(response.isAcknowledged());
+            final List<FetchedHit> sequentialHits = fetchHits(service, indexShard, docIds, randomBoolean());
+            assertThat(FetchTimeoutPlugin.processors.get(), equalTo(1));
+            assertThat(concurrentHits, equalTo(sequentialHits));
+        } finally {
+            client().admin()
+                .cluster()
+                .prepareUpdateSettings(TEST_REQUEST_TIMEOUT, TEST_REQUEST_TIMEOUT)
+                .setPersistentSettings(Settings.builder().putNull(FETCH_PHASE_PARALLEL_ENABLED.getKey()).build())
+                .get();
+        }
+    }
+
+    /**
+     * Times out the concurrent fetch in one partition, which keeps the hits of the other partition if partial results are
+     * allowed and fails the whole fetch otherwise.
+     */
+    public void testConcurrentFetchPhaseTimeout() throws Exception {
+        final IndexShard indexShard = createConcurrentFetchIndex();
+        final SearchService service = getInstanceFromNode(SearchService.class);
+        final List<Integer> docIds = shuffledList(IntStream.range(0, 3 * FETCH_SEGMENT_DOCS).boxed().toList());
+        final List<FetchedHit> allHits = fetchHits(service, indexShard, docIds, false);
+
+        // the first document is in the first partition, which times out before fetching any hit
+        FetchTimeoutPlugin.timeoutOnId = "0";
+        FetchTimeoutPlugin.processors.set(0);
+        final List<FetchedHit> partialHits = fetchHits(service, indexShard, docIds, true);
+        assertThat(FetchTimeoutPlugin.processors.get(), equalTo(2));
+        assertThat(partialHits.size(), lessThan(allHits.size()));
+        assertThat(allHits.stream().filter(partialHits::contains).toList(), equalTo(partialHits));
+        assertFalse(partialHits.stream().anyMatch(hit -> hit.id().equals("0")));
+        // the last segment forms the second partition, which is fetched in full
+        final List<FetchedHit> lastSegmentHits = allHits.stream()
+            .filter(hit -> Integer.parseInt(hit.id()) >= 2 * FETCH_SEGMENT_DOCS)
+            .toList();
+        assertThat(partialHits, hasItems(lastSegmentHits.toArray(FetchedHit[]::new)));
+
+        expectThrows(SearchTimeoutException.class, () -> fetchHits(service, indexShard, docIds, false));
+    }
+
+    private static final int FETCH_SEGMENT_DOCS = 400;
+
+    private IndexShard createConcurrentFetchIndex() throws IOException {
+        final XContentBuilder mappings = JsonXContent.contentBuilder()
+            .startObject()
+            .startObject("properties")
+            .startObject("text")
+            .field("type", "text")
+            .endObject()
+            .startObject("keyword")
+            .field("type", "keyword")
+            .field("store", true)
+            .endObject()
+            .startObject("number")
+            .field("type", "long")
+            .endObject()
+            .endObject()
+            .endObject();
+        // merges are disabled so that each refresh leaves a segment of its own
+        final IndexService indexService = createIndex(
+            FetchTimeoutPlugin.INDEX,
+            Settings.builder().put(MergePolicyConfig.INDEX_MERGE_ENABLED, false).build(),
+            mappings
+        );
+        for (int segment = 0; segment < 3; segment++) {
+            final BulkRequestBuilder bulkRequest = client().prepareBulk();
+            for (int i = segment * FETCH_SEGMENT_DOCS; i < (segment + 1) * FETCH_SEGMENT_DOCS; i++) {
+                bulkRequest.add(
+                    prepareIndex(FetchTimeoutPlugin.INDEX).setId(String.valueOf(i))
+                        .setSource("text", "value " + i, "keyword", "k" + i, "number", i)
+                );
+            }
+            assertFalse(bulkRequest.get().hasFailures());
+            indicesAdmin().prepareRefresh(FetchTimeoutPlugin.INDEX).get();
+        }
+        return indexService.getShard(0);
+    }
+
+    /**
+     * The parts of a fetched hit that the sub-phases fill in, copied out of the fetch result before it is released.
+     */
+    private record FetchedHit(
+        int docId,
+        String id,
+        Map<String, Object> source,
+        List<Object> keyword,
+        List<Object> number,
+        List<String> highlights
+    ) {
+
+        FetchedHit(SearchHit hit) {
+            this(
+                hit.docId(),
+                hit.getId(),
+                hit.getSourceAsMap(),
+                hit.field("keyword").getValues(),
+                hit.field("number").getValues(),
+                Arrays.stream(hit.getHighlightFields().get("text").fragments()).map(Text::string).toList()
+            );
+        }
+    }
+
+    private static void assertFetchedHit(FetchedHit hit) {
+        final int i = Integer.parseInt(hit.id());
+        assertThat(hit.source(), equalTo(Map.of("text", "value " + i, "keyword", "k" + i, "number", i)));
+        assertThat(hit.keyword(), equalTo(List.of("k" + i)));
+        assertThat(hit.number(), equalTo(List.of((long) i)));
+        assertThat(hit.highlights(), equalTo(List.of("<em>value</em> " + i)));
+    }
+
+    private static List<FetchedHit> fetchHits(
+        SearchService service,
+        IndexShard indexShard,
+        List<Integer> docIds,
+        boolean allowPartialResults
+    ) {
+        final PlainActionFuture<ShardSearchContextId> readerFuture = new PlainActionFuture<>();
+        service.openReaderContext(indexShard.shardId(), TimeValue.timeValueMinutes(1), readerFuture);
+        final ShardSearchContextId readerId = readerFuture.actionGet();
+        try {
+            final SearchRequest searchRequest = new SearchRequest().allowPartialSearchResults(allowPartialResults)
+                .source(
+                    new SearchSourceBuilder().query(new MatchQueryBuilder("text", "value"))
+                        .size(docIds.size())
+                        .fetchSource(true)
+                        .storedField("keyword")
+                        .docValueField("number")
+                        .highlighter(new HighlightBuilder().field("text"))
+                );
+            final ShardSearchRequest request = new ShardSearchRequest(
+                OriginalIndices.NONE,
+                searchRequest,
+                indexShard.shardId(),
+                0,
+                1,
+                AliasFilter.EMPTY,
+                1.0f,
+                -1,
+                null
+            );
+            final ShardFetchSearchRequest fetchRequest = new ShardFetchSearchRequest(
+                OriginalIndices.NONE,
+                readerId,
+                request,
+                docIds,
+                null,
+                null,
+                RescoreDocIds.EMPTY,
+                null
+            );
+            // the fetch result is released once the listener returns, so the hits are copied out of it right away
+            final PlainActionFuture<List<FetchedHit>> fetchFuture = new PlainActionFuture<>();
+            service.executeFetchPhase(
+                fetchRequest,
+                new SearchShardTask(123L, "", "", "", null, emptyMap()),
+                fetchFuture.map(result -> Arrays.stream(result.hits().getHits()).map(FetchedHit::new).toList())
+            );
+            return fetchFuture.actionGet();
+        } finally {
+            service.freeReaderContext(readerId);
+        }
+    }
+
     private static ReaderContext createReaderContext(IndexService indexService, IndexShard indexShard) {
         return new ReaderContext(
             new ShardSearchContextId(UUIDs.randomBase64UUID(), randomNonNegativeLong()),
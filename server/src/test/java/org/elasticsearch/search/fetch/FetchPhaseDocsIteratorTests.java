@@ -14,8 +14,10 @@ import org.apache.lucene.document.Field;
 import org.apache.lucene.document.StringField;
 import org.apache.lucene.index.IndexReader;
 import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.search.TaskExecutor;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.tests.index.RandomIndexWriter;
+import org.elasticsearch.common.util.concurrent.ConcurrentCollections;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.query.QuerySearchResult;
 import org.elasticsearch.test.ESTestCase;
@@ -24,6 +26,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
@@ -91,6 +96,74 @@ public class FetchPhaseDocsIteratorTests extends ESTestCase {
 
     }
 
+    public void testConcurrentIteration() throws Exception {
+
+        int docCount = random().nextInt(300) + 100;
+        Directory directory = newDirectory();
+        RandomIndexWriter writer = new RandomIndexWriter(random(), directory);
+        for (int i = 0; i < docCount; i++) {
+            Document doc = new Document();
+            doc.add(new StringField("field", "foo", Field.Store.NO));
+            writer.addDocument(doc);
+            if (i % 50 == 0) {
+                writer.commit();
+            }
+        }
+        writer.commit();
+        IndexReader reader = writer.getReader();
+        writer.close();
+
+        int[] docs = randomDocIds(docCount - 1);
+        int partitions = randomIntBetween(1, 8);
+        Set<LeafReaderContext> seenLeaves = ConcurrentCollections.newConcurrentSet();
+        List<FetchPhaseDocsIterator> iterators = new ArrayList<>();
+        for (int p = 0; p < partitions; p++) {
+            iterators.add(new FetchPhaseDocsIterator() {
+
+                Thread thread = null;
+
+                @Override
+                protected void setNextReader(LeafReaderContext ctx, int[] docsInLeaf) {
+                    // each leaf is read by a single partition, and each partition on a single thread
+                    assertTrue(seenLeaves.add(ctx));
+                    if (thread == null) {
+                        thread = Thread.currentThread();
+                    }
+                    assertSame(thread, Thread.currentThread());
+                }
+
+                @Override
+                protected SearchHit nextDoc(int doc) {
+                    return new SearchHit(doc);
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(randomIntBetween(1, 4));
+        try {
+            SearchHit[] hits = FetchPhaseDocsIterator.iterateConcurrently(
+                null,
+                reader,
+                docs,
+                randomBoolean(),
+                new QuerySearchResult(),
+                new TaskExecutor(executor),
+                iterators
+            );
+
+            assertThat(hits.length, equalTo(docs.length));
+            for (int i = 0; i < hits.length; i++) {
+                assertThat(hits[i].docId(), equalTo(docs[i]));
+                hits[i].decRef();
+            }
+        } finally {
+            terminate(executor);
+        }
+
+        reader.close();
+        directory.close();
+    }
+
     public void testExceptions() throws IOException {
 
         int docCount = randomIntBetween(300, 400);
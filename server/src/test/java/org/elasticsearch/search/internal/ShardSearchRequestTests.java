@@ -18,6 +18,7 @@ import org.elasticsearch.cluster.metadata.IndexMetadata;
 import org.elasticsearch.common.CheckedBiConsumer;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.UUIDs;
+import org.elasticsearch.common.bytes.BytesReference;
 import org.elasticsearch.common.compress.CompressedXContent;
 import org.elasticsearch.common.compress.CompressorFactory;
 import org.elasticsearch.common.io.stream.BytesStreamOutput;
@@ -26,6 +27,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.IndexVersion;
+import org.elasticsearch.index.query.BoolQueryBuilder;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.RandomQueryBuilder;
@@ -33,6 +35,10 @@ import org.elasticsearch.index.shard.ShardId;
 import org.elasticsearch.indices.InvalidAliasNameException;
 import org.elasticsearch.search.AbstractSearchTestCase;
 import org.elasticsearch.search.SearchSortValuesAndFormatsTests;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramAggregationBuilder;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.aggregations.bucket.histogram.LongBounds;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.test.TransportVersionUtils;
 import org.elasticsearch.xcontent.DeprecationHandler;
@@ -53,6 +59,7 @@ import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 
@@ -261,6 +268,102 @@ public class ShardSearchRequestTests extends AbstractSearchTestCase {
         assertThat(invoked.get(), is(true));
     }
 
+    public void testCacheKeyIgnoresOrderOfNonScoringClausesAndTopLevelAggregations() throws IOException {
+        final ShardId shardId = new ShardId(randomAlphaOfLength(10), randomAlphaOfLength(10), 0);
+        final SearchSourceBuilder source = new SearchSourceBuilder().size(0)
+            .query(
+                QueryBuilders.boolQuery()
+                    .must(termQuery("a", "1"))
+                    .must(termQuery("b", "2"))
+                    .filter(termQuery("c", "3"))
+                    .filter(QueryBuilders.boolQuery().mustNot(termQuery("d", "4")).mustNot(termQuery("e", "5")))
+            )
+            .aggregation(AggregationBuilders.terms("x").field("x"))
+            .aggregation(AggregationBuilders.max("y").field("y"));
+        final SearchSourceBuilder reordered = new SearchSourceBuilder().size(0)
+            .query(
+                QueryBuilders.boolQuery()
+                    .must(termQuery("a", "1"))
+                    .must(termQuery("b", "2"))
+                    .filter(QueryBuilders.boolQuery().mustNot(termQuery("e", "5")).mustNot(termQuery("d", "4")))
+                    .filter(termQuery("c", "3"))
+            )
+            .aggregation(AggregationBuilders.max("y").field("y"))
+            .aggregation(AggregationBuilders.terms("x").field("x"));
+        assertThat(cacheKey(shardId, reordered), equalTo(cacheKey(shardId, source)));
+
+        // computing the key must leave the request untouched
+        assertThat(((BoolQueryBuilder) reordered.query()).filter().get(1), equalTo(termQuery("c", "3")));
+        assertThat(reordered.aggregations().getAggregatorFactories().iterator().next().getName(), equalTo("y"));
+
+        // the order of scoring clauses may change the scores, so it must change the key
+        final SearchSourceBuilder reorderedScoring = new SearchSourceBuilder().size(0)
+            .query(
+                QueryBuilders.boolQuery()
+                    .must(termQuery("b", "2"))
+                    .must(termQuery("a", "1"))
+                    .filter(termQuery("c", "3"))
+                    .filter(QueryBuilders.boolQuery().mustNot(termQuery("d", "4")).mustNot(termQuery("e", "5")))
+            )
+            .aggregation(AggregationBuilders.terms("x").field("x"))
+            .aggregation(AggregationBuilders.max("y").field("y"));
+        assertThat(cacheKey(shardId, reorderedScoring), not(equalTo(cacheKey(shardId, source))));
+    }
+
+    public void testCacheKeyIgnoresExtendedBoundsOfTopLevelDateHistograms() throws IOException {
+        final ShardId shardId = new ShardId(randomAlphaOfLength(10), randomAlphaOfLength(10), 0);
+        final long max = randomLongBetween(1_000_000, 2_000_000);
+        final SearchSourceBuilder source = new SearchSourceBuilder().size(0)
+            .aggregation(
+                AggregationBuilders.dateHistogram("h")
+                    .field("date")
+                    .fixedInterval(DateHistogramInterval.MINUTE)
+                    .minDocCount(0)
+                    .extendedBounds(new LongBounds(max - 600_000, max))
+            );
+        final SearchSourceBuilder refreshed = new SearchSourceBuilder().size(0)
+            .aggregation(
+                AggregationBuilders.dateHistogram("h")
+                    .field("date")
+                    .fixedInterval(DateHistogramInterval.MINUTE)
+                    .minDocCount(0)
+                    .extendedBounds(new LongBounds(max - 570_000, max + 30_000))
+            );
+        assertThat(cacheKey(shardId, refreshed), equalTo(cacheKey(shardId, source)));
+        // computing the key must leave the request untouched
+        final DateHistogramAggregationBuilder histogram = (DateHistogramAggregationBuilder) source.aggregations()
+            .getAggregatorFactories()
+            .iterator()
+            .next();
+        assertThat(histogram.extendedBounds(), equalTo(new LongBounds(max - 600_000, max)));
+
+        // the interval changes the buckets that shards collect, so it must change the key
+        final SearchSourceBuilder otherInterval = new SearchSourceBuilder().size(0)
+            .aggregation(
+                AggregationBuilders.dateHistogram("h")
+                    .field("date")
+                    .fixedInterval(DateHistogramInterval.hours(1))
+                    .minDocCount(0)
+                    .extendedBounds(new LongBounds(max - 600_000, max))
+            );
+        assertThat(cacheKey(shardId, otherInterval), not(equalTo(cacheKey(shardId, source))));
+    }
+
+    private static BytesReference cacheKey(ShardId shardId, SearchSourceBuilder source) throws IOException {
+        final SearchRequest searchRequest = new SearchRequest().source(source).allowPartialSearchResults(true);
+        return new ShardSearchRequest(
+            new OriginalIndices(searchRequest),
+            searchRequest,
+            shardId,
+            0,
+            1,
+            AliasFilter.EMPTY,
+            1.0f,
+            randomNonNegativeLong(),
+            null
+        ).cacheKey(null);
+    }
+
     public void testForceSyntheticUnsupported() throws IOException {
         SearchRequest request = createSearchRequest();
         if (request.source() != null) {
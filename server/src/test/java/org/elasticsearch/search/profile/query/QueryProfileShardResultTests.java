@@ -19,6 +19,7 @@ import org.elasticsearch.xcontent.XContentParser;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import static org.elasticsearch.common.xcontent.XContentParserUtils.ensureExpectedToken;
@@ -37,7 +38,10 @@ public class QueryProfileShardResultTests extends AbstractXContentSerializingTes
         }
 
         Long vectorOperationsCount = randomBoolean() ? null : randomNonNegativeLong();
-        return new QueryProfileShardResult(queryProfileResults, rewriteTime, profileCollector, vectorOperationsCount);
+        Map<String, Long> knnSearchStrategies = randomBoolean()
+            ? Map.of()
+            : Map.of("graph", randomNonNegativeLong(), "exact", randomNonNegativeLong());
+        return new QueryProfileShardResult(queryProfileResults, rewriteTime, profileCollector, vectorOperationsCount, knnSearchStrategies);
     }
 
     @Override
@@ -65,6 +69,6 @@ public class QueryProfileShardResultTests extends AbstractXContentSerializingTes
 
     @Override
     protected Predicate<String> getRandomFieldsExcludeFilter() {
-        return ProfileResultTests.RANDOM_FIELDS_EXCLUDE_FILTER;
+        return ProfileResultTests.RANDOM_FIELDS_EXCLUDE_FILTER.or(s -> s.endsWith(QueryProfileShardResult.KNN_SEARCH_STRATEGIES));
     }
 }
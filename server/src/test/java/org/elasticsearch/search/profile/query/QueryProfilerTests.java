@@ -44,6 +44,7 @@ import org.junit.BeforeClass;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiConsumer;
 
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
@@ -211,6 +212,55 @@ public class QueryProfilerTests extends ESTestCase {
         assertThat(rewriteTime, greaterThan(0L));
     }
 
+    public void testDebugInfo() throws IOException {
+        QueryProfiler profiler = new QueryProfiler();
+        searcher.setProfiler(profiler);
+        Query query = new DebugInfoQuery(new TermQuery(new Term("foo", "bar")));
+        searcher.search(query, 1);
+        List<ProfileResult> results = profiler.getTree();
+        assertEquals(1, results.size());
+        assertThat(results.get(0).getDebugInfo(), equalTo(Map.of("the_answer", 42)));
+    }
+
+    private static class DebugInfoQuery extends Query implements QueryDebugInfoProvider {
+
+        private final Query in;
+
+        DebugInfoQuery(Query in) {
+            this.in = in;
+        }
+
+        @Override
+        public Weight createWeight(IndexSearcher searcher, ScoreMode scoreMode, float boost) throws IOException {
+            return in.createWeight(searcher, scoreMode, boost);
+        }
+
+        @Override
+        public void collectDebugInfo(BiConsumer<String, Object> add) {
+            add.accept("the_answer", 42);
+        }
+
+        @Override
+        public String toString(String field) {
+            return getClass().getSimpleName();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public void visit(QueryVisitor visitor) {
+            visitor.visitLeaf(this);
+        }
+    }
+
     private static class DummyQuery extends Query {
 
         @Override
@@ -64,6 +64,9 @@ import org.apache.lucene.tests.index.RandomIndexWriter;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.FixedBitSet;
 import org.elasticsearch.action.search.SearchShardTask;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.util.concurrent.EsExecutors;
+import org.elasticsearch.common.util.concurrent.ThreadContext;
 import org.elasticsearch.index.mapper.DateFieldMapper;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.index.mapper.NumberFieldMapper;
@@ -88,11 +91,15 @@ import org.elasticsearch.tasks.TaskCancelHelper;
 import org.elasticsearch.tasks.TaskCancelledException;
 import org.elasticsearch.tasks.TaskId;
 import org.elasticsearch.test.TestSearchContext;
+import org.elasticsearch.threadpool.ThreadPool;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import static org.elasticsearch.search.query.QueryPhaseCollectorManager.hasInfMaxScore;
 import static org.hamcrest.Matchers.anyOf;
@@ -104,6 +111,7 @@ import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -317,6 +325,8 @@ public class QueryPhaseTests extends IndexShardTestCase {
             QuerySearchResult results = context.queryResult();
             assertThat(results.serviceTimeEWMA(), greaterThanOrEqualTo(0L));
             assertThat(results.nodeQueueSize(), greaterThanOrEqualTo(0));
+            assertThat(results.nodeUtilization(), greaterThanOrEqualTo(0.0));
+            assertThat(results.nodeUtilization(), lessThanOrEqualTo(1.0));
         }
     }
 
@@ -1127,6 +1137,34 @@ public class QueryPhaseTests extends IndexShardTestCase {
         }
     }
 
+    public void testNodeUtilizationExcludesCallingThread() throws Exception {
+        int size = randomIntBetween(2, 8);
+        ThreadPoolExecutor executor = EsExecutors.newFixed(
+            "test",
+            size,
+            -1,
+            EsExecutors.daemonThreadFactory("test"),
+            new ThreadContext(Settings.EMPTY),
+            EsExecutors.TaskTrackingConfig.DO_NOT_TRACK
+        );
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // the query phase runs on a search thread, an otherwise idle pool must report 0
+            assertThat(executor.submit(() -> QueryPhase.nodeUtilization(executor)).get(), equalTo(0.0));
+
+            executor.execute(() -> {
+                blocked.countDown();
+                safeAwait(release);
+            });
+            safeAwait(blocked);
+            assertThat(executor.submit(() -> QueryPhase.nodeUtilization(executor)).get(), equalTo(1.0 / size));
+        } finally {
+            release.countDown();
+            ThreadPool.terminate(executor, 10, TimeUnit.SECONDS);
+        }
+    }
+
     private static ContextIndexSearcher noCollectionContextSearcher(IndexReader reader) throws IOException {
         return earlyTerminationContextSearcher(reader, 0);
     }
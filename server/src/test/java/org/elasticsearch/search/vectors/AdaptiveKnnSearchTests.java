@@ -0,0 +1,166 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the "Elastic License
+ * 2.0", the "GNU Affero General Public License v3.0 only", and the "Server Side
+ * Public License v 1"; you may not use this file except in compliance with, at
+ * your election, the "Elastic License 2.0", the "GNU Affero General Public
+ * License v3.0 only", or the "Server Side Public License, v 1".
+ */
+
+package org.elasticsearch.search.vectors;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.KnnFloatVectorField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.index.VectorSimilarityFunction;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.knn.KnnCollectorManager;
+import org.apache.lucene.search.knn.KnnSearchStrategy;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.Bits;
+import org.elasticsearch.search.profile.query.QueryProfiler;
+import org.elasticsearch.test.ESTestCase;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class AdaptiveKnnSearchTests extends ESTestCase {
+
+    private static final String FIELD_NAME = "vector";
+
+    public void testPreferExactSearch() {
+        // fewer matches than k can only be found exhaustively
+        assertTrue(AdaptiveKnnSearch.preferExactSearch(10, 10, 1_000_000));
+        assertTrue(AdaptiveKnnSearch.preferExactSearch(10, 1, 1_000_000));
+        // a filter that matches 1% of a large segment makes the graph search visit more nodes than there are matches
+        assertTrue(AdaptiveKnnSearch.preferExactSearch(10, 10_000, 1_000_000));
+        // a permissive filter is cheaper to apply while searching the graph
+        assertFalse(AdaptiveKnnSearch.preferExactSearch(10, 500_000, 1_000_000));
+        assertFalse(AdaptiveKnnSearch.preferExactSearch(10, 1_000_000, 1_000_000));
+        // the more neighbors we need, the more restrictive the filter may be
+        assertFalse(AdaptiveKnnSearch.preferExactSearch(10, 2_000, 20_000));
+        assertTrue(AdaptiveKnnSearch.preferExactSearch(100, 2_000, 20_000));
+    }
+
+    public void testRestrictiveFilterIsScoredExactly() throws IOException {
+        int numDocs = 2_000;
+        int dims = 8;
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+                for (int i = 0; i < numDocs; i++) {
+                    Document doc = new Document();
+                    doc.add(new KnnFloatVectorField(FIELD_NAME, randomVector(dims), VectorSimilarityFunction.EUCLIDEAN));
+                    doc.add(new StringField("tag", i % 100 == 0 ? "rare" : "common", Field.Store.NO));
+                    writer.addDocument(doc);
+                }
+                writer.forceMerge(1);
+            }
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                IndexSearcher searcher = newSearcher(reader, true, false);
+                float[] queryVector = randomVector(dims);
+
+                ESKnnFloatVectorQuery rare = new ESKnnFloatVectorQuery(
+                    FIELD_NAME,
+                    queryVector,
+                    10,
+                    10,
+                    new TermQuery(new Term("tag", "rare")),
+                    KnnSearchStrategy.Hnsw.DEFAULT
+                );
+                TopDocs topDocs = searcher.search(rare, 10);
+                assertThat(topDocs.scoreDocs.length, equalTo(10));
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    assertThat(scoreDoc.doc % 100, equalTo(0));
+                }
+                QueryProfiler profiler = new QueryProfiler();
+                rare.profile(profiler);
+                assertThat(
+                    profiler.getKnnSearchStrategies(),
+                    equalTo(Map.of(AdaptiveKnnSearch.GRAPH, 0L, AdaptiveKnnSearch.EXACT, 1L))
+                );
+
+                ESKnnFloatVectorQuery common = new ESKnnFloatVectorQuery(
+                    FIELD_NAME,
+                    queryVector,
+                    10,
+                    10,
+                    new TermQuery(new Term("tag", "common")),
+                    KnnSearchStrategy.Hnsw.DEFAULT
+                );
+                assertThat(searcher.search(common, 10).scoreDocs.length, equalTo(10));
+                profiler = new QueryProfiler();
+                common.profile(profiler);
+                assertThat(profiler.getKnnSearchStrategies().get(AdaptiveKnnSearch.GRAPH), equalTo(1L));
+            }
+        }
+    }
+
+    public void testGraphSearchFallingBackToExactSearchIsCountedOnce() throws IOException {
+        int numDocs = 500;
+        int dims = 8;
+        try (Directory dir = newDirectory()) {
+            try (IndexWriter writer = new IndexWriter(dir, new IndexWriterConfig())) {
+                for (int i = 0; i < numDocs; i++) {
+                    Document doc = new Document();
+                    doc.add(new KnnFloatVectorField(FIELD_NAME, randomVector(dims), VectorSimilarityFunction.EUCLIDEAN));
+                    doc.add(new StringField("tag", i % 2 == 0 ? "even" : "odd", Field.Store.NO));
+                    writer.addDocument(doc);
+                }
+                writer.forceMerge(1);
+            }
+            try (IndexReader reader = DirectoryReader.open(dir)) {
+                IndexSearcher searcher = newSearcher(reader, true, false);
+                ESKnnFloatVectorQuery query = new ESKnnFloatVectorQuery(
+                    FIELD_NAME,
+                    randomVector(dims),
+                    10,
+                    10,
+                    new TermQuery(new Term("tag", "even")),
+                    KnnSearchStrategy.Hnsw.DEFAULT
+                ) {
+                    @Override
+                    protected TopDocs approximateSearch(
+                        LeafReaderContext context,
+                        Bits acceptDocs,
+                        int visitedLimit,
+                        KnnCollectorManager knnCollectorManager
+                    ) throws IOException {
+                        // stop the graph search right away so that Lucene falls back to exact search
+                        return super.approximateSearch(context, acceptDocs, 1, knnCollectorManager);
+                    }
+                };
+                TopDocs topDocs = searcher.search(query, 10);
+                assertThat(topDocs.scoreDocs.length, equalTo(10));
+                for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                    assertThat(scoreDoc.doc % 2, equalTo(0));
+                }
+                QueryProfiler profiler = new QueryProfiler();
+                query.profile(profiler);
+                assertThat(
+                    profiler.getKnnSearchStrategies(),
+                    equalTo(Map.of(AdaptiveKnnSearch.GRAPH, 0L, AdaptiveKnnSearch.EXACT, 1L))
+                );
+            }
+        }
+    }
+
+    private static float[] randomVector(int dims) {
+        float[] vector = new float[dims];
+        for (int i = 0; i < dims; i++) {
+            vector[i] = randomFloat();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.analytics.multiterms;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.SortedSetDocValues;
+import org.apache.lucene.util.ArrayUtil;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.util.IntArray;
+import org.elasticsearch.common.util.LongArray;
+import org.elasticsearch.common.util.ObjectArray;
+import org.elasticsearch.common.util.ObjectArrayPriorityQueue;
+import org.elasticsearch.core.Nullable;
+import org.elasticsearch.core.Releasables;
+import org.elasticsearch.search.DocValueFormat;
+import org.elasticsearch.search.aggregations.AggregationExecutionContext;
+import org.elasticsearch.search.aggregations.Aggregator;
+import org.elasticsearch.search.aggregations.AggregatorFactories;
+import org.elasticsearch.search.aggregations.BucketOrder;
+import org.elasticsearch.search.aggregations.CardinalityUpperBound;
+import org.elasticsearch.search.aggregations.InternalAggregation;
+import org.elasticsearch.search.aggregations.InternalAggregations;
+import org.elasticsearch.search.aggregations.InternalMultiBucketAggregation;
+import org.elasticsearch.search.aggregations.KeyComparable;
+import org.elasticsearch.search.aggregations.LeafBucketCollector;
+import org.elasticsearch.search.aggregations.LeafBucketCollectorBase;
+import org.elasticsearch.search.aggregations.bucket.terms.BucketAndOrd;
+import org.elasticsearch.search.aggregations.bucket.terms.BucketPriorityQueue;
+import org.elasticsearch.search.aggregations.bucket.terms.LongKeyedBucketOrds;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregator;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregatorFactory;
+import org.elasticsearch.search.aggregations.support.AggregationContext;
+import org.elasticsearch.search.aggregations.support.ValuesSource;
+import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects the {@code multi_terms} aggregation when all of its fields have global ordinals, like
+ * {@code keyword} and {@code ip} fields. Rather than serializing the terms of every matching tuple
+ * into a {@link BytesRef} key, the global ordinals of the terms are packed into a single {@code long}
+ * that is used as the bucket key. The terms are only looked up for the buckets that make it into the
+ * shard's top buckets.
+ * <p>
+ * Each field gets just enough bits to hold its largest global ordinal and the first field takes the
+ * most significant bits. Because global ordinals are assigned in term order, sorting the packed keys
+ * sorts the buckets in the same order as sorting them by their terms.
+ */
+class GlobalOrdinalsMultiTermsAggregator extends AbstractMultiTermsAggregator {
+
+    private final ValuesSource.Bytes.WithOrdinals[] valuesSources;
+    private final int[] shifts;
+    private final long[] masks;
+    private final Comparator<BucketAndOrd<OrdsBucket>> partiallyBuiltBucketComparator;
+    private final LongKeyedBucketOrds bucketOrds;
+
+    GlobalOrdinalsMultiTermsAggregator(
+        String name,
+        AggregatorFactories factories,
+        AggregationContext context,
+        Aggregator parent,
+        List<ValuesSourceConfig> configs,
+        int[] bitsPerField,
+        List<DocValueFormat> formats,
+        boolean showTermDocCountError,
+        BucketOrder order,
+        SubAggCollectionMode collectMode,
+        TermsAggregator.BucketCountThresholds bucketCountThresholds,
+        CardinalityUpperBound cardinality,
+        Map<String, Object> metadata
+    ) throws IOException {
+        super(
+            name,
+            factories,
+            context,
+            parent,
+            configs,
+            formats,
+            showTermDocCountError,
+            order,
+            collectMode,
+            bucketCountThresholds,
+            metadata
+        );
+        partiallyBuiltBucketComparator = order == null ? null : order.partiallyBuiltBucketComparator(this);
+        valuesSources = new ValuesSource.Bytes.WithOrdinals[configs.size()];
+        shifts = new int[configs.size()];
+        masks = new long[configs.size()];
+        int shift = 0;
+        for (int i = configs.size() - 1; i >= 0; i--) {
+            valuesSources[i] = (ValuesSource.Bytes.WithOrdinals) configs.get(i).getValuesSource();
+            shifts[i] = shift;
+            masks[i] = (1L << bitsPerField[i]) - 1;
+            shift += bitsPerField[i];
+        }
+        bucketOrds = LongKeyedBucketOrds.buildForValueRange(context.bigArrays(), cardinality, 0, (1L << shift) - 1);
+    }
+
+    /**
+     * Returns the number of bits that the global ordinals of each of the fields need, or {@code null} if
+     * not all fields have global ordinals or if their ordinals don't fit into a single {@code long} together.
+     */
+    @Nullable
+    static int[] bitsPerField(List<ValuesSourceConfig> configs, AggregationContext context) throws IOException {
+        IndexReader reader = context.searcher().getIndexReader();
+        int[] bitsPerField = new int[configs.size()];
+        int totalBits = 0;
+        for (int i = 0; i < configs.size(); i++) {
+            if (configs.get(i).getValuesSource() instanceof ValuesSource.Bytes.WithOrdinals valuesSource) {
+                long maxOrd = valuesSource.globalMaxOrd(reader);
+                bitsPerField[i] = maxOrd <= 1 ? 0 : 64 - Long.numberOfLeadingZeros(maxOrd - 1);
+                totalBits += bitsPerField[i];
+            } else {
+                return null;
+            }
+        }
+        // keep the sign bit clear so that the packed keys sort like the tuples of ordinals they encode
+        return totalBits < Long.SIZE ? bitsPerField : null;
+    }
+
+    @Override
+    public LeafBucketCollector getLeafCollector(AggregationExecutionContext aggCtx, LeafBucketCollector sub) throws IOException {
+        SortedSetDocValues[] docValues = new SortedSetDocValues[valuesSources.length];
+        for (int i = 0; i < valuesSources.length; i++) {
+            docValues[i] = valuesSources[i].globalOrdinalsValues(aggCtx.getLeafReaderContext());
+        }
+        long[][] docOrds = new long[valuesSources.length][1];
+        int[] docOrdCounts = new int[valuesSources.length];
+        return new LeafBucketCollectorBase(sub, null) {
+            @Override
+            public void collect(int doc, long owningBucketOrd) throws IOException {
+                for (int i = 0; i < docValues.length; i++) {
+                    if (docValues[i].advanceExact(doc) == false) {
+                        return;
+                    }
+                    // the ordinals of a field are needed once for every combination of the ordinals of the fields before it
+                    int count = docValues[i].docValueCount();
+                    docOrds[i] = ArrayUtil.grow(docOrds[i], count);
+                    for (int v = 0; v < count; v++) {
+                        docOrds[i][v] = docValues[i].nextOrd();
+                    }
+                    docOrdCounts[i] = count;
+                }
+                collectOrds(doc, owningBucketOrd, 0, 0L);
+            }
+
+            private void collectOrds(int doc, long owningBucketOrd, int field, long packedOrds) throws IOException {
+                if (field == docOrds.length) {
+                    long bucketOrd = bucketOrds.add(owningBucketOrd, packedOrds);
+                    if (bucketOrd < 0) { // already seen
+                        bucketOrd = -1 - bucketOrd;
+                        collectExistingBucket(sub, doc, bucketOrd);
+                    } else {
+                        collectBucket(sub, doc, bucketOrd);
+                    }
+                    return;
+                }
+                for (int v = 0; v < docOrdCounts[field]; v++) {
+                    collectOrds(doc, owningBucketOrd, field + 1, packedOrds | (docOrds[field][v] << shifts[field]));
+                }
+            }
+        };
+    }
+
+    @Override
+    protected void doClose() {
+        Releasables.close(bucketOrds);
+    }
+
+    @Override
+    public InternalAggregation[] buildAggregations(LongArray owningBucketOrds) throws IOException {
+        SortedSetDocValues[] lookups = new SortedSetDocValues[valuesSources.length];
+        for (int i = 0; i < valuesSources.length; i++) {
+            lookups[i] = TermsAggregatorFactory.globalOrdsValues(context, valuesSources[i]);
+        }
+        try (
+            LongArray otherDocCounts = bigArrays().newLongArray(owningBucketOrds.size(), true);
+            ObjectArray<InternalMultiTerms.Bucket[]> topBucketsPerOrd = bigArrays().newObjectArray(owningBucketOrds.size())
+        ) {
+            try (IntArray bucketsToCollect = bigArrays().newIntArray(owningBucketOrds.size())) {
+                long ordsToCollect = 0;
+                for (long ordIdx = 0; ordIdx < owningBucketOrds.size(); ordIdx++) {
+                    int size = (int) Math.min(bucketOrds.bucketsInOrd(owningBucketOrds.get(ordIdx)), bucketCountThresholds.getShardSize());
+                    ordsToCollect += size;
+                    bucketsToCollect.set(ordIdx, size);
+                }
+                try (LongArray ordsArray = bigArrays().newLongArray(ordsToCollect)) {
+                    long ordsCollected = 0;
+                    for (long ordIdx = 0; ordIdx < owningBucketOrds.size(); ordIdx++) {
+                        final long owningBucketOrd = owningBucketOrds.get(ordIdx);
+                        long bucketsInOrd = bucketOrds.bucketsInOrd(owningBucketOrd);
+
+                        int size = (int) Math.min(bucketsInOrd, bucketCountThresholds.getShardSize());
+                        try (
+                            ObjectArrayPriorityQueue<BucketAndOrd<OrdsBucket>> ordered = new BucketPriorityQueue<>(
+                                size,
+                                bigArrays(),
+                                partiallyBuiltBucketComparator
+                            )
+                        ) {
+                            BucketAndOrd<OrdsBucket> spare = null;
+                            LongKeyedBucketOrds.BucketOrdsEnum ordsEnum = bucketOrds.ordsEnum(owningBucketOrd);
+                            while (ordsEnum.next()) {
+                                long docCount = bucketDocCount(ordsEnum.ord());
+                                otherDocCounts.increment(ordIdx, docCount);
+                                if (docCount < bucketCountThresholds.getShardMinDocCount()) {
+                                    continue;
+                                }
+                                if (spare == null) {
+                                    checkRealMemoryCBForInternalBucket();
+                                    spare = new BucketAndOrd<>(new OrdsBucket());
+                                }
+                                spare.bucket.packedOrds = ordsEnum.value();
+                                spare.bucket.docCount = docCount;
+                                spare.ord = ordsEnum.ord();
+                                spare = ordered.insertWithOverflow(spare);
+                            }
+
+                            // Get the top buckets, looking up the terms of only those
+                            int orderedSize = (int) ordered.size();
+                            InternalMultiTerms.Bucket[] buckets = new InternalMultiTerms.Bucket[orderedSize];
+                            for (int i = orderedSize - 1; i >= 0; --i) {
+                                BucketAndOrd<OrdsBucket> bucketAndOrd = ordered.pop();
+                                buckets[i] = new InternalMultiTerms.Bucket(
+                                    lookupTerms(lookups, bucketAndOrd.bucket.packedOrds),
+                                    bucketAndOrd.bucket.docCount,
+                                    null,
+                                    showTermDocCountError,
+                                    0,
+                                    formats,
+                                    keyConverters
+                                );
+                                ordsArray.set(ordsCollected + i, bucketAndOrd.ord);
+                                otherDocCounts.increment(ordIdx, -buckets[i].getDocCount());
+                            }
+                            topBucketsPerOrd.set(ordIdx, buckets);
+                            ordsCollected += orderedSize;
+                        }
+                    }
+                    buildSubAggsForAllBuckets(topBucketsPerOrd, ordsArray, (b, a) -> b.aggregations = a);
+                }
+            }
+
+            return buildAggregations(
+                Math.toIntExact(owningBucketOrds.size()),
+                ordIdx -> buildResult(otherDocCounts.get(ordIdx), topBucketsPerOrd.get(ordIdx))
+            );
+        }
+    }
+
+    private List<Object> lookupTerms(SortedSetDocValues[] lookups, long packedOrds) throws IOException {
+        List<Object> terms = new ArrayList<>(lookups.length);
+        for (int i = 0; i < lookups.length; i++) {
+            long globalOrd = (packedOrds >>> shifts[i]) & masks[i];
+            terms.add(BytesRef.deepCopyOf(lookups[i].lookupOrd(globalOrd)));
+        }
+        return terms;
+    }
+
+    @Override
+    public void collectDebugInfo(BiConsumer<String, Object> add) {
+        super.collectDebugInfo(add);
+        add.accept("collection_strategy", "packed_global_ordinals");
+        add.accept("total_buckets", bucketOrds.size());
+    }
+
+    /**
+     * Temporary bucket that sorts by the packed global ordinals of its terms until the terms
+     * of the top buckets are looked up.
+     */
+    static class OrdsBucket extends InternalMultiBucketAggregation.InternalBucket implements KeyComparable<OrdsBucket> {
+        long packedOrds;
+        long docCount;
+
+        @Override
+        public int compareKey(OrdsBucket other) {
+            return Long.compare(packedOrds, other.packedOrds);
+        }
+
+        @Override
+        public long getDocCount() {
+            return docCount;
+        }
+
+        @Override
+        public Object getKey() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getKeyAsString() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public InternalAggregations getAggregations() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
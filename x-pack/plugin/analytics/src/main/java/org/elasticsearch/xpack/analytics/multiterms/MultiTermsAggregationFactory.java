@@ -66,6 +66,24 @@ public class MultiTermsAggregationFactory extends AggregatorFactory {
             thresholds.setShardSize(BucketUtils.suggestShardSideQueueSize(thresholds.getRequiredSize()));
         }
         thresholds.ensureValidity();
+        int[] bitsPerField = GlobalOrdinalsMultiTermsAggregator.bitsPerField(configs, context);
+        if (bitsPerField != null) {
+            return new GlobalOrdinalsMultiTermsAggregator(
+                name,
+                factories,
+                context,
+                parent,
+                configs,
+                bitsPerField,
+                formats,
+                showTermDocCountError,
+                order,
+                collectMode,
+                thresholds,
+                cardinality,
+                metadata
+            );
+        }
         return new MultiTermsAggregator(
             name,
             factories,
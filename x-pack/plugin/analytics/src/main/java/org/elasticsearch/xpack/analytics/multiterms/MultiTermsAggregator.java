@@ -12,7 +12,6 @@ import org.apache.lucene.index.DocValues;
 import org.apache.lucene.index.LeafReaderContext;
 import org.apache.lucene.index.NumericDocValues;
 import org.apache.lucene.index.SortedNumericDocValues;
-import org.apache.lucene.search.ScoreMode;
 import org.apache.lucene.util.BytesRef;
 import org.apache.lucene.util.BytesRefBuilder;
 import org.elasticsearch.ExceptionsHelper;
@@ -36,10 +35,8 @@ import org.elasticsearch.search.aggregations.AggregatorFactories;
 import org.elasticsearch.search.aggregations.BucketOrder;
 import org.elasticsearch.search.aggregations.CardinalityUpperBound;
 import org.elasticsearch.search.aggregations.InternalAggregation;
-import org.elasticsearch.search.aggregations.InternalOrder;
 import org.elasticsearch.search.aggregations.LeafBucketCollector;
 import org.elasticsearch.search.aggregations.LeafBucketCollectorBase;
-import org.elasticsearch.search.aggregations.bucket.DeferableBucketAggregator;
 import org.elasticsearch.search.aggregations.bucket.terms.BucketAndOrd;
 import org.elasticsearch.search.aggregations.bucket.terms.BucketPriorityQueue;
 import org.elasticsearch.search.aggregations.bucket.terms.BytesKeyedBucketOrds;
@@ -50,36 +47,18 @@ import org.elasticsearch.search.aggregations.support.ValuesSourceConfig;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
-
-import static java.util.Collections.emptyList;
-import static org.elasticsearch.search.aggregations.InternalOrder.isKeyOrder;
-import static org.elasticsearch.search.aggregations.bucket.terms.TermsAggregator.aggsUsedForSorting;
-import static org.elasticsearch.search.aggregations.bucket.terms.TermsAggregator.descendsFromNestedAggregator;
-import static org.elasticsearch.xpack.analytics.multiterms.MultiTermsAggregationBuilder.REGISTRY_KEY;
 
 /**
  * Collects the {@code multi_terms} aggregation, which functions like the
  * {@code terms} aggregation, but supports multiple fields that are treated
  * as a tuple.
  */
-class MultiTermsAggregator extends DeferableBucketAggregator {
+class MultiTermsAggregator extends AbstractMultiTermsAggregator {
 
-    protected final List<DocValueFormat> formats;
-    protected final TermsAggregator.BucketCountThresholds bucketCountThresholds;
-    protected final BucketOrder order;
     protected final Comparator<BucketAndOrd<InternalMultiTerms.Bucket>> partiallyBuiltBucketComparator;
-    protected final Set<Aggregator> aggsUsedForSorting;
-    protected final SubAggCollectionMode collectMode;
-    private final List<TermValuesSource> values;
-    private final boolean showTermDocCountError;
-    private final boolean needsScore;
-    private final List<InternalMultiTerms.KeyConverter> keyConverters;
 
     private final BytesKeyedBucketOrds bucketOrds;
 
@@ -97,56 +76,23 @@ class MultiTermsAggregator extends DeferableBucketAggregator {
         CardinalityUpperBound cardinality,
         Map<String, Object> metadata
     ) throws IOException {
-        super(name, factories, context, parent, metadata);
-        this.bucketCountThresholds = bucketCountThresholds;
-        this.order = order;
+        super(
+            name,
+            factories,
+            context,
+            parent,
+            configs,
+            formats,
+            showTermDocCountError,
+            order,
+            collectMode,
+            bucketCountThresholds,
+            metadata
+        );
         partiallyBuiltBucketComparator = order == null ? null : order.partiallyBuiltBucketComparator(this);
-        this.formats = formats;
-        this.showTermDocCountError = showTermDocCountError;
-        if (subAggsNeedScore() && descendsFromNestedAggregator(parent) || context.isInSortOrderExecutionRequired()) {
-            /**
-             * Force the execution to depth_first because we need to access the score of
-             * nested documents in a sub-aggregation and we are not able to generate this score
-             * while replaying deferred documents.
-             *
-             * We also force depth_first for time-series aggs executions since they need to be visited in a particular order (index
-             * sort order) which might be changed by the breadth_first execution.
-             */
-            this.collectMode = SubAggCollectionMode.DEPTH_FIRST;
-        } else {
-            this.collectMode = collectMode;
-        }
-        aggsUsedForSorting = aggsUsedForSorting(this, order);
-        this.needsScore = configs.stream().anyMatch(c -> c.getValuesSource().needsScores());
-        values = configs.stream()
-            .map(c -> context.getValuesSourceRegistry().getAggregator(REGISTRY_KEY, c).build(c))
-            .collect(Collectors.toList());
-        keyConverters = values.stream().map(TermValuesSource::keyConverter).collect(Collectors.toList());
         bucketOrds = BytesKeyedBucketOrds.build(context.bigArrays(), cardinality);
     }
 
-    private boolean subAggsNeedScore() {
-        for (Aggregator subAgg : subAggregators) {
-            if (subAgg.scoreMode().needsScores()) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    @Override
-    public ScoreMode scoreMode() {
-        if (needsScore) {
-            return ScoreMode.COMPLETE;
-        }
-        return super.scoreMode();
-    }
-
-    @Override
-    protected boolean shouldDefer(Aggregator aggregator) {
-        return collectMode == SubAggCollectionMode.BREADTH_FIRST && aggsUsedForSorting.contains(aggregator) == false;
-    }
-
     List<TermValues> termValuesList(LeafReaderContext ctx) throws IOException {
         List<TermValues> termValuesList = new ArrayList<>();
         for (TermValuesSource termValuesSource : values) {
@@ -300,50 +246,6 @@ class MultiTermsAggregator extends DeferableBucketAggregator {
         }
     }
 
-    InternalMultiTerms buildResult(long otherDocCount, InternalMultiTerms.Bucket[] topBuckets) {
-        final BucketOrder reduceOrder;
-        if (isKeyOrder(order) == false) {
-            reduceOrder = InternalOrder.key(true);
-            Arrays.sort(topBuckets, reduceOrder.comparator());
-        } else {
-            reduceOrder = order;
-        }
-        return new InternalMultiTerms(
-            name,
-            reduceOrder,
-            order,
-            bucketCountThresholds.getRequiredSize(),
-            bucketCountThresholds.getMinDocCount(),
-            bucketCountThresholds.getShardSize(),
-            showTermDocCountError,
-            otherDocCount,
-            Arrays.asList(topBuckets),
-            0,
-            formats,
-            keyConverters,
-            metadata()
-        );
-    }
-
-    @Override
-    public InternalAggregation buildEmptyAggregation() {
-        return new InternalMultiTerms(
-            name,
-            order,
-            order,
-            bucketCountThresholds.getRequiredSize(),
-            bucketCountThresholds.getMinDocCount(),
-            bucketCountThresholds.getShardSize(),
-            showTermDocCountError,
-            0,
-            emptyList(),
-            0,
-            formats,
-            keyConverters,
-            metadata()
-        );
-    }
-
     static TermValuesSource buildNumericTermValues(ValuesSourceConfig config) {
         final ValuesSource.Numeric vs = (ValuesSource.Numeric) config.getValuesSource();
         if (vs.isFloatingPoint()) {
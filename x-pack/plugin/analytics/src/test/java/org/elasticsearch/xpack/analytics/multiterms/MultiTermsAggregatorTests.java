@@ -37,6 +37,7 @@ import org.elasticsearch.script.ScriptModule;
 import org.elasticsearch.script.ScriptService;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.Aggregator;
 import org.elasticsearch.search.aggregations.AggregatorTestCase;
 import org.elasticsearch.search.aggregations.BucketOrder;
 import org.elasticsearch.search.aggregations.metrics.Max;
@@ -53,8 +54,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -589,6 +593,81 @@ public class MultiTermsAggregatorTests extends AggregatorTestCase {
 
     }
 
+    public void testKeywordsUseGlobalOrdinals() throws IOException {
+        String otherKeywordField = "k2Val";
+        MappedFieldType keywordType = new KeywordFieldMapper.KeywordFieldType(KEYWORD_FIELD);
+        MappedFieldType otherKeywordType = new KeywordFieldMapper.KeywordFieldType(otherKeywordField);
+        MappedFieldType intType = new NumberFieldMapper.NumberFieldType(INT_FIELD, NumberFieldMapper.NumberType.INTEGER);
+        Map<String, Long> expected = new TreeMap<>();
+        List<List<IndexableField>> docs = new ArrayList<>();
+        int numDocs = randomIntBetween(1, 200);
+        for (int d = 0; d < numDocs; d++) {
+            List<IndexableField> doc = new ArrayList<>();
+            Set<String> keywords = new HashSet<>(randomList(1, 3, () -> randomFrom("a", "b", "c", "d")));
+            Set<String> otherKeywords = new HashSet<>(randomList(1, 3, () -> randomFrom("w", "x", "y", "z")));
+            for (String keyword : keywords) {
+                doc.add(new SortedSetDocValuesField(KEYWORD_FIELD, new BytesRef(keyword)));
+                for (String otherKeyword : otherKeywords) {
+                    expected.merge(keyword + otherKeyword, 1L, Long::sum);
+                }
+            }
+            for (String otherKeyword : otherKeywords) {
+                doc.add(new SortedSetDocValuesField(otherKeywordField, new BytesRef(otherKeyword)));
+            }
+            doc.add(new NumericDocValuesField(INT_FIELD, 1));
+            docs.add(doc);
+        }
+
+        MultiTermsAggregationBuilder builder = new MultiTermsAggregationBuilder("my_terms").terms(
+            List.of(
+                new MultiValuesSourceFieldConfig.Builder().setFieldName(KEYWORD_FIELD).build(),
+                new MultiValuesSourceFieldConfig.Builder().setFieldName(otherKeywordField).build()
+            )
+        ).order(BucketOrder.key(true)).size(expected.size());
+        CheckedConsumer<RandomIndexWriter, IOException> buildIndex = iw -> iw.addDocuments(docs);
+        Consumer<InternalMultiTerms> verify = h -> {
+            assertThat(h.getBuckets(), hasSize(expected.size()));
+            int i = 0;
+            for (Map.Entry<String, Long> entry : expected.entrySet()) {
+                InternalMultiTerms.Bucket bucket = h.getBuckets().get(i++);
+                assertThat(bucket.getKey(), equalTo(List.<Object>of(entry.getKey().substring(0, 1), entry.getKey().substring(1))));
+                assertThat(bucket.getDocCount(), equalTo(entry.getValue()));
+            }
+        };
+        testCase(buildIndex, verify, new AggTestConfig(builder, keywordType, otherKeywordType));
+        debugTestCase(
+            builder,
+            new MatchAllDocsQuery(),
+            buildIndex,
+            (InternalMultiTerms h, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> {
+                verify.accept(h);
+                assertThat(impl, equalTo(GlobalOrdinalsMultiTermsAggregator.class));
+                assertThat(debug.get("my_terms").get("collection_strategy"), equalTo("packed_global_ordinals"));
+            },
+            keywordType,
+            otherKeywordType
+        );
+
+        // fields without global ordinals fall back to serializing the terms of each tuple
+        MultiTermsAggregationBuilder mixedBuilder = new MultiTermsAggregationBuilder("my_terms").terms(
+            List.of(
+                new MultiValuesSourceFieldConfig.Builder().setFieldName(KEYWORD_FIELD).build(),
+                new MultiValuesSourceFieldConfig.Builder().setFieldName(INT_FIELD).build()
+            )
+        );
+        debugTestCase(
+            mixedBuilder,
+            new MatchAllDocsQuery(),
+            buildIndex,
+            (InternalMultiTerms h, Class<? extends Aggregator> impl, Map<String, Map<String, Object>> debug) -> assertThat(
+                impl,
+                equalTo(MultiTermsAggregator.class)
+            ),
+            keywordType,
+            intType
+        );
+    }
+
     public void testShardSize() throws IOException {
         testCase(
             new MatchAllDocsQuery(),
@@ -178,6 +178,19 @@ public class EvaluatorImplementer {
             vectorize = type.simpleName().startsWith("BytesRef") == false;
         }
 
+        processFunction.args.stream().forEach(a -> {
+            if (a.paramName(blockStyle) != null) {
+                builder.addParameter(a.dataType(blockStyle), a.paramName(blockStyle));
+            }
+        });
+        if (blockStyle == false
+            && processFunction.warnExceptions.isEmpty() == false
+            && processOutputsMultivalued == false
+            && processFunction.builderArg == null
+            && isFixedBuilderElementType(processFunction.returnType())) {
+            optimisticVectorEval(builder);
+        }
+
         TypeName builderType = vectorize ? vectorFixedBuilderType(elementType(resultDataType)) : builderType(resultDataType);
         builder.beginControlFlow(
             "try($T result = driverContext.blockFactory().$L(positionCount))",
@@ -185,12 +198,6 @@ public class EvaluatorImplementer {
             buildFromFactory(builderType)
         );
         {
-            processFunction.args.stream().forEach(a -> {
-                if (a.paramName(blockStyle) != null) {
-                    builder.addParameter(a.dataType(blockStyle), a.paramName(blockStyle));
-                }
-            });
-
             processFunction.args.stream().forEach(a -> a.createScratch(builder));
 
             builder.beginControlFlow("position: for (int p = 0; p < positionCount; p++)");
@@ -266,6 +273,63 @@ public class EvaluatorImplementer {
         return builder.build();
     }
 
+    /**
+     * Emits a loop that evaluates all positions of the vectors into a {@code Vector} assuming that
+     * none of them throw the {@code warnExceptions}. Unlike the loop that catches them, this loop
+     * doesn't need to track nulls, so it has no per-position branches for the JIT to vectorize
+     * around, and its dense result keeps the operators that consume it on their vector paths. If any
+     * position throws then the result is thrown away and we fall through to the loop that turns the
+     * positions that throw into nulls with a warning.
+     */
+    private void optimisticVectorEval(MethodSpec.Builder builder) {
+        TypeName builderType = vectorFixedBuilderType(processFunction.returnType());
+        builder.beginControlFlow(
+            "try($T result = driverContext.blockFactory().$L(positionCount))",
+            builderType,
+            buildFromFactory(builderType)
+        );
+        {
+            processFunction.args.stream().forEach(a -> a.createScratch(builder));
+            builder.beginControlFlow("try");
+            {
+                builder.beginControlFlow("for (int p = 0; p < positionCount; p++)");
+                {
+                    processFunction.args.stream().forEach(a -> a.unpackValues(builder, false));
+                    StringBuilder pattern = new StringBuilder("result.$L(p, $T.$N(");
+                    List<Object> args = new ArrayList<>();
+                    args.add(processFunction.appendMethod());
+                    args.add(declarationType);
+                    args.add(processFunction.function.getSimpleName());
+                    processFunction.args.stream().forEach(a -> {
+                        if (args.size() > 3) {
+                            pattern.append(", ");
+                        }
+                        a.buildInvocation(pattern, args, false);
+                    });
+                    pattern.append("))");
+                    builder.addStatement(pattern.toString(), args.toArray());
+                }
+                builder.endControlFlow();
+                builder.addStatement("return result.build().asBlock()");
+            }
+            String catchPattern = "catch ("
+                + processFunction.warnExceptions.stream().map(m -> "$T").collect(Collectors.joining(" | "))
+                + " e)";
+            builder.nextControlFlow(catchPattern, processFunction.warnExceptions.stream().map(m -> TypeName.get(m)).toArray());
+            builder.addComment("evaluate again, turning the positions that throw into nulls");
+            builder.endControlFlow();
+        }
+        builder.endControlFlow();
+    }
+
+    private static boolean isFixedBuilderElementType(TypeName type) {
+        return type.equals(TypeName.BOOLEAN)
+            || type.equals(TypeName.INT)
+            || type.equals(TypeName.LONG)
+            || type.equals(TypeName.DOUBLE)
+            || type.equals(TypeName.FLOAT);
+    }
+
     private static void skipNull(MethodSpec.Builder builder, String value) {
         builder.beginControlFlow("if ($N.isNull(p))", value);
         {
@@ -24,7 +24,17 @@ public class GroupingAggregator implements Releasable {
 
     private final AggregatorMode mode;
 
-    public interface Factory extends Function<DriverContext, GroupingAggregator>, Describable {}
+    public interface Factory extends Function<DriverContext, GroupingAggregator>, Describable {
+        /**
+         * Builds a factory for the same aggregation that combines the intermediate state, as built by
+         * {@link GroupingAggregator#evaluateIntermediate}, read from the channels starting at {@code firstChannel},
+         * and produces the same output as this factory. Used to re-merge the state that a hash aggregation spilled
+         * to disk. Returns {@code null} if the aggregation doesn't support it.
+         */
+        default Factory intermediateStateFactory(int firstChannel) {
+            return null;
+        }
+    }
 
     public GroupingAggregator(GroupingAggregatorFunction aggregatorFunction, AggregatorMode mode) {
         this.aggregatorFunction = aggregatorFunction;
@@ -36,6 +46,11 @@ public class GroupingAggregator implements Releasable {
         return mode.isOutputPartial() ? aggregatorFunction.intermediateBlockCount() : 1;
     }
 
+    /** The number of Blocks of the intermediate state of this aggregation. */
+    public int intermediateBlockCount() {
+        return aggregatorFunction.intermediateBlockCount();
+    }
+
     /**
      * Prepare to process a single page of results.
      */
@@ -90,6 +105,15 @@ public class GroupingAggregator implements Releasable {
         }
     }
 
+    /**
+     * Build the intermediate state of this aggregation, whatever its mode.
+     * @param selected the groupIds that have been selected to be included in
+     *                 the results. Always ascending.
+     */
+    public void evaluateIntermediate(Block[] blocks, int offset, IntVector selected) {
+        aggregatorFunction.evaluateIntermediate(blocks, offset, selected);
+    }
+
     @Override
     public void close() {
         aggregatorFunction.close();
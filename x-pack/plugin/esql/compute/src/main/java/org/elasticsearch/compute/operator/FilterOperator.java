@@ -8,6 +8,7 @@
 package org.elasticsearch.compute.operator;
 
 import org.elasticsearch.compute.data.BooleanBlock;
+import org.elasticsearch.compute.data.BooleanVector;
 import org.elasticsearch.compute.data.Page;
 import org.elasticsearch.compute.operator.EvalOperator.ExpressionEvaluator;
 import org.elasticsearch.core.Releasables;
@@ -48,14 +49,24 @@ public class FilterOperator extends AbstractPageMappingOperator {
             }
             // TODO we can detect constant true or false from the type
             // TODO or we could make a new method in bool-valued evaluators that returns a list of numbers
-            for (int p = 0; p < page.getPositionCount(); p++) {
-                if (test.isNull(p) || test.getValueCount(p) != 1) {
-                    // Null is like false
-                    // And, for now, multivalued results are like false too
-                    continue;
+            BooleanVector testVector = test.asVector();
+            if (testVector != null) {
+                // No nulls or multivalued results so we can skip checking for them on every position
+                for (int p = 0; p < page.getPositionCount(); p++) {
+                    if (testVector.getBoolean(p)) {
+                        positions[rowCount++] = p;
+                    }
                 }
-                if (test.getBoolean(test.getFirstValueIndex(p))) {
-                    positions[rowCount++] = p;
+            } else {
+                for (int p = 0; p < page.getPositionCount(); p++) {
+                    if (test.isNull(p) || test.getValueCount(p) != 1) {
+                        // Null is like false
+                        // And, for now, multivalued results are like false too
+                        continue;
+                    }
+                    if (test.getBoolean(test.getFirstValueIndex(p))) {
+                        positions[rowCount++] = p;
+                    }
                 }
             }
 
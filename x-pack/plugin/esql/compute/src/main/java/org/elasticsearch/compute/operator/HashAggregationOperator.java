@@ -13,6 +13,7 @@ import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.io.stream.StreamInput;
 import org.elasticsearch.common.io.stream.StreamOutput;
+import org.elasticsearch.common.unit.ByteSizeValue;
 import org.elasticsearch.compute.Describable;
 import org.elasticsearch.compute.aggregation.AggregatorMode;
 import org.elasticsearch.compute.aggregation.GroupingAggregator;
@@ -24,6 +25,7 @@ import org.elasticsearch.compute.data.IntArrayBlock;
 import org.elasticsearch.compute.data.IntBigArrayBlock;
 import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.Releasables;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.analysis.AnalysisRegistry;
@@ -46,8 +48,19 @@ public class HashAggregationOperator implements Operator {
         AggregatorMode aggregatorMode,
         List<GroupingAggregator.Factory> aggregators,
         int maxPageSize,
-        AnalysisRegistry analysisRegistry
+        AnalysisRegistry analysisRegistry,
+        @Nullable HashAggregationSpiller.Config spillConfig
     ) implements OperatorFactory {
+        public HashAggregationOperatorFactory(
+            List<BlockHash.GroupSpec> groups,
+            AggregatorMode aggregatorMode,
+            List<GroupingAggregator.Factory> aggregators,
+            int maxPageSize,
+            AnalysisRegistry analysisRegistry
+        ) {
+            this(groups, aggregatorMode, aggregators, maxPageSize, analysisRegistry, null);
+        }
+
         @Override
         public Operator get(DriverContext driverContext) {
             if (groups.stream().anyMatch(BlockHash.GroupSpec::isCategorize)) {
@@ -66,7 +79,10 @@ public class HashAggregationOperator implements Operator {
             return new HashAggregationOperator(
                 aggregators,
                 () -> BlockHash.build(groups, driverContext.blockFactory(), maxPageSize, false),
-                driverContext
+                driverContext,
+                groups,
+                maxPageSize,
+                spillConfig
             );
         }
 
@@ -83,12 +99,24 @@ public class HashAggregationOperator implements Operator {
     private boolean finished;
     private Page output;
 
-    private final BlockHash blockHash;
+    private final Supplier<BlockHash> blockHashSupplier;
+    private BlockHash blockHash;
 
+    private final List<GroupingAggregator.Factory> aggregatorFactories;
     private final List<GroupingAggregator> aggregators;
 
     protected final DriverContext driverContext;
 
+    /**
+     * Moves the state to disk when the breaker gets close to its limit, {@code null} if spilling is disabled.
+     */
+    @Nullable
+    private final HashAggregationSpiller spiller;
+    /**
+     * Count of rows this operator has received since it last spilled its state.
+     */
+    private long rowsSinceSpill;
+
     /**
      * Nanoseconds this operator has spent hashing grouping keys.
      */
@@ -115,19 +143,63 @@ public class HashAggregationOperator implements Operator {
      */
     protected long emitNanos;
 
-    @SuppressWarnings("this-escape")
     public HashAggregationOperator(
         List<GroupingAggregator.Factory> aggregators,
         Supplier<BlockHash> blockHash,
         DriverContext driverContext
     ) {
+        this(aggregators, blockHash, driverContext, null, 0, null);
+    }
+
+    /**
+     * Build an operator that spills its state to disk according to {@code spillConfig}. Spilling is disabled if
+     * {@code spillConfig} is {@code null} or if one of the aggregations can't be merged from its intermediate state.
+     * @param groups the groups that {@code blockHash} hashes, used to merge the spilled keys
+     */
+    public HashAggregationOperator(
+        List<GroupingAggregator.Factory> aggregators,
+        Supplier<BlockHash> blockHash,
+        DriverContext driverContext,
+        List<BlockHash.GroupSpec> groups,
+        int maxPageSize,
+        @Nullable HashAggregationSpiller.Config spillConfig
+    ) {
+        this(aggregators, blockHash, driverContext, groups, maxPageSize, spillConfig, 0);
+    }
+
+    /**
+     * @param spillDepth the number of times the input was already split into partitions by a {@link HashAggregationSpiller}
+     */
+    @SuppressWarnings("this-escape")
+    HashAggregationOperator(
+        List<GroupingAggregator.Factory> aggregators,
+        Supplier<BlockHash> blockHash,
+        DriverContext driverContext,
+        List<BlockHash.GroupSpec> groups,
+        int maxPageSize,
+        @Nullable HashAggregationSpiller.Config spillConfig,
+        int spillDepth
+    ) {
+        this.blockHashSupplier = blockHash;
+        this.aggregatorFactories = aggregators;
         this.aggregators = new ArrayList<>(aggregators.size());
         this.driverContext = driverContext;
         boolean success = false;
         try {
-            this.blockHash = blockHash.get();
-            for (GroupingAggregator.Factory a : aggregators) {
-                this.aggregators.add(a.apply(driverContext));
+            createState();
+            if (spillConfig != null) {
+                int[] intermediateBlockCounts = this.aggregators.stream().mapToInt(GroupingAggregator::intermediateBlockCount).toArray();
+                this.spiller = HashAggregationSpiller.build(
+                    spillConfig,
+                    spillDepth,
+                    groups,
+                    aggregators,
+                    intermediateBlockCounts,
+                    maxPageSize,
+                    driverContext
+                );
+            } else {
+                this.spiller = null;
             }
             success = true;
         } finally {
@@ -137,6 +209,19 @@ public class HashAggregationOperator implements Operator {
         }
     }
 
+    private void createState() {
+        blockHash = blockHashSupplier.get();
+        for (GroupingAggregator.Factory a : aggregatorFactories) {
+            aggregators.add(a.apply(driverContext));
+        }
+    }
+
+    private void releaseState() {
+        Releasables.close(blockHash, () -> Releasables.close(aggregators));
+        blockHash = null;
+        aggregators.clear();
+    }
+
     @Override
     public boolean needsInput() {
         return finished == false;
@@ -208,11 +293,54 @@ public class HashAggregationOperator implements Operator {
             pagesProcessed++;
             rowsReceived += page.getPositionCount();
         }
+        rowsSinceSpill += page.getPositionCount();
+        if (spiller != null && spiller.shouldSpill(rowsSinceSpill)) {
+            spill();
+            createState();
+        }
+    }
+
+    /**
+     * Write the keys and the intermediate state of every group to disk and release the in memory state.
+     */
+    private void spill() {
+        IntVector selected = null;
+        Block[] blocks = null;
+        boolean success = false;
+        try {
+            selected = blockHash.nonEmpty();
+            Block[] keys = blockHash.getKeys();
+            int[] intermediateBlockCounts = aggregators.stream().mapToInt(GroupingAggregator::intermediateBlockCount).toArray();
+            blocks = new Block[keys.length + Arrays.stream(intermediateBlockCounts).sum()];
+            System.arraycopy(keys, 0, blocks, 0, keys.length);
+            int offset = keys.length;
+            for (int i = 0; i < aggregators.size(); i++) {
+                aggregators.get(i).evaluateIntermediate(blocks, offset, selected);
+                offset += intermediateBlockCounts[i];
+            }
+            Page state = new Page(blocks);
+            success = true;
+            spiller.spill(state, keys.length);
+        } finally {
+            if (selected != null) {
+                selected.close();
+            }
+            if (success == false && blocks != null) {
+                Releasables.closeExpectNoException(blocks);
+            }
+            releaseState();
+            rowsSinceSpill = 0;
+        }
     }
 
     @Override
     public Page getOutput() {
         Page p = output;
+        if (p == null && finished && spiller != null && spiller.hasMoreOutput()) {
+            long startInNanos = System.nanoTime();
+            p = spiller.nextOutput();
+            emitNanos += System.nanoTime() - startInNanos;
+        }
         if (p != null) {
             rowsEmitted += p.getPositionCount();
         }
@@ -226,6 +354,13 @@ public class HashAggregationOperator implements Operator {
             return;
         }
         finished = true;
+        if (spiller != null && spiller.hasSpilled()) {
+            // spill what is left in memory too, the output is merged one partition at a time in getOutput
+            long startInNanos = System.nanoTime();
+            spill();
+            emitNanos += System.nanoTime() - startInNanos;
+            return;
+        }
         Block[] blocks = null;
         IntVector selected = null;
         long startInNanos = System.nanoTime();
@@ -263,7 +398,7 @@ public class HashAggregationOperator implements Operator {
 
     @Override
     public boolean isFinished() {
-        return finished && output == null;
+        return finished && output == null && (spiller == null || spiller.hasMoreOutput() == false);
     }
 
     @Override
@@ -271,12 +406,21 @@ public class HashAggregationOperator implements Operator {
         if (output != null) {
             output.releaseBlocks();
         }
-        Releasables.close(blockHash, () -> Releasables.close(aggregators));
+        Releasables.close(blockHash, () -> Releasables.close(aggregators), spiller);
     }
 
     @Override
     public Operator.Status status() {
-        return new Status(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, emitNanos);
+        return new Status(
+            hashNanos,
+            aggregationNanos,
+            pagesProcessed,
+            rowsReceived,
+            rowsEmitted,
+            emitNanos,
+            spiller == null ? 0 : spiller.spills(),
+            spiller == null ? 0 : spiller.spilledBytes()
+        );
     }
 
     protected static void checkState(boolean condition, String msg) {
@@ -329,6 +473,15 @@ public class HashAggregationOperator implements Operator {
 
         private final long emitNanos;
 
+        /**
+         * Count of times this operator has spilled its state to disk.
+         */
+        private final int spills;
+        /**
+         * Count of bytes this operator has spilled to disk.
+         */
+        private final long spilledBytes;
+
         /**
          * Build.
          * @param hashNanos Nanoseconds this operator has spent hashing grouping keys.
@@ -339,12 +492,38 @@ public class HashAggregationOperator implements Operator {
          * @param emitNanos Nanoseconds this operator has spent emitting the output.
          */
         public Status(long hashNanos, long aggregationNanos, int pagesProcessed, long rowsReceived, long rowsEmitted, long emitNanos) {
+            this(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, emitNanos, 0, 0);
+        }
+
+        /**
+         * Build.
+         * @param hashNanos Nanoseconds this operator has spent hashing grouping keys.
+         * @param aggregationNanos Nanoseconds this operator has spent running the aggregations.
+         * @param pagesProcessed Count of pages this operator has processed.
+         * @param rowsReceived Count of rows this operator has received.
+         * @param rowsEmitted Count of rows this operator has emitted.
+         * @param emitNanos Nanoseconds this operator has spent emitting the output.
+         * @param spills Count of times this operator has spilled its state to disk.
+         * @param spilledBytes Count of bytes this operator has spilled to disk.
+         */
+        public Status(
+            long hashNanos,
+            long aggregationNanos,
+            int pagesProcessed,
+            long rowsReceived,
+            long rowsEmitted,
+            long emitNanos,
+            int spills,
+            long spilledBytes
+        ) {
             this.hashNanos = hashNanos;
             this.aggregationNanos = aggregationNanos;
             this.pagesProcessed = pagesProcessed;
             this.rowsReceived = rowsReceived;
             this.rowsEmitted = rowsEmitted;
             this.emitNanos = emitNanos;
+            this.spills = spills;
+            this.spilledBytes = spilledBytes;
         }
 
         protected Status(StreamInput in) throws IOException {
@@ -365,6 +544,13 @@ public class HashAggregationOperator implements Operator {
             } else {
                 emitNanos = 0;
             }
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_HASH_OPERATOR_STATUS_SPILLS)) {
+                spills = in.readVInt();
+                spilledBytes = in.readVLong();
+            } else {
+                spills = 0;
+                spilledBytes = 0;
+            }
         }
 
         @Override
@@ -381,6 +567,10 @@ public class HashAggregationOperator implements Operator {
                 || out.getTransportVersion().isPatchFrom(TransportVersions.ESQL_HASH_OPERATOR_STATUS_OUTPUT_TIME_8_19)) {
                 out.writeVLong(emitNanos);
             }
+            if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_HASH_OPERATOR_STATUS_SPILLS)) {
+                out.writeVInt(spills);
+                out.writeVLong(spilledBytes);
+            }
         }
 
         @Override
@@ -430,6 +620,20 @@ public class HashAggregationOperator implements Operator {
             return emitNanos;
         }
 
+        /**
+         * Count of times this operator has spilled its state to disk.
+         */
+        public int spills() {
+            return spills;
+        }
+
+        /**
+         * Count of bytes this operator has spilled to disk.
+         */
+        public long spilledBytes() {
+            return spilledBytes;
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.startObject();
@@ -448,6 +652,11 @@ public class HashAggregationOperator implements Operator {
             if (builder.humanReadable()) {
                 builder.field("emit_time", TimeValue.timeValueNanos(emitNanos));
             }
+            builder.field("spills", spills);
+            builder.field("spilled_bytes", spilledBytes);
+            if (builder.humanReadable()) {
+                builder.field("spilled", ByteSizeValue.ofBytes(spilledBytes));
+            }
             return builder.endObject();
 
         }
@@ -462,12 +671,14 @@ public class HashAggregationOperator implements Operator {
                 && pagesProcessed == status.pagesProcessed
                 && rowsReceived == status.rowsReceived
                 && rowsEmitted == status.rowsEmitted
-                && emitNanos == status.emitNanos;
+                && emitNanos == status.emitNanos
+                && spills == status.spills
+                && spilledBytes == status.spilledBytes;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, emitNanos);
+            return Objects.hash(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, emitNanos, spills, spilledBytes);
         }
 
         @Override
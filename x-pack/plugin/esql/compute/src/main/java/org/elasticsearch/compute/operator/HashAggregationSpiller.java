@@ -0,0 +1,327 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator;
+
+import org.elasticsearch.common.breaker.CircuitBreaker;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
+import org.elasticsearch.common.io.stream.InputStreamStreamInput;
+import org.elasticsearch.compute.aggregation.GroupingAggregator;
+import org.elasticsearch.compute.aggregation.blockhash.BlockHash;
+import org.elasticsearch.compute.data.Block;
+import org.elasticsearch.compute.data.BlockStreamInput;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.operator.exchange.HashPartitionedExchangeSinkOperator;
+import org.elasticsearch.core.IOUtils;
+import org.elasticsearch.core.Releasable;
+import org.elasticsearch.core.Releasables;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Moves the state of a {@link HashAggregationOperator} to temporary files in {@link Config#directory} when the circuit breaker of the
+ * driver gets close to its limit, and merges it back one partition at a time when the operator finishes.
+ * <p>
+ *     Every spill writes the grouping keys followed by the intermediate state of every aggregation, split into
+ *     {@link Config#partitions} pages by the hash of the keys. All the states of a given group end up in the same
+ *     partition, so merging a partition only needs a hash table for the groups of that partition.
+ * </p>
+ * <p>
+ *     A partition that still doesn't fit in memory is merged by an operator that spills in turn, splitting the partition
+ *     again with another seed. That goes on for up to {@link #MAX_DEPTH} levels, below which partitions are merged in
+ *     memory whatever their size, and may trip the circuit breaker.
+ * </p>
+ */
+public class HashAggregationSpiller implements Releasable {
+    private static final int SEED = 0x5b1e;
+    /**
+     * How many times the state may be split into partitions, counting the first spill.
+     */
+    static final int MAX_DEPTH = 4;
+
+    /**
+     * Settings of the spilling of a {@link HashAggregationOperator}.
+     * @param breakerThreshold spill when the breaker uses more than this fraction of its limit
+     * @param partitions the number of partitions to split the spilled state into
+     * @param directory the directory to write the spilled state to, usually the temporary directory of the node
+     */
+    public record Config(double breakerThreshold, int partitions, Path directory) {
+        public static final int DEFAULT_PARTITIONS = 16;
+
+        public Config {
+            if (breakerThreshold <= 0 || breakerThreshold > 1) {
+                throw new IllegalArgumentException("breaker threshold must be in (0, 1] but was [" + breakerThreshold + "]");
+            }
+            if (partitions < 1) {
+                throw new IllegalArgumentException("partitions must be positive but was [" + partitions + "]");
+            }
+            Objects.requireNonNull(directory, "directory");
+        }
+    }
+
+    private final Config config;
+    private final int depth;
+    private final DriverContext driverContext;
+    private final int maxPageSize;
+    private final List<BlockHash.GroupSpec> mergeGroups;
+    private final List<GroupingAggregator.Factory> mergeAggregators;
+    private final Path[] partitionFiles;
+    private final OutputStream[] partitionOutputs;
+    private final BytesStreamOutput buffer = new BytesStreamOutput();
+    private final int[] partitionPages;
+
+    private int spills;
+    private long spilledBytes;
+    private int nextPartition;
+    /**
+     * Merges the partition that is being emitted, {@code null} before the first partition and between partitions.
+     */
+    private HashAggregationOperator merging;
+    private int mergedSpills;
+    private long mergedSpilledBytes;
+
+    /**
+     * Build a spiller, or return {@code null} if one of the aggregations can't be merged from its intermediate state.
+     * @param depth the number of times the state was already split into partitions, {@code 0} for the state of a query
+     */
+    static HashAggregationSpiller build(
+        Config config,
+        int depth,
+        List<BlockHash.GroupSpec> groups,
+        List<GroupingAggregator.Factory> aggregators,
+        int[] intermediateBlockCounts,
+        int maxPageSize,
+        DriverContext driverContext
+    ) {
+        // the spilled pages have the keys first, followed by the intermediate state of each aggregation
+        List<BlockHash.GroupSpec> mergeGroups = IntStream.range(0, groups.size())
+            .mapToObj(i -> new BlockHash.GroupSpec(i, groups.get(i).elementType()))
+            .toList();
+        List<GroupingAggregator.Factory> mergeAggregators = new ArrayList<>(aggregators.size());
+        int channel = groups.size();
+        for (int i = 0; i < aggregators.size(); i++) {
+            GroupingAggregator.Factory merge = aggregators.get(i).intermediateStateFactory(channel);
+            if (merge == null) {
+                return null;
+            }
+            mergeAggregators.add(merge);
+            channel += intermediateBlockCounts[i];
+        }
+        return new HashAggregationSpiller(config, depth, driverContext, maxPageSize, mergeGroups, mergeAggregators);
+    }
+
+    private HashAggregationSpiller(
+        Config config,
+        int depth,
+        DriverContext driverContext,
+        int maxPageSize,
+        List<BlockHash.GroupSpec> mergeGroups,
+        List<GroupingAggregator.Factory> mergeAggregators
+    ) {
+        this.config = config;
+        this.depth = depth;
+        this.driverContext = driverContext;
+        this.maxPageSize = maxPageSize;
+        this.mergeGroups = mergeGroups;
+        this.mergeAggregators = mergeAggregators;
+        this.partitionFiles = new Path[config.partitions()];
+        this.partitionOutputs = new OutputStream[config.partitions()];
+        this.partitionPages = new int[config.partitions()];
+    }
+
+    /**
+     * Should the operator spill its state? True if the breaker is close to its limit and the operator has received
+     * enough rows since it last spilled for the spill to free a worthwhile amount of memory.
+     */
+    boolean shouldSpill(long rowsSinceLastSpill) {
+        if (rowsSinceLastSpill < maxPageSize) {
+            return false;
+        }
+        CircuitBreaker breaker = driverContext.breaker();
+        long limit = breaker.getLimit();
+        return limit > 0 && breaker.getUsed() >= limit * config.breakerThreshold();
+    }
+
+    /**
+     * Append the keys and intermediate state in {@code page} to the partition files. Releases the page.
+     */
+    void spill(Page page, int keyCount) {
+        try {
+            int[] keyChannels = IntStream.range(0, keyCount).toArray();
+            // the state may come from one partition of a HashPartitionedExchangeSinkOperator or of a spill one level up,
+            // use another seed to split it again
+            int[][] positions = HashPartitionedExchangeSinkOperator.partitionPositions(
+                page,
+                keyChannels,
+                partitionFiles.length,
+                SEED + depth
+            );
+            for (int p = 0; p < positions.length; p++) {
+                if (positions[p].length > 0) {
+                    writePartition(p, page, positions[p]);
+                }
+            }
+            spills++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to spill aggregation state", e);
+        } finally {
+            page.releaseBlocks();
+        }
+    }
+
+    private void writePartition(int partition, Page page, int[] positions) throws IOException {
+        OutputStream out = partitionOutputs[partition];
+        if (out == null) {
+            partitionFiles[partition] = Files.createTempFile(config.directory(), "esql-hash-aggregation-", ".spill");
+            out = new BufferedOutputStream(Files.newOutputStream(partitionFiles[partition]));
+            partitionOutputs[partition] = out;
+        }
+        Block[] blocks = new Block[page.getBlockCount()];
+        try {
+            for (int b = 0; b < blocks.length; b++) {
+                blocks[b] = page.getBlock(b).filter(positions);
+            }
+            buffer.reset();
+            new Page(blocks).writeTo(buffer);
+            buffer.bytes().writeTo(out);
+            spilledBytes += buffer.size();
+            partitionPages[partition]++;
+        } finally {
+            Releasables.closeExpectNoException(blocks);
+        }
+    }
+
+    /**
+     * Has any state been spilled?
+     */
+    boolean hasSpilled() {
+        return spills > 0;
+    }
+
+    /**
+     * Is there any output left to {@link #nextOutput emit}?
+     */
+    boolean hasMoreOutput() {
+        if (merging != null) {
+            if (merging.isFinished() == false) {
+                return true;
+            }
+            closeMerging();
+        }
+        while (nextPartition < partitionFiles.length && partitionPages[nextPartition] == 0) {
+            nextPartition++;
+        }
+        return nextPartition < partitionFiles.length;
+    }
+
+    /**
+     * Emit the output of the aggregation for the groups of the partition that is being merged, reading back the next
+     * partition and merging the states of each of its groups if the previous one is done. Only one partition is held
+     * in memory at a time, unless merging it spills again. Returns {@code null} if there is no output ready yet.
+     */
+    Page nextOutput() {
+        if (hasMoreOutput() == false) {
+            throw new IllegalStateException("no more partitions to merge");
+        }
+        if (merging == null) {
+            merging = mergePartition(nextPartition++);
+        }
+        return merging.getOutput();
+    }
+
+    private HashAggregationOperator mergePartition(int partition) {
+        // a partition that is too big to merge in memory is split again, unless it can't be split any further
+        boolean spill = depth + 1 < MAX_DEPTH && config.partitions() > 1;
+        HashAggregationOperator merge = new HashAggregationOperator(
+            mergeAggregators,
+            () -> BlockHash.build(mergeGroups, driverContext.blockFactory(), maxPageSize, false),
+            driverContext,
+            mergeGroups,
+            maxPageSize,
+            spill ? config : null,
+            depth + 1
+        );
+        boolean success = false;
+        try {
+            partitionOutputs[partition].close();
+            partitionOutputs[partition] = null;
+            try (
+                BlockStreamInput in = new BlockStreamInput(
+                    new InputStreamStreamInput(new BufferedInputStream(Files.newInputStream(partitionFiles[partition]))),
+                    driverContext.blockFactory()
+                )
+            ) {
+                for (int p = 0; p < partitionPages[partition]; p++) {
+                    merge.addInput(new Page(in));
+                }
+            }
+            merge.finish();
+            success = true;
+            return merge;
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read spilled aggregation state", e);
+        } finally {
+            deletePartition(partition);
+            if (success == false) {
+                merge.close();
+            }
+        }
+    }
+
+    private void closeMerging() {
+        HashAggregationOperator.Status status = (HashAggregationOperator.Status) merging.status();
+        mergedSpills += status.spills();
+        mergedSpilledBytes += status.spilledBytes();
+        merging.close();
+        merging = null;
+    }
+
+    private void deletePartition(int partition) {
+        partitionPages[partition] = 0;
+        if (partitionFiles[partition] != null) {
+            IOUtils.deleteFilesIgnoringExceptions(partitionFiles[partition]);
+            partitionFiles[partition] = null;
+        }
+    }
+
+    /**
+     * Number of times the operator spilled its state, including the spills of merging partitions that were too big.
+     */
+    int spills() {
+        int mergingSpills = merging == null ? 0 : ((HashAggregationOperator.Status) merging.status()).spills();
+        return spills + mergedSpills + mergingSpills;
+    }
+
+    /**
+     * Number of bytes written to the partition files, including those of merging partitions that were too big.
+     */
+    long spilledBytes() {
+        long mergingSpilledBytes = merging == null ? 0 : ((HashAggregationOperator.Status) merging.status()).spilledBytes();
+        return spilledBytes + mergedSpilledBytes + mergingSpilledBytes;
+    }
+
+    @Override
+    public void close() {
+        Releasables.close(merging);
+        merging = null;
+        IOUtils.closeWhileHandlingException(partitionOutputs);
+        buffer.close();
+        for (int p = 0; p < partitionFiles.length; p++) {
+            deletePartition(p);
+        }
+    }
+}
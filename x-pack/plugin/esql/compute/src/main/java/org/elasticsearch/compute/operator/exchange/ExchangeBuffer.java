@@ -16,13 +16,16 @@ import org.elasticsearch.compute.operator.Operator;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 final class ExchangeBuffer {
 
     private final Queue<Page> queue = new ConcurrentLinkedQueue<>();
     // uses a separate counter for size for CAS; and ConcurrentLinkedQueue#size is not a constant time operation.
     private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong bytesInQueue = new AtomicLong();
     private final int maxSize;
+    private final long maxBytes;
 
     private final Object notEmptyLock = new Object();
     private SubscribableListener<Void> notEmptyFuture = null;
@@ -35,13 +38,35 @@ final class ExchangeBuffer {
     private volatile boolean noMoreInputs = false;
 
     ExchangeBuffer(int maxSize) {
+        this(maxSize, 0);
+    }
+
+    /**
+     * @param maxSize  the maximum number of pages in the buffer, ignored if {@code maxBytes} is positive
+     * @param maxBytes the maximum size in bytes of the pages in the buffer, {@code 0} to bound the buffer by its
+     *                 number of pages instead. The buffer always accepts a page when it is empty.
+     */
+    ExchangeBuffer(int maxSize, long maxBytes) {
         if (maxSize < 1) {
             throw new IllegalArgumentException("max_buffer_size must be at least one; got=" + maxSize);
         }
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("max_buffer_bytes must be non-negative; got=" + maxBytes);
+        }
         this.maxSize = maxSize;
+        this.maxBytes = maxBytes;
+    }
+
+    private boolean isFull() {
+        if (maxBytes > 0) {
+            return queueSize.get() > 0 && bytesInQueue.get() >= maxBytes;
+        }
+        return queueSize.get() >= maxSize;
     }
 
     void addPage(Page page) {
+        final long bytes = page.ramBytesUsedByBlocks();
+        bytesInQueue.addAndGet(bytes);
         queue.add(page);
         if (queueSize.incrementAndGet() == 1) {
             notifyNotEmpty();
@@ -50,8 +75,9 @@ final class ExchangeBuffer {
             // O(N) but acceptable because it only occurs with the stop API, and the queue size should be very small.
             if (queue.removeIf(p -> p == page)) {
                 page.releaseBlocks();
+                bytesInQueue.addAndGet(-bytes);
                 final int size = queueSize.decrementAndGet();
-                if (size == maxSize - 1) {
+                if (maxBytes > 0 ? isFull() == false : size == maxSize - 1) {
                     notifyNotFull();
                 }
                 if (size == 0) {
@@ -63,8 +89,12 @@ final class ExchangeBuffer {
 
     Page pollPage() {
         final var page = queue.poll();
-        if (page != null && queueSize.decrementAndGet() == maxSize - 1) {
-            notifyNotFull();
+        if (page != null) {
+            bytesInQueue.addAndGet(-page.ramBytesUsedByBlocks());
+            final int size = queueSize.decrementAndGet();
+            if (maxBytes > 0 ? isFull() == false : size == maxSize - 1) {
+                notifyNotFull();
+            }
         }
         if (page == null && noMoreInputs && queueSize.get() == 0) {
             completionFuture.onResponse(null);
@@ -95,12 +125,12 @@ final class ExchangeBuffer {
     }
 
     IsBlockedResult waitForWriting() {
-        // maxBufferSize check is not water-tight as more than one sink can pass this check at the same time.
-        if (queueSize.get() < maxSize || noMoreInputs) {
+        // the size checks are not water-tight as more than one sink can pass this check at the same time.
+        if (isFull() == false || noMoreInputs) {
             return Operator.NOT_BLOCKED;
         }
         synchronized (notFullLock) {
-            if (queueSize.get() < maxSize || noMoreInputs) {
+            if (isFull() == false || noMoreInputs) {
                 return Operator.NOT_BLOCKED;
             }
             if (notFullFuture == null) {
@@ -155,6 +185,13 @@ final class ExchangeBuffer {
         return queueSize.get();
     }
 
+    /**
+     * The size in bytes of the pages in the buffer.
+     */
+    long bytes() {
+        return bytesInQueue.get();
+    }
+
     /**
      * Adds a listener that will be notified when this exchange buffer is finished.
      */
@@ -11,6 +11,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.elasticsearch.ElasticsearchTimeoutException;
 import org.elasticsearch.ResourceNotFoundException;
+import org.elasticsearch.TransportVersions;
 import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.action.ActionListenerResponseHandler;
 import org.elasticsearch.action.ActionResponse;
@@ -123,7 +124,22 @@ public final class ExchangeService extends AbstractLifecycleComponent {
      * @throws IllegalStateException if a sink handler for the given id already exists
      */
     public ExchangeSinkHandler createSinkHandler(String exchangeId, int maxBufferSize) {
-        ExchangeSinkHandler sinkHandler = new ExchangeSinkHandler(blockFactory, maxBufferSize, threadPool.relativeTimeInMillisSupplier());
+        return createSinkHandler(exchangeId, maxBufferSize, 0);
+    }
+
+    /**
+     * Creates an {@link ExchangeSinkHandler} for the specified exchange id, bounding its buffer by {@code maxBufferBytes}
+     * bytes if it is positive, or by {@code maxBufferSize} pages otherwise.
+     *
+     * @throws IllegalStateException if a sink handler for the given id already exists
+     */
+    public ExchangeSinkHandler createSinkHandler(String exchangeId, int maxBufferSize, long maxBufferBytes) {
+        ExchangeSinkHandler sinkHandler = new ExchangeSinkHandler(
+            blockFactory,
+            maxBufferSize,
+            maxBufferBytes,
+            threadPool.relativeTimeInMillisSupplier()
+        );
         if (sinks.putIfAbsent(exchangeId, sinkHandler) != null) {
             throw new IllegalStateException("sink exchanger for id [" + exchangeId + "] already exists");
         }
@@ -165,11 +181,27 @@ public final class ExchangeService extends AbstractLifecycleComponent {
         int exchangeBuffer,
         Executor responseExecutor,
         ActionListener<Void> listener
+    ) {
+        openExchange(transportService, connection, sessionId, exchangeBuffer, 0, responseExecutor, listener);
+    }
+
+    /**
+     * Opens a remote sink handler on the remote node for the given session ID, bounding its buffer by
+     * {@code exchangeBufferBytes} bytes if it is positive, or by {@code exchangeBuffer} pages otherwise.
+     */
+    public static void openExchange(
+        TransportService transportService,
+        Transport.Connection connection,
+        String sessionId,
+        int exchangeBuffer,
+        long exchangeBufferBytes,
+        Executor responseExecutor,
+        ActionListener<Void> listener
     ) {
         transportService.sendRequest(
             connection,
             OPEN_EXCHANGE_ACTION_NAME,
-            new OpenExchangeRequest(sessionId, exchangeBuffer),
+            new OpenExchangeRequest(sessionId, exchangeBuffer, exchangeBufferBytes),
             TransportRequestOptions.EMPTY,
             new ActionListenerResponseHandler<>(listener.map(unused -> null), in -> ActionResponse.Empty.INSTANCE, responseExecutor)
         );
@@ -204,16 +236,23 @@ public final class ExchangeService extends AbstractLifecycleComponent {
     private static class OpenExchangeRequest extends AbstractTransportRequest {
         private final String sessionId;
         private final int exchangeBuffer;
+        private final long exchangeBufferBytes;
 
-        OpenExchangeRequest(String sessionId, int exchangeBuffer) {
+        OpenExchangeRequest(String sessionId, int exchangeBuffer, long exchangeBufferBytes) {
             this.sessionId = sessionId;
             this.exchangeBuffer = exchangeBuffer;
+            this.exchangeBufferBytes = exchangeBufferBytes;
         }
 
         OpenExchangeRequest(StreamInput in) throws IOException {
             super(in);
             this.sessionId = in.readString();
             this.exchangeBuffer = in.readVInt();
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_EXCHANGE_BUFFER_BYTES)) {
+                this.exchangeBufferBytes = in.readVLong();
+            } else {
+                this.exchangeBufferBytes = 0;
+            }
         }
 
         @Override
@@ -221,13 +260,16 @@ public final class ExchangeService extends AbstractLifecycleComponent {
             super.writeTo(out);
             out.writeString(sessionId);
             out.writeVInt(exchangeBuffer);
+            if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_EXCHANGE_BUFFER_BYTES)) {
+                out.writeVLong(exchangeBufferBytes);
+            }
         }
     }
 
     private class OpenExchangeRequestHandler implements TransportRequestHandler<OpenExchangeRequest> {
         @Override
         public void messageReceived(OpenExchangeRequest request, TransportChannel channel, Task task) throws Exception {
-            createSinkHandler(request.sessionId, request.exchangeBuffer);
+            createSinkHandler(request.sessionId, request.exchangeBuffer, request.exchangeBufferBytes);
             channel.sendResponse(ActionResponse.Empty.INSTANCE);
         }
     }
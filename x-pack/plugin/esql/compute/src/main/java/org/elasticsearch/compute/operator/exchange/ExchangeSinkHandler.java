@@ -43,8 +43,16 @@ public final class ExchangeSinkHandler {
     private final BlockFactory blockFactory;
 
     public ExchangeSinkHandler(BlockFactory blockFactory, int maxBufferSize, LongSupplier nowInMillis) {
+        this(blockFactory, maxBufferSize, 0, nowInMillis);
+    }
+
+    /**
+     * @param maxBufferSize  the maximum number of pages in the buffer, ignored if {@code maxBufferBytes} is positive
+     * @param maxBufferBytes the maximum size in bytes of the pages in the buffer, {@code 0} to bound it by its number of pages
+     */
+    public ExchangeSinkHandler(BlockFactory blockFactory, int maxBufferSize, long maxBufferBytes, LongSupplier nowInMillis) {
         this.blockFactory = blockFactory;
-        this.buffer = new ExchangeBuffer(maxBufferSize);
+        this.buffer = new ExchangeBuffer(maxBufferSize, maxBufferBytes);
         this.completionFuture = SubscribableListener.newForked(buffer::addCompletionListener);
         this.nowInMillis = nowInMillis;
         this.lastUpdatedInMillis = new AtomicLong(nowInMillis.getAsLong());
@@ -19,10 +19,12 @@ import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.IsBlockedResult;
 import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.compute.operator.SinkOperator;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
@@ -33,6 +35,11 @@ public class ExchangeSinkOperator extends SinkOperator {
     private final ExchangeSink sink;
     private int pagesReceived;
     private long rowsReceived;
+    private IsBlockedResult isBlocked = NOT_BLOCKED;
+    /**
+     * Nanoseconds spent waiting for room in the exchange. Updated by whichever thread takes the page that unblocks this operator.
+     */
+    private final AtomicLong waitNanos = new AtomicLong();
 
     public record ExchangeSinkOperatorFactory(Supplier<ExchangeSink> exchangeSinks) implements SinkOperatorFactory {
 
@@ -67,7 +74,16 @@ public class ExchangeSinkOperator extends SinkOperator {
 
     @Override
     public IsBlockedResult isBlocked() {
-        return sink.waitForWriting();
+        if (isBlocked.listener().isDone()) {
+            isBlocked = sink.waitForWriting();
+            if (isBlocked.listener().isDone()) {
+                isBlocked = NOT_BLOCKED;
+            } else {
+                long startNanos = System.nanoTime();
+                isBlocked.listener().addListener(ActionListener.running(() -> waitNanos.addAndGet(System.nanoTime() - startNanos)));
+            }
+        }
+        return isBlocked;
     }
 
     @Override
@@ -94,7 +110,7 @@ public class ExchangeSinkOperator extends SinkOperator {
 
     @Override
     public Status status() {
-        return new Status(pagesReceived, rowsReceived);
+        return new Status(pagesReceived, rowsReceived, waitNanos.get());
     }
 
     public static class Status implements Operator.Status {
@@ -106,10 +122,16 @@ public class ExchangeSinkOperator extends SinkOperator {
 
         private final int pagesReceived;
         private final long rowsReceived;
+        private final long waitNanos;
 
         Status(int pagesReceived, long rowsReceived) {
+            this(pagesReceived, rowsReceived, 0);
+        }
+
+        Status(int pagesReceived, long rowsReceived, long waitNanos) {
             this.pagesReceived = pagesReceived;
             this.rowsReceived = rowsReceived;
+            this.waitNanos = waitNanos;
         }
 
         Status(StreamInput in) throws IOException {
@@ -120,6 +142,11 @@ public class ExchangeSinkOperator extends SinkOperator {
             } else {
                 rowsReceived = 0;
             }
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_EXCHANGE_BUFFER_BYTES)) {
+                waitNanos = in.readVLong();
+            } else {
+                waitNanos = 0;
+            }
         }
 
         @Override
@@ -129,6 +156,9 @@ public class ExchangeSinkOperator extends SinkOperator {
             if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_PROFILE_ROWS_PROCESSED)) {
                 out.writeVLong(rowsReceived);
             }
+            if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_EXCHANGE_BUFFER_BYTES)) {
+                out.writeVLong(waitNanos);
+            }
         }
 
         @Override
@@ -144,11 +174,22 @@ public class ExchangeSinkOperator extends SinkOperator {
             return rowsReceived;
         }
 
+        /**
+         * Nanoseconds this operator has spent waiting for the exchange to make room for its pages.
+         */
+        public long waitNanos() {
+            return waitNanos;
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.startObject();
             builder.field("pages_received", pagesReceived);
             builder.field("rows_received", rowsReceived);
+            builder.field("wait_nanos", waitNanos);
+            if (builder.humanReadable()) {
+                builder.field("wait_time", TimeValue.timeValueNanos(waitNanos));
+            }
             return builder.endObject();
         }
 
@@ -157,12 +198,12 @@ public class ExchangeSinkOperator extends SinkOperator {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Status status = (Status) o;
-            return pagesReceived == status.pagesReceived && rowsReceived == status.rowsReceived;
+            return pagesReceived == status.pagesReceived && rowsReceived == status.rowsReceived && waitNanos == status.waitNanos;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(pagesReceived, rowsReceived);
+            return Objects.hash(pagesReceived, rowsReceived, waitNanos);
         }
 
         @Override
@@ -35,6 +35,11 @@ public interface ExchangeSource {
      */
     int bufferSize();
 
+    /**
+     * Returns the size in bytes of the pages that are buffered in this exchange source
+     */
+    long bufferBytes();
+
     /**
      * Allows callers to stop reading from the source when it's blocked
      */
@@ -51,7 +51,19 @@ public final class ExchangeSourceHandler {
      * @param fetchExecutor      the executor used to fetch pages.
      */
     public ExchangeSourceHandler(int maxBufferSize, Executor fetchExecutor) {
-        this.buffer = new ExchangeBuffer(maxBufferSize);
+        this(maxBufferSize, 0, fetchExecutor);
+    }
+
+    /**
+     * Creates a new ExchangeSourceHandler.
+     *
+     * @param maxBufferSize      the maximum number of pages in the exchange buffer, ignored if {@code maxBufferBytes} is positive.
+     * @param maxBufferBytes     the maximum size in bytes of the pages in the exchange buffer, {@code 0} to bound the buffer by
+     *                           its number of pages. Bounding by bytes buffers many small pages but few large ones.
+     * @param fetchExecutor      the executor used to fetch pages.
+     */
+    public ExchangeSourceHandler(int maxBufferSize, long maxBufferBytes, Executor fetchExecutor) {
+        this.buffer = new ExchangeBuffer(maxBufferSize, maxBufferBytes);
         this.fetchExecutor = fetchExecutor;
         this.outstandingSinks = new PendingInstances(() -> buffer.finish(false));
         this.outstandingSources = new PendingInstances(() -> finishEarly(true, ActionListener.noop()));
@@ -103,6 +115,11 @@ public final class ExchangeSourceHandler {
         public int bufferSize() {
             return buffer.size();
         }
+
+        @Override
+        public long bufferBytes() {
+            return buffer.bytes();
+        }
     }
 
     /**
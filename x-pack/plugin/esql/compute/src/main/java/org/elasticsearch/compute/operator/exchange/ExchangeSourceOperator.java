@@ -9,6 +9,7 @@ package org.elasticsearch.compute.operator.exchange;
 
 import org.elasticsearch.TransportVersion;
 import org.elasticsearch.TransportVersions;
+import org.elasticsearch.action.ActionListener;
 import org.elasticsearch.common.Strings;
 import org.elasticsearch.common.io.stream.NamedWriteableRegistry;
 import org.elasticsearch.common.io.stream.StreamInput;
@@ -18,10 +19,12 @@ import org.elasticsearch.compute.operator.DriverContext;
 import org.elasticsearch.compute.operator.IsBlockedResult;
 import org.elasticsearch.compute.operator.Operator;
 import org.elasticsearch.compute.operator.SourceOperator;
+import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.xcontent.XContentBuilder;
 
 import java.io.IOException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 
 /**
@@ -33,6 +36,10 @@ public class ExchangeSourceOperator extends SourceOperator {
     private IsBlockedResult isBlocked = NOT_BLOCKED;
     private int pagesEmitted;
     private long rowsEmitted;
+    /**
+     * Nanoseconds spent waiting for pages. Updated by whichever thread adds the page that unblocks this operator.
+     */
+    private final AtomicLong waitNanos = new AtomicLong();
 
     public record ExchangeSourceOperatorFactory(Supplier<ExchangeSource> exchangeSources) implements SourceOperatorFactory {
 
@@ -77,6 +84,9 @@ public class ExchangeSourceOperator extends SourceOperator {
             isBlocked = source.waitForReading();
             if (isBlocked.listener().isDone()) {
                 isBlocked = NOT_BLOCKED;
+            } else {
+                long startNanos = System.nanoTime();
+                isBlocked.listener().addListener(ActionListener.running(() -> waitNanos.addAndGet(System.nanoTime() - startNanos)));
             }
         }
         return isBlocked;
@@ -94,7 +104,7 @@ public class ExchangeSourceOperator extends SourceOperator {
 
     @Override
     public Status status() {
-        return new Status(source.bufferSize(), pagesEmitted, rowsEmitted);
+        return new Status(source.bufferSize(), source.bufferBytes(), pagesEmitted, rowsEmitted, waitNanos.get());
     }
 
     public static class Status implements Operator.Status {
@@ -105,13 +115,21 @@ public class ExchangeSourceOperator extends SourceOperator {
         );
 
         private final int pagesWaiting;
+        private final long bytesWaiting;
         private final int pagesEmitted;
         private final long rowsEmitted;
+        private final long waitNanos;
 
         Status(int pagesWaiting, int pagesEmitted, long rowsEmitted) {
+            this(pagesWaiting, 0, pagesEmitted, rowsEmitted, 0);
+        }
+
+        Status(int pagesWaiting, long bytesWaiting, int pagesEmitted, long rowsEmitted, long waitNanos) {
             this.pagesWaiting = pagesWaiting;
+            this.bytesWaiting = bytesWaiting;
             this.pagesEmitted = pagesEmitted;
             this.rowsEmitted = rowsEmitted;
+            this.waitNanos = waitNanos;
         }
 
         Status(StreamInput in) throws IOException {
@@ -123,6 +141,13 @@ public class ExchangeSourceOperator extends SourceOperator {
             } else {
                 rowsEmitted = 0;
             }
+            if (in.getTransportVersion().onOrAfter(TransportVersions.ESQL_EXCHANGE_BUFFER_BYTES)) {
+                bytesWaiting = in.readVLong();
+                waitNanos = in.readVLong();
+            } else {
+                bytesWaiting = 0;
+                waitNanos = 0;
+            }
         }
 
         @Override
@@ -133,6 +158,10 @@ public class ExchangeSourceOperator extends SourceOperator {
             if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_PROFILE_ROWS_PROCESSED)) {
                 out.writeVLong(rowsEmitted);
             }
+            if (out.getTransportVersion().onOrAfter(TransportVersions.ESQL_EXCHANGE_BUFFER_BYTES)) {
+                out.writeVLong(bytesWaiting);
+                out.writeVLong(waitNanos);
+            }
         }
 
         @Override
@@ -144,6 +173,13 @@ public class ExchangeSourceOperator extends SourceOperator {
             return pagesWaiting;
         }
 
+        /**
+         * Size in bytes of the pages waiting in the exchange buffer.
+         */
+        public long bytesWaiting() {
+            return bytesWaiting;
+        }
+
         public int pagesEmitted() {
             return pagesEmitted;
         }
@@ -152,12 +188,24 @@ public class ExchangeSourceOperator extends SourceOperator {
             return rowsEmitted;
         }
 
+        /**
+         * Nanoseconds this operator has spent waiting for pages to arrive in the exchange.
+         */
+        public long waitNanos() {
+            return waitNanos;
+        }
+
         @Override
         public XContentBuilder toXContent(XContentBuilder builder, Params params) throws IOException {
             builder.startObject();
             builder.field("pages_waiting", pagesWaiting);
+            builder.field("bytes_waiting", bytesWaiting);
             builder.field("pages_emitted", pagesEmitted);
             builder.field("rows_emitted", rowsEmitted);
+            builder.field("wait_nanos", waitNanos);
+            if (builder.humanReadable()) {
+                builder.field("wait_time", TimeValue.timeValueNanos(waitNanos));
+            }
             return builder.endObject();
         }
 
@@ -166,12 +214,16 @@ public class ExchangeSourceOperator extends SourceOperator {
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Status status = (Status) o;
-            return pagesWaiting == status.pagesWaiting && pagesEmitted == status.pagesEmitted && rowsEmitted == status.rowsEmitted;
+            return pagesWaiting == status.pagesWaiting
+                && bytesWaiting == status.bytesWaiting
+                && pagesEmitted == status.pagesEmitted
+                && rowsEmitted == status.rowsEmitted
+                && waitNanos == status.waitNanos;
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(pagesWaiting, pagesEmitted, rowsEmitted);
+            return Objects.hash(pagesWaiting, bytesWaiting, pagesEmitted, rowsEmitted, waitNanos);
         }
 
         @Override
@@ -0,0 +1,203 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator.exchange;
+
+import com.carrotsearch.hppc.BitMixer;
+
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.compute.data.Block;
+import org.elasticsearch.compute.data.BooleanBlock;
+import org.elasticsearch.compute.data.BytesRefBlock;
+import org.elasticsearch.compute.data.DoubleBlock;
+import org.elasticsearch.compute.data.FloatBlock;
+import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.LongBlock;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.operator.DriverContext;
+import org.elasticsearch.compute.operator.IsBlockedResult;
+import org.elasticsearch.compute.operator.SinkOperator;
+import org.elasticsearch.core.Releasables;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Sink operator that splits the rows of its input between several {@link ExchangeSink}s by the hash of their keys, so
+ * that all the rows with the same keys end up in the same sink. Used to spread the final reduction of a grouping
+ * aggregation across drivers, each of them reducing the groups of one partition.
+ */
+public class HashPartitionedExchangeSinkOperator extends SinkOperator {
+
+    private final ExchangeSink[] sinks;
+    private final int[] keyChannels;
+    private int pagesReceived;
+    private long rowsReceived;
+
+    /**
+     * @param partitions one supplier per partition
+     * @param keyChannels the channels of the keys to partition by
+     */
+    public record Factory(List<Supplier<ExchangeSink>> partitions, int[] keyChannels) implements SinkOperatorFactory {
+
+        @Override
+        public SinkOperator get(DriverContext driverContext) {
+            return new HashPartitionedExchangeSinkOperator(
+                partitions.stream().map(Supplier::get).toArray(ExchangeSink[]::new),
+                keyChannels
+            );
+        }
+
+        @Override
+        public String describe() {
+            return "HashPartitionedExchangeSinkOperator[partitions=" + partitions.size() + ", keys=" + Arrays.toString(keyChannels) + "]";
+        }
+    }
+
+    public HashPartitionedExchangeSinkOperator(ExchangeSink[] sinks, int[] keyChannels) {
+        this.sinks = sinks;
+        this.keyChannels = keyChannels;
+    }
+
+    @Override
+    public boolean isFinished() {
+        for (ExchangeSink sink : sinks) {
+            if (sink.isFinished() == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void finish() {
+        for (ExchangeSink sink : sinks) {
+            sink.finish();
+        }
+    }
+
+    @Override
+    public IsBlockedResult isBlocked() {
+        for (ExchangeSink sink : sinks) {
+            IsBlockedResult blocked = sink.waitForWriting();
+            if (blocked.listener().isDone() == false) {
+                return blocked;
+            }
+        }
+        return NOT_BLOCKED;
+    }
+
+    @Override
+    public boolean needsInput() {
+        return isFinished() == false && isBlocked().listener().isDone();
+    }
+
+    @Override
+    protected void doAddInput(Page page) {
+        pagesReceived++;
+        rowsReceived += page.getPositionCount();
+        int[][] positions = partitionPositions(page, keyChannels, sinks.length, 0);
+        for (int p = 0; p < sinks.length; p++) {
+            if (positions[p].length == page.getPositionCount()) {
+                // all the rows belong to the same partition
+                sinks[p].addPage(page);
+                return;
+            }
+        }
+        try {
+            for (int p = 0; p < sinks.length; p++) {
+                if (positions[p].length > 0) {
+                    sinks[p].addPage(filter(page, positions[p]));
+                }
+            }
+        } finally {
+            page.releaseBlocks();
+        }
+    }
+
+    private static Page filter(Page page, int[] positions) {
+        Block[] blocks = new Block[page.getBlockCount()];
+        boolean success = false;
+        try {
+            for (int b = 0; b < blocks.length; b++) {
+                blocks[b] = page.getBlock(b).filter(positions);
+            }
+            success = true;
+        } finally {
+            if (success == false) {
+                Releasables.closeExpectNoException(blocks);
+            }
+        }
+        return new Page(blocks);
+    }
+
+    /**
+     * Split the positions of {@code page} into {@code partitions} by the hash of the single valued keys in
+     * {@code keyChannels}, returning the positions of each partition in ascending order. Pages partitioned with
+     * different {@code seed}s are split independently, so rows that ended up in the same partition of one split
+     * are spread across all the partitions of the other.
+     */
+    public static int[][] partitionPositions(Page page, int[] keyChannels, int partitions, int seed) {
+        int[] counts = new int[partitions];
+        int[] partitionOfPosition = new int[page.getPositionCount()];
+        for (int position = 0; position < page.getPositionCount(); position++) {
+            int hash = seed;
+            for (int channel : keyChannels) {
+                hash = 31 * hash + hashKey(page.getBlock(channel), position);
+            }
+            int partition = Math.floorMod(BitMixer.mix(hash), partitions);
+            partitionOfPosition[position] = partition;
+            counts[partition]++;
+        }
+        int[][] positions = new int[partitions][];
+        for (int p = 0; p < partitions; p++) {
+            positions[p] = new int[counts[p]];
+            counts[p] = 0;
+        }
+        for (int position = 0; position < partitionOfPosition.length; position++) {
+            int partition = partitionOfPosition[position];
+            positions[partition][counts[partition]++] = position;
+        }
+        return positions;
+    }
+
+    /**
+     * Hash of the single value of a key built by a {@code BlockHash}. All that matters is that equal keys have the
+     * same hash in every page.
+     */
+    private static int hashKey(Block block, int position) {
+        if (block.isNull(position)) {
+            return 0;
+        }
+        int i = block.getFirstValueIndex(position);
+        return switch (block) {
+            case IntBlock b -> Integer.hashCode(b.getInt(i));
+            case LongBlock b -> Long.hashCode(b.getLong(i));
+            case DoubleBlock b -> Double.hashCode(b.getDouble(i));
+            case FloatBlock b -> Float.hashCode(b.getFloat(i));
+            case BooleanBlock b -> Boolean.hashCode(b.getBoolean(i));
+            case BytesRefBlock b -> b.getBytesRef(i, new BytesRef()).hashCode();
+            default -> throw new IllegalArgumentException("can't partition keys of type [" + block.elementType() + "]");
+        };
+    }
+
+    @Override
+    public void close() {
+        finish();
+    }
+
+    @Override
+    public String toString() {
+        return "HashPartitionedExchangeSinkOperator[partitions=" + sinks.length + "]";
+    }
+
+    @Override
+    public Status status() {
+        return new ExchangeSinkOperator.Status(pagesReceived, rowsReceived);
+    }
+}
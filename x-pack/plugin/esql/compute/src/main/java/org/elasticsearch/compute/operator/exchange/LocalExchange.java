@@ -0,0 +1,140 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator.exchange;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.support.SubscribableListener;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.operator.IsBlockedResult;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An exchange between drivers running on the same node. Unlike {@link ExchangeSinkHandler} and {@link ExchangeSourceHandler}
+ * the pages don't need to be fetched: sinks add them straight to the buffer that the sources poll.
+ * <p>
+ *     The exchange finishes once all of its sinks are finished and the buffered pages are consumed, or once all of its
+ *     sources are finished, in which case the remaining pages are discarded. All sinks and sources must be created before
+ *     the drivers using them start.
+ * </p>
+ */
+public final class LocalExchange {
+    private final ExchangeBuffer buffer;
+    private final AtomicInteger outstandingSinks = new AtomicInteger();
+    private final AtomicInteger outstandingSources = new AtomicInteger();
+
+    public LocalExchange(int maxBufferSize) {
+        this(maxBufferSize, 0);
+    }
+
+    /**
+     * @param maxBufferSize maximum number of pages buffered by the exchange
+     * @param maxBufferBytes maximum size of the pages buffered by the exchange, {@code 0} for no limit
+     */
+    public LocalExchange(int maxBufferSize, long maxBufferBytes) {
+        this.buffer = new ExchangeBuffer(maxBufferSize, maxBufferBytes);
+    }
+
+    /**
+     * Create a new {@link ExchangeSink} adding pages to this exchange.
+     */
+    public ExchangeSink createExchangeSink() {
+        return new LocalExchangeSink();
+    }
+
+    /**
+     * Create a new {@link ExchangeSource} polling pages from this exchange.
+     */
+    public ExchangeSource createExchangeSource() {
+        return new LocalExchangeSource();
+    }
+
+    private class LocalExchangeSink implements ExchangeSink {
+        private boolean finished;
+        private final SubscribableListener<Void> onFinished = new SubscribableListener<>();
+
+        LocalExchangeSink() {
+            buffer.addCompletionListener(onFinished);
+            outstandingSinks.incrementAndGet();
+        }
+
+        @Override
+        public void addPage(Page page) {
+            buffer.addPage(page);
+        }
+
+        @Override
+        public void finish() {
+            if (finished == false) {
+                finished = true;
+                onFinished.onResponse(null);
+                if (outstandingSinks.decrementAndGet() == 0) {
+                    buffer.finish(false);
+                }
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return onFinished.isDone();
+        }
+
+        @Override
+        public void addCompletionListener(ActionListener<Void> listener) {
+            onFinished.addListener(listener);
+        }
+
+        @Override
+        public IsBlockedResult waitForWriting() {
+            return buffer.waitForWriting();
+        }
+    }
+
+    private class LocalExchangeSource implements ExchangeSource {
+        private boolean finished;
+
+        LocalExchangeSource() {
+            outstandingSources.incrementAndGet();
+        }
+
+        @Override
+        public Page pollPage() {
+            return buffer.pollPage();
+        }
+
+        @Override
+        public void finish() {
+            if (finished == false) {
+                finished = true;
+                if (outstandingSources.decrementAndGet() == 0) {
+                    buffer.finish(true);
+                }
+            }
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished || buffer.isFinished();
+        }
+
+        @Override
+        public int bufferSize() {
+            return buffer.size();
+        }
+
+        @Override
+        public long bufferBytes() {
+            return buffer.bytes();
+        }
+
+        @Override
+        public IsBlockedResult waitForReading() {
+            return buffer.waitForReading();
+        }
+    }
+}
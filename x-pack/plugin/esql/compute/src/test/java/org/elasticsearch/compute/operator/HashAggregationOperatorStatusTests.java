@@ -16,7 +16,7 @@ import static org.hamcrest.Matchers.equalTo;
 
 public class HashAggregationOperatorStatusTests extends AbstractWireSerializingTestCase<HashAggregationOperator.Status> {
     public static HashAggregationOperator.Status simple() {
-        return new HashAggregationOperator.Status(500012, 200012, 123, 111, 222, 180017);
+        return new HashAggregationOperator.Status(500012, 200012, 123, 111, 222, 180017, 3, 2048);
     }
 
     public static String simpleToJson() {
@@ -30,7 +30,10 @@ public class HashAggregationOperatorStatusTests extends AbstractWireSerializingT
               "rows_received" : 111,
               "rows_emitted" : 222,
               "emit_nanos" : 180017,
-              "emit_time" : "180micros"
+              "emit_time" : "180micros",
+              "spills" : 3,
+              "spilled_bytes" : 2048,
+              "spilled" : "2kb"
             }""";
     }
 
@@ -51,6 +54,8 @@ public class HashAggregationOperatorStatusTests extends AbstractWireSerializingT
             randomNonNegativeInt(),
             randomNonNegativeLong(),
             randomNonNegativeLong(),
+            randomNonNegativeLong(),
+            randomNonNegativeInt(),
             randomNonNegativeLong()
         );
     }
@@ -63,15 +68,28 @@ public class HashAggregationOperatorStatusTests extends AbstractWireSerializingT
         long rowsReceived = instance.rowsReceived();
         long rowsEmitted = instance.rowsEmitted();
         long emitNanos = instance.emitNanos();
-        switch (between(0, 5)) {
+        int spills = instance.spills();
+        long spilledBytes = instance.spilledBytes();
+        switch (between(0, 7)) {
             case 0 -> hashNanos = randomValueOtherThan(hashNanos, ESTestCase::randomNonNegativeLong);
             case 1 -> aggregationNanos = randomValueOtherThan(aggregationNanos, ESTestCase::randomNonNegativeLong);
             case 2 -> pagesProcessed = randomValueOtherThan(pagesProcessed, ESTestCase::randomNonNegativeInt);
             case 3 -> rowsReceived = randomValueOtherThan(rowsReceived, ESTestCase::randomNonNegativeLong);
             case 4 -> rowsEmitted = randomValueOtherThan(rowsEmitted, ESTestCase::randomNonNegativeLong);
             case 5 -> emitNanos = randomValueOtherThan(emitNanos, ESTestCase::randomNonNegativeLong);
+            case 6 -> spills = randomValueOtherThan(spills, ESTestCase::randomNonNegativeInt);
+            case 7 -> spilledBytes = randomValueOtherThan(spilledBytes, ESTestCase::randomNonNegativeLong);
             default -> throw new UnsupportedOperationException();
         }
-        return new HashAggregationOperator.Status(hashNanos, aggregationNanos, pagesProcessed, rowsReceived, rowsEmitted, emitNanos);
+        return new HashAggregationOperator.Status(
+            hashNanos,
+            aggregationNanos,
+            pagesProcessed,
+            rowsReceived,
+            rowsEmitted,
+            emitNanos,
+            spills,
+            spilledBytes
+        );
     }
 }
@@ -20,15 +20,27 @@ import org.elasticsearch.compute.data.BlockFactory;
 import org.elasticsearch.compute.data.ElementType;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.test.CannedSourceOperator;
 import org.elasticsearch.core.Tuple;
 import org.hamcrest.Matcher;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static java.util.stream.IntStream.range;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 
 public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
     @Override
@@ -96,4 +108,171 @@ public class HashAggregationOperatorTests extends ForkingOperatorTestCase {
             max.assertSimpleGroup(input, maxs, i, group);
         }
     }
+
+    public void testSpillAndMergePartitions() throws IOException {
+        DriverContext driverContext = driverContext();
+        int groups = between(500, 2000);
+        int size = between(10_000, 20_000);
+        List<Page> input = CannedSourceOperator.collectPages(
+            new TupleBlockSourceOperator(
+                driverContext.blockFactory(),
+                LongStream.range(0, size).mapToObj(l -> Tuple.tuple(l % groups, l)),
+                between(100, 500)
+            )
+        );
+        // any memory use is above the threshold, so the operator spills every few pages
+        Path spillDirectory = createTempDir();
+        HashAggregationSpiller.Config spillConfig = new HashAggregationSpiller.Config(Double.MIN_VALUE, between(1, 8), spillDirectory);
+        int maxPageSize = between(500, 1000);
+        HashAggregationOperator.HashAggregationOperatorFactory factory = new HashAggregationOperator.HashAggregationOperatorFactory(
+            List.of(new BlockHash.GroupSpec(0, ElementType.LONG)),
+            AggregatorMode.SINGLE,
+            List.of(
+                new SumLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.SINGLE, List.of(1)),
+                new MaxLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.SINGLE, List.of(1))
+            ),
+            maxPageSize,
+            null,
+            spillConfig
+        );
+        HashAggregationOperator operator = (HashAggregationOperator) factory.get(driverContext);
+        List<Page> results = new ArrayList<>();
+        try {
+            for (Page page : input) {
+                operator.addInput(page);
+            }
+            operator.finish();
+            while (operator.isFinished() == false) {
+                Page output = operator.getOutput();
+                if (output != null) {
+                    results.add(output);
+                }
+            }
+            HashAggregationOperator.Status status = (HashAggregationOperator.Status) operator.status();
+            assertThat(status.spills(), greaterThan(0));
+            assertThat(status.spilledBytes(), greaterThan(0L));
+        } finally {
+            operator.close();
+        }
+        assertThat(spillFiles(spillDirectory), empty());
+        assertSumsAndMaxes(results, size, groups);
+    }
+
+    public void testSpillPartitionsThatDontFitAgain() throws IOException {
+        DriverContext driverContext = driverContext();
+        int groups = between(4_000, 6_000);
+        int size = between(20_000, 30_000);
+        List<Page> input = CannedSourceOperator.collectPages(
+            new TupleBlockSourceOperator(
+                driverContext.blockFactory(),
+                LongStream.range(0, size).mapToObj(l -> Tuple.tuple(l % groups, l)),
+                between(500, 1000)
+            )
+        );
+        // any memory use is above the threshold, so the partitions hold many more rows than a page and spill again when merged
+        Path spillDirectory = createTempDir();
+        HashAggregationOperator.HashAggregationOperatorFactory factory = new HashAggregationOperator.HashAggregationOperatorFactory(
+            List.of(new BlockHash.GroupSpec(0, ElementType.LONG)),
+            AggregatorMode.SINGLE,
+            List.of(
+                new SumLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.SINGLE, List.of(1)),
+                new MaxLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.SINGLE, List.of(1))
+            ),
+            between(100, 200),
+            null,
+            new HashAggregationSpiller.Config(Double.MIN_VALUE, 2, spillDirectory)
+        );
+        HashAggregationOperator operator = (HashAggregationOperator) factory.get(driverContext);
+        List<Page> results = new ArrayList<>();
+        try {
+            for (Page page : input) {
+                operator.addInput(page);
+            }
+            operator.finish();
+            HashAggregationOperator.Status finished = (HashAggregationOperator.Status) operator.status();
+            while (operator.isFinished() == false) {
+                Page output = operator.getOutput();
+                if (output != null) {
+                    results.add(output);
+                }
+            }
+            HashAggregationOperator.Status merged = (HashAggregationOperator.Status) operator.status();
+            assertThat(merged.spills(), greaterThan(finished.spills()));
+            assertThat(merged.spilledBytes(), greaterThan(finished.spilledBytes()));
+        } finally {
+            operator.close();
+        }
+        assertThat(spillFiles(spillDirectory), empty());
+        assertSumsAndMaxes(results, size, groups);
+    }
+
+    /**
+     * Assert that the results of summing and maxing {@code l} grouped by {@code l % groups} for {@code l} in {@code [0, size)}
+     * hold every group exactly once with the right values. Releases the results.
+     */
+    private static void assertSumsAndMaxes(List<Page> results, int size, int groups) {
+        Map<Long, long[]> expected = new HashMap<>();
+        for (long l = 0; l < size; l++) {
+            long[] sumAndMax = expected.computeIfAbsent(l % groups, k -> new long[] { 0, Long.MIN_VALUE });
+            sumAndMax[0] += l;
+            sumAndMax[1] = Math.max(sumAndMax[1], l);
+        }
+        Map<Long, long[]> actual = new HashMap<>();
+        for (Page page : results) {
+            LongBlock keys = page.getBlock(0);
+            LongBlock sums = page.getBlock(1);
+            LongBlock maxs = page.getBlock(2);
+            for (int p = 0; p < page.getPositionCount(); p++) {
+                long[] previous = actual.put(keys.getLong(p), new long[] { sums.getLong(p), maxs.getLong(p) });
+                assertNull("group [" + keys.getLong(p) + "] was emitted twice", previous);
+            }
+            page.releaseBlocks();
+        }
+        assertThat(actual.keySet(), equalTo(expected.keySet()));
+        for (Map.Entry<Long, long[]> e : expected.entrySet()) {
+            assertArrayEquals(e.getValue(), actual.get(e.getKey()));
+        }
+    }
+
+    public void testSpillFilesAreInSpillDirectory() throws IOException {
+        DriverContext driverContext = driverContext();
+        List<Page> input = CannedSourceOperator.collectPages(
+            new TupleBlockSourceOperator(
+                driverContext.blockFactory(),
+                LongStream.range(0, between(1_000, 5_000)).mapToObj(l -> Tuple.tuple(l % 100, l)),
+                between(100, 500)
+            )
+        );
+        Path spillDirectory = createTempDir();
+        HashAggregationOperator.HashAggregationOperatorFactory factory = new HashAggregationOperator.HashAggregationOperatorFactory(
+            List.of(new BlockHash.GroupSpec(0, ElementType.LONG)),
+            AggregatorMode.SINGLE,
+            List.of(new SumLongAggregatorFunctionSupplier().groupingAggregatorFactory(AggregatorMode.SINGLE, List.of(1))),
+            between(500, 1000),
+            null,
+            new HashAggregationSpiller.Config(Double.MIN_VALUE, between(1, 8), spillDirectory)
+        );
+        HashAggregationOperator operator = (HashAggregationOperator) factory.get(driverContext);
+        try {
+            for (Page page : input) {
+                operator.addInput(page);
+            }
+            assertThat(((HashAggregationOperator.Status) operator.status()).spills(), greaterThan(0));
+            List<Path> files = spillFiles(spillDirectory);
+            assertThat(files, not(empty()));
+            for (Path file : files) {
+                assertThat(file.getFileName().toString(), startsWith("esql-hash-aggregation-"));
+            }
+        } finally {
+            // closing without finishing, like a cancelled query, must still clean up
+            operator.close();
+        }
+        assertThat(spillFiles(spillDirectory), empty());
+    }
+
+    private static List<Path> spillFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
 }
@@ -85,6 +85,46 @@ public class ExchangeBufferTests extends ESTestCase {
         blockFactory.ensureAllBlocksAreReleased();
     }
 
+    public void testBoundedByBytes() {
+        var blockFactory = blockFactory();
+        Page p1 = randomPage(blockFactory);
+        Page p2 = randomPage(blockFactory);
+        ExchangeBuffer buffer = new ExchangeBuffer(1, p1.ramBytesUsedByBlocks() + 1);
+        assertTrue(buffer.waitForWriting().listener().isDone());
+        buffer.addPage(p1);
+        assertThat(buffer.bytes(), equalTo(p1.ramBytesUsedByBlocks()));
+        // not full yet even though it holds more pages than max_buffer_size
+        assertTrue(buffer.waitForWriting().listener().isDone());
+        buffer.addPage(p2);
+        assertThat(buffer.bytes(), equalTo(p1.ramBytesUsedByBlocks() + p2.ramBytesUsedByBlocks()));
+        var blocked = buffer.waitForWriting();
+        assertFalse(blocked.listener().isDone());
+        assertSame(buffer.pollPage(), p1);
+        p1.releaseBlocks();
+        assertTrue(blocked.listener().isDone());
+        assertThat(buffer.bytes(), equalTo(p2.ramBytesUsedByBlocks()));
+        assertSame(buffer.pollPage(), p2);
+        p2.releaseBlocks();
+        assertThat(buffer.bytes(), equalTo(0L));
+        buffer.finish(false);
+        assertTrue(buffer.isFinished());
+        blockFactory.ensureAllBlocksAreReleased();
+    }
+
+    public void testAlwaysAcceptsAPageWhenEmpty() {
+        var blockFactory = blockFactory();
+        ExchangeBuffer buffer = new ExchangeBuffer(between(1, 10), 1);
+        assertTrue(buffer.waitForWriting().listener().isDone());
+        Page page = randomPage(blockFactory);
+        buffer.addPage(page);
+        assertFalse(buffer.waitForWriting().listener().isDone());
+        assertSame(buffer.pollPage(), page);
+        page.releaseBlocks();
+        assertTrue(buffer.waitForWriting().listener().isDone());
+        buffer.finish(true);
+        blockFactory.ensureAllBlocksAreReleased();
+    }
+
     private static MockBlockFactory blockFactory() {
         BigArrays bigArrays = new MockBigArrays(PageCacheRecycler.NON_RECYCLING_INSTANCE, ByteSizeValue.ofGb(1)).withCircuitBreaking();
         CircuitBreaker breaker = bigArrays.breakerService().getBreaker(CircuitBreaker.REQUEST);
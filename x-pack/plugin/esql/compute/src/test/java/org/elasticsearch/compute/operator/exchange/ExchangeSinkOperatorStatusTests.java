@@ -22,14 +22,16 @@ public class ExchangeSinkOperatorStatusTests extends AbstractWireSerializingTest
     }
 
     public static ExchangeSinkOperator.Status simple() {
-        return new ExchangeSinkOperator.Status(10, 111);
+        return new ExchangeSinkOperator.Status(10, 111, 2_000_000);
     }
 
     public static String simpleToJson() {
         return """
             {
               "pages_received" : 10,
-              "rows_received" : 111
+              "rows_received" : 111,
+              "wait_nanos" : 2000000,
+              "wait_time" : "2ms"
             }""";
     }
 
@@ -40,18 +42,20 @@ public class ExchangeSinkOperatorStatusTests extends AbstractWireSerializingTest
 
     @Override
     public ExchangeSinkOperator.Status createTestInstance() {
-        return new ExchangeSinkOperator.Status(randomNonNegativeInt(), randomNonNegativeLong());
+        return new ExchangeSinkOperator.Status(randomNonNegativeInt(), randomNonNegativeLong(), randomNonNegativeLong());
     }
 
     @Override
     protected ExchangeSinkOperator.Status mutateInstance(ExchangeSinkOperator.Status instance) throws IOException {
         int pagesReceived = instance.pagesReceived();
         long rowsReceived = instance.rowsReceived();
-        switch (between(0, 1)) {
+        long waitNanos = instance.waitNanos();
+        switch (between(0, 2)) {
             case 0 -> pagesReceived = randomValueOtherThan(pagesReceived, ESTestCase::randomNonNegativeInt);
             case 1 -> rowsReceived = randomValueOtherThan(rowsReceived, ESTestCase::randomNonNegativeLong);
+            case 2 -> waitNanos = randomValueOtherThan(waitNanos, ESTestCase::randomNonNegativeLong);
             default -> throw new UnsupportedOperationException();
         }
-        return new ExchangeSinkOperator.Status(pagesReceived, rowsReceived);
+        return new ExchangeSinkOperator.Status(pagesReceived, rowsReceived, waitNanos);
     }
 }
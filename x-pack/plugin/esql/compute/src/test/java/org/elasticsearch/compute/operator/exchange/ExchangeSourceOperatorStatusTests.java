@@ -18,8 +18,8 @@ import static org.hamcrest.Matchers.equalTo;
 
 public class ExchangeSourceOperatorStatusTests extends AbstractWireSerializingTestCase<ExchangeSourceOperator.Status> {
     public void testToXContent() {
-        assertThat(Strings.toString(new ExchangeSourceOperator.Status(0, 10, 111)), equalTo("""
-            {"pages_waiting":0,"pages_emitted":10,"rows_emitted":111}"""));
+        assertThat(Strings.toString(new ExchangeSourceOperator.Status(0, 0, 10, 111, 2000)), equalTo("""
+            {"pages_waiting":0,"bytes_waiting":0,"pages_emitted":10,"rows_emitted":111,"wait_nanos":2000}"""));
     }
 
     @Override
@@ -29,20 +29,30 @@ public class ExchangeSourceOperatorStatusTests extends AbstractWireSerializingTe
 
     @Override
     protected ExchangeSourceOperator.Status createTestInstance() {
-        return new ExchangeSourceOperator.Status(randomNonNegativeInt(), randomNonNegativeInt(), randomNonNegativeLong());
+        return new ExchangeSourceOperator.Status(
+            randomNonNegativeInt(),
+            randomNonNegativeLong(),
+            randomNonNegativeInt(),
+            randomNonNegativeLong(),
+            randomNonNegativeLong()
+        );
     }
 
     @Override
     protected ExchangeSourceOperator.Status mutateInstance(ExchangeSourceOperator.Status instance) throws IOException {
         int pagesWaiting = instance.pagesWaiting();
+        long bytesWaiting = instance.bytesWaiting();
         int pagesEmitted = instance.pagesEmitted();
         long rowsEmitted = instance.rowsEmitted();
-        switch (between(0, 2)) {
+        long waitNanos = instance.waitNanos();
+        switch (between(0, 4)) {
             case 0 -> pagesWaiting = randomValueOtherThan(pagesWaiting, ESTestCase::randomNonNegativeInt);
-            case 1 -> pagesEmitted = randomValueOtherThan(pagesEmitted, ESTestCase::randomNonNegativeInt);
-            case 2 -> rowsEmitted = randomValueOtherThan(rowsEmitted, ESTestCase::randomNonNegativeLong);
+            case 1 -> bytesWaiting = randomValueOtherThan(bytesWaiting, ESTestCase::randomNonNegativeLong);
+            case 2 -> pagesEmitted = randomValueOtherThan(pagesEmitted, ESTestCase::randomNonNegativeInt);
+            case 3 -> rowsEmitted = randomValueOtherThan(rowsEmitted, ESTestCase::randomNonNegativeLong);
+            case 4 -> waitNanos = randomValueOtherThan(waitNanos, ESTestCase::randomNonNegativeLong);
             default -> throw new UnsupportedOperationException();
         }
-        return new ExchangeSourceOperator.Status(pagesWaiting, pagesEmitted, rowsEmitted);
+        return new ExchangeSourceOperator.Status(pagesWaiting, bytesWaiting, pagesEmitted, rowsEmitted, waitNanos);
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.compute.operator.exchange;
+
+import org.elasticsearch.compute.data.BlockFactory;
+import org.elasticsearch.compute.data.LongBlock;
+import org.elasticsearch.compute.data.LongVector;
+import org.elasticsearch.compute.data.Page;
+import org.elasticsearch.compute.operator.DriverContext;
+import org.elasticsearch.compute.test.ComputeTestCase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.equalTo;
+
+public class HashPartitionedExchangeSinkOperatorTests extends ComputeTestCase {
+
+    public void testRowsWithTheSameKeyGoToTheSamePartition() {
+        BlockFactory blockFactory = blockFactory();
+        DriverContext driverContext = new DriverContext(blockFactory.bigArrays(), blockFactory);
+        int partitions = between(2, 8);
+        LocalExchange[] exchanges = new LocalExchange[partitions];
+        List<Supplier<ExchangeSink>> sinks = new ArrayList<>();
+        ExchangeSource[] sources = new ExchangeSource[partitions];
+        for (int p = 0; p < partitions; p++) {
+            exchanges[p] = new LocalExchange(Integer.MAX_VALUE);
+            sinks.add(exchanges[p]::createExchangeSink);
+            sources[p] = exchanges[p].createExchangeSource();
+        }
+        int keys = between(1, 1000);
+        Map<Long, Long> expectedRows = new HashMap<>();
+        try (var sink = new HashPartitionedExchangeSinkOperator.Factory(sinks, new int[] { 1 }).get(driverContext)) {
+            int pages = between(1, 20);
+            for (int i = 0; i < pages; i++) {
+                int positions = between(1, 500);
+                try (
+                    LongVector.Builder values = blockFactory.newLongVectorBuilder(positions);
+                    LongVector.Builder groups = blockFactory.newLongVectorBuilder(positions)
+                ) {
+                    for (int r = 0; r < positions; r++) {
+                        long key = between(0, keys);
+                        values.appendLong(randomLong());
+                        groups.appendLong(key);
+                        expectedRows.merge(key, 1L, Long::sum);
+                    }
+                    assertTrue(sink.needsInput());
+                    sink.addInput(new Page(values.build().asBlock(), groups.build().asBlock()));
+                }
+            }
+            sink.finish();
+            assertTrue(sink.isFinished());
+        }
+
+        Map<Long, Integer> partitionOfKey = new HashMap<>();
+        Map<Long, Long> actualRows = new HashMap<>();
+        for (int p = 0; p < partitions; p++) {
+            Page page;
+            while ((page = sources[p].pollPage()) != null) {
+                try {
+                    LongBlock groups = page.getBlock(1);
+                    for (int r = 0; r < page.getPositionCount(); r++) {
+                        long key = groups.getLong(r);
+                        Integer previous = partitionOfKey.putIfAbsent(key, p);
+                        assertThat("key [" + key + "] in two partitions", previous == null ? p : previous, equalTo(p));
+                        actualRows.merge(key, 1L, Long::sum);
+                    }
+                } finally {
+                    page.releaseBlocks();
+                }
+            }
+            assertTrue(sources[p].isFinished());
+            sources[p].finish();
+        }
+        assertThat(actualRows, equalTo(expectedRows));
+    }
+
+    public void testFinishingAllSourcesFinishesTheSink() {
+        LocalExchange exchange = new LocalExchange(between(1, 10));
+        ExchangeSink sink = exchange.createExchangeSink();
+        ExchangeSource source = exchange.createExchangeSource();
+        assertFalse(sink.isFinished());
+        assertFalse(source.isFinished());
+        source.finish();
+        assertTrue(sink.isFinished());
+        assertTrue(source.isFinished());
+        sink.finish();
+    }
+}
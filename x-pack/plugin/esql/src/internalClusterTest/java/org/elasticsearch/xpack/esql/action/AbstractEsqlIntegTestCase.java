@@ -215,6 +215,9 @@ public abstract class AbstractEsqlIntegTestCase extends ESIntegTestCase {
                 }
                 settings.put("exchange_buffer_size", exchangeBufferSize);
             }
+            if (randomBoolean()) {
+                settings.put("exchange_buffer_bytes", ByteSizeValue.ofBytes(randomLongBetween(1, ByteSizeValue.ofMb(8).getBytes())));
+            }
             if (randomBoolean()) {
                 settings.put("exchange_concurrent_clients", randomIntBetween(1, 10));
             }
@@ -236,6 +239,12 @@ public abstract class AbstractEsqlIntegTestCase extends ESIntegTestCase {
             if (randomBoolean()) {
                 settings.put("node_level_reduction", randomBoolean());
             }
+            if (randomBoolean()) {
+                settings.put("hash_aggregation_spill_threshold", randomDoubleBetween(0.0, 1.0, false));
+            }
+            if (randomBoolean()) {
+                settings.put("final_aggregation_partitions", randomIntBetween(0, 8));
+            }
         }
         return new QueryPragmas(settings.build());
     }
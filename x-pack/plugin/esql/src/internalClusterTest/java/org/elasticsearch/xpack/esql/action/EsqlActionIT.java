@@ -1417,6 +1417,40 @@ public class EsqlActionIT extends AbstractEsqlIntegTestCase {
         }
     }
 
+    public void testPartitionedFinalAggregation() {
+        assumeTrue("pragmas only enabled on snapshot builds", canUseQueryPragmas());
+        String indexName = "test-partitioned";
+        assertAcked(
+            client().admin()
+                .indices()
+                .prepareCreate(indexName)
+                .setSettings(indexSettings(between(1, 5), 0))
+                .setMapping("kw", "type=keyword", "l", "type=long", "v", "type=long")
+        );
+        int numDocs = randomIntBetween(100, 1000);
+        Map<List<Object>, Long> expected = new HashMap<>();
+        BulkRequestBuilder bulk = client().prepareBulk().setRefreshPolicy(WriteRequest.RefreshPolicy.IMMEDIATE);
+        for (int i = 0; i < numDocs; i++) {
+            String kw = "key-" + randomIntBetween(1, 200);
+            long l = randomIntBetween(1, 5);
+            long v = randomIntBetween(1, 1000);
+            expected.merge(List.of(kw, l), v, Long::sum);
+            bulk.add(new IndexRequest(indexName).source("kw", kw, "l", l, "v", v));
+        }
+        bulk.get();
+
+        Settings.Builder pragmas = Settings.builder()
+            .put(randomPragmas().getSettings())
+            .put("final_aggregation_partitions", between(2, 8));
+        try (var results = run("from " + indexName + " | stats s = sum(v) by kw, l", new QueryPragmas(pragmas.build()))) {
+            Map<List<Object>, Long> actual = new HashMap<>();
+            for (List<Object> row : getValuesList(results)) {
+                assertNull("group " + row + " was reduced twice", actual.put(List.of(row.get(1), row.get(2)), (Long) row.get(0)));
+            }
+            assertThat(actual, equalTo(expected));
+        }
+    }
+
     public void testLoadId() {
         try (EsqlQueryResponse results = run("from test metadata _id | keep _id | sort _id ")) {
             assertThat(results.columns(), equalTo(List.of(new ColumnInfoImpl("_id", "keyword", null))));
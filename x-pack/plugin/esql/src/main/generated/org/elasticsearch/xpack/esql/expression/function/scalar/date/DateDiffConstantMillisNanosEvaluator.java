@@ -9,6 +9,7 @@ import java.lang.Override;
 import java.lang.String;
 import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.LongVector;
 import org.elasticsearch.compute.data.Page;
@@ -102,6 +103,16 @@ public final class DateDiffConstantMillisNanosEvaluator implements EvalOperator.
 
   public IntBlock eval(int positionCount, LongVector startTimestampMillisVector,
       LongVector endTimestampNanosVector) {
+    try(IntVector.FixedBuilder result = driverContext.blockFactory().newIntVectorFixedBuilder(positionCount)) {
+      try {
+        for (int p = 0; p < positionCount; p++) {
+          result.appendInt(p, DateDiff.processMillisNanos(this.datePartFieldUnit, startTimestampMillisVector.getLong(p), endTimestampNanosVector.getLong(p)));
+        }
+        return result.build().asBlock();
+      } catch (IllegalArgumentException | InvalidArgumentException e) {
+        // evaluate again, turning the positions that throw into nulls
+      }
+    }
     try(IntBlock.Builder result = driverContext.blockFactory().newIntBlockBuilder(positionCount)) {
       position: for (int p = 0; p < positionCount; p++) {
         try {
@@ -12,6 +12,7 @@ import org.elasticsearch.compute.data.Block;
 import org.elasticsearch.compute.data.BytesRefBlock;
 import org.elasticsearch.compute.data.BytesRefVector;
 import org.elasticsearch.compute.data.IntBlock;
+import org.elasticsearch.compute.data.IntVector;
 import org.elasticsearch.compute.data.LongBlock;
 import org.elasticsearch.compute.data.LongVector;
 import org.elasticsearch.compute.data.Page;
@@ -123,6 +124,17 @@ public final class DateDiffMillisEvaluator implements EvalOperator.ExpressionEva
 
   public IntBlock eval(int positionCount, BytesRefVector unitVector,
       LongVector startTimestampVector, LongVector endTimestampVector) {
+    try(IntVector.FixedBuilder result = driverContext.blockFactory().newIntVectorFixedBuilder(positionCount)) {
+      BytesRef unitScratch = new BytesRef();
+      try {
+        for (int p = 0; p < positionCount; p++) {
+          result.appendInt(p, DateDiff.processMillis(unitVector.getBytesRef(p, unitScratch), startTimestampVector.getLong(p), endTimestampVector.getLong(p)));
+        }
+        return result.build().asBlock();
+      } catch (IllegalArgumentException | InvalidArgumentException e) {
+        // evaluate again, turning the positions that throw into nulls
+      }
+    }
     try(IntBlock.Builder result = driverContext.blockFactory().newIntBlockBuilder(positionCount)) {
       BytesRef unitScratch = new BytesRef();
       position: for (int p = 0; p < positionCount; p++) {
@@ -103,6 +103,17 @@ public final class DateExtractMillisEvaluator implements EvalOperator.Expression
 
   public LongBlock eval(int positionCount, LongVector valueVector,
       BytesRefVector chronoFieldVector) {
+    try(LongVector.FixedBuilder result = driverContext.blockFactory().newLongVectorFixedBuilder(positionCount)) {
+      BytesRef chronoFieldScratch = new BytesRef();
+      try {
+        for (int p = 0; p < positionCount; p++) {
+          result.appendLong(p, DateExtract.processMillis(valueVector.getLong(p), chronoFieldVector.getBytesRef(p, chronoFieldScratch), this.zone));
+        }
+        return result.build().asBlock();
+      } catch (IllegalArgumentException e) {
+        // evaluate again, turning the positions that throw into nulls
+      }
+    }
     try(LongBlock.Builder result = driverContext.blockFactory().newLongBlockBuilder(positionCount)) {
       BytesRef chronoFieldScratch = new BytesRef();
       position: for (int p = 0; p < positionCount; p++) {
@@ -75,6 +75,16 @@ public final class AsinEvaluator implements EvalOperator.ExpressionEvaluator {
   }
 
   public DoubleBlock eval(int positionCount, DoubleVector valVector) {
+    try(DoubleVector.FixedBuilder result = driverContext.blockFactory().newDoubleVectorFixedBuilder(positionCount)) {
+      try {
+        for (int p = 0; p < positionCount; p++) {
+          result.appendDouble(p, Asin.process(valVector.getDouble(p)));
+        }
+        return result.build().asBlock();
+      } catch (ArithmeticException e) {
+        // evaluate again, turning the positions that throw into nulls
+      }
+    }
     try(DoubleBlock.Builder result = driverContext.blockFactory().newDoubleBlockBuilder(positionCount)) {
       position: for (int p = 0; p < positionCount; p++) {
         try {
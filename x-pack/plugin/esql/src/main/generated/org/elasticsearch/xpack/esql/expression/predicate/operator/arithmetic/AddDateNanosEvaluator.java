@@ -80,6 +80,16 @@ public final class AddDateNanosEvaluator implements EvalOperator.ExpressionEvalu
   }
 
   public LongBlock eval(int positionCount, LongVector dateNanosVector) {
+    try(LongVector.FixedBuilder result = driverContext.blockFactory().newLongVectorFixedBuilder(positionCount)) {
+      try {
+        for (int p = 0; p < positionCount; p++) {
+          result.appendLong(p, Add.processDateNanos(dateNanosVector.getLong(p), this.temporalAmount));
+        }
+        return result.build().asBlock();
+      } catch (ArithmeticException | DateTimeException e) {
+        // evaluate again, turning the positions that throw into nulls
+      }
+    }
     try(LongBlock.Builder result = driverContext.blockFactory().newLongBlockBuilder(positionCount)) {
       position: for (int p = 0; p < positionCount; p++) {
         try {
@@ -0,0 +1,88 @@
+/*
+ * Copyright Elasticsearch B.V. and/or licensed to Elasticsearch B.V. under one
+ * or more contributor license agreements. Licensed under the Elastic License
+ * 2.0; you may not use this file except in compliance with the Elastic License
+ * 2.0.
+ */
+
+package org.elasticsearch.xpack.esql.optimizer.rules.physical.local;
+
+import org.elasticsearch.xpack.esql.core.expression.Alias;
+import org.elasticsearch.xpack.esql.core.expression.AttributeSet;
+import org.elasticsearch.xpack.esql.core.expression.Expressions;
+import org.elasticsearch.xpack.esql.optimizer.PhysicalOptimizerRules;
+import org.elasticsearch.xpack.esql.plan.physical.EvalExec;
+import org.elasticsearch.xpack.esql.plan.physical.PhysicalPlan;
+import org.elasticsearch.xpack.esql.plan.physical.TopNExec;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Moves the fields of an {@link EvalExec} that the {@link TopNExec} right above it doesn't sort on
+ * above the {@link TopNExec}, so they are computed only for the rows that make it into the top N.
+ * <pre>{@code
+ * FROM logs | EVAL m = TO_UPPER(message) | SORT @timestamp DESC | LIMIT 100
+ * }</pre>
+ * becomes the equivalent of
+ * <pre>{@code
+ * FROM logs | SORT @timestamp DESC | LIMIT 100 | EVAL m = TO_UPPER(message)
+ * }</pre>
+ * Because {@link InsertFieldExtraction} loads fields right before they are used, this also defers
+ * loading {@code message} until after the top N, so it's loaded for 100 rows instead of every row
+ * matching the query. It also frees the {@link TopNExec} from copying the extra columns around
+ * and may allow {@link PushTopNToSource} to push the sort to Lucene.
+ * <p>
+ *     The logical plan pushes evals below the sort so they can be referenced by it, which is why
+ *     this undoes that on the data nodes. Fields that the sort needs stay below the {@link TopNExec},
+ *     together with the fields they depend on. The output of the plan is unchanged.
+ * </p>
+ */
+public class PushTopNBelowEval extends PhysicalOptimizerRules.OptimizerRule<TopNExec> {
+    @Override
+    protected PhysicalPlan rule(TopNExec topN) {
+        if (topN.child() instanceof EvalExec eval == false) {
+            return topN;
+        }
+        List<Alias> fields = eval.fields();
+        AttributeSet needed = Expressions.references(topN.order());
+        boolean[] keep = new boolean[fields.size()];
+        for (int i = fields.size() - 1; i >= 0; i--) {
+            Alias field = fields.get(i);
+            if (needed.contains(field.toAttribute())) {
+                keep[i] = true;
+                needed = needed.combine(field.child().references());
+            }
+        }
+        List<Alias> below = new ArrayList<>();
+        List<Alias> above = new ArrayList<>();
+        for (int i = 0; i < fields.size(); i++) {
+            if (keep[i]) {
+                if (above.isEmpty() == false) {
+                    // moving this field would change the order of the output columns
+                    return topN;
+                }
+                below.add(fields.get(i));
+            } else {
+                above.add(fields.get(i));
+            }
+        }
+        if (above.isEmpty()) {
+            return topN;
+        }
+        Set<String> belowNames = new HashSet<>();
+        for (Alias field : below) {
+            belowNames.add(field.name());
+        }
+        for (Alias field : above) {
+            if (belowNames.contains(field.name())) {
+                // a field shadowing another, keep them together to not change which one wins
+                return topN;
+            }
+        }
+        PhysicalPlan child = below.isEmpty() ? eval.child() : new EvalExec(eval.source(), eval.child(), below);
+        return new EvalExec(eval.source(), topN.replaceChild(child), above);
+    }
+}
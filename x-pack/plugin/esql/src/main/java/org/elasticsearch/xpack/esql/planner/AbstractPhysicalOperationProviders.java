@@ -18,6 +18,7 @@ import org.elasticsearch.compute.operator.AggregationOperator;
 import org.elasticsearch.compute.operator.EvalOperator;
 import org.elasticsearch.compute.operator.HashAggregationOperator.HashAggregationOperatorFactory;
 import org.elasticsearch.compute.operator.Operator;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.index.analysis.AnalysisRegistry;
 import org.elasticsearch.xpack.esql.EsqlIllegalArgumentException;
 import org.elasticsearch.xpack.esql.core.InvalidArgumentException;
@@ -38,6 +39,7 @@ import org.elasticsearch.xpack.esql.plan.physical.TimeSeriesAggregateExec;
 import org.elasticsearch.xpack.esql.planner.LocalExecutionPlanner.LocalExecutionPlannerContext;
 import org.elasticsearch.xpack.esql.planner.LocalExecutionPlanner.PhysicalOperation;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -51,10 +53,24 @@ public abstract class AbstractPhysicalOperationProviders implements PhysicalOper
     private final AggregateMapper aggregateMapper = new AggregateMapper();
     private final FoldContext foldContext;
     private final AnalysisRegistry analysisRegistry;
+    @Nullable
+    private final Path spillDirectory;
+    private final double defaultSpillThreshold;
 
-    AbstractPhysicalOperationProviders(FoldContext foldContext, AnalysisRegistry analysisRegistry) {
+    /**
+     * @param spillDirectory where hash aggregations spill their state, {@code null} to never spill
+     * @param defaultSpillThreshold the spill threshold of hash aggregations unless the query pragmas set one
+     */
+    AbstractPhysicalOperationProviders(
+        FoldContext foldContext,
+        AnalysisRegistry analysisRegistry,
+        @Nullable Path spillDirectory,
+        double defaultSpillThreshold
+    ) {
         this.foldContext = foldContext;
         this.analysisRegistry = analysisRegistry;
+        this.spillDirectory = spillDirectory;
+        this.defaultSpillThreshold = defaultSpillThreshold;
     }
 
     @Override
@@ -199,7 +215,8 @@ public abstract class AbstractPhysicalOperationProviders implements PhysicalOper
                     aggregatorMode,
                     aggregatorFactories,
                     context.pageSize(aggregateExec.estimatedRowSize()),
-                    analysisRegistry
+                    analysisRegistry,
+                    spillDirectory == null ? null : context.queryPragmas().hashAggregationSpillConfig(defaultSpillThreshold, spillDirectory)
                 );
             }
         }
@@ -71,6 +71,7 @@ import org.elasticsearch.xpack.esql.planner.LocalExecutionPlanner.PhysicalOperat
 import org.elasticsearch.xpack.esql.plugin.EsqlPlugin;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -114,9 +115,11 @@ public class EsPhysicalOperationProviders extends AbstractPhysicalOperationProvi
         FoldContext foldContext,
         List<ShardContext> shardContexts,
         AnalysisRegistry analysisRegistry,
-        DataPartitioning defaultDataPartitioning
+        DataPartitioning defaultDataPartitioning,
+        @Nullable Path spillDirectory,
+        double defaultSpillThreshold
     ) {
-        super(foldContext, analysisRegistry);
+        super(foldContext, analysisRegistry, spillDirectory, defaultSpillThreshold);
         this.shardContexts = shardContexts;
         this.defaultDataPartitioning = defaultDataPartitioning;
     }
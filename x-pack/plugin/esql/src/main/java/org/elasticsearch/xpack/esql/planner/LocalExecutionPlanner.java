@@ -50,6 +50,8 @@ import org.elasticsearch.compute.operator.exchange.ExchangeSink;
 import org.elasticsearch.compute.operator.exchange.ExchangeSinkOperator.ExchangeSinkOperatorFactory;
 import org.elasticsearch.compute.operator.exchange.ExchangeSource;
 import org.elasticsearch.compute.operator.exchange.ExchangeSourceOperator.ExchangeSourceOperatorFactory;
+import org.elasticsearch.compute.operator.exchange.HashPartitionedExchangeSinkOperator;
+import org.elasticsearch.compute.operator.exchange.LocalExchange;
 import org.elasticsearch.compute.operator.topn.TopNEncoder;
 import org.elasticsearch.compute.operator.topn.TopNOperator;
 import org.elasticsearch.compute.operator.topn.TopNOperator.TopNOperatorFactory;
@@ -112,6 +114,7 @@ import org.elasticsearch.xpack.esql.plan.physical.ProjectExec;
 import org.elasticsearch.xpack.esql.plan.physical.RrfScoreEvalExec;
 import org.elasticsearch.xpack.esql.plan.physical.SampleExec;
 import org.elasticsearch.xpack.esql.plan.physical.ShowExec;
+import org.elasticsearch.xpack.esql.plan.physical.TimeSeriesAggregateExec;
 import org.elasticsearch.xpack.esql.plan.physical.TimeSeriesSourceExec;
 import org.elasticsearch.xpack.esql.plan.physical.TopNExec;
 import org.elasticsearch.xpack.esql.plan.physical.inference.RerankExec;
@@ -195,6 +198,7 @@ public class LocalExecutionPlanner {
      */
     public LocalExecutionPlan plan(String description, FoldContext foldCtx, PhysicalPlan localPhysicalPlan) {
         var context = new LocalExecutionPlannerContext(
+            description,
             new ArrayList<>(),
             new Holder<>(DriverParallelism.SINGLE),
             configuration.pragmas(),
@@ -212,24 +216,31 @@ public class LocalExecutionPlanner {
         );
         PhysicalOperation physicalOperation = plan(localPhysicalPlan, context);
 
-        final TimeValue statusInterval = configuration.pragmas().statusInterval();
+        addDriverFactory(physicalOperation, context.driverParallelism().get(), context);
+
+        return new LocalExecutionPlan(context.driverFactories);
+    }
+
+    private void addDriverFactory(
+        PhysicalOperation physicalOperation,
+        DriverParallelism parallelism,
+        LocalExecutionPlannerContext context
+    ) {
         context.addDriverFactory(
             new DriverFactory(
                 new DriverSupplier(
-                    description,
+                    context.description(),
                     ClusterName.CLUSTER_NAME_SETTING.get(settings).value(),
                     Node.NODE_NAME_SETTING.get(settings),
                     context.bigArrays,
                     context.blockFactory,
                     physicalOperation,
-                    statusInterval,
+                    context.queryPragmas().statusInterval(),
                     settings
                 ),
-                context.driverParallelism().get()
+                parallelism
             )
         );
-
-        return new LocalExecutionPlan(context.driverFactories);
     }
 
     private PhysicalOperation plan(PhysicalPlan node, LocalExecutionPlannerContext context) {
@@ -325,9 +336,79 @@ public class LocalExecutionPlanner {
 
     private PhysicalOperation planAggregation(AggregateExec aggregate, LocalExecutionPlannerContext context) {
         var source = plan(aggregate.child(), context);
+        int partitions = context.queryPragmas().finalAggregationPartitions();
+        if (partitions > 1
+            && aggregate.getMode() == AggregatorMode.FINAL
+            && aggregate.groupings().isEmpty() == false
+            && aggregate instanceof TimeSeriesAggregateExec == false
+            && aggregate.child() instanceof ExchangeSourceExec) {
+            int[] keyChannels = partitionKeyChannels(aggregate, source.layout);
+            if (keyChannels != null) {
+                return planPartitionedFinalAggregation(aggregate, source, keyChannels, partitions, context);
+            }
+        }
         return physicalOperationProviders.groupingPhysicalOperation(aggregate, source, context);
     }
 
+    /**
+     * The channels of the keys of the intermediate pages that a final aggregation reduces, {@code null} if
+     * one of them can't be found in the layout.
+     */
+    private static int[] partitionKeyChannels(AggregateExec aggregate, Layout layout) {
+        int[] keyChannels = new int[aggregate.groupings().size()];
+        for (int i = 0; i < keyChannels.length; i++) {
+            Attribute key = Expressions.attribute(aggregate.groupings().get(i));
+            Layout.ChannelAndType channel = key == null ? null : layout.get(key.id());
+            if (channel == null) {
+                return null;
+            }
+            keyChannels[i] = channel.channel();
+        }
+        return keyChannels;
+    }
+
+    /**
+     * Spread the final reduction of a grouping aggregation across {@code partitions} drivers. The intermediate
+     * pages from the exchange are split by the hash of their keys so each driver reduces the groups of its
+     * partition, and the drivers send their output to a local exchange that the rest of the plan reads from.
+     * No two drivers reduce the same group so their output doesn't need to be merged again.
+     */
+    private PhysicalOperation planPartitionedFinalAggregation(
+        AggregateExec aggregate,
+        PhysicalOperation source,
+        int[] keyChannels,
+        int partitions,
+        LocalExecutionPlannerContext context
+    ) {
+        int bufferSize = context.queryPragmas().exchangeBufferSize();
+        long bufferBytes = context.queryPragmas().exchangeBufferBytes();
+        LocalExchange output = new LocalExchange(bufferSize, bufferBytes);
+        List<Supplier<ExchangeSink>> partitionSinks = new ArrayList<>(partitions);
+        Layout outputLayout = null;
+        for (int p = 0; p < partitions; p++) {
+            LocalExchange partition = new LocalExchange(bufferSize, bufferBytes);
+            partitionSinks.add(partition::createExchangeSink);
+            PhysicalOperation reduce = physicalOperationProviders.groupingPhysicalOperation(
+                aggregate,
+                PhysicalOperation.fromSource(new ExchangeSourceOperatorFactory(partition::createExchangeSource), source.layout),
+                context
+            );
+            outputLayout = reduce.layout;
+            addDriverFactory(
+                reduce.withSink(new ExchangeSinkOperatorFactory(output::createExchangeSink), reduce.layout),
+                DriverParallelism.SINGLE,
+                context
+            );
+        }
+        addDriverFactory(
+            source.withSink(new HashPartitionedExchangeSinkOperator.Factory(partitionSinks, keyChannels), source.layout),
+            context.driverParallelism().get(),
+            context
+        );
+        context.driverParallelism(DriverParallelism.SINGLE);
+        return PhysicalOperation.fromSource(new ExchangeSourceOperatorFactory(output::createExchangeSource), outputLayout);
+    }
+
     private PhysicalOperation planEsQueryNode(EsQueryExec esQueryExec, LocalExecutionPlannerContext context) {
         return physicalOperationProviders.sourcePhysicalOperation(esQueryExec, context);
     }
@@ -923,6 +1004,7 @@ public class LocalExecutionPlanner {
      * maintains information how many driver instances should be created for a given driver.
      */
     public record LocalExecutionPlannerContext(
+        String description,
         List<DriverFactory> driverFactories,
         Holder<DriverParallelism> driverParallelism,
         QueryPragmas queryPragmas,
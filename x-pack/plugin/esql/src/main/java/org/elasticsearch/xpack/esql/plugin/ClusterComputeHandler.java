@@ -100,6 +100,7 @@ final class ClusterComputeHandler implements TransportRequestHandler<ClusterComp
             cluster.connection,
             childSessionId,
             queryPragmas.exchangeBufferSize(),
+            queryPragmas.exchangeBufferBytes(),
             esqlExecutor,
             listener.delegateFailure((l, unused) -> {
                 final CancellableTask groupTask;
@@ -256,6 +257,7 @@ final class ClusterComputeHandler implements TransportRequestHandler<ClusterComp
         }))) {
             var exchangeSource = new ExchangeSourceHandler(
                 configuration.pragmas().exchangeBufferSize(),
+                configuration.pragmas().exchangeBufferBytes(),
                 transportService.getThreadPool().executor(ThreadPool.Names.SEARCH)
             );
             try (Releasable ignored = exchangeSource.addEmptySink()) {
@@ -64,6 +64,7 @@ import org.elasticsearch.xpack.esql.session.Configuration;
 import org.elasticsearch.xpack.esql.session.EsqlCCSUtils;
 import org.elasticsearch.xpack.esql.session.Result;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -137,8 +138,10 @@ public class ComputeService {
     private final DataNodeComputeHandler dataNodeComputeHandler;
     private final ClusterComputeHandler clusterComputeHandler;
     private final ExchangeService exchangeService;
+    private final Path spillDirectory;
 
     private volatile DataPartitioning defaultDataPartitioning;
+    private volatile double defaultHashAggregationSpillThreshold;
 
     @SuppressWarnings("this-escape")
     public ComputeService(
@@ -147,7 +150,8 @@ public class ComputeService {
         LookupFromIndexService lookupFromIndexService,
         ThreadPool threadPool,
         BigArrays bigArrays,
-        BlockFactory blockFactory
+        BlockFactory blockFactory,
+        Path spillDirectory
     ) {
         this.searchService = transportActionServices.searchService();
         this.transportService = transportActionServices.transportService();
@@ -161,6 +165,7 @@ public class ComputeService {
         this.inferenceRunner = transportActionServices.inferenceRunner();
         this.clusterService = transportActionServices.clusterService();
         this.projectResolver = transportActionServices.projectResolver();
+        this.spillDirectory = spillDirectory;
         this.dataNodeComputeHandler = new DataNodeComputeHandler(
             this,
             clusterService,
@@ -178,6 +183,8 @@ public class ComputeService {
             dataNodeComputeHandler
         );
         clusterService.getClusterSettings().initializeAndWatch(EsqlPlugin.DEFAULT_DATA_PARTITIONING, v -> this.defaultDataPartitioning = v);
+        clusterService.getClusterSettings()
+            .initializeAndWatch(EsqlPlugin.HASH_AGGREGATION_SPILL_THRESHOLD, v -> this.defaultHashAggregationSpillThreshold = v);
     }
 
     public void execute(
@@ -212,6 +219,7 @@ public class ComputeService {
 
         ExchangeSourceHandler mainExchangeSource = new ExchangeSourceHandler(
             queryPragmas.exchangeBufferSize(),
+            queryPragmas.exchangeBufferBytes(),
             transportService.getThreadPool().executor(ThreadPool.Names.SEARCH)
         );
 
@@ -246,7 +254,11 @@ public class ComputeService {
 
                 for (PhysicalPlan subplan : subplans) {
                     var childSessionId = newChildSession(sessionId);
-                    ExchangeSinkHandler exchangeSink = exchangeService.createSinkHandler(childSessionId, queryPragmas.exchangeBufferSize());
+                    ExchangeSinkHandler exchangeSink = exchangeService.createSinkHandler(
+                        childSessionId,
+                        queryPragmas.exchangeBufferSize(),
+                        queryPragmas.exchangeBufferBytes()
+                    );
                     // funnel sub plan pages into the main plan exchange source
                     mainExchangeSource.addRemoteSink(exchangeSink::fetchPageAsync, true, () -> {}, 1, ActionListener.noop());
                     var subPlanListener = localListener.acquireCompute();
@@ -351,6 +363,7 @@ public class ComputeService {
         List<Attribute> outputAttributes = physicalPlan.output();
         var exchangeSource = new ExchangeSourceHandler(
             queryPragmas.exchangeBufferSize(),
+            queryPragmas.exchangeBufferBytes(),
             transportService.getThreadPool().executor(ThreadPool.Names.SEARCH)
         );
         listener = ActionListener.runBefore(listener, () -> exchangeService.removeExchangeSourceHandler(sessionId));
@@ -540,7 +553,9 @@ public class ComputeService {
             context.foldCtx(),
             contexts,
             searchService.getIndicesService().getAnalysis(),
-            defaultDataPartitioning
+            defaultDataPartitioning,
+            spillDirectory,
+            defaultHashAggregationSpillThreshold
         );
         final List<Driver> drivers;
         try {
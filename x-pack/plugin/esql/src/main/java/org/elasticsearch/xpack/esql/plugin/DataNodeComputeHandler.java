@@ -152,6 +152,7 @@ final class DataNodeComputeHandler implements TransportRequestHandler<DataNodeRe
                     connection,
                     childSessionId,
                     queryPragmas.exchangeBufferSize(),
+                    queryPragmas.exchangeBufferBytes(),
                     esqlExecutor,
                     listener.delegateFailureAndWrap((l, unused) -> {
                         final Runnable onGroupFailure;
@@ -417,7 +418,11 @@ final class DataNodeComputeHandler implements TransportRequestHandler<DataNodeRe
             try {
                 // run compute with target shards
                 var externalSink = exchangeService.getSinkHandler(externalId);
-                var internalSink = exchangeService.createSinkHandler(request.sessionId(), request.pragmas().exchangeBufferSize());
+                var internalSink = exchangeService.createSinkHandler(
+                    request.sessionId(),
+                    request.pragmas().exchangeBufferSize(),
+                    request.pragmas().exchangeBufferBytes()
+                );
                 task.addListener(() -> {
                     exchangeService.finishSinkHandler(externalId, new TaskCancelledException(task.getReasonCancelled()));
                     exchangeService.finishSinkHandler(request.sessionId(), new TaskCancelledException(task.getReasonCancelled()));
@@ -164,6 +164,20 @@ public class EsqlPlugin extends Plugin implements ActionPlugin {
         Setting.Property.Dynamic
     );
 
+    /**
+     * Fraction of the limit of the request circuit breaker above which hash aggregations spill
+     * their state to the temporary directory of the node. {@code 0} disables spilling. Queries
+     * may override it with the {@link QueryPragmas#HASH_AGGREGATION_SPILL_THRESHOLD} pragma.
+     */
+    public static final Setting<Double> HASH_AGGREGATION_SPILL_THRESHOLD = Setting.doubleSetting(
+        "esql.hash_aggregation.spill_threshold",
+        0.0,
+        0.0,
+        1.0,
+        Setting.Property.NodeScope,
+        Setting.Property.Dynamic
+    );
+
     /**
      * Tuning parameter for deciding when to use the "merge" stored field loader.
      * Think of it as "how similar to a sequential block of documents do I have to
@@ -251,6 +265,7 @@ public class EsqlPlugin extends Plugin implements ActionPlugin {
             ESQL_QUERYLOG_THRESHOLD_WARN_SETTING,
             ESQL_QUERYLOG_INCLUDE_USER_SETTING,
             DEFAULT_DATA_PARTITIONING,
+            HASH_AGGREGATION_SPILL_THRESHOLD,
             STORED_FIELDS_SEQUENTIAL_PROPORTION
         );
     }
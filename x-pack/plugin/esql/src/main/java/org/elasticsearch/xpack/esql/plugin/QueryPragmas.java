@@ -18,12 +18,15 @@ import org.elasticsearch.compute.lucene.DataPartitioning;
 import org.elasticsearch.compute.lucene.LuceneSliceQueue;
 import org.elasticsearch.compute.operator.Driver;
 import org.elasticsearch.compute.operator.DriverStatus;
+import org.elasticsearch.compute.operator.HashAggregationSpiller;
+import org.elasticsearch.core.Nullable;
 import org.elasticsearch.core.TimeValue;
 import org.elasticsearch.index.mapper.MappedFieldType;
 import org.elasticsearch.threadpool.ThreadPool;
 import org.elasticsearch.xpack.esql.core.expression.Expression;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Locale;
 import java.util.Objects;
 
@@ -32,6 +35,12 @@ import java.util.Objects;
  */
 public final class QueryPragmas implements Writeable {
     public static final Setting<Integer> EXCHANGE_BUFFER_SIZE = Setting.intSetting("exchange_buffer_size", 10);
+    /**
+     * Maximum size of the pages buffered by an exchange. Once it is reached the exchange stops accepting pages
+     * even if it holds fewer than {@link #EXCHANGE_BUFFER_SIZE} of them, so that it buffers many small pages
+     * but only a few large ones. {@code 0} bounds the exchange by the number of pages only.
+     */
+    public static final Setting<ByteSizeValue> EXCHANGE_BUFFER_BYTES = Setting.byteSizeSetting("exchange_buffer_bytes", ByteSizeValue.ZERO);
     public static final Setting<Integer> EXCHANGE_CONCURRENT_CLIENTS = Setting.intSetting("exchange_concurrent_clients", 3);
     public static final Setting<Integer> ENRICH_MAX_WORKERS = Setting.intSetting("enrich_max_workers", 1);
 
@@ -69,6 +78,25 @@ public final class QueryPragmas implements Writeable {
     public static final Setting<Integer> UNAVAILABLE_SHARD_RESOLUTION_ATTEMPTS = //
         Setting.intSetting("unavailable_shard_resolution_attempts", 10, -1);
 
+    /**
+     * Fraction of the limit of the request circuit breaker above which hash aggregations
+     * spill their state to disk. {@code 0} disables spilling. Unset means "use the default
+     * from the cluster setting named {@link EsqlPlugin#HASH_AGGREGATION_SPILL_THRESHOLD}."
+     */
+    public static final Setting<Double> HASH_AGGREGATION_SPILL_THRESHOLD = Setting.doubleSetting(
+        "hash_aggregation_spill_threshold",
+        0.0,
+        0.0,
+        1.0
+    );
+
+    /**
+     * Number of drivers that the coordinator spreads the final reduction of a grouping
+     * aggregation across, each reducing the groups whose keys hash to its partition.
+     * {@code 0} and {@code 1} reduce all the groups in a single driver.
+     */
+    public static final Setting<Integer> FINAL_AGGREGATION_PARTITIONS = Setting.intSetting("final_aggregation_partitions", 0, 0, 256);
+
     public static final Setting<Boolean> NODE_LEVEL_REDUCTION = Setting.boolSetting("node_level_reduction", true);
 
     public static final Setting<ByteSizeValue> FOLD_LIMIT = Setting.memorySizeSetting("fold_limit", "5%");
@@ -104,6 +132,14 @@ public final class QueryPragmas implements Writeable {
         return EXCHANGE_BUFFER_SIZE.get(settings);
     }
 
+    /**
+     * Maximum size in bytes of the pages buffered by an exchange, {@code 0} if it is only bounded by
+     * {@link #exchangeBufferSize()}.
+     */
+    public long exchangeBufferBytes() {
+        return EXCHANGE_BUFFER_BYTES.get(settings).getBytes();
+    }
+
     public int concurrentExchangeClients() {
         return EXCHANGE_CONCURRENT_CLIENTS.get(settings);
     }
@@ -196,6 +232,27 @@ public final class QueryPragmas implements Writeable {
         return FIELD_EXTRACT_PREFERENCE.get(settings);
     }
 
+    /**
+     * How hash aggregations spill their state to disk when the request circuit breaker gets close
+     * to its limit into files in {@code directory}, {@code null} if they don't spill.
+     */
+    @Nullable
+    public HashAggregationSpiller.Config hashAggregationSpillConfig(double defaultThreshold, Path directory) {
+        double threshold = HASH_AGGREGATION_SPILL_THRESHOLD.exists(settings)
+            ? HASH_AGGREGATION_SPILL_THRESHOLD.get(settings)
+            : defaultThreshold;
+        return threshold == 0
+            ? null
+            : new HashAggregationSpiller.Config(threshold, HashAggregationSpiller.Config.DEFAULT_PARTITIONS, directory);
+    }
+
+    /**
+     * Number of drivers that the final reduction of a grouping aggregation is partitioned across.
+     */
+    public int finalAggregationPartitions() {
+        return FINAL_AGGREGATION_PARTITIONS.get(settings);
+    }
+
     public boolean isEmpty() {
         return settings.isEmpty();
     }
@@ -5435,6 +5435,177 @@ public class PhysicalPlanOptimizerTests extends ESTestCase {
         assertNull(source.query());
     }
 
+    /**
+     * The eval isn't needed by the sort so it moves above the TopN, which can then be pushed to the source,
+     * and the fields it needs are only loaded for the top 10 rows.
+     * <code>
+     * ProjectExec[[emp_no{f}#7, name{r}#4]]
+     * \_TopNExec[[Order[emp_no{f}#7,ASC,LAST]],10[INTEGER],0]
+     *   \_ExchangeExec[[emp_no{f}#7, name{r}#4],false]
+     *     \_ProjectExec[[emp_no{f}#7, name{r}#4]]
+     *       \_FieldExtractExec[emp_no{f}#7][]
+     *         \_EvalExec[[CONCAT(first_name{f}#8,[20][KEYWORD],last_name{f}#11) AS name]]
+     *           \_FieldExtractExec[first_name{f}#8, last_name{f}#11][]
+     *             \_EsQueryExec[test], indexMode[standard], query[][_doc{f}#24], limit[10],
+     *               sort[[FieldSort[field=emp_no{f}#7, direction=ASC, nulls=LAST]]] estimatedRowSize[...]
+     * </code>
+     */
+    public void testPushTopNBelowEvalToSource() {
+        var optimized = optimizedPlan(physicalPlan("""
+            FROM test
+            | EVAL name = CONCAT(first_name, " ", last_name)
+            | SORT emp_no
+            | LIMIT 10
+            | KEEP emp_no, name
+            """));
+
+        var project = as(optimized, ProjectExec.class);
+        var topN = as(project.child(), TopNExec.class);
+        var exchange = asRemoteExchange(topN.child());
+
+        project = as(exchange.child(), ProjectExec.class);
+        assertThat(names(project.projections()), contains("emp_no", "name"));
+        var extract = as(project.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("emp_no"));
+        var eval = as(extract.child(), EvalExec.class);
+        assertThat(names(eval.fields()), contains("name"));
+        extract = as(eval.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("first_name", "last_name"));
+        var source = source(extract.child());
+        assertThat(source.limit(), is(l(10)));
+        assertThat(source.sorts().size(), is(1));
+        assertThat(name(source.sorts().get(0).field()), is("emp_no"));
+    }
+
+    /**
+     * The sort is on a computed field that can't be pushed to the source, so the TopN stays on the data node. Only the field
+     * the sort needs, and the fields it depends on, are computed and loaded below it.
+     * <code>
+     * ProjectExec[[emp_no{f}#8, x{r}#4, name{r}#7]]
+     * \_TopNExec[[Order[x{r}#4,ASC,LAST]],10[INTEGER],0]
+     *   \_ExchangeExec[[emp_no{f}#8, x{r}#4, name{r}#7],false]
+     *     \_ProjectExec[[emp_no{f}#8, x{r}#4, name{r}#7]]
+     *       \_FieldExtractExec[emp_no{f}#8][]
+     *         \_EvalExec[[CONCAT(first_name{f}#9,[20][KEYWORD],last_name{f}#12) AS name]]
+     *           \_FieldExtractExec[first_name{f}#9, last_name{f}#12][]
+     *             \_TopNExec[[Order[x{r}#4,ASC,LAST]],10[INTEGER],...]
+     *               \_EvalExec[[salary{f}#13 * 2[INTEGER] AS x]]
+     *                 \_FieldExtractExec[salary{f}#13][]
+     *                   \_EsQueryExec[test], indexMode[standard], query[][_doc{f}#25], limit[], sort[] estimatedRowSize[...]
+     * </code>
+     */
+    public void testPushTopNBelowEvalNotToSource() {
+        var optimized = optimizedPlan(physicalPlan("""
+            FROM test
+            | EVAL x = salary * 2, name = CONCAT(first_name, " ", last_name)
+            | SORT x
+            | LIMIT 10
+            | KEEP emp_no, x, name
+            """));
+
+        var project = as(optimized, ProjectExec.class);
+        var topN = as(project.child(), TopNExec.class);
+        var exchange = asRemoteExchange(topN.child());
+
+        project = as(exchange.child(), ProjectExec.class);
+        assertThat(names(project.projections()), contains("emp_no", "x", "name"));
+        var extract = as(project.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("emp_no"));
+        var eval = as(extract.child(), EvalExec.class);
+        assertThat(names(eval.fields()), contains("name"));
+        extract = as(eval.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("first_name", "last_name"));
+        topN = as(extract.child(), TopNExec.class);
+        assertThat(topN.order().size(), is(1));
+        assertThat(name(topN.order().get(0).child()), is("x"));
+        eval = as(topN.child(), EvalExec.class);
+        assertThat(names(eval.fields()), contains("x"));
+        extract = as(eval.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("salary"));
+        var source = source(extract.child());
+        assertNull(source.sorts());
+    }
+
+    /**
+     * The field the sort needs comes after one it doesn't, so moving the latter above the TopN would change the order of the
+     * output columns. The plan is left as is.
+     * <code>
+     * ProjectExec[[emp_no{f}#8, name{r}#4, x{r}#7]]
+     * \_TopNExec[[Order[x{r}#7,ASC,LAST]],10[INTEGER],0]
+     *   \_ExchangeExec[[emp_no{f}#8, name{r}#4, x{r}#7],false]
+     *     \_ProjectExec[[emp_no{f}#8, name{r}#4, x{r}#7]]
+     *       \_FieldExtractExec[emp_no{f}#8][]
+     *         \_TopNExec[[Order[x{r}#7,ASC,LAST]],10[INTEGER],...]
+     *           \_EvalExec[[CONCAT(first_name{f}#9,[20][KEYWORD],last_name{f}#12) AS name, salary{f}#13 * 2[INTEGER] AS x]]
+     *             \_FieldExtractExec[first_name{f}#9, last_name{f}#12, salary{f}#13][]
+     *               \_EsQueryExec[test], indexMode[standard], query[][_doc{f}#25], limit[], sort[] estimatedRowSize[...]
+     * </code>
+     */
+    public void testDontPushTopNBelowEvalWhenItReordersColumns() {
+        var optimized = optimizedPlan(physicalPlan("""
+            FROM test
+            | EVAL name = CONCAT(first_name, " ", last_name), x = salary * 2
+            | SORT x
+            | LIMIT 10
+            | KEEP emp_no, name, x
+            """));
+
+        var project = as(optimized, ProjectExec.class);
+        var topN = as(project.child(), TopNExec.class);
+        var exchange = asRemoteExchange(topN.child());
+
+        project = as(exchange.child(), ProjectExec.class);
+        assertThat(names(project.projections()), contains("emp_no", "name", "x"));
+        var extract = as(project.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("emp_no"));
+        topN = as(extract.child(), TopNExec.class);
+        var eval = as(topN.child(), EvalExec.class);
+        assertThat(names(eval.fields()), contains("name", "x"));
+        extract = as(eval.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), containsInAnyOrder("first_name", "last_name", "salary"));
+        source(extract.child());
+    }
+
+    /**
+     * The field the sort doesn't need shadows one that it does, so it has to stay in the same eval to keep winning.
+     * The plan is left as is.
+     * <code>
+     * ProjectExec[[emp_no{f}#9, x{r}#5, y{r}#8]]
+     * \_TopNExec[[Order[x{r}#5,ASC,LAST]],10[INTEGER],0]
+     *   \_ExchangeExec[[emp_no{f}#9, x{r}#5, y{r}#8],false]
+     *     \_ProjectExec[[emp_no{f}#9, x{r}#5, y{r}#8]]
+     *       \_FieldExtractExec[emp_no{f}#9][]
+     *         \_TopNExec[[Order[x{r}#5,ASC,LAST]],10[INTEGER],...]
+     *           \_EvalExec[[salary{f}#14 * 2[INTEGER] AS y, y{r}#2 + 1[INTEGER] AS x, TO_UPPER(first_name{f}#10) AS y]]
+     *             \_FieldExtractExec[salary{f}#14, first_name{f}#10][]
+     *               \_EsQueryExec[test], indexMode[standard], query[][_doc{f}#26], limit[], sort[] estimatedRowSize[...]
+     * </code>
+     */
+    public void testDontPushTopNBelowEvalWhenItShadowsSortedFields() {
+        var optimized = optimizedPlan(physicalPlan("""
+            FROM test
+            | EVAL y = salary * 2, x = y + 1, y = TO_UPPER(first_name)
+            | SORT x
+            | LIMIT 10
+            | KEEP emp_no, x, y
+            """));
+
+        var project = as(optimized, ProjectExec.class);
+        var topN = as(project.child(), TopNExec.class);
+        var exchange = asRemoteExchange(topN.child());
+
+        project = as(exchange.child(), ProjectExec.class);
+        assertThat(names(project.projections()), contains("emp_no", "x", "y"));
+        var extract = as(project.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), contains("emp_no"));
+        topN = as(extract.child(), TopNExec.class);
+        var eval = as(topN.child(), EvalExec.class);
+        assertThat(names(eval.fields()), contains("y", "x", "y"));
+        extract = as(eval.child(), FieldExtractExec.class);
+        assertThat(names(extract.attributesToExtract()), containsInAnyOrder("salary", "first_name"));
+        source(extract.child());
+    }
+
     /**
      * ProjectExec[[languages{f}#9, salary{f}#11]]
      * \_TopNExec[[Order[salary{f}#11,DESC,FIRST]],10[INTEGER],0]
@@ -7682,7 +7853,7 @@ public class PhysicalPlanOptimizerTests extends ESTestCase {
             null,
             null,
             null,
-            new EsPhysicalOperationProviders(FoldContext.small(), List.of(), null, DataPartitioning.AUTO),
+            new EsPhysicalOperationProviders(FoldContext.small(), List.of(), null, DataPartitioning.AUTO, null, 0),
             List.of()
         );
 
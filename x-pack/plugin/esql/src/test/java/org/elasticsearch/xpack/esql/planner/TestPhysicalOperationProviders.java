@@ -46,6 +46,7 @@ import org.elasticsearch.index.mapper.MappedFieldType.FieldExtractPreference;
 import org.elasticsearch.indices.analysis.AnalysisModule;
 import org.elasticsearch.lucene.spatial.CoordinateEncoder;
 import org.elasticsearch.plugins.scanners.StablePluginsRegistry;
+import org.elasticsearch.test.ESTestCase;
 import org.elasticsearch.xpack.esql.EsqlIllegalArgumentException;
 import org.elasticsearch.xpack.esql.core.expression.Attribute;
 import org.elasticsearch.xpack.esql.core.expression.FieldAttribute;
@@ -89,7 +90,7 @@ public class TestPhysicalOperationProviders extends AbstractPhysicalOperationPro
     private final List<IndexPage> indexPages;
 
     private TestPhysicalOperationProviders(FoldContext foldContext, List<IndexPage> indexPages, AnalysisRegistry analysisRegistry) {
-        super(foldContext, analysisRegistry);
+        super(foldContext, analysisRegistry, ESTestCase.createTempDir(), 0);
         this.indexPages = indexPages;
     }
 
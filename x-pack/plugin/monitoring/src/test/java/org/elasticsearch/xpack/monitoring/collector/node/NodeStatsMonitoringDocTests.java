@@ -351,6 +351,7 @@ public class NodeStatsMonitoringDocTests extends BaseFilteredMonitoringDocTestCa
             no,
             no,
             no,
+            no,
             no
         );
         indicesCommonStats.getIndexing().add(new IndexingStats(indexingStats));